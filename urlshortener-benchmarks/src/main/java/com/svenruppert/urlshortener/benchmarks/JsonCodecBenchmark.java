@@ -0,0 +1,131 @@
+package com.svenruppert.urlshortener.benchmarks;
+
+import com.svenruppert.urlshortener.core.JacksonJson;
+import com.svenruppert.urlshortener.core.statistics.StatisticsCountResponse;
+import com.svenruppert.urlshortener.core.statistics.StatisticsTimelineResponse;
+import com.svenruppert.urlshortener.core.statistics.StatisticsTimelineResponse.DailyCount;
+import com.svenruppert.urlshortener.core.urlmapping.BulkShortenResponse;
+import com.svenruppert.urlshortener.core.urlmapping.BulkShortenResponse.BulkShortenItemResult;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Specialized DTO codecs ({@code JacksonJson.mapper()}) against a plain reflective
+ * {@link JsonMapper} on payloads shaped like the real API responses:
+ * a page of 500 mappings, a one-year timeline, a count response and a 500 item bulk result.
+ * <p>
+ * Run with {@code java -jar urlshortener-benchmarks/target/benchmarks.jar JsonCodecBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonCodecBenchmark {
+
+  @Param({"codecs", "reflective"})
+  public String mapper;
+
+  private ObjectMapper om;
+
+  private ShortUrlMapping[] mappings;
+  private StatisticsTimelineResponse timeline;
+  private StatisticsCountResponse count;
+  private BulkShortenResponse bulk;
+
+  private byte[] mappingsJson;
+  private byte[] timelineJson;
+  private byte[] countJson;
+  private byte[] bulkJson;
+
+  @Setup
+  public void setup() {
+    om = "codecs".equals(mapper) ? JacksonJson.mapper() : JsonMapper.builder().build();
+
+    var rnd = new Random(42);
+    Instant now = Instant.parse("2025-06-01T12:00:00Z");
+
+    mappings = new ShortUrlMapping[500];
+    for (int i = 0; i < mappings.length; i++) {
+      Instant created = now.minus(rnd.nextInt(365 * 24 * 60), ChronoUnit.MINUTES).plusMillis(rnd.nextInt(1000));
+      Instant expires = (i % 3 == 0) ? created.plus(30, ChronoUnit.DAYS) : null;
+      mappings[i] = new ShortUrlMapping(
+          Integer.toString(1_000_000 + i, 36),
+          "https://example.org/articles/" + i + "/some-readable-slug?utm_source=newsletter&id=" + rnd.nextInt(),
+          created, expires, i % 10 != 0);
+    }
+
+    List<DailyCount> days = new ArrayList<>();
+    LocalDate from = LocalDate.of(2024, 6, 1);
+    for (int d = 0; d < 365; d++) days.add(new DailyCount(from.plusDays(d), rnd.nextInt(5_000)));
+    timeline = StatisticsTimelineResponse.create("abc123", from, from.plusDays(364), days);
+
+    count = new StatisticsCountResponse("abc123", from, from.plusDays(30), 123_456);
+
+    List<BulkShortenItemResult> items = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      String url = "https://example.org/bulk/" + i;
+      items.add(i % 25 == 0
+                    ? BulkShortenItemResult.invalidUrl(i, url, "URL must use http or https")
+                    : BulkShortenItemResult.success(i, url, "b" + i, "http://localhost:8081/r/b" + i));
+    }
+    bulk = new BulkShortenResponse(items);
+
+    // inputs for the read benchmarks are always produced by the same mapper that reads them
+    mappingsJson = om.writeValueAsBytes(mappings);
+    timelineJson = om.writeValueAsBytes(timeline);
+    countJson = om.writeValueAsBytes(count);
+    bulkJson = om.writeValueAsBytes(bulk);
+  }
+
+  @Benchmark
+  public byte[] writeMappings() {
+    return om.writeValueAsBytes(mappings);
+  }
+
+  @Benchmark
+  public ShortUrlMapping[] readMappings() {
+    return om.readValue(mappingsJson, ShortUrlMapping[].class);
+  }
+
+  @Benchmark
+  public byte[] writeTimeline() {
+    return om.writeValueAsBytes(timeline);
+  }
+
+  @Benchmark
+  public StatisticsTimelineResponse readTimeline() {
+    return om.readValue(timelineJson, StatisticsTimelineResponse.class);
+  }
+
+  @Benchmark
+  public byte[] writeCount() {
+    return om.writeValueAsBytes(count);
+  }
+
+  @Benchmark
+  public StatisticsCountResponse readCount() {
+    return om.readValue(countJson, StatisticsCountResponse.class);
+  }
+
+  @Benchmark
+  public byte[] writeBulk() {
+    return om.writeValueAsBytes(bulk);
+  }
+
+  @Benchmark
+  public BulkShortenResponse readBulk() {
+    return om.readValue(bulkJson, BulkShortenResponse.class);
+  }
+}
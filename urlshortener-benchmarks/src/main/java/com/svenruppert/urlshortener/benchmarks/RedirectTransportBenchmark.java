@@ -0,0 +1,121 @@
+package com.svenruppert.urlshortener.benchmarks;
+
+import com.svenruppert.urlshortener.api.RedirectListener;
+import com.svenruppert.urlshortener.api.RedirectTransport;
+import com.svenruppert.urlshortener.api.ShortCodeGenerator;
+import com.svenruppert.urlshortener.api.SocketRedirectServer;
+import com.svenruppert.urlshortener.api.handler.RedirectHandler;
+import com.svenruppert.urlshortener.api.handler.RedirectResolver;
+import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryUrlMappingStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.svenruppert.urlshortener.core.DefaultValues.PATH_REDIRECT;
+
+/**
+ * Redirect throughput of the two transports over loopback: the {@code HttpServer}-based
+ * {@link RedirectHandler} and the {@link SocketRedirectServer}. Each benchmark thread keeps one
+ * keep-alive connection and sends {@code GET /<code>} for random codes out of 10,000 mappings
+ * (no statistics writer and per-request logging off, so only transport and lookup are measured).
+ * <p>
+ * Run with {@code java -jar urlshortener-benchmarks/target/benchmarks.jar RedirectTransportBenchmark -t 16}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+@Threads(8)
+public class RedirectTransportBenchmark {
+
+  private static final int MAPPINGS = 10_000;
+
+  @Param({"httpserver", "socket"})
+  public String engine;
+
+  private RedirectTransport transport;
+  private byte[][] requests;
+
+  @Setup
+  public void setup()
+      throws IOException {
+    var store = new InMemoryUrlMappingStore(new ShortCodeGenerator(1));
+    requests = new byte[MAPPINGS][];
+    for (int i = 0; i < MAPPINGS; i++) {
+      String code = "code" + i;
+      store.createMapping(code, "https://example.org/articles/" + i + "?utm_source=bench", null, true);
+      requests[i] = ("GET /" + code + " HTTP/1.1\r\nHost: localhost\r\nUser-Agent: jmh\r\n\r\n")
+          .getBytes(StandardCharsets.US_ASCII);
+    }
+    if ("socket".equals(engine)) {
+      transport = new SocketRedirectServer("localhost", 0, 1024, new RedirectResolver(store), null,
+                                           10_000, Duration.ofSeconds(30), null, null, null);
+    } else {
+      var listener = new RedirectListener("localhost", 0, 1, 1024);
+      listener.createContext(PATH_REDIRECT, new RedirectHandler(store));
+      transport = listener;
+    }
+    transport.start();
+  }
+
+  @TearDown
+  public void tearDown() {
+    transport.stop(0);
+  }
+
+  @State(Scope.Thread)
+  public static class Connection {
+    private Socket socket;
+    private OutputStream out;
+    private InputStream in;
+    private final byte[] buffer = new byte[4096];
+
+    @Setup
+    public void open(RedirectTransportBenchmark bench)
+        throws IOException {
+      socket = new Socket("localhost", bench.transport.getAddress().getPort());
+      socket.setTcpNoDelay(true);
+      out = socket.getOutputStream();
+      in = socket.getInputStream();
+    }
+
+    @TearDown
+    public void close()
+        throws IOException {
+      socket.close();
+    }
+
+    /**
+     * Sends one request and reads the (body-less) response up to the empty line.
+     */
+    int roundTrip(byte[] request)
+        throws IOException {
+      out.write(request);
+      out.flush();
+      int n = 0;
+      while (true) {
+        int r = in.read(buffer, n, buffer.length - n);
+        if (r < 0) throw new IOException("connection closed");
+        n += r;
+        if (n >= 4 && buffer[n - 4] == '\r' && buffer[n - 3] == '\n' && buffer[n - 2] == '\r' && buffer[n - 1] == '\n') {
+          return n;
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public int redirect(Connection connection)
+      throws IOException {
+    return connection.roundTrip(requests[ThreadLocalRandom.current().nextInt(MAPPINGS)]);
+  }
+}
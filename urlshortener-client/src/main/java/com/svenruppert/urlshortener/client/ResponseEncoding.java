@@ -0,0 +1,56 @@
+package com.svenruppert.urlshortener.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Negotiated response compression for {@link HttpURLConnection}, which (unlike
+ * {@code java.net.http.HttpClient} in browsers) neither sends {@code Accept-Encoding}
+ * nor decodes compressed bodies on its own.
+ */
+final class ResponseEncoding {
+
+  static final String ACCEPT_ENCODING = "gzip, deflate";
+
+  private ResponseEncoding() {
+  }
+
+  static void acceptCompressed(HttpURLConnection con) {
+    con.setRequestProperty("Accept-Encoding", ACCEPT_ENCODING);
+  }
+
+  /** Decoded success body. */
+  static InputStream body(HttpURLConnection con)
+      throws IOException {
+    return decode(con, con.getInputStream());
+  }
+
+  /** Decoded error body, {@code null} if there is none. */
+  static InputStream errorBody(HttpURLConnection con)
+      throws IOException {
+    return decode(con, con.getErrorStream());
+  }
+
+  /** Decoded error body if present, otherwise the decoded success body. */
+  static InputStream errorOrBody(HttpURLConnection con)
+      throws IOException {
+    InputStream raw = con.getErrorStream();
+    return decode(con, raw != null ? raw : con.getInputStream());
+  }
+
+  static InputStream decode(HttpURLConnection con, InputStream raw)
+      throws IOException {
+    if (raw == null) return null;
+    String encoding = con.getContentEncoding();
+    if (encoding == null || encoding.isBlank()) return raw;
+    return switch (encoding.trim().toLowerCase(Locale.ROOT)) {
+      case "gzip", "x-gzip" -> new GZIPInputStream(raw, 8 * 1024);
+      case "deflate" -> new InflaterInputStream(raw);
+      default -> raw;
+    };
+  }
+}
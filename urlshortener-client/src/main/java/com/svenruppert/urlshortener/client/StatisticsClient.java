@@ -338,12 +338,13 @@ public class StatisticsClient
     con.setConnectTimeout(CONNECT_TIMEOUT);
     con.setReadTimeout(READ_TIMEOUT);
     con.setRequestProperty("Accept", APPLICATION_JSON);
+    ResponseEncoding.acceptCompressed(con);
     return con;
   }
 
   private String readResponse(HttpURLConnection con, int code)
       throws IOException {
-    InputStream is = (code >= 400) ? con.getErrorStream() : con.getInputStream();
+    InputStream is = (code >= 400) ? ResponseEncoding.errorBody(con) : ResponseEncoding.body(con);
     if (is == null) {
       return "";
     }
@@ -13,6 +13,7 @@ import com.svenruppert.urlshortener.core.urlmapping.BulkValidateResponse;
 import com.svenruppert.urlshortener.core.urlmapping.ShortenRequest;
 import com.svenruppert.urlshortener.core.urlmapping.ToggleActive.ToggleActiveRequest;
 import com.svenruppert.urlshortener.core.urlmapping.UrlMappingListRequest;
+import com.svenruppert.urlshortener.core.urlmapping.exports.ExportFormat;
 import com.svenruppert.urlshortener.core.urlmapping.imports.ImportResult;
 import com.svenruppert.urlshortener.core.validation.UrlValidator;
 import tools.jackson.databind.JsonNode;
@@ -33,6 +34,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.function.Supplier;
 
 import static com.svenruppert.dependencies.core.net.HttpStatus.OK;
@@ -176,8 +178,8 @@ public class URLShortenerClient implements HasLogger {
   private static byte[] readResponseBytes(HttpURLConnection con, int responseCode) throws IOException {
     final InputStream is =
         (responseCode >= 400)
-            ? con.getErrorStream()
-            : con.getInputStream();
+            ? ResponseEncoding.errorBody(con)
+            : ResponseEncoding.body(con);
 
     if (is == null) {
       return new byte[0];
@@ -273,7 +275,7 @@ public class URLShortenerClient implements HasLogger {
         return null;
       }
       final String body = readAllAsString(
-          con.getErrorStream() != null ? con.getErrorStream() : con.getInputStream());
+          ResponseEncoding.errorOrBody(con));
       throw new IOException("Unexpected HTTP " + code + " for GET " + uri + " body=" + body);
     } finally {
       con.disconnect();
@@ -361,6 +363,29 @@ public class URLShortenerClient implements HasLogger {
     return postZipExpectJson(uri, zipBytes, OK.code());
   }
 
+  /**
+   * Uploads an export of any {@link ExportFormat} for validation, streaming the body in chunks
+   * so large NDJSON or binary exports do not have to be held in memory.
+   */
+  public String importValidateStream(InputStream body, ExportFormat format) throws IOException {
+    Objects.requireNonNull(body, "body");
+    Objects.requireNonNull(format, "format");
+    URI uri = serverBaseAdmin.resolve(PATH_ADMIN_IMPORT_VALIDATE);
+    HttpURLConnection con = openConnection(uri, "POST", APPLICATION_JSON, format.contentType());
+    con.setInstanceFollowRedirects(false);
+    try {
+      con.setDoOutput(true);
+      con.setChunkedStreamingMode(64 * 1024);
+      try (OutputStream os = con.getOutputStream()) {
+        body.transferTo(os);
+      }
+      requireStatus(con, OK.code());
+      return new String(readResponseBytes(con, con.getResponseCode()), UTF_8);
+    } finally {
+      con.disconnect();
+    }
+  }
+
   public ImportResult importApply(String stagingId) throws IOException {
     if (stagingId == null || stagingId.isBlank()) {
       throw new IllegalArgumentException("stagingId must not be null/blank");
@@ -380,6 +405,19 @@ public class URLShortenerClient implements HasLogger {
     return fetchZipStream(getPath);
   }
 
+  /**
+   * Streams the filtered export in the given format. NDJSON and binary are sent without a
+   * ZIP container; the caller must close the returned stream.
+   */
+  public InputStream exportStream(UrlMappingListRequest request, ExportFormat format) throws IOException {
+    Objects.requireNonNull(format, "format");
+    final String relativePath = extractRelativePath(request);
+    final String withFormat = relativePath
+        + (relativePath.contains("?") ? "&" : "?")
+        + EXPORT_FORMAT_PARAM + "=" + format.key();
+    return fetchExportStream(withFormat, format.contentType());
+  }
+
   private String getExportPath(UrlMappingListRequest request) throws IOException {
     final var relativePath = extractRelativePath(request);
     final HeadExportInfo info = resolveExportFilenameViaHead(relativePath);
@@ -419,7 +457,7 @@ public class URLShortenerClient implements HasLogger {
     try {
       int code = con.getResponseCode();
       if (code != OK.code()) {
-        String err = readAllAsString(con.getErrorStream());
+        String err = readAllAsString(ResponseEncoding.errorBody(con));
         throw new IOException("Unexpected HTTP " + code + " for HEAD " + url + " body=" + err);
       }
       String exportTs = con.getHeaderField(EXPORT_TIMESTAMP_HEADER);
@@ -451,7 +489,7 @@ public class URLShortenerClient implements HasLogger {
     try {
       final int code = con.getResponseCode();
       if (code != OK.code()) {
-        final InputStream es = con.getErrorStream();
+        final InputStream es = ResponseEncoding.errorBody(con);
         final String err = readAllAsString(es);
         throw new IOException("Unexpected HTTP " + code + " for GET " + url + " body=" + err);
       }
@@ -470,7 +508,7 @@ public class URLShortenerClient implements HasLogger {
         throw new IOException("Refusing to write outside target directory: " + target);
       }
 
-      try (InputStream in = con.getInputStream()) {
+      try (InputStream in = ResponseEncoding.body(con)) {
         Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
         return target;
       }
@@ -506,12 +544,16 @@ public class URLShortenerClient implements HasLogger {
   }
 
   private InputStream fetchZipStream(String relativePath) throws IOException {
+    return fetchExportStream(relativePath, APPLICATION_ZIP);
+  }
+
+  private InputStream fetchExportStream(String relativePath, String accept) throws IOException {
 
     final URI uri = serverBaseAdmin.resolve(relativePath);
     final URL url = uri.toURL();
-    logger().info("fetchZipStream - url {}", url);
+    logger().info("fetchExportStream - url {}", url);
 
-    final HttpURLConnection con = openConnection(uri, "GET", APPLICATION_ZIP, null);
+    final HttpURLConnection con = openConnection(uri, "GET", accept, null);
 
     final int code;
     try {
@@ -523,7 +565,7 @@ public class URLShortenerClient implements HasLogger {
 
     if (code != OK.code()) {
       try {
-        final InputStream es = (con.getErrorStream() != null) ? con.getErrorStream() : con.getInputStream();
+        final InputStream es = ResponseEncoding.errorOrBody(con);
         final String err = readAllAsString(es);
         throw new IOException("Unexpected HTTP " + code + " for GET " + url + " body=" + err);
       } finally {
@@ -531,7 +573,7 @@ public class URLShortenerClient implements HasLogger {
       }
     }
 
-    final InputStream raw = con.getInputStream();
+    final InputStream raw = ResponseEncoding.body(con);
     return new ConnectionInputStream(raw, con);
   }
 
@@ -712,7 +754,7 @@ public class URLShortenerClient implements HasLogger {
       }
       if (!is2xx(code)) {
         final String err = readAllAsString(
-            con.getErrorStream() != null ? con.getErrorStream() : con.getInputStream());
+            ResponseEncoding.errorOrBody(con));
         throw new IOException("Unexpected HTTP " + code + " for PUT " + uri + " body=" + err);
       }
       drainQuietly(con.getInputStream());
@@ -768,7 +810,7 @@ public class URLShortenerClient implements HasLogger {
 
       if (!is2xx(code)) {
         final String body = readAllAsString(
-            con.getErrorStream() != null ? con.getErrorStream() : con.getInputStream());
+            ResponseEncoding.errorOrBody(con));
         throw new IOException("Unexpected HTTP " + code + " for DELETE " + uri + " body=" + body);
       }
 
@@ -821,6 +863,7 @@ public class URLShortenerClient implements HasLogger {
     if (contentType != null && !contentType.isBlank()) {
       con.setRequestProperty("Content-Type", contentType);
     }
+    ResponseEncoding.acceptCompressed(con);
     return con;
   }
 
@@ -838,7 +881,7 @@ public class URLShortenerClient implements HasLogger {
       final int code = con.getResponseCode();
       if (code != expectedStatus) {
         final String err = readAllAsString(
-            con.getErrorStream() != null ? con.getErrorStream() : con.getInputStream());
+            ResponseEncoding.errorOrBody(con));
         throw new IOException("Unexpected HTTP " + code + " for " + method + " " + uri + " body=" + err);
       }
 
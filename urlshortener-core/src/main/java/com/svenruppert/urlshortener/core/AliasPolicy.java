@@ -29,6 +29,22 @@ public final class AliasPolicy
     return Validation.ok();
   }
 
+  /**
+   * Cheap shape check for incoming codes: length and charset only, no regex and no logging.
+   * Codes failing it cannot exist in a store, so redirect lookups can stop here.
+   */
+  public static boolean isWellFormed(String code) {
+    if (code == null) return false;
+    int len = code.length();
+    if (len < MIN || len > MAX) return false;
+    for (int i = 0; i < len; i++) {
+      char c = code.charAt(i);
+      boolean ok = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+      if (!ok) return false;
+    }
+    return true;
+  }
+
   public static String normalize(String alias) {
     return alias.toLowerCase(Locale.ROOT);
   }
@@ -19,6 +19,8 @@ public final class DefaultValues {
   public static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
   public static final String APPLICATION_JSON = "application/json";
   public static final String APPLICATION_ZIP = "application/zip";
+  public static final String APPLICATION_NDJSON = "application/x-ndjson";
+  public static final String APPLICATION_MAPPINGS_BINARY = "application/vnd.urlshortener.mappings";
   public static final String ACCEPT = "Accept";
 
 
@@ -47,6 +49,11 @@ public final class DefaultValues {
 
 
   public static final String PATH_ADMIN_STORE_INFO = PATH_PREFIX + "/store/info";
+  public static final String PATH_ADMIN_SNAPSHOT = PATH_PREFIX + "/store/snapshot";
+  public static final String PATH_ADMIN_ADMISSION = PATH_PREFIX + "/admin/admission";
+  public static final String PATH_ADMIN_BULKHEADS = PATH_PREFIX + "/admin/bulkheads";
+  public static final String PATH_ADMIN_METRICS = PATH_PREFIX + "/admin/metrics";
+  public static final String PATH_ADMIN_SLOW_OPERATIONS = PATH_PREFIX + "/admin/slow";
 
   public static final String PATH_ADMIN_PREFERENCES_COLUMNS = PATH_PREFIX + "/admin/preferences/columns";
   public static final String PATH_ADMIN_PREFERENCES_COLUMNS_EDIT = PATH_PREFIX + "/admin/preferences/columns/edit";
@@ -70,6 +77,9 @@ public final class DefaultValues {
   public static final String EXPORT_DEFAULT_ZIP_FILENAME = EXPORT_FILE_NAME + ".zip";
   public static final String EXPORT_TIMESTAMP_HEADER = "X-Export-TS";
   public static final String EXPORT_TIMESTAMP_PARAM = "exportTs";
+  public static final String EXPORT_FORMAT_PARAM = "format";
+  public static final String EXPORT_SEGMENTED_PARAM = "segmented";
+  public static final int EXPORT_SEGMENT_SIZE = 50_000;
 
   public static final int IMPORT_MAX_ZIP_BYTES = 50 * 1024 * 1024;
   public static final int IMPORT_MAX_JSON_BYTES = 200 * 1024 * 1024;
@@ -77,8 +87,20 @@ public final class DefaultValues {
   public static final int DEFAULT_SIZE = 50;
   public static final int MAX_SIZE     = 500;
 
+  public static final int QUERY_CACHE_MAX_ENTRIES = 256;
+
+  // request body limits (bytes), per endpoint group
+  public static final int BODY_LIMIT_SHORTEN_BYTES = 16 * 1024;
+  public static final int BODY_LIMIT_BULK_BYTES = 2 * 1024 * 1024;
+  public static final int BODY_LIMIT_PREFERENCES_BYTES = 64 * 1024;
+  public static final int BODY_LIMIT_ADMIN_BYTES = 16 * 1024;
+
+  // admin response compression: smaller bodies are sent as they are
+  public static final int COMPRESSION_MIN_BYTES = 1024;
+
 
   public static final String STORAGE_DATA_PATH = "data";
+  public static final String REDIRECT_SNAPSHOT_FILE = STORAGE_DATA_PATH + "/redirect-snapshot.bin";
 
   private DefaultValues() {
   }
@@ -1,11 +1,11 @@
 package com.svenruppert.urlshortener.core;
 
-
-
+import com.svenruppert.urlshortener.core.json.JsonCodecs;
 import tools.jackson.core.JsonGenerator;
 import tools.jackson.core.JsonParser;
 import tools.jackson.core.json.JsonFactory;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -88,7 +88,9 @@ public final class JacksonJson {
 
   private static ObjectMapper createMapperWithOptionalConstraints() {
     JsonFactory factory = createFactoryWithOptionalConstraints();
-    ObjectMapper mapper = (factory == null) ? new ObjectMapper() : new ObjectMapper(factory);
+    JsonMapper.Builder builder = (factory == null) ? JsonMapper.builder() : JsonMapper.builder(factory);
+    // hand-written codecs for the hot DTOs (ShortUrlMapping, statistics responses, bulk results)
+    ObjectMapper mapper = builder.addModule(JsonCodecs.module()).build();
     // Jackson3: mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
     // >>> Wichtig für Klassen mit "record-style" Accessors: shortCode(), originalUrl(), ...
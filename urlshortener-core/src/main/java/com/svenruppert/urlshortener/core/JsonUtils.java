@@ -9,6 +9,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -63,13 +64,7 @@ public final class JsonUtils
       throw new IllegalArgumentException("JSON input is null or blank");
     }
     try {
-      T value = JacksonJson.mapper().readValue(json, type);
-      if (value instanceof ShortenRequest req) {
-        if (req.getUrl() == null || req.getUrl().isBlank()) {
-          throw new IllegalArgumentException("Field 'url' missing or empty");
-        }
-      }
-      return value;
+      return checked(JacksonJson.mapper().readValue(json, type));
     } catch (IllegalArgumentException e) {
       throw e;
     } catch (Exception e) {
@@ -77,6 +72,63 @@ public final class JsonUtils
     }
   }
 
+  /**
+   * Same contract as {@link #fromJson(String, Class)}, but binds directly from the stream
+   * without building a String first. I/O failures of the stream itself (e.g. a size limit
+   * enforced by the caller) are rethrown as they are, not as {@link IllegalArgumentException}.
+   */
+  public static <T> T fromJson(InputStream in, Class<T> type)
+      throws IOException {
+    if (in == null) {
+      throw new IllegalArgumentException("JSON input is null or blank");
+    }
+    PushbackInputStream body = new PushbackInputStream(in, 1);
+    if (!skipWhitespace(body)) {
+      throw new IllegalArgumentException("JSON input is null or blank");
+    }
+    try {
+      return checked(JacksonJson.mapper().readValue(body, type));
+    } catch (IllegalArgumentException e) {
+      throw e;
+    } catch (Exception e) {
+      IOException io = ioCause(e);
+      if (io != null) throw io;
+      throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+    }
+  }
+
+  private static <T> T checked(T value) {
+    if (value instanceof ShortenRequest req) {
+      if (req.getUrl() == null || req.getUrl().isBlank()) {
+        throw new IllegalArgumentException("Field 'url' missing or empty");
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Skips leading whitespace; returns false if the stream ends before any content.
+   */
+  private static boolean skipWhitespace(PushbackInputStream in)
+      throws IOException {
+    int b;
+    while ((b = in.read()) != -1) {
+      if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+        in.unread(b);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static IOException ioCause(Throwable t) {
+    for (Throwable c = t; c != null; c = c.getCause()) {
+      if (c instanceof IOException io) return io;
+      if (c.getCause() == c) break;
+    }
+    return null;
+  }
+
   /* ======================
            WRITE
      ====================== */
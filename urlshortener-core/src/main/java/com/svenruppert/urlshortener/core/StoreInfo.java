@@ -3,5 +3,12 @@ package com.svenruppert.urlshortener.core;
 public record StoreInfo(
     String mode, // "InMemory" | "EclipseStore"
     int mappings, // current number
-    long startedAtEpochMs // server start time (for diagnostics)
-) { }
+    long startedAtEpochMs, // server start time (for diagnostics)
+    long queryCacheHits, // list/count query cache
+    long queryCacheMisses,
+    double queryCacheHitRate // 0.0 .. 1.0
+) {
+  public StoreInfo(String mode, int mappings, long startedAtEpochMs) {
+    this(mode, mappings, startedAtEpochMs, 0L, 0L, 0.0);
+  }
+}
@@ -0,0 +1,139 @@
+package com.svenruppert.urlshortener.core.json;
+
+import com.svenruppert.urlshortener.core.urlmapping.BulkShortenResponse;
+import com.svenruppert.urlshortener.core.urlmapping.BulkShortenResponse.BulkShortenItemResult;
+import com.svenruppert.urlshortener.core.urlmapping.BulkShortenResponse.ItemStatus;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.ValueSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code {"results":[{"index":..,"originalUrl":..,"shortCode":..,"shortUrl":..,"status":..,"errorMessage":..}],
+ * "total":..,"succeeded":..,"failed":..}}
+ */
+public final class BulkShortenResponseCodec {
+
+  private static final SerializableString RESULTS = new SerializedString("results");
+  private static final SerializableString TOTAL = new SerializedString("total");
+  private static final SerializableString SUCCEEDED = new SerializedString("succeeded");
+  private static final SerializableString FAILED = new SerializedString("failed");
+  private static final SerializableString INDEX = new SerializedString("index");
+  private static final SerializableString ORIGINAL_URL = new SerializedString("originalUrl");
+  private static final SerializableString SHORT_CODE = new SerializedString("shortCode");
+  private static final SerializableString SHORT_URL = new SerializedString("shortUrl");
+  private static final SerializableString STATUS = new SerializedString("status");
+  private static final SerializableString ERROR_MESSAGE = new SerializedString("errorMessage");
+
+  private static final ItemStatus[] STATUSES = ItemStatus.values();
+
+  private BulkShortenResponseCodec() {
+  }
+
+  static final class Serializer
+      extends ValueSerializer<BulkShortenResponse> {
+    @Override
+    public void serialize(BulkShortenResponse value, JsonGenerator g, SerializationContext ctxt) {
+      g.writeStartObject();
+      g.writeName(RESULTS);
+      List<BulkShortenItemResult> results = value.getResults();
+      if (results == null) {
+        g.writeNull();
+      } else {
+        g.writeStartArray();
+        for (BulkShortenItemResult r : results) writeItem(g, r);
+        g.writeEndArray();
+      }
+      g.writeName(TOTAL);
+      g.writeNumber(value.getTotal());
+      g.writeName(SUCCEEDED);
+      g.writeNumber(value.getSucceeded());
+      g.writeName(FAILED);
+      g.writeNumber(value.getFailed());
+      g.writeEndObject();
+    }
+
+    private static void writeItem(JsonGenerator g, BulkShortenItemResult r) {
+      g.writeStartObject();
+      g.writeName(INDEX);
+      g.writeNumber(r.getIndex());
+      JsonCodecs.writeString(g, ORIGINAL_URL, r.getOriginalUrl());
+      JsonCodecs.writeString(g, SHORT_CODE, r.getShortCode());
+      JsonCodecs.writeString(g, SHORT_URL, r.getShortUrl());
+      JsonCodecs.writeString(g, STATUS, r.getStatus() == null ? null : r.getStatus().name());
+      JsonCodecs.writeString(g, ERROR_MESSAGE, r.getErrorMessage());
+      g.writeEndObject();
+    }
+
+    @Override
+    public Class<?> handledType() {
+      return BulkShortenResponse.class;
+    }
+  }
+
+  static final class Deserializer
+      extends ValueDeserializer<BulkShortenResponse> {
+    @Override
+    public BulkShortenResponse deserialize(JsonParser p, DeserializationContext ctxt) {
+      var response = new BulkShortenResponse();
+      for (JsonToken t = JsonCodecs.enterObject(p, ctxt, BulkShortenResponse.class);
+           t == JsonToken.PROPERTY_NAME;
+           t = p.nextToken()) {
+        String name = p.currentName();
+        p.nextToken();
+        switch (name) {
+          case "results" -> response.setResults(readItems(p, ctxt));
+          case "total" -> response.setTotal(JsonCodecs.readInt(p));
+          case "succeeded" -> response.setSucceeded(JsonCodecs.readInt(p));
+          case "failed" -> response.setFailed(JsonCodecs.readInt(p));
+          default -> p.skipChildren();
+        }
+      }
+      return response;
+    }
+
+    private static List<BulkShortenItemResult> readItems(JsonParser p, DeserializationContext ctxt) {
+      if (p.currentToken() != JsonToken.START_ARRAY) {
+        p.skipChildren();
+        return null;
+      }
+      List<BulkShortenItemResult> items = new ArrayList<>();
+      while (p.nextToken() == JsonToken.START_OBJECT) {
+        var item = new BulkShortenItemResult();
+        for (JsonToken t = JsonCodecs.enterObject(p, ctxt, BulkShortenItemResult.class);
+             t == JsonToken.PROPERTY_NAME;
+             t = p.nextToken()) {
+          String name = p.currentName();
+          p.nextToken();
+          switch (name) {
+            case "index" -> item.setIndex(JsonCodecs.readInt(p));
+            case "originalUrl" -> item.setOriginalUrl(JsonCodecs.readString(p));
+            case "shortCode" -> item.setShortCode(JsonCodecs.readString(p));
+            case "shortUrl" -> item.setShortUrl(JsonCodecs.readString(p));
+            case "status" -> item.setStatus(status(JsonCodecs.readString(p), ctxt));
+            case "errorMessage" -> item.setErrorMessage(JsonCodecs.readString(p));
+            default -> p.skipChildren();
+          }
+        }
+        items.add(item);
+      }
+      return items;
+    }
+
+    private static ItemStatus status(String value, DeserializationContext ctxt) {
+      if (value == null || value.isEmpty()) return null;
+      for (ItemStatus s : STATUSES) {
+        if (s.name().equals(value)) return s;
+      }
+      return ctxt.reportInputMismatch(ItemStatus.class, "Unknown bulk item status '%s'", value);
+    }
+  }
+}
@@ -0,0 +1,226 @@
+package com.svenruppert.urlshortener.core.json;
+
+import com.svenruppert.urlshortener.core.statistics.StatisticsCountResponse;
+import com.svenruppert.urlshortener.core.statistics.StatisticsTimelineResponse;
+import com.svenruppert.urlshortener.core.urlmapping.BulkShortenResponse;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.SerializableString;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.module.SimpleModule;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Hand-written Jackson codecs for the hot DTOs and the helpers they share.
+ * <p>
+ * The codecs write and read the same JSON shape as the reflective Jackson path
+ * (same property names, ISO-8601 strings for {@link Instant} / {@link LocalDate},
+ * {@code null} for missing values), but skip bean introspection, use precomputed
+ * property names and format dates without going through {@code DateTimeFormatter}.
+ * <p>
+ * Readers are tolerant: unknown properties are skipped, scalars given as strings
+ * ({@code "true"}, {@code "42"}) are coerced and an empty string is read as {@code null},
+ * which is what the listing endpoints send for a missing expiry.
+ */
+public final class JsonCodecs {
+
+  private static final int MAX_INSTANT_CHARS = 30; // yyyy-MM-ddTHH:mm:ss.nnnnnnnnnZ
+  private static final int SECONDS_PER_DAY = 86_400;
+
+  private JsonCodecs() {
+  }
+
+  /**
+   * Module with all specialized codecs, registered by {@code JacksonJson}.
+   */
+  public static SimpleModule module() {
+    SimpleModule module = new SimpleModule("urlshortener-dto-codecs");
+    module.addSerializer(ShortUrlMapping.class, new ShortUrlMappingCodec.Serializer());
+    module.addDeserializer(ShortUrlMapping.class, new ShortUrlMappingCodec.Deserializer());
+    module.addSerializer(StatisticsCountResponse.class, new StatisticsCountCodec.Serializer());
+    module.addDeserializer(StatisticsCountResponse.class, new StatisticsCountCodec.Deserializer());
+    module.addSerializer(StatisticsTimelineResponse.class, new StatisticsTimelineCodec.Serializer());
+    module.addDeserializer(StatisticsTimelineResponse.class, new StatisticsTimelineCodec.Deserializer());
+    module.addSerializer(BulkShortenResponse.class, new BulkShortenResponseCodec.Serializer());
+    module.addDeserializer(BulkShortenResponse.class, new BulkShortenResponseCodec.Deserializer());
+    return module;
+  }
+
+  // ---------------------------------------------------------------------------
+  // writing
+  // ---------------------------------------------------------------------------
+
+  static void writeString(JsonGenerator g, SerializableString name, String value) {
+    g.writeName(name);
+    if (value == null) g.writeNull();
+    else g.writeString(value);
+  }
+
+  static void writeInstant(JsonGenerator g, SerializableString name, Instant value) {
+    g.writeName(name);
+    if (value == null) {
+      g.writeNull();
+      return;
+    }
+    char[] buf = new char[MAX_INSTANT_CHARS];
+    int len = formatInstant(value, buf);
+    if (len < 0) g.writeString(value.toString());
+    else g.writeString(buf, 0, len);
+  }
+
+  static void writeLocalDate(JsonGenerator g, SerializableString name, LocalDate value) {
+    g.writeName(name);
+    if (value == null) {
+      g.writeNull();
+      return;
+    }
+    int year = value.getYear();
+    if (year < 0 || year > 9999) {
+      g.writeString(value.toString());
+      return;
+    }
+    char[] buf = new char[10];
+    int pos = putDate(buf, 0, year, value.getMonthValue(), value.getDayOfMonth());
+    g.writeString(buf, 0, pos);
+  }
+
+  /**
+   * Formats like {@link Instant#toString()} for the years 0000-9999 and returns the number
+   * of chars written, or {@code -1} if the value is outside that range.
+   */
+  public static int formatInstant(Instant value, char[] buf) {
+    long epochSecond = value.getEpochSecond();
+    long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+    int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+    // civil-from-days (Howard Hinnant), proleptic Gregorian calendar
+    long z = epochDay + 719_468;
+    long era = Math.floorDiv(z, 146_097);
+    long doe = z - era * 146_097;
+    long yoe = (doe - doe / 1_460 + doe / 36_524 - doe / 146_096) / 365;
+    long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+    long mp = (5 * doy + 2) / 153;
+    int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+    int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+    long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+    if (year < 0 || year > 9999) return -1;
+
+    int pos = putDate(buf, 0, (int) year, month, day);
+    buf[pos++] = 'T';
+    pos = put2(buf, pos, secondOfDay / 3_600);
+    buf[pos++] = ':';
+    pos = put2(buf, pos, (secondOfDay / 60) % 60);
+    buf[pos++] = ':';
+    pos = put2(buf, pos, secondOfDay % 60);
+
+    int nano = value.getNano();
+    if (nano > 0) {
+      buf[pos++] = '.';
+      // same grouping as DateTimeFormatter.ISO_INSTANT: 3, 6 or 9 digits
+      if (nano % 1_000_000 == 0) pos = putDigits(buf, pos, nano / 1_000_000, 3);
+      else if (nano % 1_000 == 0) pos = putDigits(buf, pos, nano / 1_000, 6);
+      else pos = putDigits(buf, pos, nano, 9);
+    }
+    buf[pos++] = 'Z';
+    return pos;
+  }
+
+  private static int putDate(char[] buf, int pos, int year, int month, int day) {
+    pos = putDigits(buf, pos, year, 4);
+    buf[pos++] = '-';
+    pos = put2(buf, pos, month);
+    buf[pos++] = '-';
+    return put2(buf, pos, day);
+  }
+
+  private static int put2(char[] buf, int pos, int value) {
+    buf[pos] = (char) ('0' + value / 10);
+    buf[pos + 1] = (char) ('0' + value % 10);
+    return pos + 2;
+  }
+
+  private static int putDigits(char[] buf, int pos, int value, int digits) {
+    for (int i = digits - 1; i >= 0; i--) {
+      buf[pos + i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+    return pos + digits;
+  }
+
+  // ---------------------------------------------------------------------------
+  // reading
+  // ---------------------------------------------------------------------------
+
+  /**
+   * Moves past {@code START_OBJECT} and returns the first token inside the object,
+   * i.e. {@code PROPERTY_NAME} or {@code END_OBJECT}.
+   */
+  static JsonToken enterObject(JsonParser p, DeserializationContext ctxt, Class<?> type) {
+    JsonToken t = p.currentToken();
+    if (t == JsonToken.START_OBJECT) t = p.nextToken();
+    if (t != JsonToken.PROPERTY_NAME && t != JsonToken.END_OBJECT) {
+      return ctxt.reportInputMismatch(type, "Expected JSON object for %s but got %s", type.getSimpleName(), t);
+    }
+    return t;
+  }
+
+  static String readString(JsonParser p) {
+    JsonToken t = p.currentToken();
+    if (t == JsonToken.VALUE_NULL) return null;
+    if (t == JsonToken.START_OBJECT || t == JsonToken.START_ARRAY) {
+      p.skipChildren();
+      return null;
+    }
+    return p.getValueAsString();
+  }
+
+  static Instant readInstant(JsonParser p) {
+    return switch (p.currentToken()) {
+      case VALUE_NUMBER_INT -> Instant.ofEpochSecond(p.getLongValue());
+      case VALUE_NUMBER_FLOAT -> {
+        BigDecimal seconds = new BigDecimal(p.getString());
+        long whole = seconds.longValue();
+        int nanos = seconds.subtract(BigDecimal.valueOf(whole)).movePointRight(9).intValue();
+        yield Instant.ofEpochSecond(whole, nanos);
+      }
+      default -> {
+        String s = readString(p);
+        yield (s == null || s.isBlank()) ? null : Instant.parse(s.trim());
+      }
+    };
+  }
+
+  static LocalDate readLocalDate(JsonParser p) {
+    String s = readString(p);
+    return (s == null || s.isBlank()) ? null : LocalDate.parse(s.trim());
+  }
+
+  static boolean readBoolean(JsonParser p) {
+    return switch (p.currentToken()) {
+      case VALUE_TRUE -> true;
+      case VALUE_FALSE, VALUE_NULL -> false;
+      case VALUE_NUMBER_INT -> p.getIntValue() != 0;
+      default -> Boolean.parseBoolean(readString(p));
+    };
+  }
+
+  static long readLong(JsonParser p) {
+    return switch (p.currentToken()) {
+      case VALUE_NUMBER_INT -> p.getLongValue();
+      case VALUE_NULL -> 0L;
+      default -> {
+        String s = readString(p);
+        yield (s == null || s.isBlank()) ? 0L : Long.parseLong(s.trim());
+      }
+    };
+  }
+
+  static int readInt(JsonParser p) {
+    return Math.toIntExact(readLong(p));
+  }
+}
@@ -0,0 +1,84 @@
+package com.svenruppert.urlshortener.core.json;
+
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.ValueSerializer;
+
+import java.time.Instant;
+
+/**
+ * {@code {"shortCode":..,"originalUrl":..,"createdAt":..,"expiresAt":..,"active":..}}
+ */
+public final class ShortUrlMappingCodec {
+
+  private static final SerializableString SHORT_CODE = new SerializedString("shortCode");
+  private static final SerializableString ORIGINAL_URL = new SerializedString("originalUrl");
+  private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+  private static final SerializableString EXPIRES_AT = new SerializedString("expiresAt");
+  private static final SerializableString ACTIVE = new SerializedString("active");
+
+  private ShortUrlMappingCodec() {
+  }
+
+  static void write(JsonGenerator g, ShortUrlMapping m) {
+    g.writeStartObject();
+    JsonCodecs.writeString(g, SHORT_CODE, m.shortCode());
+    JsonCodecs.writeString(g, ORIGINAL_URL, m.originalUrl());
+    JsonCodecs.writeInstant(g, CREATED_AT, m.createdAt());
+    JsonCodecs.writeInstant(g, EXPIRES_AT, m.getExpiresAt());
+    g.writeName(ACTIVE);
+    g.writeBoolean(m.active());
+    g.writeEndObject();
+  }
+
+  static ShortUrlMapping read(JsonParser p, DeserializationContext ctxt) {
+    String shortCode = null;
+    String originalUrl = null;
+    Instant createdAt = null;
+    Instant expiresAt = null;
+    boolean active = false;
+    for (JsonToken t = JsonCodecs.enterObject(p, ctxt, ShortUrlMapping.class);
+         t == JsonToken.PROPERTY_NAME;
+         t = p.nextToken()) {
+      String name = p.currentName();
+      p.nextToken();
+      switch (name) {
+        case "shortCode" -> shortCode = JsonCodecs.readString(p);
+        case "originalUrl" -> originalUrl = JsonCodecs.readString(p);
+        case "createdAt" -> createdAt = JsonCodecs.readInstant(p);
+        case "expiresAt" -> expiresAt = JsonCodecs.readInstant(p);
+        case "active" -> active = JsonCodecs.readBoolean(p);
+        default -> p.skipChildren();
+      }
+    }
+    return new ShortUrlMapping(shortCode, originalUrl, createdAt, expiresAt, active);
+  }
+
+  static final class Serializer
+      extends ValueSerializer<ShortUrlMapping> {
+    @Override
+    public void serialize(ShortUrlMapping value, JsonGenerator g, SerializationContext ctxt) {
+      write(g, value);
+    }
+
+    @Override
+    public Class<?> handledType() {
+      return ShortUrlMapping.class;
+    }
+  }
+
+  static final class Deserializer
+      extends ValueDeserializer<ShortUrlMapping> {
+    @Override
+    public ShortUrlMapping deserialize(JsonParser p, DeserializationContext ctxt) {
+      return read(p, ctxt);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package com.svenruppert.urlshortener.core.json;
+
+import com.svenruppert.urlshortener.core.statistics.StatisticsCountResponse;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.ValueSerializer;
+
+import java.time.LocalDate;
+
+/**
+ * {@code {"shortCode":..,"from":..,"to":..,"count":..}}
+ */
+public final class StatisticsCountCodec {
+
+  private static final SerializableString SHORT_CODE = new SerializedString("shortCode");
+  private static final SerializableString FROM = new SerializedString("from");
+  private static final SerializableString TO = new SerializedString("to");
+  private static final SerializableString COUNT = new SerializedString("count");
+
+  private StatisticsCountCodec() {
+  }
+
+  static final class Serializer
+      extends ValueSerializer<StatisticsCountResponse> {
+    @Override
+    public void serialize(StatisticsCountResponse value, JsonGenerator g, SerializationContext ctxt) {
+      g.writeStartObject();
+      JsonCodecs.writeString(g, SHORT_CODE, value.shortCode());
+      JsonCodecs.writeLocalDate(g, FROM, value.from());
+      JsonCodecs.writeLocalDate(g, TO, value.to());
+      g.writeName(COUNT);
+      g.writeNumber(value.count());
+      g.writeEndObject();
+    }
+
+    @Override
+    public Class<?> handledType() {
+      return StatisticsCountResponse.class;
+    }
+  }
+
+  static final class Deserializer
+      extends ValueDeserializer<StatisticsCountResponse> {
+    @Override
+    public StatisticsCountResponse deserialize(JsonParser p, DeserializationContext ctxt) {
+      String shortCode = null;
+      LocalDate from = null;
+      LocalDate to = null;
+      long count = 0;
+      for (JsonToken t = JsonCodecs.enterObject(p, ctxt, StatisticsCountResponse.class);
+           t == JsonToken.PROPERTY_NAME;
+           t = p.nextToken()) {
+        String name = p.currentName();
+        p.nextToken();
+        switch (name) {
+          case "shortCode" -> shortCode = JsonCodecs.readString(p);
+          case "from" -> from = JsonCodecs.readLocalDate(p);
+          case "to" -> to = JsonCodecs.readLocalDate(p);
+          case "count" -> count = JsonCodecs.readLong(p);
+          default -> p.skipChildren();
+        }
+      }
+      return new StatisticsCountResponse(shortCode, from, to, count);
+    }
+  }
+}
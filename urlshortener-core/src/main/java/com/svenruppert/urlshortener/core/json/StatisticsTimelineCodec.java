@@ -0,0 +1,120 @@
+package com.svenruppert.urlshortener.core.json;
+
+import com.svenruppert.urlshortener.core.statistics.StatisticsTimelineResponse;
+import com.svenruppert.urlshortener.core.statistics.StatisticsTimelineResponse.DailyCount;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.ValueSerializer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code {"shortCode":..,"from":..,"to":..,"dailyCounts":[{"date":..,"count":..}],"totalCount":..}}
+ */
+public final class StatisticsTimelineCodec {
+
+  private static final SerializableString SHORT_CODE = new SerializedString("shortCode");
+  private static final SerializableString FROM = new SerializedString("from");
+  private static final SerializableString TO = new SerializedString("to");
+  private static final SerializableString DAILY_COUNTS = new SerializedString("dailyCounts");
+  private static final SerializableString TOTAL_COUNT = new SerializedString("totalCount");
+  private static final SerializableString DATE = new SerializedString("date");
+  private static final SerializableString COUNT = new SerializedString("count");
+
+  private StatisticsTimelineCodec() {
+  }
+
+  static final class Serializer
+      extends ValueSerializer<StatisticsTimelineResponse> {
+    @Override
+    public void serialize(StatisticsTimelineResponse value, JsonGenerator g, SerializationContext ctxt) {
+      g.writeStartObject();
+      JsonCodecs.writeString(g, SHORT_CODE, value.shortCode());
+      JsonCodecs.writeLocalDate(g, FROM, value.from());
+      JsonCodecs.writeLocalDate(g, TO, value.to());
+      g.writeName(DAILY_COUNTS);
+      List<DailyCount> days = value.dailyCounts();
+      if (days == null) {
+        g.writeNull();
+      } else {
+        g.writeStartArray();
+        for (DailyCount day : days) {
+          g.writeStartObject();
+          JsonCodecs.writeLocalDate(g, DATE, day.date());
+          g.writeName(COUNT);
+          g.writeNumber(day.count());
+          g.writeEndObject();
+        }
+        g.writeEndArray();
+      }
+      g.writeName(TOTAL_COUNT);
+      g.writeNumber(value.totalCount());
+      g.writeEndObject();
+    }
+
+    @Override
+    public Class<?> handledType() {
+      return StatisticsTimelineResponse.class;
+    }
+  }
+
+  static final class Deserializer
+      extends ValueDeserializer<StatisticsTimelineResponse> {
+    @Override
+    public StatisticsTimelineResponse deserialize(JsonParser p, DeserializationContext ctxt) {
+      String shortCode = null;
+      LocalDate from = null;
+      LocalDate to = null;
+      List<DailyCount> days = null;
+      long total = 0;
+      for (JsonToken t = JsonCodecs.enterObject(p, ctxt, StatisticsTimelineResponse.class);
+           t == JsonToken.PROPERTY_NAME;
+           t = p.nextToken()) {
+        String name = p.currentName();
+        p.nextToken();
+        switch (name) {
+          case "shortCode" -> shortCode = JsonCodecs.readString(p);
+          case "from" -> from = JsonCodecs.readLocalDate(p);
+          case "to" -> to = JsonCodecs.readLocalDate(p);
+          case "dailyCounts" -> days = readDays(p, ctxt);
+          case "totalCount" -> total = JsonCodecs.readLong(p);
+          default -> p.skipChildren();
+        }
+      }
+      return new StatisticsTimelineResponse(shortCode, from, to, days, total);
+    }
+
+    private static List<DailyCount> readDays(JsonParser p, DeserializationContext ctxt) {
+      if (p.currentToken() != JsonToken.START_ARRAY) {
+        p.skipChildren();
+        return null;
+      }
+      List<DailyCount> days = new ArrayList<>();
+      while (p.nextToken() == JsonToken.START_OBJECT) {
+        LocalDate date = null;
+        long count = 0;
+        for (JsonToken t = JsonCodecs.enterObject(p, ctxt, DailyCount.class);
+             t == JsonToken.PROPERTY_NAME;
+             t = p.nextToken()) {
+          String name = p.currentName();
+          p.nextToken();
+          switch (name) {
+            case "date" -> date = JsonCodecs.readLocalDate(p);
+            case "count" -> count = JsonCodecs.readLong(p);
+            default -> p.skipChildren();
+          }
+        }
+        days.add(new DailyCount(date, count));
+      }
+      return days;
+    }
+  }
+}
@@ -1,23 +1,42 @@
 package com.svenruppert.urlshortener.core.statistics;
 
+import java.util.List;
+
 /**
  * Response DTO for statistics configuration queries.
+ * {@code statisticsLevel} and {@code levelTransitions} show whether the server currently
+ * records less detail because of load.
  */
 public record StatisticsConfigResponse(
     int hotWindowDays,
     int writerBatchSize,
     int aggregatorIntervalSeconds,
-    boolean statisticsEnabled
+    boolean statisticsEnabled,
+    StatisticsLevel statisticsLevel,
+    List<StatisticsLevelTransition> levelTransitions
 ) {
+  public StatisticsConfigResponse {
+    statisticsLevel = statisticsLevel == null ? StatisticsLevel.FULL : statisticsLevel;
+    levelTransitions = levelTransitions == null ? List.of() : List.copyOf(levelTransitions);
+  }
+
   /**
    * Creates a response from a StatisticsConfig.
    */
   public static StatisticsConfigResponse from(StatisticsConfig config) {
+    return from(config, StatisticsLevel.FULL, List.of());
+  }
+
+  public static StatisticsConfigResponse from(StatisticsConfig config,
+                                              StatisticsLevel level,
+                                              List<StatisticsLevelTransition> transitions) {
     return new StatisticsConfigResponse(
         config.hotWindowDays(),
         config.writerBatchSize(),
         config.aggregatorIntervalSeconds(),
-        config.isStatisticsEnabled()
+        config.isStatisticsEnabled(),
+        level,
+        transitions
     );
   }
 }
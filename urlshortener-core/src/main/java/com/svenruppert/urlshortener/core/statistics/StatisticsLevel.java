@@ -0,0 +1,23 @@
+package com.svenruppert.urlshortener.core.statistics;
+
+/**
+ * How much redirect detail the statistics layer records, from most to least expensive.
+ */
+public enum StatisticsLevel {
+  /** Every redirect is stored as a raw event. */
+  FULL,
+  /** A share of redirects is stored as raw events, all of them are counted. */
+  SAMPLED,
+  /** Redirects are only counted in the hourly and daily aggregates. */
+  AGGREGATE_ONLY,
+  /** Nothing is recorded. */
+  DISABLED;
+
+  public StatisticsLevel lower() {
+    return this == DISABLED ? DISABLED : values()[ordinal() + 1];
+  }
+
+  public StatisticsLevel higher() {
+    return this == FULL ? FULL : values()[ordinal() - 1];
+  }
+}
@@ -0,0 +1,13 @@
+package com.svenruppert.urlshortener.core.statistics;
+
+import java.time.Instant;
+
+/**
+ * One change of the {@link StatisticsLevel}, with the measurement that caused it.
+ */
+public record StatisticsLevelTransition(
+    Instant at,
+    StatisticsLevel from,
+    StatisticsLevel to,
+    String reason
+) { }
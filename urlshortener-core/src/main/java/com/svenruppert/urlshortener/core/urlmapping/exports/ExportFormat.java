@@ -0,0 +1,94 @@
+package com.svenruppert.urlshortener.core.urlmapping.exports;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import static com.svenruppert.urlshortener.core.DefaultValues.*;
+
+/**
+ * Wire formats for exporting and importing mappings.
+ * <ul>
+ *   <li>{@link #JSON}: ZIP archive with a single JSON document ({@code items} array) - the original format</li>
+ *   <li>{@link #NDJSON}: one {@code ShortUrlMapping} JSON object per line, streamable and splittable</li>
+ *   <li>{@link #BINARY}: length-prefixed records, see {@link MappingBinaryCodec}</li>
+ * </ul>
+ * Export picks the format from the {@code format} query parameter or the {@code Accept} header,
+ * import detects it from the leading bytes of the body.
+ */
+public enum ExportFormat {
+  JSON("json", APPLICATION_ZIP, ".zip"),
+  NDJSON("ndjson", APPLICATION_NDJSON, ".ndjson"),
+  BINARY("binary", APPLICATION_MAPPINGS_BINARY, ".bin");
+
+  /**
+   * Number of leading bytes {@link #detect(byte[], String)} looks at.
+   */
+  public static final int DETECT_BYTES = 16;
+
+  private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+
+  private final String key;
+  private final String contentType;
+  private final String fileExtension;
+
+  ExportFormat(String key, String contentType, String fileExtension) {
+    this.key = key;
+    this.contentType = contentType;
+    this.fileExtension = fileExtension;
+  }
+
+  public static Optional<ExportFormat> fromKey(String key) {
+    if (key == null || key.isBlank()) return Optional.empty();
+    String k = key.trim().toLowerCase(Locale.ROOT);
+    for (ExportFormat f : values()) {
+      if (f.key.equals(k)) return Optional.of(f);
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Picks NDJSON or BINARY if the {@code Accept} header names their media type, JSON otherwise.
+   */
+  public static ExportFormat fromAccept(String accept) {
+    if (accept == null) return JSON;
+    String a = accept.toLowerCase(Locale.ROOT);
+    if (a.contains(APPLICATION_MAPPINGS_BINARY)) return BINARY;
+    if (a.contains(APPLICATION_NDJSON)) return NDJSON;
+    return JSON;
+  }
+
+  /**
+   * Detects the format of an import body from its first bytes; the content type is only
+   * consulted for bodies that are neither a ZIP nor a binary export.
+   */
+  public static ExportFormat detect(byte[] head, String contentType) {
+    if (startsWith(head, ZIP_MAGIC)) return JSON;
+    if (startsWith(head, MappingBinaryCodec.MAGIC)) return BINARY;
+    if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(APPLICATION_NDJSON)) return NDJSON;
+    for (byte b : head) {
+      if (b == '{') return NDJSON;
+      if (!Character.isWhitespace(b)) break;
+    }
+    return JSON;
+  }
+
+  private static boolean startsWith(byte[] head, byte[] magic) {
+    if (head == null || head.length < magic.length) return false;
+    for (int i = 0; i < magic.length; i++) {
+      if (head[i] != magic[i]) return false;
+    }
+    return true;
+  }
+
+  public String key() {
+    return key;
+  }
+
+  public String contentType() {
+    return contentType;
+  }
+
+  public String fileExtension() {
+    return fileExtension;
+  }
+}
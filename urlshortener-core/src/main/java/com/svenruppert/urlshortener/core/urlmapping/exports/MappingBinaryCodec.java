@@ -0,0 +1,220 @@
+package com.svenruppert.urlshortener.core.urlmapping.exports;
+
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Compact binary stream of {@link ShortUrlMapping}s.
+ * <pre>
+ * header  := "USMB" u16:version u16:reserved
+ * record  := varint:length payload          (length &gt; 0)
+ * payload := u8:flags string:shortCode string:originalUrl [instant:createdAt] [instant:expiresAt]
+ * string  := varint:byteLength utf8-bytes
+ * instant := i64:epochSecond i32:nano
+ * trailer := varint:0 i64:recordCount
+ * </pre>
+ * Flags: bit 0 active, bit 1 createdAt present, bit 2 expiresAt present. Readers skip payload
+ * bytes they do not know, so later versions may append fields to a record.
+ * All fixed-width numbers are big-endian ({@link DataOutputStream}).
+ */
+public final class MappingBinaryCodec {
+
+  public static final byte[] MAGIC = {'U', 'S', 'M', 'B'};
+  public static final int VERSION = 1;
+
+  static final int MAX_RECORD_BYTES = 1024 * 1024;
+
+  private static final int FLAG_ACTIVE = 1;
+  private static final int FLAG_CREATED = 1 << 1;
+  private static final int FLAG_EXPIRES = 1 << 2;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private MappingBinaryCodec() {
+  }
+
+  static void writeVarint(DataOutput out, int value)
+      throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  static int readVarint(DataInput in)
+      throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) return value;
+    }
+    throw new IOException("Malformed varint in binary export");
+  }
+
+  /**
+   * Writes the header on construction; {@link #finish()} writes the trailer.
+   * Closing the writer finishes it and closes the target stream.
+   */
+  public static final class Writer
+      implements Closeable {
+
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private long count;
+    private boolean finished;
+
+    public Writer(OutputStream target)
+        throws IOException {
+      this.out = new DataOutputStream(new BufferedOutputStream(target, BUFFER_SIZE));
+      out.write(MAGIC);
+      out.writeShort(VERSION);
+      out.writeShort(0);
+    }
+
+    public void write(ShortUrlMapping mapping)
+        throws IOException {
+      if (finished) throw new IllegalStateException("writer already finished");
+      record.reset();
+      Instant created = mapping.createdAt();
+      Instant expires = mapping.expiresAt().orElse(null);
+      int flags = (mapping.active() ? FLAG_ACTIVE : 0)
+          | (created != null ? FLAG_CREATED : 0)
+          | (expires != null ? FLAG_EXPIRES : 0);
+      recordOut.writeByte(flags);
+      writeString(mapping.shortCode());
+      writeString(mapping.originalUrl());
+      if (created != null) writeInstant(created);
+      if (expires != null) writeInstant(expires);
+
+      writeVarint(out, record.size());
+      record.writeTo(out);
+      count++;
+    }
+
+    private void writeString(String s)
+        throws IOException {
+      byte[] bytes = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+      writeVarint(recordOut, bytes.length);
+      recordOut.write(bytes);
+    }
+
+    private void writeInstant(Instant i)
+        throws IOException {
+      recordOut.writeLong(i.getEpochSecond());
+      recordOut.writeInt(i.getNano());
+    }
+
+    public long count() {
+      return count;
+    }
+
+    /**
+     * Writes the trailer and flushes, leaving the target stream open.
+     */
+    public void finish()
+        throws IOException {
+      if (finished) return;
+      finished = true;
+      writeVarint(out, 0);
+      out.writeLong(count);
+      out.flush();
+    }
+
+    @Override
+    public void close()
+        throws IOException {
+      finish();
+      out.close();
+    }
+  }
+
+  /**
+   * Validates the header on construction; {@link #read()} returns {@code null} after the
+   * trailer, whose record count is checked against the records actually read.
+   */
+  public static final class Reader
+      implements Closeable {
+
+    private final DataInputStream in;
+    private byte[] buffer = new byte[256];
+    private long count;
+    private boolean done;
+
+    public Reader(InputStream source)
+        throws IOException {
+      this.in = new DataInputStream(new BufferedInputStream(source, BUFFER_SIZE));
+      byte[] magic = new byte[MAGIC.length];
+      in.readFully(magic);
+      for (int i = 0; i < MAGIC.length; i++) {
+        if (magic[i] != MAGIC[i]) throw new IOException("Not a binary mapping export");
+      }
+      int version = in.readUnsignedShort();
+      if (version != VERSION) throw new IOException("Unsupported binary export version: " + version);
+      in.readUnsignedShort();
+    }
+
+    public ShortUrlMapping read()
+        throws IOException {
+      if (done) return null;
+      int length;
+      try {
+        length = readVarint(in);
+      } catch (EOFException e) {
+        throw new IOException("Binary export is truncated after " + count + " records", e);
+      }
+      if (length == 0) {
+        done = true;
+        long expected = in.readLong();
+        if (expected != count) {
+          throw new IOException("Binary export trailer announces " + expected + " records, read " + count);
+        }
+        return null;
+      }
+      if (length > MAX_RECORD_BYTES) throw new IOException("Binary export record too large: " + length);
+      if (buffer.length < length) buffer = new byte[Math.max(length, buffer.length * 2)];
+      in.readFully(buffer, 0, length);
+      count++;
+      return decode(new DataInputStream(new ByteArrayInputStream(buffer, 0, length)));
+    }
+
+    private static ShortUrlMapping decode(DataInputStream record)
+        throws IOException {
+      int flags = record.readUnsignedByte();
+      String shortCode = readString(record);
+      String originalUrl = readString(record);
+      Instant created = (flags & FLAG_CREATED) != 0 ? readInstant(record) : null;
+      Instant expires = (flags & FLAG_EXPIRES) != 0 ? readInstant(record) : null;
+      // remaining payload bytes belong to newer versions and are ignored
+      return new ShortUrlMapping(shortCode, originalUrl, created, expires, (flags & FLAG_ACTIVE) != 0);
+    }
+
+    private static String readString(DataInputStream record)
+        throws IOException {
+      int len = readVarint(record);
+      if (len > record.available()) throw new IOException("Binary export string exceeds record");
+      byte[] bytes = new byte[len];
+      record.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Instant readInstant(DataInputStream record)
+        throws IOException {
+      return Instant.ofEpochSecond(record.readLong(), record.readInt());
+    }
+
+    public long count() {
+      return count;
+    }
+
+    @Override
+    public void close()
+        throws IOException {
+      in.close();
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package junit.com.svenruppert.urlshortener.core;
+
+import com.svenruppert.urlshortener.core.json.JsonCodecs;
+import com.svenruppert.urlshortener.core.statistics.StatisticsCountResponse;
+import com.svenruppert.urlshortener.core.statistics.StatisticsTimelineResponse;
+import com.svenruppert.urlshortener.core.statistics.StatisticsTimelineResponse.DailyCount;
+import com.svenruppert.urlshortener.core.urlmapping.BulkShortenResponse;
+import com.svenruppert.urlshortener.core.urlmapping.BulkShortenResponse.BulkShortenItemResult;
+import com.svenruppert.urlshortener.core.urlmapping.BulkShortenResponse.ItemStatus;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import static com.svenruppert.urlshortener.core.JsonUtils.fromJson;
+import static com.svenruppert.urlshortener.core.JsonUtils.toJson;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCodecsTest {
+
+  @Test
+  void formatInstant_matchesInstantToString() {
+    var rnd = new Random(42);
+    char[] buf = new char[30];
+    long max = Instant.parse("9999-12-31T23:59:59Z").getEpochSecond();
+    for (int i = 0; i < 100_000; i++) {
+      long seconds = Math.floorMod(rnd.nextLong(), max);
+      int nanos = switch (i % 4) {
+        case 0 -> 0;
+        case 1 -> rnd.nextInt(1_000) * 1_000_000;
+        case 2 -> rnd.nextInt(1_000_000) * 1_000;
+        default -> rnd.nextInt(1_000_000_000);
+      };
+      Instant instant = Instant.ofEpochSecond(seconds, nanos);
+      int len = JsonCodecs.formatInstant(instant, buf);
+      assertEquals(instant.toString(), new String(buf, 0, len));
+    }
+    assertEquals(-1, JsonCodecs.formatInstant(Instant.parse("+10000-01-01T00:00:00Z"), buf));
+  }
+
+  @Test
+  void shortUrlMapping_roundTrip() {
+    var mapping = new ShortUrlMapping("abc", "https://example.org/?q=\"x\"",
+                                      Instant.parse("2025-06-01T12:00:00.123Z"), null, true);
+    String json = toJson(mapping);
+    assertTrue(json.contains("\"createdAt\":\"2025-06-01T12:00:00.123Z\""));
+    assertTrue(json.contains("\"expiresAt\":null"));
+    assertEquals(mapping, fromJson(json, ShortUrlMapping.class));
+  }
+
+  @Test
+  void shortUrlMapping_readsListingShape() {
+    String json = """
+        {"shortCode":"abc","originalUrl":"https://example.org","createdAt":"2025-06-01T12:00:00Z",
+         "expiresAt":"","active":"true","unknown":{"nested":[1,2]}}""";
+    var mapping = fromJson(json, ShortUrlMapping.class);
+    assertEquals("abc", mapping.shortCode());
+    assertTrue(mapping.expiresAt().isEmpty());
+    assertTrue(mapping.active());
+  }
+
+  @Test
+  void statisticsResponses_roundTrip() {
+    var count = new StatisticsCountResponse("abc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), 17);
+    assertEquals(count, fromJson(toJson(count), StatisticsCountResponse.class));
+
+    var timeline = StatisticsTimelineResponse.create("abc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 2),
+                                                     List.of(new DailyCount(LocalDate.of(2025, 1, 1), 3),
+                                                             new DailyCount(LocalDate.of(2025, 1, 2), 4)));
+    assertEquals(timeline, fromJson(toJson(timeline), StatisticsTimelineResponse.class));
+  }
+
+  @Test
+  void bulkShortenResponse_roundTrip() {
+    var response = new BulkShortenResponse(List.of(
+        BulkShortenItemResult.success(0, "https://example.org/1", "a1", "http://localhost/r/a1"),
+        BulkShortenItemResult.invalidUrl(1, "nope", "invalid scheme")));
+    String json = toJson(response);
+    assertFalse(json.contains("success"));
+
+    var read = fromJson(json, BulkShortenResponse.class);
+    assertEquals(2, read.getTotal());
+    assertEquals(1, read.getSucceeded());
+    assertEquals(1, read.getFailed());
+    assertEquals(ItemStatus.INVALID_URL, read.getResults().get(1).getStatus());
+    assertEquals("invalid scheme", read.getResults().get(1).getErrorMessage());
+    assertEquals("http://localhost/r/a1", read.getResults().getFirst().getShortUrl());
+  }
+}
@@ -0,0 +1,80 @@
+package junit.com.svenruppert.urlshortener.core;
+
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+import com.svenruppert.urlshortener.core.urlmapping.exports.ExportFormat;
+import com.svenruppert.urlshortener.core.urlmapping.exports.MappingBinaryCodec;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappingBinaryCodecTest {
+
+  private static byte[] encode(List<ShortUrlMapping> mappings)
+      throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    try (var writer = new MappingBinaryCodec.Writer(bytes)) {
+      for (var m : mappings) writer.write(m);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static List<ShortUrlMapping> decode(byte[] bytes)
+      throws IOException {
+    List<ShortUrlMapping> result = new ArrayList<>();
+    try (var reader = new MappingBinaryCodec.Reader(new ByteArrayInputStream(bytes))) {
+      for (ShortUrlMapping m; (m = reader.read()) != null; ) result.add(m);
+      assertNull(reader.read());
+    }
+    return result;
+  }
+
+  @Test
+  void roundTrip_keepsAllFields()
+      throws IOException {
+    var mappings = List.of(
+        new ShortUrlMapping("abc", "https://example.org/ä?q=1", Instant.parse("2025-06-01T12:00:00.123456789Z"),
+                            Instant.parse("2025-07-01T00:00:00Z"), true),
+        new ShortUrlMapping("x".repeat(300), "https://example.org/" + "p".repeat(5_000), null, null, false));
+    assertEquals(mappings, decode(encode(mappings)));
+    assertEquals(List.of(), decode(encode(List.of())));
+  }
+
+  @Test
+  void truncatedOrForeignInput_isRejected()
+      throws IOException {
+    byte[] bytes = encode(List.of(new ShortUrlMapping("abc", "https://example.org", Instant.EPOCH, null, true)));
+
+    // trailer missing
+    assertThrows(IOException.class, () -> decode(Arrays.copyOf(bytes, bytes.length - 9)));
+    // trailer count does not match
+    byte[] wrongCount = bytes.clone();
+    wrongCount[wrongCount.length - 1] = 7;
+    assertThrows(IOException.class, () -> decode(wrongCount));
+    // not a binary export
+    assertThrows(IOException.class, () -> decode("{\"shortCode\":\"abc\"}".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  void detect_distinguishesZipBinaryAndNdjson()
+      throws IOException {
+    byte[] binary = encode(List.of());
+    assertEquals(ExportFormat.BINARY, ExportFormat.detect(Arrays.copyOf(binary, 8), null));
+    assertEquals(ExportFormat.JSON, ExportFormat.detect(new byte[]{'P', 'K', 3, 4, 0}, null));
+    assertEquals(ExportFormat.NDJSON, ExportFormat.detect(" \n{\"a\":1}".getBytes(StandardCharsets.UTF_8), null));
+    assertEquals(ExportFormat.NDJSON, ExportFormat.detect(new byte[0], "application/x-ndjson"));
+
+    assertEquals(ExportFormat.NDJSON, ExportFormat.fromAccept("application/x-ndjson"));
+    assertEquals(ExportFormat.JSON, ExportFormat.fromAccept("application/zip"));
+    assertEquals(ExportFormat.BINARY, ExportFormat.fromKey("Binary").orElseThrow());
+    assertTrue(ExportFormat.fromKey("csv").isEmpty());
+  }
+}
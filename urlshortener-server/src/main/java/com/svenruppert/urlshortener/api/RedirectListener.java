@@ -0,0 +1,116 @@
+package com.svenruppert.urlshortener.api;
+
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The redirect side of the server as one or more independent {@link HttpServer}s.
+ * <p>
+ * Every JDK {@code HttpServer} accepts connections and parses requests on a single dispatcher
+ * thread, whatever executor runs the handlers. On many-core hosts that thread becomes the limit,
+ * so several listeners can be started, each with its own dispatcher. The JDK server cannot share
+ * a port ({@code SO_REUSEPORT} is not exposed), so listener {@code i} binds {@code port + i}
+ * (with port 0 every listener gets an ephemeral port); a load balancer or firewall rule spreads
+ * clients across them. All listeners share one virtual-thread executor for the handlers.
+ * <p>
+ * Configuration ({@code -Durlshortener.<key>}):
+ * <ul>
+ *   <li>{@code redirect.listeners}: number of listeners (default 1)</li>
+ *   <li>{@code redirect.backlog}: accept queue length per listener (default 0 = system default)</li>
+ *   <li>{@code redirect.maxConnections}, {@code redirect.maxIdleConnections}: limits per listener,
+ *   passed on to the JDK server as {@code sun.net.httpserver.*}. The JDK reads them once, when the
+ *   first server of the JVM is created, and applies them to the admin server as well; explicitly
+ *   set {@code sun.net.httpserver.*} properties win.</li>
+ * </ul>
+ */
+public final class RedirectListener
+    implements RedirectTransport, HasLogger {
+
+  private final List<HttpServer> servers;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  public RedirectListener(String host, int port, int listeners, int backlog)
+      throws IOException {
+    if (listeners < 1) throw new IllegalArgumentException("listeners must be >= 1");
+    applyConnectionLimits();
+    var created = new ArrayList<HttpServer>(listeners);
+    try {
+      for (int i = 0; i < listeners; i++) {
+        int p = port == 0 ? 0 : port + i;
+        created.add(HttpServer.create(new InetSocketAddress(host, p), Math.max(0, backlog)));
+      }
+    } catch (IOException e) {
+      created.forEach(s -> s.stop(0));
+      throw e;
+    }
+    this.servers = List.copyOf(created);
+  }
+
+  public static RedirectListener fromConfig(String host, int port)
+      throws IOException {
+    return new RedirectListener(host, port,
+                                Math.max(1, ConfigProperties.integer("redirect.listeners", 1)),
+                                ConfigProperties.integer("redirect.backlog", 0));
+  }
+
+  /**
+   * Must run before the first {@link HttpServer} of the JVM is created.
+   */
+  static void applyConnectionLimits() {
+    passOn("redirect.maxConnections", "sun.net.httpserver.maxConnections");
+    passOn("redirect.maxIdleConnections", "sun.net.httpserver.maxIdleConnections");
+  }
+
+  private static void passOn(String key, String jdkProperty) {
+    var value = ConfigProperties.string(key, null);
+    if (value != null && System.getProperty(jdkProperty) == null) {
+      System.setProperty(jdkProperty, value);
+    }
+  }
+
+  /**
+   * Registers the handler on every listener and returns the contexts, e.g. to add filters.
+   */
+  public List<HttpContext> createContext(String path, HttpHandler handler) {
+    var contexts = new ArrayList<HttpContext>(servers.size());
+    for (HttpServer s : servers) contexts.add(s.createContext(path, handler));
+    return contexts;
+  }
+
+  @Override
+  public void start() {
+    for (HttpServer s : servers) {
+      s.setExecutor(executor);
+      s.start();
+      logger().info("redirect listener running at {}:{}", s.getAddress().getHostName(), s.getAddress().getPort());
+    }
+  }
+
+  @Override
+  public void stop(int delaySeconds) {
+    for (HttpServer s : servers) s.stop(delaySeconds);
+    executor.shutdown();
+  }
+
+  /**
+   * Address of the first listener.
+   */
+  @Override
+  public InetSocketAddress getAddress() {
+    return servers.getFirst().getAddress();
+  }
+
+  public List<InetSocketAddress> addresses() {
+    return servers.stream().map(HttpServer::getAddress).toList();
+  }
+}
@@ -0,0 +1,16 @@
+package com.svenruppert.urlshortener.api;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Network side of the redirect server, selected with {@code -Durlshortener.redirect.engine}:
+ * {@code httpserver} ({@link RedirectListener}, default) or {@code socket} ({@link SocketRedirectServer}).
+ */
+public interface RedirectTransport {
+
+  void start();
+
+  void stop(int delaySeconds);
+
+  InetSocketAddress getAddress();
+}
@@ -1,19 +1,42 @@
 package com.svenruppert.urlshortener.api;
 
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.accesslog.AccessLog;
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+import com.svenruppert.urlshortener.api.filter.AdaptiveConcurrencyLimiter;
+import com.svenruppert.urlshortener.api.filter.AdmissionControlFilter;
 import com.svenruppert.urlshortener.api.filter.BlockBrowserPreflightFilter;
+import com.svenruppert.urlshortener.api.filter.BulkheadFilter;
+import com.svenruppert.urlshortener.api.filter.Bulkheads;
+import com.svenruppert.urlshortener.api.filter.MetricsFilter;
+import com.svenruppert.urlshortener.api.filter.RateLimitFilter;
+import com.svenruppert.urlshortener.api.filter.SlowOperationFilter;
+import com.svenruppert.urlshortener.api.filter.ResponseCompressionFilter;
+import com.svenruppert.urlshortener.api.filter.TokenBucketLimiter;
 import com.svenruppert.urlshortener.api.handler.RedirectHandler;
+import com.svenruppert.urlshortener.api.handler.RedirectResolver;
+import com.svenruppert.urlshortener.api.handler.admin.AdmissionStatsHandler;
+import com.svenruppert.urlshortener.api.handler.admin.BulkheadStatsHandler;
+import com.svenruppert.urlshortener.api.handler.admin.MetricsHandler;
+import com.svenruppert.urlshortener.api.handler.admin.RedirectSnapshotHandler;
+import com.svenruppert.urlshortener.api.handler.admin.SlowOperationsHandler;
 import com.svenruppert.urlshortener.api.handler.admin.StoreInfoHandler;
 import com.svenruppert.urlshortener.api.handler.admin.columns.ColumnVisibilityBulkHandler;
 import com.svenruppert.urlshortener.api.handler.admin.columns.ColumnVisibilityHandler;
 import com.svenruppert.urlshortener.api.handler.admin.columns.ColumnVisibilitySingleHandler;
 import com.svenruppert.urlshortener.api.handler.statistics.*;
 import com.svenruppert.urlshortener.api.handler.urlmapping.*;
+import com.svenruppert.urlshortener.api.handler.urlmapping.exports.SegmentedZipWriter;
 import com.svenruppert.urlshortener.api.handler.urlmapping.imports.ImportApplyHandler;
 import com.svenruppert.urlshortener.api.handler.urlmapping.imports.ImportConflictsListHandler;
 import com.svenruppert.urlshortener.api.handler.urlmapping.imports.ImportInvalidListHandler;
 import com.svenruppert.urlshortener.api.handler.urlmapping.imports.ImportValidateHandler;
+import com.svenruppert.urlshortener.api.jetty.JettyTransport;
+import com.svenruppert.urlshortener.api.metrics.MetricsRegistry;
+import com.svenruppert.urlshortener.api.slowlog.SlowOperationLog;
 import com.svenruppert.urlshortener.api.store.imports.ImportStagingStore;
 import com.svenruppert.urlshortener.api.store.imports.InMemoryImportStagingStore;
 import com.svenruppert.urlshortener.api.store.preferences.PreferencesStore;
@@ -21,13 +44,31 @@ import com.svenruppert.urlshortener.api.store.provider.eclipsestore.EclipseStore
 import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryPreferencesStore;
 import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryStatisticsStore;
 import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryUrlMappingStore;
+import com.svenruppert.urlshortener.api.store.statistics.AdaptiveStatisticsStore;
+import com.svenruppert.urlshortener.api.store.statistics.InstrumentedStatisticsWriter;
 import com.svenruppert.urlshortener.api.store.statistics.StatisticsStore;
+import com.svenruppert.urlshortener.api.store.statistics.StatisticsWriter;
+import com.svenruppert.urlshortener.api.store.urlmapping.CachingUrlMappingLookup;
+import com.svenruppert.urlshortener.api.store.urlmapping.InstrumentedUrlMappingStore;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingLookup;
 import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingStore;
+import com.svenruppert.urlshortener.api.store.urlmapping.expiry.ExpiryReaper;
+import com.svenruppert.urlshortener.api.store.urlmapping.expiry.ExpiryRetentionPolicy;
+import com.svenruppert.urlshortener.api.store.urlmapping.replication.ChangeLogTailer;
+import com.svenruppert.urlshortener.api.store.urlmapping.replication.ChangeLogWriter;
+import com.svenruppert.urlshortener.api.store.urlmapping.replication.ReplicaUrlMappingLookup;
+import com.svenruppert.urlshortener.api.store.urlmapping.snapshot.MappedRedirectSnapshot;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import static com.svenruppert.urlshortener.core.DefaultValues.*;
@@ -35,8 +76,20 @@ import static com.svenruppert.urlshortener.core.DefaultValues.*;
 public class ShortenerServer
     implements HasLogger {
 
-  private HttpServer serverRedirect;
+  private RedirectTransport serverRedirect;
   private HttpServer serverAdmin;
+  private JettyTransport jettyAdmin;
+  private ExpiryReaper expiryReaper;
+  private AccessLog accessLog;
+  private ExecutorService exportWorkers;
+  private AdaptiveStatisticsStore adaptiveStatistics;
+  private ResponseCompressionFilter compressionFilter;
+  private List<Filter> adminFilters;
+  private final List<AdaptiveConcurrencyLimiter> admissionLimiters = new ArrayList<>();
+  // null when metrics.enabled is false
+  private final MetricsRegistry metrics = MetricsRegistry.enabled() ? MetricsRegistry.defaultRegistry() : null;
+  private ChangeLogWriter changeLogWriter;
+  private ChangeLogTailer changeLogTailer;
 
   public static void main(String[] args)
       throws IOException {
@@ -59,6 +112,18 @@ public class ShortenerServer
     }
 
 
+    if ("follower".equalsIgnoreCase(ConfigProperties.string("replication.role", "writer"))) {
+      String changeLog = ConfigProperties.string("replication.log", null);
+      Path snapshot = snapshotPath();
+      boolean hasLog = changeLog != null && !changeLog.isBlank();
+      if (!hasLog && !Files.isRegularFile(snapshot)) {
+        throw new IllegalStateException("follower mode requires -D" + ConfigProperties.PREFIX + "replication.log"
+                                            + " or a redirect snapshot at " + snapshot);
+      }
+      new ShortenerServer().initFollower(host, port, hasLog ? Path.of(changeLog) : null, snapshot);
+      return;
+    }
+
     boolean persistent = true;
     new ShortenerServer().init(host, port, persistent);
   }
@@ -115,69 +180,319 @@ public class ShortenerServer
       statisticsStore = new InMemoryStatisticsStore(Clock.systemUTC());
       // statisticsStore remains null for in-memory mode
     }
+    statisticsStore = AdaptiveStatisticsStore.wrapFromConfig(statisticsStore);
+    if (statisticsStore instanceof AdaptiveStatisticsStore adaptive) adaptiveStatistics = adaptive;
+
+    // StoreInfoHandler reports the backend by type, so it gets the unwrapped store
+    final UrlMappingStore backingStore = urlMappingStore;
+    StatisticsWriter redirectStatistics = statisticsStore;
+    if (metrics != null) {
+      urlMappingStore = new InstrumentedUrlMappingStore(urlMappingStore, metrics);
+      redirectStatistics = new InstrumentedStatisticsWriter(statisticsStore, metrics);
+      registerStoreGauges(backingStore, statisticsStore);
+    }
+
+    var queryCache = new CachingUrlMappingLookup(urlMappingStore, QUERY_CACHE_MAX_ENTRIES);
+
+    String changeLog = ConfigProperties.string("replication.log", null);
+    if (changeLog != null && !changeLog.isBlank()) {
+      changeLogWriter = new ChangeLogWriter(Path.of(changeLog), urlMappingStore);
+      urlMappingStore.addChangeListener(changeLogWriter);
+    }
+
+    var expiryPolicy = ExpiryRetentionPolicy.fromConfig();
+    if (expiryPolicy.enabled()) {
+      expiryReaper = new ExpiryReaper(urlMappingStore, statisticsStore, expiryPolicy, Clock.systemUTC());
+      expiryReaper.start();
+    } else {
+      logger().info("Expiry retention policy is KEEP - no background reaper");
+    }
 
     logger().info("Starting URL Shortener server (redirect) with parameters: host={}, port={}", hostRedirect, portRedirect);
-    this.serverRedirect = HttpServer.create(new InetSocketAddress(hostRedirect, portRedirect), 0);
-    serverRedirect.createContext(PATH_REDIRECT, new RedirectHandler(urlMappingStore, statisticsStore));
+    this.serverRedirect = redirectTransport(hostRedirect, portRedirect, urlMappingStore, redirectStatistics);
 
     logger().info("Starting URL Shortener server (admin) with parameters: host={}, port={}", ADMIN_SERVER_HOST, ADMIN_SERVER_PORT);
-    this.serverAdmin = HttpServer.create(new InetSocketAddress(ADMIN_SERVER_HOST, ADMIN_SERVER_PORT), 0);
-    serverAdmin.createContext(PATH_ADMIN_VALIDATE_BULK, new BulkValidateHandler(urlMappingStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_SHORTEN_BULK, new BulkShortenHandler(urlMappingStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_SHORTEN, new ShortenHandler(urlMappingStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_LIST, new ListHandler(urlMappingStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_LIST_COUNT, new ListCountHandler(urlMappingStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_EDIT, new EditMappingHandler(urlMappingStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_DELETE, new DeleteMappingHandler(urlMappingStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_TOGGLE_ACTIVE, new ToggleActiveHandler(urlMappingStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_STORE_INFO, new StoreInfoHandler(urlMappingStore, startedAt)).getFilters().add(new BlockBrowserPreflightFilter());
-
-    serverAdmin.createContext(PATH_ADMIN_IMPORT_VALIDATE, new ImportValidateHandler(urlMappingStore, importStagingStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_IMPORT_APPLY, new ImportApplyHandler(urlMappingStore, importStagingStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_IMPORT_CONFLICTS, new ImportConflictsListHandler(importStagingStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_IMPORT_INVALID, new ImportInvalidListHandler(importStagingStore)).getFilters().add(new BlockBrowserPreflightFilter());
-
-    serverAdmin.createContext(PATH_ADMIN_PREFERENCES_COLUMNS, new ColumnVisibilityHandler(preferencesStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_PREFERENCES_COLUMNS_EDIT, new ColumnVisibilityBulkHandler(preferencesStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_PREFERENCES_COLUMNS_SINGLE, new ColumnVisibilitySingleHandler(preferencesStore)).getFilters().add(new BlockBrowserPreflightFilter());
-
-    serverAdmin.createContext(PATH_ADMIN_STATISTICS_COUNT, new StatisticsCountHandler(statisticsStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_STATISTICS_HOURLY, new StatisticsHourlyHandler(statisticsStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_STATISTICS_DAILY, new StatisticsDailyHandler(statisticsStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_STATISTICS_TIMELINE, new StatisticsTimelineHandler(statisticsStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_STATISTICS_CONFIG, new StatisticsConfigHandler(statisticsStore)).getFilters().add(new BlockBrowserPreflightFilter());
-    serverAdmin.createContext(PATH_ADMIN_STATISTICS_DEBUG, new StatisticsDebugHandler(statisticsStore)).getFilters().add(new BlockBrowserPreflightFilter());
+    if (jettyBackend()) {
+      this.jettyAdmin = new JettyTransport("admin", ADMIN_SERVER_HOST, ADMIN_SERVER_PORT, 0);
+    } else {
+      this.serverAdmin = HttpServer.create(new InetSocketAddress(ADMIN_SERVER_HOST, ADMIN_SERVER_PORT), 0);
+    }
+    this.compressionFilter = new ResponseCompressionFilter();
+    this.adminFilters = new ArrayList<>();
+    TokenBucketLimiter.fromConfig("admin").ifPresent(limiter -> {
+      registerRateLimitGauge("admin", limiter);
+      adminFilters.add(new RateLimitFilter(limiter));
+    });
+    // bulkheads before the admission limit, so requests waiting in a bulkhead queue hold no admission slot
+    Bulkheads bulkheads = Bulkheads.enabled() ? Bulkheads.fromConfig() : null;
+    if (bulkheads != null) {
+      registerBulkheadGauges(bulkheads);
+      adminFilters.add(new BulkheadFilter(bulkheads));
+    }
+    AdaptiveConcurrencyLimiter.fromConfig("admin", 32, 4, 256, Duration.ofMillis(250)).ifPresent(limiter -> {
+      admissionLimiters.add(limiter);
+      // heavy_io is capped by its bulkhead; its slow responses must not shrink the limit for everything else
+      adminFilters.add(new AdmissionControlFilter(
+          limiter, path -> Bulkheads.classify(path) == Bulkheads.EndpointClass.HEAVY_IO));
+    });
+    SlowOperationLog slowOperations = SlowOperationLog.fromConfig().orElse(null);
+    if (slowOperations != null) adminFilters.add(new SlowOperationFilter(slowOperations));
+    adminFilters.add(new BlockBrowserPreflightFilter());
+    adminFilters.add(compressionFilter);
+    adminContext(PATH_ADMIN_VALIDATE_BULK, new BulkValidateHandler(urlMappingStore));
+    adminContext(PATH_ADMIN_SHORTEN_BULK, new BulkShortenHandler(urlMappingStore));
+    adminContext(PATH_ADMIN_SHORTEN, new ShortenHandler(urlMappingStore));
+    exportWorkers = SegmentedZipWriter.newWorkerPool();
+    adminContext(PATH_ADMIN_LIST, new ListHandler(queryCache, exportWorkers));
+    adminContext(PATH_ADMIN_LIST_COUNT, new ListCountHandler(queryCache));
+    adminContext(PATH_ADMIN_EDIT, new EditMappingHandler(urlMappingStore));
+    adminContext(PATH_ADMIN_DELETE, new DeleteMappingHandler(urlMappingStore));
+    adminContext(PATH_ADMIN_TOGGLE_ACTIVE, new ToggleActiveHandler(urlMappingStore));
+    adminContext(PATH_ADMIN_STORE_INFO, new StoreInfoHandler(backingStore, startedAt, queryCache));
+    adminContext(PATH_ADMIN_SNAPSHOT, new RedirectSnapshotHandler(urlMappingStore, snapshotPath()));
+    adminContext(PATH_ADMIN_ADMISSION, new AdmissionStatsHandler(admissionLimiters));
+    if (bulkheads != null) adminContext(PATH_ADMIN_BULKHEADS, new BulkheadStatsHandler(bulkheads));
+    if (metrics != null) adminContext(PATH_ADMIN_METRICS, new MetricsHandler(metrics));
+    if (slowOperations != null) adminContext(PATH_ADMIN_SLOW_OPERATIONS, new SlowOperationsHandler(slowOperations));
+
+    adminContext(PATH_ADMIN_IMPORT_VALIDATE, new ImportValidateHandler(urlMappingStore, importStagingStore));
+    adminContext(PATH_ADMIN_IMPORT_APPLY, new ImportApplyHandler(urlMappingStore, importStagingStore));
+    adminContext(PATH_ADMIN_IMPORT_CONFLICTS, new ImportConflictsListHandler(importStagingStore));
+    adminContext(PATH_ADMIN_IMPORT_INVALID, new ImportInvalidListHandler(importStagingStore));
+
+    adminContext(PATH_ADMIN_PREFERENCES_COLUMNS, new ColumnVisibilityHandler(preferencesStore));
+    adminContext(PATH_ADMIN_PREFERENCES_COLUMNS_EDIT, new ColumnVisibilityBulkHandler(preferencesStore));
+    adminContext(PATH_ADMIN_PREFERENCES_COLUMNS_SINGLE, new ColumnVisibilitySingleHandler(preferencesStore));
+
+    adminContext(PATH_ADMIN_STATISTICS_COUNT, new StatisticsCountHandler(statisticsStore));
+    adminContext(PATH_ADMIN_STATISTICS_HOURLY, new StatisticsHourlyHandler(statisticsStore));
+    adminContext(PATH_ADMIN_STATISTICS_DAILY, new StatisticsDailyHandler(statisticsStore));
+    adminContext(PATH_ADMIN_STATISTICS_TIMELINE, new StatisticsTimelineHandler(statisticsStore));
+    adminContext(PATH_ADMIN_STATISTICS_CONFIG, new StatisticsConfigHandler(statisticsStore));
+    adminContext(PATH_ADMIN_STATISTICS_DEBUG, new StatisticsDebugHandler(statisticsStore));
     logger().info("Statistics API handlers registered");
 
 
-    var execRedirect = Executors.newVirtualThreadPerTaskExecutor();
-    serverRedirect.setExecutor(execRedirect);
     serverRedirect.start();
 
-    var execAdmin = Executors.newVirtualThreadPerTaskExecutor();
-    serverAdmin.setExecutor(execAdmin);
-    serverAdmin.start();
+    if (jettyAdmin != null) {
+      jettyAdmin.start();
+    } else {
+      var execAdmin = Executors.newVirtualThreadPerTaskExecutor();
+      serverAdmin.setExecutor(execAdmin);
+      serverAdmin.start();
+    }
 
     logger().info("URL Shortener server (redirect) running at {}:{}",
                   serverRedirect.getAddress().getHostName(),
                   serverRedirect.getAddress().getPort());
     logger().info("URL Shortener server (admin) running at {}:{}",
-                  serverAdmin.getAddress().getHostName(),
-                  serverAdmin.getAddress().getPort());
+                  adminAddress().getHostName(),
+                  adminAddress().getPort());
+
+
+    Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+  }
+
+  /**
+   * Redirect-only node: no admin server and no store of its own. Mappings come from the
+   * writer's change log (shared file), redirect statistics are not recorded.
+   */
+  public void initFollower(String hostRedirect, int portRedirect, Path changeLog)
+      throws IOException {
+    initFollower(hostRedirect, portRedirect, changeLog, null);
+  }
+
+  /**
+   * Like {@link #initFollower(String, int, Path)}, but serves redirects from a memory-mapped
+   * redirect snapshot right away if one exists. The change log replaces the snapshot once its
+   * current generation has been read; without a change log the snapshot is served as it is.
+   */
+  public void initFollower(String hostRedirect, int portRedirect, Path changeLog, Path snapshot)
+      throws IOException {
+    logger().info("Starting redirect follower - change log {}, snapshot {}", changeLog, snapshot);
+    MappedRedirectSnapshot bootstrap = null;
+    if (snapshot != null && Files.isRegularFile(snapshot)) {
+      try {
+        bootstrap = MappedRedirectSnapshot.open(snapshot, ConfigProperties.bool("snapshot.verify", true));
+      } catch (IOException e) {
+        logger().warn("redirect snapshot {} not usable - {}", snapshot, e.getMessage());
+      }
+    }
+    var replica = new ReplicaUrlMappingLookup(Clock.systemUTC(), bootstrap);
+    if (changeLog != null) {
+      changeLogTailer = new ChangeLogTailer(changeLog, replica);
+      if (bootstrap == null) {
+        try {
+          changeLogTailer.poll();
+        } catch (IOException e) {
+          logger().warn("initial change log read failed - {}", e.getMessage());
+        }
+      }
+      // with a snapshot the first poll runs in the background, after the server is up
+      changeLogTailer.start(ConfigProperties.duration("replication.pollInterval", Duration.ofMillis(100)));
+    }
 
+    logger().info("Starting URL Shortener follower (redirect) with parameters: host={}, port={}", hostRedirect, portRedirect);
+    this.serverRedirect = redirectTransport(hostRedirect, portRedirect, replica, null);
+    serverRedirect.start();
+    logger().info("URL Shortener follower (redirect) running at {}:{} - {} mappings",
+                  serverRedirect.getAddress().getHostName(),
+                  serverRedirect.getAddress().getPort(),
+                  replica.countAll());
 
     Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
   }
 
+  private RedirectTransport redirectTransport(String host, int port,
+                                              UrlMappingLookup store, StatisticsWriter statisticsWriter)
+      throws IOException {
+    TokenBucketLimiter limiter = TokenBucketLimiter.fromConfig("redirect").orElse(null);
+    AdaptiveConcurrencyLimiter admission = AdaptiveConcurrencyLimiter
+        .fromConfig("redirect", 256, 16, 4096, Duration.ofMillis(20)).orElse(null);
+    if (admission != null) admissionLimiters.add(admission);
+    if (limiter != null) registerRateLimitGauge("redirect", limiter);
+    if (admission != null) registerAdmissionGauges(admission);
+    accessLog = AccessLog.fromConfig().orElse(null);
+    if (accessLog != null) {
+      accessLog.start();
+      registerAccessLogGauges(accessLog);
+    }
+    String engine = ConfigProperties.string("redirect.engine", "httpserver");
+    if ("socket".equalsIgnoreCase(engine)) {
+      return SocketRedirectServer.fromConfig(host, port, new RedirectResolver(store), statisticsWriter,
+                                             limiter, admission, accessLog);
+    }
+    if (!"httpserver".equalsIgnoreCase(engine)) {
+      logger().warn("unknown redirect engine {} - using httpserver", engine);
+    }
+    List<Filter> filters = new ArrayList<>();
+    if (metrics != null) filters.add(new MetricsFilter(metrics, "redirect", PATH_REDIRECT));
+    if (limiter != null) filters.add(new RateLimitFilter(limiter));
+    if (admission != null) filters.add(new AdmissionControlFilter(admission));
+    if (jettyBackend()) {
+      var jetty = new JettyTransport("redirect", host, port, ConfigProperties.integer("redirect.backlog", 0));
+      jetty.createContext(PATH_REDIRECT, new RedirectHandler(store, statisticsWriter, accessLog), filters);
+      return jetty;
+    }
+    var listener = RedirectListener.fromConfig(host, port);
+    for (var context : listener.createContext(PATH_REDIRECT, new RedirectHandler(store, statisticsWriter, accessLog))) {
+      context.getFilters().addAll(filters);
+    }
+    return listener;
+  }
+
+  /**
+   * {@code -Durlshortener.server.backend=jetty} hosts admin and redirect handlers on Jetty
+   * (HTTP/1.1 and h2c) instead of the JDK {@code HttpServer}.
+   */
+  private static boolean jettyBackend() {
+    return "jetty".equalsIgnoreCase(ConfigProperties.string("server.backend", "jdk"));
+  }
+
+  private static Path snapshotPath() {
+    return Path.of(ConfigProperties.string("replication.snapshot", REDIRECT_SNAPSHOT_FILE));
+  }
+
+  private void adminContext(String path, HttpHandler handler) {
+    List<Filter> filters = adminFilters;
+    if (metrics != null) {
+      // first, so requests rejected by the rate limit, bulkheads or admission control are measured too
+      filters = new ArrayList<>(adminFilters.size() + 1);
+      filters.add(new MetricsFilter(metrics, "admin", path));
+      filters.addAll(adminFilters);
+    }
+    if (jettyAdmin != null) {
+      jettyAdmin.createContext(path, handler, filters);
+    } else {
+      serverAdmin.createContext(path, handler).getFilters().addAll(filters);
+    }
+  }
+
+  private void registerStoreGauges(UrlMappingStore store, StatisticsStore statisticsStore) {
+    metrics.gauge("urlshortener_mappings", "Stored URL mappings", store::countAll);
+    metrics.gauge("urlshortener_statistics_pending_events", "Redirect events not yet aggregated",
+                  statisticsStore::pendingEvents);
+    metrics.gauge("urlshortener_statistics_level", "Statistics level (0 = full ... 3 = disabled)",
+                  () -> statisticsStore.statisticsLevel().ordinal());
+  }
+
+  private void registerRateLimitGauge(String scope, TokenBucketLimiter limiter) {
+    if (metrics == null) return;
+    metrics.counter("urlshortener_ratelimit_rejected_total", "Requests rejected by the rate limit",
+                    limiter::rejected, "scope", scope);
+  }
+
+  private void registerAdmissionGauges(AdaptiveConcurrencyLimiter limiter) {
+    if (metrics == null) return;
+    String scope = limiter.stats().name();
+    metrics.gauge("urlshortener_admission_limit", "Current adaptive concurrency limit",
+                  limiter::limit, "scope", scope);
+    metrics.gauge("urlshortener_admission_in_flight", "Requests currently admitted",
+                  () -> limiter.stats().inFlight(), "scope", scope);
+    metrics.counter("urlshortener_admission_rejected_total", "Requests shed by admission control",
+                    () -> limiter.stats().rejected(), "scope", scope);
+  }
+
+  private void registerAccessLogGauges(AccessLog log) {
+    if (metrics == null) return;
+    metrics.counter("urlshortener_accesslog_written_total", "Access log entries written", log::written);
+    metrics.counter("urlshortener_accesslog_dropped_total", "Access log entries dropped on a full buffer",
+                    log::dropped);
+  }
+
+  private void registerBulkheadGauges(Bulkheads bulkheads) {
+    if (metrics == null) return;
+    for (var endpointClass : Bulkheads.EndpointClass.values()) {
+      var bulkhead = bulkheads.get(endpointClass);
+      metrics.gauge("urlshortener_bulkhead_active", "Requests running in the bulkhead",
+                    bulkhead::active, "class", bulkhead.name());
+      metrics.gauge("urlshortener_bulkhead_queued", "Requests waiting for the bulkhead",
+                    bulkhead::queued, "class", bulkhead.name());
+    }
+  }
+
+  private InetSocketAddress adminAddress() {
+    return jettyAdmin != null ? jettyAdmin.getAddress() : serverAdmin.getAddress();
+  }
+
   public void shutdown() {
+    if (expiryReaper != null) {
+      expiryReaper.close();
+      expiryReaper = null;
+    }
+    if (adaptiveStatistics != null) {
+      adaptiveStatistics.stopController();
+      adaptiveStatistics = null;
+    }
+    if (changeLogTailer != null) {
+      changeLogTailer.close();
+      changeLogTailer = null;
+    }
+    if (changeLogWriter != null) {
+      changeLogWriter.close();
+      changeLogWriter = null;
+    }
     if (serverRedirect != null) {
       serverRedirect.stop(0);
       logger().info("URL Shortener server stopped (redirect)");
     }
+    if (accessLog != null) {
+      accessLog.close();
+      accessLog = null;
+    }
     if (serverAdmin != null) {
       serverAdmin.stop(0);
       logger().info("URL Shortener server stopped (admin)");
     }
+    if (jettyAdmin != null) {
+      jettyAdmin.stop(0);
+      logger().info("URL Shortener server stopped (admin)");
+    }
+    if (exportWorkers != null) {
+      exportWorkers.shutdownNow();
+      exportWorkers = null;
+    }
   }
 
   public int getPortRedirect() {
@@ -185,7 +500,7 @@ public class ShortenerServer
   }
 
   public int getPortAdmin() {
-    return serverAdmin.getAddress().getPort();
+    return adminAddress().getPort();
   }
 
 
@@ -0,0 +1,568 @@
+package com.svenruppert.urlshortener.api;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.accesslog.AccessLog;
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+import com.svenruppert.urlshortener.api.filter.AdaptiveConcurrencyLimiter;
+import com.svenruppert.urlshortener.api.filter.MetricsFilter;
+import com.svenruppert.urlshortener.api.filter.TokenBucketLimiter;
+import com.svenruppert.urlshortener.api.handler.RedirectResolver;
+import com.svenruppert.urlshortener.api.metrics.Counter;
+import com.svenruppert.urlshortener.api.metrics.LatencyHistogram;
+import com.svenruppert.urlshortener.api.metrics.MetricsRegistry;
+import com.svenruppert.urlshortener.api.store.statistics.RequestDataExtractor;
+import com.svenruppert.urlshortener.api.store.statistics.StatisticsWriter;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Redirect transport on plain blocking sockets, one virtual thread per connection.
+ * <p>
+ * The redirect path only needs {@code GET /<code>} answered with 302, 404 or 410, so this
+ * server parses just the request line and the few headers it uses (keep-alive, body length and
+ * the statistics headers), writes pre-encoded status lines and reuses connections for
+ * HTTP/1.1 keep-alive and pipelining. Parsing happens on the connection's virtual thread;
+ * the single acceptor thread only accepts. Request bodies are skipped up to a small limit,
+ * chunked bodies are rejected.
+ * <p>
+ * Configuration ({@code -Durlshortener.<key>}): {@code redirect.backlog},
+ * {@code redirect.maxConnections} (default 10000, further connections get 503) and
+ * {@code redirect.idleTimeout} (default 30s). An optional {@link TokenBucketLimiter} answers
+ * clients over their budget with 429 before the short code is resolved, an optional
+ * {@link AdaptiveConcurrencyLimiter} sheds requests above its limit with 503. An optional
+ * {@link AccessLog} receives one entry per resolved request.
+ * <p>
+ * Unless {@code metrics.enabled} is false, request durations and response status classes are
+ * recorded in the default {@link MetricsRegistry} under the same names {@link MetricsFilter}
+ * uses for the other transports ({@code server="redirect", path="/"}).
+ */
+public final class SocketRedirectServer
+    implements RedirectTransport, HasLogger {
+
+  static final int MAX_LINE_BYTES = 8 * 1024;
+  static final int MAX_HEADER_BYTES = 16 * 1024;
+  static final int MAX_SKIPPED_BODY_BYTES = 64 * 1024;
+
+  private static final byte[] CRLF = {'\r', '\n'};
+  private static final byte[] LOCATION = ascii("Location: ");
+  private static final byte[] CONNECTION_CLOSE = ascii("Connection: close\r\n");
+  private static final byte[] ALLOW_GET = ascii("Allow: GET\r\n");
+  private static final byte[] RETRY_AFTER = ascii("Retry-After: 1\r\n");
+  private static final byte[] NO_BODY = ascii("Content-Length: 0\r\n\r\n");
+  private static final DateTimeFormatter HTTP_DATE =
+      DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.ROOT);
+
+  private final ServerSocket serverSocket;
+  private final RedirectResolver resolver;
+  private final StatisticsWriter statisticsWriter;
+  private final TokenBucketLimiter limiter;
+  private final AdaptiveConcurrencyLimiter admission;
+  private final AccessLog accessLog;
+  private final RequestDataExtractor requestDataExtractor = new RequestDataExtractor();
+  private final LatencyHistogram requestDuration;
+  private final Counter[] responses;
+  private final Semaphore connectionPermits;
+  private final int idleTimeoutMillis;
+  private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+  private final Set<Socket> open = ConcurrentHashMap.newKeySet();
+  private volatile boolean running;
+  private Thread acceptor;
+
+  private volatile long dateSecond;
+  private volatile byte[] dateLine = new byte[0];
+
+  /**
+   * @param limiter   per-client rate limit, null for none
+   * @param admission adaptive concurrency limit over all connections, null for none
+   * @param accessLog access log for resolved requests, null for none
+   */
+  public SocketRedirectServer(String host, int port, int backlog,
+                              RedirectResolver resolver, StatisticsWriter statisticsWriter,
+                              int maxConnections, Duration idleTimeout,
+                              TokenBucketLimiter limiter, AdaptiveConcurrencyLimiter admission,
+                              AccessLog accessLog)
+      throws IOException {
+    this.resolver = Objects.requireNonNull(resolver, "resolver");
+    this.statisticsWriter = statisticsWriter;
+    this.limiter = limiter;
+    this.admission = admission;
+    this.accessLog = accessLog;
+    if (MetricsRegistry.enabled()) {
+      var registry = MetricsRegistry.defaultRegistry();
+      this.requestDuration = MetricsFilter.requestDuration(registry, "redirect", "/");
+      this.responses = MetricsFilter.responseCounters(registry, "redirect", "/");
+    } else {
+      this.requestDuration = null;
+      this.responses = null;
+    }
+    this.connectionPermits = new Semaphore(Math.max(1, maxConnections));
+    this.idleTimeoutMillis = (int) Math.min(Integer.MAX_VALUE, idleTimeout.toMillis());
+    this.serverSocket = new ServerSocket();
+    serverSocket.setReuseAddress(true);
+    serverSocket.bind(new InetSocketAddress(host, port), Math.max(0, backlog));
+  }
+
+  public static SocketRedirectServer fromConfig(String host, int port,
+                                                RedirectResolver resolver, StatisticsWriter statisticsWriter,
+                                                TokenBucketLimiter limiter, AdaptiveConcurrencyLimiter admission,
+                                                AccessLog accessLog)
+      throws IOException {
+    return new SocketRedirectServer(host, port,
+                                    ConfigProperties.integer("redirect.backlog", 0),
+                                    resolver, statisticsWriter,
+                                    ConfigProperties.integer("redirect.maxConnections", 10_000),
+                                    ConfigProperties.duration("redirect.idleTimeout", Duration.ofSeconds(30)),
+                                    limiter, admission, accessLog);
+  }
+
+  private static byte[] ascii(String s) {
+    return s.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  @Override
+  public synchronized void start() {
+    if (running) return;
+    running = true;
+    acceptor = Thread.ofPlatform().name("redirect-acceptor").daemon(true).start(this::acceptLoop);
+    logger().info("socket redirect engine running at {}:{}", getAddress().getHostName(), getAddress().getPort());
+  }
+
+  @Override
+  public synchronized void stop(int delaySeconds) {
+    running = false;
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      logger().debug("closing server socket - {}", e.getMessage());
+    }
+    for (Socket s : open) closeQuietly(s);
+    connections.shutdownNow();
+    if (acceptor != null) acceptor.interrupt();
+  }
+
+  @Override
+  public InetSocketAddress getAddress() {
+    return (InetSocketAddress) serverSocket.getLocalSocketAddress();
+  }
+
+  private void acceptLoop() {
+    while (running) {
+      Socket socket;
+      try {
+        socket = serverSocket.accept();
+      } catch (IOException e) {
+        if (running) logger().warn("accept failed - {}", e.getMessage());
+        continue;
+      }
+      if (!connectionPermits.tryAcquire()) {
+        rejectOverloaded(socket);
+        continue;
+      }
+      open.add(socket);
+      try {
+        connections.execute(() -> serve(socket));
+      } catch (RuntimeException e) {
+        open.remove(socket);
+        connectionPermits.release();
+        closeQuietly(socket);
+      }
+    }
+  }
+
+  private void rejectOverloaded(Socket socket) {
+    try (socket) {
+      socket.setSoTimeout(1_000);
+      var out = socket.getOutputStream();
+      writeStatus(out, Status.SERVICE_UNAVAILABLE);
+      out.write(dateLine());
+      out.write(CONNECTION_CLOSE);
+      out.write(NO_BODY);
+      out.flush();
+    } catch (IOException ignored) {
+      // the client is gone already
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (socket) {
+      socket.setSoTimeout(idleTimeoutMillis);
+      socket.setTcpNoDelay(true);
+      var in = new RequestReader(socket.getInputStream());
+      var out = new BufferedOutputStream(socket.getOutputStream(), 8 * 1024);
+      boolean keepAlive = true;
+      while (keepAlive && running) {
+        Request request;
+        try {
+          request = in.next();
+        } catch (BadRequest e) {
+          respond(out, Status.BAD_REQUEST, false);
+          out.flush();
+          return;
+        }
+        if (request == null) return; // connection closed between requests
+        long started = System.nanoTime();
+        keepAlive = handle(request, socket, out);
+        if (requestDuration != null) requestDuration.record(System.nanoTime() - started);
+        if (!keepAlive || !in.hasBuffered()) out.flush();
+      }
+    } catch (SocketTimeoutException | SocketException e) {
+      // idle keep-alive connection or client went away
+    } catch (IOException e) {
+      logger().debug("redirect connection failed - {}", e.getMessage());
+    } finally {
+      open.remove(socket);
+      connectionPermits.release();
+    }
+  }
+
+  /**
+   * Writes the response and returns whether the connection stays open.
+   */
+  private boolean handle(Request request, Socket socket, OutputStream out)
+      throws IOException {
+    boolean keepAlive = request.keepAlive();
+    if (!"GET".equals(request.method())) {
+      writeStatus(out, Status.METHOD_NOT_ALLOWED);
+      out.write(dateLine());
+      out.write(ALLOW_GET);
+      if (!keepAlive) out.write(CONNECTION_CLOSE);
+      out.write(NO_BODY);
+      return keepAlive;
+    }
+    if (limiter != null && !limiter.tryAcquire(request.forwardedFor(), remote(socket))) {
+      writeStatus(out, Status.TOO_MANY_REQUESTS);
+      out.write(dateLine());
+      out.write(RETRY_AFTER);
+      if (!keepAlive) out.write(CONNECTION_CLOSE);
+      out.write(NO_BODY);
+      return keepAlive;
+    }
+    if (admission == null) return resolveAndRespond(request, socket, out, keepAlive);
+    long started = admission.tryAcquire();
+    if (started < 0) {
+      writeStatus(out, Status.SERVICE_UNAVAILABLE);
+      out.write(dateLine());
+      out.write(RETRY_AFTER);
+      if (!keepAlive) out.write(CONNECTION_CLOSE);
+      out.write(NO_BODY);
+      return keepAlive;
+    }
+    try {
+      return resolveAndRespond(request, socket, out, keepAlive);
+    } finally {
+      admission.release(started);
+    }
+  }
+
+  private boolean resolveAndRespond(Request request, Socket socket, OutputStream out, boolean keepAlive)
+      throws IOException {
+    long started = System.nanoTime();
+    String code = shortCode(request.target());
+    Status status = null;
+    try {
+      status = respondRedirect(code, request, socket, out, keepAlive);
+    } finally {
+      long elapsed = System.nanoTime() - started;
+      if (statisticsWriter != null) statisticsWriter.redirectCompleted(elapsed);
+      if (accessLog != null && status != null) accessLog.record(code, status.code, elapsed);
+    }
+    return keepAlive;
+  }
+
+  /**
+   * Writes the response for {@code code} (null if the target has none) and returns its status.
+   */
+  private Status respondRedirect(String code, Request request, Socket socket, OutputStream out, boolean keepAlive)
+      throws IOException {
+    if (code == null) {
+      respond(out, Status.BAD_REQUEST, keepAlive);
+      return Status.BAD_REQUEST;
+    }
+    var result = resolver.resolve(code);
+    if (!result.isRedirect()) {
+      Status status = result.status() == 410 ? Status.GONE : Status.NOT_FOUND;
+      respond(out, status, keepAlive);
+      return status;
+    }
+    String location = result.location();
+    if (!isHeaderSafe(location)) {
+      logger().warn("target of short code {} is not a valid header value", code);
+      respond(out, Status.INTERNAL_SERVER_ERROR, keepAlive);
+      return Status.INTERNAL_SERVER_ERROR;
+    }
+    recordRedirectEvent(request, socket, code);
+    writeStatus(out, Status.FOUND);
+    out.write(dateLine());
+    out.write(LOCATION);
+    out.write(location.getBytes(StandardCharsets.ISO_8859_1));
+    out.write(CRLF);
+    if (!keepAlive) out.write(CONNECTION_CLOSE);
+    out.write(NO_BODY);
+    return Status.FOUND;
+  }
+
+  private void respond(OutputStream out, Status status, boolean keepAlive)
+      throws IOException {
+    writeStatus(out, status);
+    out.write(dateLine());
+    if (!keepAlive) out.write(CONNECTION_CLOSE);
+    out.write(NO_BODY);
+  }
+
+  private void writeStatus(OutputStream out, Status status)
+      throws IOException {
+    out.write(status.line);
+    if (responses != null) responses[status.statusClass].increment();
+  }
+
+  private void recordRedirectEvent(Request request, Socket socket, String shortCode) {
+    if (statisticsWriter == null) return;
+    try {
+      if (!statisticsWriter.detailRequested()) {
+        statisticsWriter.recordCount(shortCode, Instant.now(), 1);
+        return;
+      }
+      statisticsWriter.recordEvent(requestDataExtractor.extractEvent(
+          shortCode, request.userAgent(), request.referer(), request.acceptLanguage(),
+          request.forwardedFor(), remote(socket)));
+    } catch (Exception e) {
+      // Never let statistics recording fail the redirect
+      logger().warn("Failed to record redirect event for shortCode={}", shortCode, e);
+    }
+  }
+
+  /**
+   * Short code from an origin-form target ({@code /abc?x=1}), percent-decoded; null if invalid.
+   */
+  static String shortCode(String target) {
+    if (target == null || target.isEmpty() || target.charAt(0) != '/') return null;
+    int end = target.length();
+    int q = target.indexOf('?');
+    if (q >= 0) end = q;
+    int f = target.indexOf('#');
+    if (f >= 0 && f < end) end = f;
+    String path = target.substring(0, end);
+    if (path.indexOf('%') >= 0) {
+      try {
+        path = new URI(path).getPath();
+      } catch (URISyntaxException e) {
+        return null;
+      }
+    }
+    String code = path.substring(1);
+    return code.isBlank() ? null : code;
+  }
+
+  private static InetSocketAddress remote(Socket socket) {
+    return socket.getRemoteSocketAddress() instanceof InetSocketAddress isa ? isa : null;
+  }
+
+  private static boolean isHeaderSafe(String value) {
+    if (value == null || value.isEmpty()) return false;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x20 || c == 0x7F || c > 0xFF) return false;
+    }
+    return true;
+  }
+
+  /**
+   * {@code Date} header line, re-encoded at most once per second.
+   */
+  private byte[] dateLine() {
+    long now = System.currentTimeMillis() / 1000;
+    if (now != dateSecond) {
+      var formatted = HTTP_DATE.format(ZonedDateTime.now(ZoneOffset.UTC));
+      dateLine = ascii("Date: " + formatted + "\r\n");
+      dateSecond = now;
+    }
+    return dateLine;
+  }
+
+  private static void closeQuietly(Socket s) {
+    try {
+      s.close();
+    } catch (IOException ignored) {
+      // closing anyway
+    }
+  }
+
+  private enum Status {
+    FOUND(302, "Found"),
+    BAD_REQUEST(400, "Bad Request"),
+    NOT_FOUND(404, "Not Found"),
+    METHOD_NOT_ALLOWED(405, "Method Not Allowed"),
+    GONE(410, "Gone"),
+    TOO_MANY_REQUESTS(429, "Too Many Requests"),
+    INTERNAL_SERVER_ERROR(500, "Internal Server Error"),
+    SERVICE_UNAVAILABLE(503, "Service Unavailable");
+
+    private final int code;
+    private final byte[] line;
+    private final int statusClass;
+
+    Status(int code, String reason) {
+      this.code = code;
+      this.line = ascii("HTTP/1.1 " + code + " " + reason + "\r\n");
+      this.statusClass = MetricsFilter.statusClass(code);
+    }
+  }
+
+  record Request(String method, String target, boolean keepAlive,
+                 String userAgent, String referer, String acceptLanguage, String forwardedFor) {
+  }
+
+  static final class BadRequest
+      extends IOException {
+    BadRequest(String message) {
+      super(message);
+    }
+  }
+
+  /**
+   * Minimal HTTP/1.x request head parser over a reusable buffer; bytes after the head stay
+   * buffered for the next (pipelined) request.
+   */
+  static final class RequestReader {
+    private final InputStream in;
+    private final byte[] buf = new byte[MAX_LINE_BYTES];
+    private int pos;
+    private int limit;
+
+    RequestReader(InputStream in) {
+      this.in = in;
+    }
+
+    boolean hasBuffered() {
+      return pos < limit;
+    }
+
+    /**
+     * Next request head, or null if the connection was closed before a new request started.
+     */
+    Request next()
+        throws IOException {
+      String requestLine;
+      do {
+        requestLine = readLine(true);
+        if (requestLine == null) return null;
+      } while (requestLine.isEmpty()); // tolerate stray CRLF between requests
+
+      int sp1 = requestLine.indexOf(' ');
+      int sp2 = requestLine.lastIndexOf(' ');
+      if (sp1 <= 0 || sp2 <= sp1) throw new BadRequest("malformed request line");
+      String method = requestLine.substring(0, sp1);
+      String target = requestLine.substring(sp1 + 1, sp2);
+      String version = requestLine.substring(sp2 + 1);
+      boolean http11;
+      if ("HTTP/1.1".equals(version)) http11 = true;
+      else if ("HTTP/1.0".equals(version)) http11 = false;
+      else throw new BadRequest("unsupported version " + version);
+
+      String connection = null, userAgent = null, referer = null, acceptLanguage = null, forwardedFor = null;
+      long contentLength = 0;
+      int headerBytes = 0;
+      String line;
+      while (!(line = readLine(false)).isEmpty()) {
+        headerBytes += line.length() + 2;
+        if (headerBytes > MAX_HEADER_BYTES) throw new BadRequest("request head too large");
+        int colon = line.indexOf(':');
+        if (colon <= 0) throw new BadRequest("malformed header");
+        String name = line.substring(0, colon);
+        String value = line.substring(colon + 1).trim();
+        if (name.equalsIgnoreCase("Connection")) connection = value;
+        else if (name.equalsIgnoreCase("Content-Length")) contentLength = parseLength(value);
+        else if (name.equalsIgnoreCase("Transfer-Encoding")) throw new BadRequest("request bodies are not supported");
+        else if (userAgent == null && name.equalsIgnoreCase("User-Agent")) userAgent = value;
+        else if (referer == null && name.equalsIgnoreCase("Referer")) referer = value;
+        else if (acceptLanguage == null && name.equalsIgnoreCase("Accept-Language")) acceptLanguage = value;
+        else if (forwardedFor == null && name.equalsIgnoreCase("X-Forwarded-For")) forwardedFor = value;
+      }
+      if (contentLength > MAX_SKIPPED_BODY_BYTES) throw new BadRequest("request body too large");
+      skip(contentLength);
+
+      boolean keepAlive = http11
+          ? !"close".equalsIgnoreCase(connection)
+          : "keep-alive".equalsIgnoreCase(connection);
+      return new Request(method, target, keepAlive, userAgent, referer, acceptLanguage, forwardedFor);
+    }
+
+    private static long parseLength(String value)
+        throws BadRequest {
+      try {
+        long l = Long.parseLong(value);
+        if (l < 0) throw new BadRequest("negative content length");
+        return l;
+      } catch (NumberFormatException e) {
+        throw new BadRequest("malformed content length");
+      }
+    }
+
+    private void skip(long n)
+        throws IOException {
+      while (n > 0) {
+        if (pos == limit && !fill()) throw new EOFException("body truncated");
+        int chunk = (int) Math.min(n, limit - pos);
+        pos += chunk;
+        n -= chunk;
+      }
+    }
+
+    /**
+     * Reads one line (CRLF or LF terminated) as ISO-8859-1. Returns null on EOF at a line
+     * start when {@code eofAllowed}, throws otherwise.
+     */
+    private String readLine(boolean eofAllowed)
+        throws IOException {
+      int start = pos;
+      while (true) {
+        for (int i = start; i < limit; i++) {
+          if (buf[i] == '\n') {
+            int end = (i > pos && buf[i - 1] == '\r') ? i - 1 : i;
+            String line = new String(buf, pos, end - pos, StandardCharsets.ISO_8859_1);
+            pos = i + 1;
+            return line;
+          }
+        }
+        start = limit;
+        if (pos > 0) { // compact to make room
+          System.arraycopy(buf, pos, buf, 0, limit - pos);
+          start -= pos;
+          limit -= pos;
+          pos = 0;
+        }
+        if (limit == buf.length) throw new BadRequest("line too long");
+        if (!fill()) {
+          if (eofAllowed && limit == 0) return null;
+          throw new EOFException("connection closed inside request head");
+        }
+      }
+    }
+
+    private boolean fill()
+        throws IOException {
+      if (pos == limit) {
+        pos = 0;
+        limit = 0;
+      }
+      int n = in.read(buf, limit, buf.length - limit);
+      if (n <= 0) return false;
+      limit += n;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,271 @@
+package com.svenruppert.urlshortener.api.accesslog;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Redirect access log: request threads put entries into a preallocated ring buffer, a single
+ * background thread drains it into rolling binary files in {@code dir}.
+ * <p>
+ * {@link #record(String, int, long)} claims a slot with one compare-and-set, stores four fields
+ * into parallel arrays and publishes the slot's sequence number - no locks, no allocation and no
+ * I/O on the request thread. When the writer falls behind and the buffer is full, entries are
+ * dropped and counted rather than blocking redirects. Files are named
+ * {@code access-<epochMillis>.ual}, start a new file above {@code maxFileBytes} and only the newest
+ * {@code maxFiles} are kept. {@link AccessLogReader} turns them into CSV.
+ * <p>
+ * Configuration ({@code -Durlshortener.<key>}): {@code accesslog.dir} (enables the log),
+ * {@code accesslog.bufferSize} (entries, default 65536), {@code accesslog.maxFileBytes}
+ * (default 64 MiB), {@code accesslog.maxFiles} (default 16) and {@code accesslog.flushInterval}
+ * (how long the writer sleeps when the buffer is empty, default 10ms).
+ */
+public final class AccessLog
+    implements AutoCloseable, HasLogger {
+
+  static final String FILE_PREFIX = "access-";
+  static final String FILE_SUFFIX = ".ual";
+
+  private final Path dir;
+  private final long maxFileBytes;
+  private final int maxFiles;
+  private final long flushIntervalNanos;
+
+  private final int mask;
+  private final long[] timestamps;
+  private final long[] durations;
+  private final int[] statuses;
+  private final String[] codes;
+  // sequence number of the entry a slot holds, -1 while empty
+  private final AtomicLongArray published;
+  private final AtomicLong head = new AtomicLong();
+  private volatile long tail;
+
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder written = new LongAdder();
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+
+  private FileChannel channel;
+  private long fileBytes;
+  private volatile boolean running;
+  private Thread writer;
+
+  public AccessLog(Path dir, int bufferSize, long maxFileBytes, int maxFiles, Duration flushInterval) {
+    this.dir = Objects.requireNonNull(dir, "dir");
+    this.maxFileBytes = Math.max(AccessLogFormat.HEADER_BYTES + AccessLogFormat.MAX_RECORD_BYTES, maxFileBytes);
+    this.maxFiles = Math.max(1, maxFiles);
+    this.flushIntervalNanos = Math.max(100_000, flushInterval.toNanos());
+    int size = Integer.highestOneBit(Math.max(2, Math.min(1 << 24, bufferSize) - 1)) << 1;
+    this.mask = size - 1;
+    this.timestamps = new long[size];
+    this.durations = new long[size];
+    this.statuses = new int[size];
+    this.codes = new String[size];
+    this.published = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) published.set(i, -1);
+  }
+
+  /**
+   * Access log from configuration, empty if {@code accesslog.dir} is not set.
+   */
+  public static Optional<AccessLog> fromConfig() {
+    String dir = ConfigProperties.string("accesslog.dir", null);
+    if (dir == null || dir.isBlank()) return Optional.empty();
+    return Optional.of(new AccessLog(Path.of(dir),
+                                     ConfigProperties.integer("accesslog.bufferSize", 1 << 16),
+                                     ConfigProperties.longValue("accesslog.maxFileBytes", 64L * 1024 * 1024),
+                                     ConfigProperties.integer("accesslog.maxFiles", 16),
+                                     ConfigProperties.duration("accesslog.flushInterval", Duration.ofMillis(10))));
+  }
+
+  public synchronized void start()
+      throws IOException {
+    if (running) return;
+    Files.createDirectories(dir);
+    openFile();
+    running = true;
+    writer = Thread.ofPlatform().name("access-log-writer").daemon(true).start(this::writeLoop);
+    logger().info("access log writing to {}", dir.toAbsolutePath());
+  }
+
+  /**
+   * Queues one entry; returns false if the buffer was full and the entry was dropped.
+   *
+   * @param code          short code, may be null for requests without one
+   * @param durationNanos time spent handling the request
+   */
+  public boolean record(String code, int status, long durationNanos) {
+    long seq;
+    do {
+      seq = head.get();
+      if (seq - tail > mask) {
+        dropped.increment();
+        return false;
+      }
+    } while (!head.compareAndSet(seq, seq + 1));
+    int slot = (int) seq & mask;
+    timestamps[slot] = System.currentTimeMillis();
+    durations[slot] = durationNanos;
+    statuses[slot] = status;
+    codes[slot] = code;
+    // the volatile write publishes the plain writes above to the writer thread
+    published.set(slot, seq);
+    return true;
+  }
+
+  public long dropped() {
+    return dropped.sum();
+  }
+
+  public long written() {
+    return written.sum();
+  }
+
+  private void writeLoop() {
+    while (running && !Thread.currentThread().isInterrupted()) {
+      try {
+        if (drain() == 0) LockSupport.parkNanos(flushIntervalNanos);
+      } catch (IOException | RuntimeException e) {
+        logger().warn("access log write failed - {}", e.getMessage());
+        LockSupport.parkNanos(flushIntervalNanos);
+      }
+    }
+  }
+
+  /**
+   * Writes all published entries in sequence order and flushes them to the file.
+   */
+  private int drain()
+      throws IOException {
+    int count = 0;
+    long seq = tail;
+    while (true) {
+      int slot = (int) seq & mask;
+      if (published.get(slot) != seq) break;
+      if (buffer.remaining() < AccessLogFormat.MAX_RECORD_BYTES) flushBuffer();
+      AccessLogFormat.write(buffer, timestamps[slot], durations[slot], statuses[slot], codes[slot]);
+      codes[slot] = null;
+      seq++;
+      // frees the slot for producers
+      tail = seq;
+      count++;
+    }
+    if (count > 0) {
+      flushBuffer();
+      written.add(count);
+    }
+    return count;
+  }
+
+  private void flushBuffer()
+      throws IOException {
+    buffer.flip();
+    int bytes = buffer.remaining();
+    if (fileBytes + bytes > maxFileBytes) {
+      openFile();
+    }
+    while (buffer.hasRemaining()) channel.write(buffer);
+    fileBytes += bytes;
+    buffer.clear();
+  }
+
+  /**
+   * Closes the current file, starts a new one and deletes the oldest beyond {@code maxFiles}.
+   */
+  private void openFile()
+      throws IOException {
+    if (channel != null) channel.close();
+    long created = System.currentTimeMillis();
+    Path file = dir.resolve(FILE_PREFIX + created + FILE_SUFFIX);
+    while (Files.exists(file)) file = dir.resolve(FILE_PREFIX + (++created) + FILE_SUFFIX);
+    channel = FileChannel.open(file, CREATE_NEW, WRITE);
+    var header = ByteBuffer.allocate(AccessLogFormat.HEADER_BYTES);
+    AccessLogFormat.writeHeader(header, created);
+    header.flip();
+    while (header.hasRemaining()) channel.write(header);
+    fileBytes = AccessLogFormat.HEADER_BYTES;
+
+    List<Path> files = files(dir);
+    for (int i = 0; i < files.size() - maxFiles; i++) {
+      Files.deleteIfExists(files.get(i));
+    }
+  }
+
+  /**
+   * Access log files in {@code dir}, oldest first.
+   */
+  static List<Path> files(Path dir)
+      throws IOException {
+    try (Stream<Path> list = Files.list(dir)) {
+      var files = new ArrayList<>(list
+                                      .filter(p -> p.getFileName().toString().startsWith(FILE_PREFIX))
+                                      .filter(p -> p.getFileName().toString().endsWith(FILE_SUFFIX))
+                                      .toList());
+      files.sort((a, b) -> Long.compare(created(a), created(b)));
+      return files;
+    }
+  }
+
+  private static long created(Path file) {
+    String name = file.getFileName().toString();
+    try {
+      return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+    } catch (NumberFormatException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  /**
+   * Stops the writer after it has written everything queued so far.
+   * <p>
+   * The buffer and the file are only touched here once the writer thread has terminated. A writer
+   * stuck in a write is interrupted, which closes the file; entries still queued are then lost.
+   */
+  @Override
+  public synchronized void close() {
+    if (!running) return;
+    running = false;
+    LockSupport.unpark(writer);
+    try {
+      writer.join(5_000);
+      if (writer.isAlive()) {
+        logger().warn("access log writer did not stop within 5s - interrupting it");
+        writer.interrupt();
+        writer.join(5_000);
+      }
+      if (writer.isAlive()) {
+        logger().warn("access log writer is still running - leaving {} to it", dir.toAbsolutePath());
+        return;
+      }
+      if (channel.isOpen()) {
+        drain();
+        channel.force(false);
+        channel.close();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    } catch (IOException e) {
+      logger().warn("closing access log failed - {}", e.getMessage());
+    }
+    channel = null;
+  }
+}
@@ -0,0 +1,11 @@
+package com.svenruppert.urlshortener.api.accesslog;
+
+import java.time.Instant;
+
+/**
+ * One redirect request as read back from an access log file.
+ *
+ * @param durationMicros time from handler entry to the response being written
+ */
+public record AccessLogEntry(Instant timestamp, String shortCode, int status, long durationMicros) {
+}
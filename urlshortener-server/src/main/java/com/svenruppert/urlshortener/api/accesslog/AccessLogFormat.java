@@ -0,0 +1,87 @@
+package com.svenruppert.urlshortener.api.accesslog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * On-disk layout of an access log file.
+ * <pre>
+ * header := "USAL" i32:version i64:createdMillis
+ * record := i64:epochMillis i32:durationMicros u16:status u8:codeLength utf8-bytes
+ * </pre>
+ * Records have no checksum; a file that ends in the middle of a record (crash, or a file that
+ * is still being written) is read up to the last complete record.
+ */
+final class AccessLogFormat {
+
+  static final int MAGIC = 0x5553414C; // "USAL"
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 4 + 4 + 8;
+  static final int FIXED_RECORD_BYTES = 8 + 4 + 2 + 1;
+  static final int MAX_CODE_BYTES = 255;
+  static final int MAX_RECORD_BYTES = FIXED_RECORD_BYTES + MAX_CODE_BYTES;
+
+  private AccessLogFormat() {
+  }
+
+  static void writeHeader(ByteBuffer buf, long createdMillis) {
+    buf.putInt(MAGIC).putInt(VERSION).putLong(createdMillis);
+  }
+
+  static void readHeader(ByteBuffer buf)
+      throws IOException {
+    if (buf.remaining() < HEADER_BYTES || buf.getInt() != MAGIC) throw new IOException("Not an access log");
+    int version = buf.getInt();
+    if (version != VERSION) throw new IOException("Unsupported access log version: " + version);
+    buf.getLong();
+  }
+
+  /**
+   * Appends one record; {@code buf} must have {@link #MAX_RECORD_BYTES} remaining. Short codes
+   * are ASCII in practice and are written without an intermediate byte array.
+   */
+  static void write(ByteBuffer buf, long epochMillis, long durationNanos, int status, String code) {
+    buf.putLong(epochMillis);
+    buf.putInt((int) Math.min(Integer.MAX_VALUE, durationNanos / 1_000));
+    buf.putShort((short) status);
+    if (code == null) {
+      buf.put((byte) 0);
+      return;
+    }
+    int lengthAt = buf.position();
+    buf.put((byte) 0);
+    int n = Math.min(code.length(), MAX_CODE_BYTES);
+    boolean ascii = true;
+    for (int i = 0; i < n && ascii; i++) ascii = code.charAt(i) < 0x80;
+    if (ascii) {
+      for (int i = 0; i < n; i++) buf.put((byte) code.charAt(i));
+    } else {
+      byte[] bytes = code.getBytes(StandardCharsets.UTF_8);
+      n = Math.min(bytes.length, MAX_CODE_BYTES);
+      buf.put(bytes, 0, n);
+    }
+    buf.put(lengthAt, (byte) n);
+  }
+
+  /**
+   * Reads the next record, or returns null if {@code buf} does not hold a complete one.
+   */
+  static AccessLogEntry read(ByteBuffer buf) {
+    if (buf.remaining() < FIXED_RECORD_BYTES) return null;
+    int start = buf.position();
+    long millis = buf.getLong();
+    int micros = buf.getInt();
+    int status = buf.getShort() & 0xFFFF;
+    int length = buf.get() & 0xFF;
+    if (buf.remaining() < length) {
+      buf.position(start);
+      return null;
+    }
+    byte[] code = new byte[length];
+    buf.get(code);
+    return new AccessLogEntry(Instant.ofEpochMilli(millis), new String(code, StandardCharsets.UTF_8),
+                              status, Integer.toUnsignedLong(micros));
+  }
+}
@@ -0,0 +1,95 @@
+package com.svenruppert.urlshortener.api.accesslog;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads access log files written by {@link AccessLog}.
+ * <p>
+ * As a tool it prints the given files, or all files of the given directories (oldest first), as
+ * CSV: {@code timestamp,shortCode,status,durationMicros}.
+ * <pre>
+ * java -cp urlshortener-server.jar com.svenruppert.urlshortener.api.accesslog.AccessLogReader data/access
+ * </pre>
+ */
+public final class AccessLogReader {
+
+  private AccessLogReader() {
+  }
+
+  public static void main(String[] args)
+      throws IOException {
+    if (args.length == 0) {
+      System.err.println("usage: AccessLogReader <file or directory>...");
+      System.exit(2);
+    }
+    var out = new PrintStream(System.out, false);
+    out.println("timestamp,shortCode,status,durationMicros");
+    for (String arg : args) {
+      Path path = Path.of(arg);
+      List<Path> files = Files.isDirectory(path) ? AccessLog.files(path) : List.of(path);
+      for (Path file : files) {
+        read(file, e -> out.append(e.timestamp().toString()).append(',')
+            .append(csv(e.shortCode())).append(',')
+            .append(Integer.toString(e.status())).append(',')
+            .append(Long.toString(e.durationMicros())).append('\n'));
+      }
+    }
+    out.flush();
+  }
+
+  /**
+   * Passes every complete record of {@code file} to {@code sink}, in file order.
+   */
+  public static void read(Path file, Consumer<AccessLogEntry> sink)
+      throws IOException {
+    try (var channel = FileChannel.open(file, READ)) {
+      var buf = ByteBuffer.allocate(64 * 1024);
+      fill(channel, buf);
+      AccessLogFormat.readHeader(buf);
+      while (true) {
+        AccessLogEntry entry = AccessLogFormat.read(buf);
+        if (entry != null) {
+          sink.accept(entry);
+          continue;
+        }
+        buf.compact();
+        boolean more = fill(channel, buf);
+        if (!more) return;
+      }
+    }
+  }
+
+  public static List<AccessLogEntry> readAll(Path file)
+      throws IOException {
+    var entries = new ArrayList<AccessLogEntry>();
+    read(file, entries::add);
+    return entries;
+  }
+
+  /**
+   * Reads until {@code buf} is full or the file ends and flips it; false if nothing was read.
+   */
+  private static boolean fill(FileChannel channel, ByteBuffer buf)
+      throws IOException {
+    int total = 0;
+    int n;
+    while (buf.hasRemaining() && (n = channel.read(buf)) > 0) total += n;
+    buf.flip();
+    return total > 0;
+  }
+
+  private static String csv(String value) {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,90 @@
+package com.svenruppert.urlshortener.api.config;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Typed access to server tuning options given as system properties
+ * ({@code -Durlshortener.<key>=<value>}).
+ * Invalid values are logged and replaced by the default.
+ */
+public final class ConfigProperties {
+
+  public static final String PREFIX = "urlshortener.";
+
+  private ConfigProperties() {
+  }
+
+  public static String string(String key, String defaultValue) {
+    var value = System.getProperty(PREFIX + key);
+    return (value == null || value.isBlank()) ? defaultValue : value.trim();
+  }
+
+  public static int integer(String key, int defaultValue) {
+    var value = string(key, null);
+    if (value == null) return defaultValue;
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      return invalid(key, value, defaultValue);
+    }
+  }
+
+  public static long longValue(String key, long defaultValue) {
+    var value = string(key, null);
+    if (value == null) return defaultValue;
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return invalid(key, value, defaultValue);
+    }
+  }
+
+  public static double doubleValue(String key, double defaultValue) {
+    var value = string(key, null);
+    if (value == null) return defaultValue;
+    try {
+      return Double.parseDouble(value);
+    } catch (NumberFormatException e) {
+      return invalid(key, value, defaultValue);
+    }
+  }
+
+  public static boolean bool(String key, boolean defaultValue) {
+    var value = string(key, null);
+    if (value == null) return defaultValue;
+    return value.equalsIgnoreCase("true") || value.equals("1");
+  }
+
+  /**
+   * ISO-8601 ({@code PT30S}) or plain milliseconds.
+   */
+  public static Duration duration(String key, Duration defaultValue) {
+    var value = string(key, null);
+    if (value == null) return defaultValue;
+    try {
+      return Character.isDigit(value.charAt(0))
+          ? Duration.ofMillis(Long.parseLong(value))
+          : Duration.parse(value.toUpperCase(Locale.ROOT));
+    } catch (RuntimeException e) {
+      return invalid(key, value, defaultValue);
+    }
+  }
+
+  public static <E extends Enum<E>> E enumValue(String key, Class<E> type, E defaultValue) {
+    var value = string(key, null);
+    if (value == null) return defaultValue;
+    try {
+      return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      return invalid(key, value, defaultValue);
+    }
+  }
+
+  private static <T> T invalid(String key, String value, T defaultValue) {
+    HasLogger.staticLogger().warn("Invalid value '{}' for {}{} - using default {}", value, PREFIX, key, defaultValue);
+    return defaultValue;
+  }
+}
@@ -0,0 +1,144 @@
+package com.svenruppert.urlshortener.api.filter;
+
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to measured latency (additive increase, multiplicative decrease).
+ * <p>
+ * Every admitted request reports its latency. The limiter keeps a baseline: the lowest latency
+ * seen, which slowly drifts towards newer samples so a permanently slower backend is not
+ * punished forever. A sample above {@code tolerance x baseline} (and above the configured
+ * floor) counts as congestion and multiplies the limit by {@code backoff}, at most once per
+ * sample duration so a burst of slow responses does not collapse it. Fast samples raise the
+ * limit by one, but only while at least half of it is in use - an idle server has no evidence
+ * that more concurrency would be fine.
+ * <p>
+ * {@link #tryAcquire()} and {@link #release(long)} do not allocate; baseline updates may race
+ * and lose a sample, which does not matter for a heuristic.
+ * <p>
+ * Configuration ({@code -Durlshortener.<key>}), per scope ({@code redirect}, {@code admin}):
+ * {@code admission.<scope>.enabled} (default false), {@code admission.<scope>.initialLimit},
+ * {@code admission.<scope>.minLimit}, {@code admission.<scope>.maxLimit},
+ * {@code admission.<scope>.tolerance} (default 2.0), {@code admission.<scope>.backoff}
+ * (default 0.9) and {@code admission.<scope>.latencyFloor}.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+  private static final int BASELINE_DRIFT_SHIFT = 8;
+
+  private final String name;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final double backoff;
+  private final long latencyFloorNanos;
+
+  private final AtomicInteger limit;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  // far enough in the past that the first congestion signal always applies
+  private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime() - (1L << 62));
+  private final LongAdder accepted = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private volatile long baselineNanos = Long.MAX_VALUE;
+
+  public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                    double tolerance, double backoff, Duration latencyFloor) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException("limits must satisfy 1 <= min <= max: " + minLimit + ", " + maxLimit);
+    }
+    if (tolerance < 1.0) throw new IllegalArgumentException("tolerance must be >= 1: " + tolerance);
+    if (backoff <= 0.0 || backoff >= 1.0) throw new IllegalArgumentException("backoff must be in (0, 1): " + backoff);
+    this.name = name;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.tolerance = tolerance;
+    this.backoff = backoff;
+    this.latencyFloorNanos = latencyFloor.toNanos();
+    this.limit = new AtomicInteger(Math.clamp(initialLimit, minLimit, maxLimit));
+  }
+
+  /**
+   * Limiter for {@code scope} from configuration, empty if {@code admission.<scope>.enabled} is false.
+   */
+  public static Optional<AdaptiveConcurrencyLimiter> fromConfig(String scope, int initialLimit, int minLimit,
+                                                                int maxLimit, Duration latencyFloor) {
+    String prefix = "admission." + scope + ".";
+    if (!ConfigProperties.bool(prefix + "enabled", false)) return Optional.empty();
+    int min = Math.max(1, ConfigProperties.integer(prefix + "minLimit", minLimit));
+    int max = Math.max(min, ConfigProperties.integer(prefix + "maxLimit", maxLimit));
+    return Optional.of(new AdaptiveConcurrencyLimiter(
+        scope,
+        ConfigProperties.integer(prefix + "initialLimit", initialLimit), min, max,
+        ConfigProperties.doubleValue(prefix + "tolerance", 2.0),
+        ConfigProperties.doubleValue(prefix + "backoff", 0.9),
+        ConfigProperties.duration(prefix + "latencyFloor", latencyFloor)));
+  }
+
+  /**
+   * Admits a request if fewer than {@link #limit()} are in flight.
+   *
+   * @return start timestamp to hand to {@link #release(long)}, or -1 if rejected
+   */
+  public long tryAcquire() {
+    int current = inFlight.get();
+    while (true) {
+      if (current >= limit.get()) {
+        rejected.increment();
+        return -1;
+      }
+      int witness = inFlight.compareAndExchange(current, current + 1);
+      if (witness == current) break;
+      current = witness;
+    }
+    accepted.increment();
+    return System.nanoTime();
+  }
+
+  /**
+   * Ends a request admitted by {@link #tryAcquire()} and feeds its latency into the limit.
+   */
+  public void release(long startNanos) {
+    long now = System.nanoTime();
+    int inUse = inFlight.getAndDecrement();
+    onSample(now - startNanos, inUse, now);
+  }
+
+  private void onSample(long latencyNanos, int inUse, long now) {
+    long baseline = baselineNanos;
+    if (latencyNanos < baseline) {
+      baselineNanos = latencyNanos;
+      baseline = latencyNanos;
+    } else {
+      baselineNanos = baseline + ((latencyNanos - baseline) >> BASELINE_DRIFT_SHIFT);
+    }
+
+    int current = limit.get();
+    if (latencyNanos > latencyFloorNanos && latencyNanos > baseline * tolerance) {
+      long lastDecrease = lastDecreaseNanos.get();
+      if (now - lastDecrease >= latencyNanos && lastDecreaseNanos.compareAndSet(lastDecrease, now)) {
+        limit.compareAndSet(current, Math.max(minLimit, (int) (current * backoff)));
+      }
+    } else if (inUse * 2 >= current && current < maxLimit) {
+      limit.compareAndSet(current, current + 1);
+    }
+  }
+
+  public int limit() {
+    return limit.get();
+  }
+
+  public Stats stats() {
+    long baseline = baselineNanos;
+    return new Stats(name, limit.get(), inFlight.get(), accepted.sum(), rejected.sum(),
+                     baseline == Long.MAX_VALUE ? 0.0 : baseline / 1_000_000.0);
+  }
+
+  public record Stats(String name, int limit, int inFlight, long accepted, long rejected, double baselineMillis) {
+  }
+}
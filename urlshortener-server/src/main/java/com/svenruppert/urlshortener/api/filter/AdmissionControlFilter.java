@@ -0,0 +1,61 @@
+package com.svenruppert.urlshortener.api.filter;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Load shedding in front of a server's handlers: requests above the current
+ * {@link AdaptiveConcurrencyLimiter} limit get an immediate {@code 503} with {@code Retry-After}
+ * instead of queueing on the executor, and admitted requests report their latency back.
+ * <p>
+ * Paths matching {@code exempt} bypass the limiter: they take no slot and feed no latency
+ * sample. Long-running endpoints that are capped elsewhere (the {@code heavy_io} bulkhead) would
+ * otherwise look like congestion and shrink the limit for all cheap requests.
+ */
+public class AdmissionControlFilter
+    extends Filter {
+
+  private static final String RETRY_AFTER = "1";
+
+  private final AdaptiveConcurrencyLimiter limiter;
+  private final Predicate<String> exempt;
+
+  public AdmissionControlFilter(AdaptiveConcurrencyLimiter limiter) {
+    this(limiter, path -> false);
+  }
+
+  public AdmissionControlFilter(AdaptiveConcurrencyLimiter limiter, Predicate<String> exempt) {
+    this.limiter = Objects.requireNonNull(limiter, "limiter");
+    this.exempt = Objects.requireNonNull(exempt, "exempt");
+  }
+
+  @Override
+  public String description() {
+    return "Adaptive concurrency limit, sheds load with 503";
+  }
+
+  @Override
+  public void doFilter(HttpExchange exchange, Chain chain)
+      throws IOException {
+    if (exempt.test(exchange.getRequestURI().getPath())) {
+      chain.doFilter(exchange);
+      return;
+    }
+    long started = limiter.tryAcquire();
+    if (started < 0) {
+      exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER);
+      exchange.sendResponseHeaders(503, -1);
+      exchange.close();
+      return;
+    }
+    try {
+      chain.doFilter(exchange);
+    } finally {
+      limiter.release(started);
+    }
+  }
+}
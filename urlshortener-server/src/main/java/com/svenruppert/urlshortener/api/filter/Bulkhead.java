@@ -0,0 +1,134 @@
+package com.svenruppert.urlshortener.api.filter;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit with a bounded, time-limited wait queue for one class of endpoints.
+ * <p>
+ * At most {@code maxConcurrent} requests run at a time. Further requests wait in FIFO order,
+ * but only up to {@code maxQueue} of them and each for at most {@code maxWait}; anything beyond
+ * that is rejected right away. Wait times are recorded (total, maximum and a coarse histogram)
+ * so queue and limit sizes can be chosen from real traffic.
+ */
+public final class Bulkhead {
+
+  /** Upper bounds (exclusive) of the wait time histogram buckets; the last bucket is open. */
+  static final long[] WAIT_BUCKET_MILLIS = {1, 10, 100, 1_000};
+
+  private final String name;
+  private final int maxConcurrent;
+  private final int maxQueue;
+  private final long maxWaitNanos;
+  private final Semaphore permits;
+  private final AtomicInteger queued = new AtomicInteger();
+
+  private final LongAdder accepted = new LongAdder();
+  private final LongAdder rejectedQueueFull = new LongAdder();
+  private final LongAdder rejectedTimeout = new LongAdder();
+  private final LongAdder waited = new LongAdder();
+  private final LongAdder waitNanosTotal = new LongAdder();
+  private final AtomicLong waitNanosMax = new AtomicLong();
+  private final LongAdder[] waitHistogram = new LongAdder[WAIT_BUCKET_MILLIS.length + 1];
+
+  public Bulkhead(String name, int maxConcurrent, int maxQueue, Duration maxWait) {
+    if (maxConcurrent < 1) throw new IllegalArgumentException("maxConcurrent must be positive: " + maxConcurrent);
+    this.name = name;
+    this.maxConcurrent = maxConcurrent;
+    this.maxQueue = Math.max(0, maxQueue);
+    this.maxWaitNanos = Math.max(0, maxWait.toNanos());
+    this.permits = new Semaphore(maxConcurrent, true);
+    for (int i = 0; i < waitHistogram.length; i++) waitHistogram[i] = new LongAdder();
+  }
+
+  /**
+   * Takes a slot, waiting in the queue if necessary. Every successful call must be followed by
+   * {@link #release()}.
+   *
+   * @return false if the queue is full or the wait timed out
+   */
+  public boolean acquire()
+      throws InterruptedException {
+    // the timed variant with zero wait honours the fair ordering, the untimed one would barge
+    if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+      accepted.increment();
+      return true;
+    }
+    if (queued.incrementAndGet() > maxQueue) {
+      queued.decrementAndGet();
+      rejectedQueueFull.increment();
+      return false;
+    }
+    long start = System.nanoTime();
+    boolean acquired;
+    try {
+      acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+    } finally {
+      queued.decrementAndGet();
+    }
+    recordWait(System.nanoTime() - start);
+    if (!acquired) {
+      rejectedTimeout.increment();
+      return false;
+    }
+    accepted.increment();
+    return true;
+  }
+
+  public void release() {
+    permits.release();
+  }
+
+  private void recordWait(long nanos) {
+    waited.increment();
+    waitNanosTotal.add(nanos);
+    waitNanosMax.accumulateAndGet(nanos, Math::max);
+    long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+    int bucket = 0;
+    while (bucket < WAIT_BUCKET_MILLIS.length && millis >= WAIT_BUCKET_MILLIS[bucket]) bucket++;
+    waitHistogram[bucket].increment();
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public int active() {
+    return maxConcurrent - permits.availablePermits();
+  }
+
+  public int queued() {
+    return queued.get();
+  }
+
+  public Stats stats() {
+    long waits = waited.sum();
+    long[] histogram = new long[waitHistogram.length];
+    for (int i = 0; i < histogram.length; i++) histogram[i] = waitHistogram[i].sum();
+    return new Stats(name, maxConcurrent, maxQueue, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos),
+                     active(), queued(),
+                     accepted.sum(), rejectedQueueFull.sum(), rejectedTimeout.sum(),
+                     waits, waits == 0 ? 0.0 : waitNanosTotal.sum() / (double) waits / 1_000_000.0,
+                     waitNanosMax.get() / 1_000_000.0,
+                     new WaitHistogram(histogram[0], histogram[1], histogram[2], histogram[3], histogram[4]));
+  }
+
+  /**
+   * @param active            requests currently running
+   * @param queued            requests currently waiting
+   * @param waited            admitted or timed-out requests that had to wait at all
+   * @param averageWaitMillis mean wait of those requests
+   */
+  public record Stats(String name, int maxConcurrent, int maxQueue, long maxWaitMillis,
+                      int active, int queued, long accepted, long rejectedQueueFull, long rejectedTimeout,
+                      long waited, double averageWaitMillis, double longestWaitMillis,
+                      WaitHistogram waitHistogram) {
+  }
+
+  public record WaitHistogram(long under1ms, long under10ms, long under100ms, long under1s, long over1s) {
+  }
+}
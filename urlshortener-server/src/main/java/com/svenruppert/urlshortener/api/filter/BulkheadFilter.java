@@ -0,0 +1,54 @@
+package com.svenruppert.urlshortener.api.filter;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+
+/**
+ * Runs each admin request inside the {@link Bulkhead} of its endpoint class, so slow exports or
+ * bulk imports cannot take the threads cheap endpoints need. Requests the bulkhead turns away get
+ * {@code 503} with {@code Retry-After}.
+ */
+public class BulkheadFilter
+    extends Filter {
+
+  private static final String RETRY_AFTER = "1";
+
+  private final Bulkheads bulkheads;
+
+  public BulkheadFilter(Bulkheads bulkheads) {
+    this.bulkheads = Objects.requireNonNull(bulkheads, "bulkheads");
+  }
+
+  @Override
+  public String description() {
+    return "Per endpoint class concurrency limits and queues";
+  }
+
+  @Override
+  public void doFilter(HttpExchange exchange, Chain chain)
+      throws IOException {
+    Bulkhead bulkhead = bulkheads.forPath(exchange.getRequestURI().getPath());
+    boolean acquired;
+    try {
+      acquired = bulkhead.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while waiting for bulkhead " + bulkhead.name());
+    }
+    if (!acquired) {
+      exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER);
+      exchange.sendResponseHeaders(503, -1);
+      exchange.close();
+      return;
+    }
+    try {
+      chain.doFilter(exchange);
+    } finally {
+      bulkhead.release();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.svenruppert.urlshortener.api.filter;
+
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.svenruppert.urlshortener.core.DefaultValues.*;
+
+/**
+ * The admin server's bulkheads: one {@link Bulkhead} per {@link EndpointClass}, and the table
+ * that assigns request paths to classes. Both live here so sizing and classification are read in
+ * one place.
+ * <p>
+ * Configuration ({@code -Durlshortener.<key>}), per class ({@code heavy_io}, {@code bulk_write},
+ * {@code read}, {@code metadata}): {@code bulkhead.<class>.maxConcurrent},
+ * {@code bulkhead.<class>.maxQueue} and {@code bulkhead.<class>.maxWait};
+ * {@code bulkhead.enabled} (default true) switches all of them off.
+ */
+public final class Bulkheads {
+
+  /**
+   * Longest matching prefix wins; paths that match nothing are {@link EndpointClass#METADATA}.
+   */
+  private static final List<Map.Entry<String, EndpointClass>> ROUTES = List.of(
+      Map.entry(PATH_ADMIN_EXPORT, EndpointClass.HEAVY_IO),
+      Map.entry(PATH_ADMIN_IMPORT_VALIDATE, EndpointClass.HEAVY_IO),
+      Map.entry(PATH_ADMIN_IMPORT_APPLY, EndpointClass.HEAVY_IO),
+      Map.entry(PATH_ADMIN_SNAPSHOT, EndpointClass.HEAVY_IO),
+      Map.entry(PATH_ADMIN_SHORTEN_BULK, EndpointClass.BULK_WRITE),
+      Map.entry(PATH_ADMIN_VALIDATE_BULK, EndpointClass.BULK_WRITE),
+      Map.entry(PATH_ADMIN_LIST, EndpointClass.READ),
+      Map.entry(PATH_ADMIN_IMPORT_CONFLICTS, EndpointClass.READ),
+      Map.entry(PATH_ADMIN_IMPORT_INVALID, EndpointClass.READ),
+      Map.entry(PATH_ADMIN_STATISTICS_TIMELINE, EndpointClass.READ),
+      Map.entry(PATH_ADMIN_LIST_COUNT, EndpointClass.METADATA)
+  );
+
+  private final Map<EndpointClass, Bulkhead> bulkheads;
+
+  public Bulkheads(Map<EndpointClass, Bulkhead> bulkheads) {
+    this.bulkheads = new EnumMap<>(bulkheads);
+    for (EndpointClass c : EndpointClass.values()) {
+      if (!this.bulkheads.containsKey(c)) throw new IllegalArgumentException("no bulkhead for " + c);
+    }
+  }
+
+  public static Bulkheads fromConfig() {
+    var map = new EnumMap<EndpointClass, Bulkhead>(EndpointClass.class);
+    for (EndpointClass c : EndpointClass.values()) {
+      String prefix = "bulkhead." + c.key() + ".";
+      map.put(c, new Bulkhead(c.key(),
+                              Math.max(1, ConfigProperties.integer(prefix + "maxConcurrent", c.maxConcurrent)),
+                              ConfigProperties.integer(prefix + "maxQueue", c.maxQueue),
+                              ConfigProperties.duration(prefix + "maxWait", c.maxWait)));
+    }
+    return new Bulkheads(map);
+  }
+
+  public static boolean enabled() {
+    return ConfigProperties.bool("bulkhead.enabled", true);
+  }
+
+  public static EndpointClass classify(String path) {
+    if (path == null) return EndpointClass.METADATA;
+    EndpointClass match = EndpointClass.METADATA;
+    int matchLength = -1;
+    for (var route : ROUTES) {
+      String prefix = route.getKey();
+      if (prefix.length() > matchLength && path.startsWith(prefix)
+          && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+        match = route.getValue();
+        matchLength = prefix.length();
+      }
+    }
+    return match;
+  }
+
+  public Bulkhead forPath(String path) {
+    return bulkheads.get(classify(path));
+  }
+
+  public Bulkhead get(EndpointClass endpointClass) {
+    return bulkheads.get(endpointClass);
+  }
+
+  public List<Bulkhead.Stats> stats() {
+    return bulkheads.values().stream().map(Bulkhead::stats).toList();
+  }
+
+  public enum EndpointClass {
+    /** Exports, imports, snapshots: long-running and I/O heavy. */
+    HEAVY_IO(2, 8, Duration.ofSeconds(30)),
+    /** Bulk shorten and bulk validation. */
+    BULK_WRITE(4, 16, Duration.ofSeconds(10)),
+    /** Paged lists, staging lists and timelines. */
+    READ(16, 64, Duration.ofSeconds(5)),
+    /** Small calls the UI polls or issues interactively: info, counts, statistics, single edits. */
+    METADATA(32, 128, Duration.ofSeconds(2));
+
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final Duration maxWait;
+
+    EndpointClass(int maxConcurrent, int maxQueue, Duration maxWait) {
+      this.maxConcurrent = maxConcurrent;
+      this.maxQueue = maxQueue;
+      this.maxWait = maxWait;
+    }
+
+    public String key() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+}
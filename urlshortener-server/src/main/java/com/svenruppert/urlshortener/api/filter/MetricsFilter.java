@@ -0,0 +1,67 @@
+package com.svenruppert.urlshortener.api.filter;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+import com.svenruppert.urlshortener.api.metrics.Counter;
+import com.svenruppert.urlshortener.api.metrics.LatencyHistogram;
+import com.svenruppert.urlshortener.api.metrics.MetricsRegistry;
+
+import java.io.IOException;
+
+/**
+ * Records duration and status class of every request of one context. Install it as the first
+ * filter so requests rejected by later filters (rate limit, admission, bulkheads) are counted too.
+ */
+public class MetricsFilter
+    extends Filter {
+
+  private static final String[] STATUS_CLASSES = {"other", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+  private final LatencyHistogram duration;
+  private final Counter[] responses;
+
+  public MetricsFilter(MetricsRegistry registry, String server, String path) {
+    this.duration = requestDuration(registry, server, path);
+    this.responses = responseCounters(registry, server, path);
+  }
+
+  public static LatencyHistogram requestDuration(MetricsRegistry registry, String server, String path) {
+    return registry.histogram("urlshortener_http_request_duration_seconds",
+                              "HTTP request duration until the response is written",
+                              "server", server, "path", path);
+  }
+
+  /**
+   * Response counters indexed by {@link #statusClass(int)}.
+   */
+  public static Counter[] responseCounters(MetricsRegistry registry, String server, String path) {
+    var counters = new Counter[STATUS_CLASSES.length];
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] = registry.counter("urlshortener_http_responses_total", "HTTP responses by status class",
+                                     "server", server, "path", path, "status", STATUS_CLASSES[i]);
+    }
+    return counters;
+  }
+
+  public static int statusClass(int status) {
+    int statusClass = status / 100;
+    return statusClass >= 1 && statusClass <= 5 ? statusClass : 0;
+  }
+
+  @Override
+  public String description() {
+    return "Request duration and status metrics";
+  }
+
+  @Override
+  public void doFilter(HttpExchange exchange, Chain chain)
+      throws IOException {
+    long started = System.nanoTime();
+    try {
+      chain.doFilter(exchange);
+    } finally {
+      duration.record(System.nanoTime() - started);
+      responses[statusClass(exchange.getResponseCode())].increment();
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.svenruppert.urlshortener.api.filter;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Answers {@code 429 Too Many Requests} once a client has used up its {@link TokenBucketLimiter}
+ * budget. Install one filter per budget (redirect, admin) in front of the other filters, so a
+ * throttled request costs neither a handler call nor a statistics event.
+ */
+public class RateLimitFilter
+    extends Filter {
+
+  private static final String HEADER_X_FORWARDED_FOR = "X-Forwarded-For";
+  private static final String RETRY_AFTER = "1";
+
+  private final TokenBucketLimiter limiter;
+
+  public RateLimitFilter(TokenBucketLimiter limiter) {
+    this.limiter = Objects.requireNonNull(limiter, "limiter");
+  }
+
+  @Override
+  public String description() {
+    return "Per-client token bucket rate limit";
+  }
+
+  @Override
+  public void doFilter(HttpExchange exchange, Chain chain)
+      throws IOException {
+    if (limiter.tryAcquire(exchange.getRequestHeaders().getFirst(HEADER_X_FORWARDED_FOR),
+                           exchange.getRemoteAddress())) {
+      chain.doFilter(exchange);
+      return;
+    }
+    // rate is at least one token per second, so one second is always enough
+    exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER);
+    exchange.sendResponseHeaders(429, -1);
+    exchange.close();
+  }
+}
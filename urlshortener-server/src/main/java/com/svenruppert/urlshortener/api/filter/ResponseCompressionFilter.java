@@ -0,0 +1,370 @@
+package com.svenruppert.urlshortener.api.filter;
+
+import com.sun.net.httpserver.*;
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+import com.svenruppert.urlshortener.core.DefaultValues;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@code Accept-Encoding} aware gzip/deflate compression for admin API responses.
+ * <p>
+ * The handler's exchange is wrapped: {@code sendResponseHeaders} decides whether to compress
+ * (negotiated encoding, textual content type, body at least {@code minBytes} or of unknown
+ * length) and switches the response to chunked transfer with {@code Content-Encoding};
+ * {@code getResponseBody} then hands out the compressing stream. Handlers stay unchanged.
+ * <p>
+ * Configuration ({@code -Durlshortener.<key>}): {@code compression.enabled} (default true),
+ * {@code compression.minBytes} and {@code compression.level} (0-9, -1 = zlib default).
+ */
+public class ResponseCompressionFilter
+    extends Filter
+    implements HasLogger {
+
+  private static final int BUFFER_SIZE = 8 * 1024;
+
+  private final boolean enabled;
+  private final int minBytes;
+  private final int level;
+
+  public ResponseCompressionFilter() {
+    this(ConfigProperties.bool("compression.enabled", true),
+         ConfigProperties.integer("compression.minBytes", DefaultValues.COMPRESSION_MIN_BYTES),
+         ConfigProperties.integer("compression.level", Deflater.DEFAULT_COMPRESSION));
+  }
+
+  public ResponseCompressionFilter(boolean enabled, int minBytes, int level) {
+    if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+      throw new IllegalArgumentException("compression level must be between -1 and 9: " + level);
+    }
+    this.enabled = enabled;
+    this.minBytes = Math.max(0, minBytes);
+    this.level = level;
+  }
+
+  @Override
+  public String description() {
+    return "Compresses responses with gzip/deflate according to Accept-Encoding";
+  }
+
+  @Override
+  public void doFilter(HttpExchange exchange, Chain chain)
+      throws IOException {
+    Encoding encoding = enabled && !"HEAD".equalsIgnoreCase(exchange.getRequestMethod())
+        ? negotiate(exchange.getRequestHeaders().get("Accept-Encoding"))
+        : null;
+    if (encoding == null) {
+      chain.doFilter(exchange);
+      return;
+    }
+    var compressing = new CompressingExchange(exchange, encoding);
+    try {
+      chain.doFilter(compressing);
+    } finally {
+      compressing.finish();
+    }
+  }
+
+  /**
+   * Picks gzip over deflate; honours {@code q=0} and the {@code *} wildcard. The wildcard only
+   * stands for codings the client did not name, so an explicit {@code q=0} always wins.
+   */
+  static Encoding negotiate(Iterable<String> acceptEncoding) {
+    if (acceptEncoding == null) return null;
+    boolean gzip = false;
+    boolean gzipRefused = false;
+    boolean deflate = false;
+    boolean deflateRefused = false;
+    boolean wildcard = false;
+    for (String header : acceptEncoding) {
+      for (String part : header.split(",")) {
+        String[] tokens = part.split(";");
+        String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+        if (coding.isEmpty()) continue;
+        boolean accepted = accepted(tokens);
+        switch (coding) {
+          case "gzip", "x-gzip" -> {
+            gzip |= accepted;
+            gzipRefused |= !accepted;
+          }
+          case "deflate" -> {
+            deflate |= accepted;
+            deflateRefused |= !accepted;
+          }
+          case "*" -> wildcard |= accepted;
+          default -> { }
+        }
+      }
+    }
+    if (gzip || (wildcard && !gzipRefused)) return Encoding.GZIP;
+    if (deflate || (wildcard && !deflateRefused)) return Encoding.DEFLATE;
+    return null;
+  }
+
+  private static boolean accepted(String[] tokens) {
+    for (int i = 1; i < tokens.length; i++) {
+      String param = tokens[i].trim();
+      if (param.startsWith("q=") || param.startsWith("Q=")) {
+        try {
+          return Double.parseDouble(param.substring(2).trim()) > 0;
+        } catch (NumberFormatException e) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  static boolean isCompressible(String contentType) {
+    if (contentType == null) return false;
+    String ct = contentType.toLowerCase(Locale.ROOT);
+    return ct.startsWith("application/json")
+        || ct.startsWith("application/x-ndjson")
+        || ct.startsWith("application/problem+json")
+        || ct.startsWith("application/xml")
+        || ct.startsWith("application/javascript")
+        || ct.startsWith("text/");
+  }
+
+  enum Encoding {
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private final String token;
+
+    Encoding(String token) {
+      this.token = token;
+    }
+
+    String token() {
+      return token;
+    }
+
+    OutputStream wrap(OutputStream out, int level)
+        throws IOException {
+      return switch (this) {
+        case GZIP -> new LeveledGzipOutputStream(out, level);
+        case DEFLATE -> new OwnedDeflaterOutputStream(out, level);
+      };
+    }
+  }
+
+  private static final class LeveledGzipOutputStream
+      extends GZIPOutputStream {
+    private LeveledGzipOutputStream(OutputStream out, int level)
+        throws IOException {
+      super(out, BUFFER_SIZE);
+      def.setLevel(level);
+    }
+  }
+
+  /**
+   * Deflater with a custom level is not released by {@link DeflaterOutputStream#close()}.
+   */
+  private static final class OwnedDeflaterOutputStream
+      extends DeflaterOutputStream {
+    private OwnedDeflaterOutputStream(OutputStream out, int level) {
+      super(out, new Deflater(level), BUFFER_SIZE);
+    }
+
+    @Override
+    public void close()
+        throws IOException {
+      try {
+        super.close();
+      } finally {
+        def.end();
+      }
+    }
+  }
+
+  /**
+   * Delegating exchange that swaps in a compressing body once the handler sends the headers.
+   */
+  private final class CompressingExchange
+      extends HttpExchange {
+
+    private final HttpExchange delegate;
+    private final Encoding encoding;
+    private final Body body = new Body();
+    private boolean compress;
+
+    private CompressingExchange(HttpExchange delegate, Encoding encoding) {
+      this.delegate = delegate;
+      this.encoding = encoding;
+    }
+
+    @Override
+    public void sendResponseHeaders(int rCode, long responseLength)
+        throws IOException {
+      Headers headers = delegate.getResponseHeaders();
+      boolean compressible = isCompressible(headers.getFirst("Content-Type"))
+          && !headers.containsKey("Content-Encoding");
+      if (compressible) {
+        var vary = headers.get("Vary");
+        if (vary == null || vary.stream().noneMatch(v -> v.toLowerCase(Locale.ROOT).contains("accept-encoding"))) {
+          headers.add("Vary", "Accept-Encoding");
+        }
+      }
+      compress = compressible
+          && rCode >= 200 && rCode != 204 && rCode != 304
+          && responseLength >= 0
+          && (responseLength == 0 || responseLength >= minBytes);
+      if (compress) {
+        headers.set("Content-Encoding", encoding.token());
+        headers.remove("Content-Length");
+        delegate.sendResponseHeaders(rCode, 0);
+      } else {
+        delegate.sendResponseHeaders(rCode, responseLength);
+      }
+    }
+
+    @Override
+    public OutputStream getResponseBody() {
+      return body;
+    }
+
+    @Override
+    public void close() {
+      try {
+        finish();
+      } catch (IOException e) {
+        logger().debug("finishing compressed response failed: {}", e.toString());
+      }
+      delegate.close();
+    }
+
+    /**
+     * Writes the compression trailer if the handler did not close the body itself. A handler that
+     * wrote nothing still gets a valid (empty) stream, since {@code Content-Encoding} is already sent.
+     */
+    void finish()
+        throws IOException {
+      if (compress) body.close();
+    }
+
+    @Override
+    public Headers getRequestHeaders() {
+      return delegate.getRequestHeaders();
+    }
+
+    @Override
+    public Headers getResponseHeaders() {
+      return delegate.getResponseHeaders();
+    }
+
+    @Override
+    public URI getRequestURI() {
+      return delegate.getRequestURI();
+    }
+
+    @Override
+    public String getRequestMethod() {
+      return delegate.getRequestMethod();
+    }
+
+    @Override
+    public HttpContext getHttpContext() {
+      return delegate.getHttpContext();
+    }
+
+    @Override
+    public InputStream getRequestBody() {
+      return delegate.getRequestBody();
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+      return delegate.getRemoteAddress();
+    }
+
+    @Override
+    public int getResponseCode() {
+      return delegate.getResponseCode();
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+      return delegate.getLocalAddress();
+    }
+
+    @Override
+    public String getProtocol() {
+      return delegate.getProtocol();
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+      return delegate.getAttribute(name);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+      delegate.setAttribute(name, value);
+    }
+
+    @Override
+    public void setStreams(InputStream i, OutputStream o) {
+      delegate.setStreams(i, o);
+    }
+
+    @Override
+    public HttpPrincipal getPrincipal() {
+      return delegate.getPrincipal();
+    }
+
+    /**
+     * Resolves its target on first use, i.e. after {@code sendResponseHeaders}.
+     */
+    private final class Body
+        extends OutputStream {
+      private OutputStream target;
+      private boolean closed;
+
+      private OutputStream target()
+          throws IOException {
+        if (target == null) {
+          target = compress
+              ? encoding.wrap(delegate.getResponseBody(), level)
+              : delegate.getResponseBody();
+        }
+        return target;
+      }
+
+      @Override
+      public void write(int b)
+          throws IOException {
+        target().write(b);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len)
+          throws IOException {
+        target().write(b, off, len);
+      }
+
+      @Override
+      public void flush()
+          throws IOException {
+        target().flush();
+      }
+
+      @Override
+      public void close()
+          throws IOException {
+        if (closed) return;
+        closed = true;
+        target().close();
+      }
+    }
+  }
+}
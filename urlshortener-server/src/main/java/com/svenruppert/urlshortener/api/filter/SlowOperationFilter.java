@@ -0,0 +1,50 @@
+package com.svenruppert.urlshortener.api.filter;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+import com.svenruppert.urlshortener.api.slowlog.QueryTrace;
+import com.svenruppert.urlshortener.api.slowlog.SlowOperation;
+import com.svenruppert.urlshortener.api.slowlog.SlowOperationLog;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Times admin requests and records those over the threshold in a {@link SlowOperationLog},
+ * together with what the stores reported to the request's {@link QueryTrace}. Install it after
+ * the rate limit, bulkhead and admission filters so queueing time is not counted as work.
+ */
+public class SlowOperationFilter
+    extends Filter {
+
+  private final SlowOperationLog log;
+
+  public SlowOperationFilter(SlowOperationLog log) {
+    this.log = Objects.requireNonNull(log, "log");
+  }
+
+  @Override
+  public String description() {
+    return "Records slow admin requests";
+  }
+
+  @Override
+  public void doFilter(HttpExchange exchange, Chain chain)
+      throws IOException {
+    var trace = QueryTrace.open();
+    long started = System.nanoTime();
+    try {
+      chain.doFilter(exchange);
+    } finally {
+      long elapsed = System.nanoTime() - started;
+      trace.close();
+      if (log.isSlow(elapsed)) {
+        var uri = exchange.getRequestURI();
+        log.record(new SlowOperation(Instant.now(), exchange.getRequestMethod(), uri.getPath(), uri.getRawQuery(),
+                                     exchange.getResponseCode(), elapsed / 1_000_000.0, trace.parameters(),
+                                     trace.queries(), trace.rowsScanned(), trace.rowsReturned()));
+      }
+    }
+  }
+}
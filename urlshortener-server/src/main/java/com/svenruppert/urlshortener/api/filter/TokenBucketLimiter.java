@@ -0,0 +1,149 @@
+package com.svenruppert.urlshortener.api.filter;
+
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-client token buckets in a fixed, striped table.
+ * <p>
+ * A client key (first {@code X-Forwarded-For} entry, else the remote address) is hashed onto one
+ * of {@code slots} buckets. Each bucket is a single {@code long} - milliseconds since the limiter
+ * was created in the upper 40 bits, the token level in 1/1024 tokens in the lower 24 bits - and
+ * is refilled and drawn from with one compare-and-set. There are no locks, no per-client objects
+ * and nothing to evict; clients that hash onto the same slot share a budget, which only makes the
+ * limit stricter for them. With the default 65536 slots that is rare for real traffic.
+ * <p>
+ * {@link #tryAcquire(String, InetSocketAddress)} does not allocate.
+ * <p>
+ * Configuration ({@code -Durlshortener.<key>}), per scope ({@code redirect}, {@code admin}):
+ * {@code ratelimit.<scope>.rate} (tokens per second, 0 = off, the default),
+ * {@code ratelimit.<scope>.burst} (bucket size, default 2 x rate), and for both scopes
+ * {@code ratelimit.slots} and {@code ratelimit.trustForwardedFor} (default true).
+ */
+public final class TokenBucketLimiter {
+
+  /** Largest bucket the 24 bit token field can hold. */
+  public static final int MAX_BURST = (1 << 14) - 1;
+
+  private static final int TOKEN_BITS = 24;
+  private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+  private static final int SCALE = 1024;
+
+  private final AtomicLongArray buckets;
+  private final int mask;
+  private final long ratePerSecond;
+  private final long capacity;
+  private final long fullAfterMillis;
+  private final boolean trustForwardedFor;
+  private final Clock clock;
+  private final long origin;
+  private final LongAdder rejected = new LongAdder();
+
+  /**
+   * @param ratePerSecond     sustained requests per second and client
+   * @param burst             bucket size, at most {@link #MAX_BURST}
+   * @param slots             number of buckets, rounded up to a power of two
+   * @param trustForwardedFor key by the first {@code X-Forwarded-For} entry if present
+   */
+  public TokenBucketLimiter(int ratePerSecond, int burst, int slots, boolean trustForwardedFor, Clock clock) {
+    if (ratePerSecond <= 0) throw new IllegalArgumentException("rate must be positive: " + ratePerSecond);
+    if (burst <= 0 || burst > MAX_BURST) {
+      throw new IllegalArgumentException("burst must be between 1 and " + MAX_BURST + ": " + burst);
+    }
+    int size = Integer.highestOneBit(Math.max(1, Math.min(1 << 24, slots) - 1)) << 1;
+    this.buckets = new AtomicLongArray(size);
+    this.mask = size - 1;
+    this.ratePerSecond = ratePerSecond;
+    this.capacity = (long) burst * SCALE;
+    this.fullAfterMillis = ((long) burst * 1000 + ratePerSecond - 1) / ratePerSecond;
+    this.trustForwardedFor = trustForwardedFor;
+    this.clock = Objects.requireNonNull(clock, "clock");
+    this.origin = clock.millis();
+    // every bucket starts full, last refilled at origin
+    for (int i = 0; i < size; i++) buckets.lazySet(i, capacity);
+  }
+
+  /**
+   * Limiter for {@code scope} from configuration, empty if {@code ratelimit.<scope>.rate} is 0.
+   */
+  public static Optional<TokenBucketLimiter> fromConfig(String scope) {
+    int rate = ConfigProperties.integer("ratelimit." + scope + ".rate", 0);
+    if (rate <= 0) return Optional.empty();
+    int burst = ConfigProperties.integer("ratelimit." + scope + ".burst", Math.min(MAX_BURST, 2 * rate));
+    return Optional.of(new TokenBucketLimiter(rate, Math.min(MAX_BURST, Math.max(1, burst)),
+                                              ConfigProperties.integer("ratelimit.slots", 1 << 16),
+                                              ConfigProperties.bool("ratelimit.trustForwardedFor", true),
+                                              Clock.systemUTC()));
+  }
+
+  /**
+   * Takes one token from the client's bucket; false if it is empty.
+   */
+  public boolean tryAcquire(String forwardedFor, InetSocketAddress remote) {
+    return tryAcquire(clientHash(trustForwardedFor ? forwardedFor : null, remote));
+  }
+
+  boolean tryAcquire(long clientHash) {
+    int slot = (int) clientHash & mask;
+    long now = clock.millis() - origin;
+    while (true) {
+      long state = buckets.get(slot);
+      long last = state >>> TOKEN_BITS;
+      long tokens = state & TOKEN_MASK;
+      long elapsed = now - last;
+      if (elapsed > 0) {
+        long refill = elapsed >= fullAfterMillis ? capacity : elapsed * ratePerSecond * SCALE / 1000;
+        if (refill > 0) {
+          tokens = Math.min(capacity, tokens + refill);
+          last = now;
+        }
+      }
+      if (tokens < SCALE) {
+        rejected.increment();
+        return false;
+      }
+      long next = (last << TOKEN_BITS) | (tokens - SCALE);
+      if (buckets.compareAndSet(slot, state, next)) return true;
+    }
+  }
+
+  public long rejected() {
+    return rejected.sum();
+  }
+
+  /**
+   * Hash of the first {@code X-Forwarded-For} entry, or of the remote address if there is none.
+   * Works on the header chars directly, without substrings.
+   */
+  static long clientHash(String forwardedFor, InetSocketAddress remote) {
+    long h = 0xcbf29ce484222325L;
+    boolean found = false;
+    if (forwardedFor != null) {
+      int start = 0;
+      int end = forwardedFor.indexOf(',');
+      if (end < 0) end = forwardedFor.length();
+      while (start < end && forwardedFor.charAt(start) <= ' ') start++;
+      while (end > start && forwardedFor.charAt(end - 1) <= ' ') end--;
+      for (int i = start; i < end; i++) {
+        h ^= forwardedFor.charAt(i);
+        h *= 0x100000001b3L;
+      }
+      found = end > start;
+    }
+    if (!found) {
+      var address = remote == null ? null : remote.getAddress();
+      h ^= address == null ? 0 : address.hashCode();
+      h *= 0x100000001b3L;
+    }
+    h ^= (h >>> 33);
+    h *= 0xff51afd7ed558ccdL;
+    h ^= (h >>> 33);
+    return h;
+  }
+}
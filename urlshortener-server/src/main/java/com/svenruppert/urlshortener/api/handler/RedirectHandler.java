@@ -3,11 +3,11 @@ package com.svenruppert.urlshortener.api.handler;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.accesslog.AccessLog;
 import com.svenruppert.urlshortener.api.store.statistics.RequestDataExtractor;
 import com.svenruppert.urlshortener.api.store.statistics.StatisticsWriter;
 import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingLookup;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
-import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
 
 import java.io.IOException;
 import java.time.Instant;
@@ -17,14 +17,23 @@ import static com.svenruppert.urlshortener.core.DefaultValues.PATH_REDIRECT;
 public class RedirectHandler
     implements HttpHandler, HasLogger {
 
-  private final UrlMappingLookup store;
+  private final RedirectResolver resolver;
   private final StatisticsWriter statisticsWriter;
   private final RequestDataExtractor requestDataExtractor;
+  private final AccessLog accessLog;
 
   public RedirectHandler(UrlMappingLookup store, StatisticsWriter statisticsWriter) {
-    this.store = store;
+    this(store, statisticsWriter, null);
+  }
+
+  /**
+   * @param accessLog receives one entry per redirect request, may be null
+   */
+  public RedirectHandler(UrlMappingLookup store, StatisticsWriter statisticsWriter, AccessLog accessLog) {
+    this.resolver = new RedirectResolver(store);
     this.statisticsWriter = statisticsWriter;
     this.requestDataExtractor = new RequestDataExtractor();
+    this.accessLog = accessLog;
   }
 
   /**
@@ -38,44 +47,44 @@ public class RedirectHandler
   public void handle(HttpExchange exchange)
       throws IOException {
     if (!RequestMethodUtils.requireGet(exchange)) return;
+    final long started = System.nanoTime();
+    String code = null;
+    try {
+      code = redirect(exchange);
+    } finally {
+      long elapsed = System.nanoTime() - started;
+      if (statisticsWriter != null) statisticsWriter.redirectCompleted(elapsed);
+      if (accessLog != null) accessLog.record(code, exchange.getResponseCode(), elapsed);
+    }
+  }
 
+  /**
+   * Answers the request and returns the short code, or null if the path has none.
+   */
+  private String redirect(HttpExchange exchange)
+      throws IOException {
     final String path = exchange.getRequestURI().getPath();
     if (path == null || !path.startsWith(PATH_REDIRECT)) {
       exchange.sendResponseHeaders(400, -1);
-      return;
+      return null;
     }
     final String code = path.substring((PATH_REDIRECT).length());
     if (code.isBlank()) {
       exchange.sendResponseHeaders(400, -1);
-      return;
-    }
-    logger().info("Looking for short code {}", code);
-    var mappingOpt = store.findByShortCode(code);
-
-    if (mappingOpt.isEmpty()) {
-      logger().info("No mapping found for short code {}", code);
-      exchange.sendResponseHeaders(404, -1);
-      return;
+      return null;
     }
-
-    var mapping = mappingOpt.get();
-    if (isExpired(mapping)) {
-      logger().info("Short code {} is expired at {}", code, mapping.expiresAt().orElse(null));
-      exchange.sendResponseHeaders(410, -1);
-      return;
-    }
-
-    if (!mapping.active()) {
-      logger().info("Short code {} is inactive", code);
-      exchange.sendResponseHeaders(404, -1);
-      return;
+    var result = resolver.resolve(code);
+    if (!result.isRedirect()) {
+      exchange.sendResponseHeaders(result.status(), -1);
+      return code;
     }
 
     // Record the redirect event (non-blocking)
     recordRedirectEvent(exchange, code);
 
-    exchange.getResponseHeaders().add("Location", mapping.originalUrl());
+    exchange.getResponseHeaders().add("Location", result.location());
     exchange.sendResponseHeaders(302, -1);
+    return code;
   }
 
   private void recordRedirectEvent(HttpExchange exchange, String shortCode) {
@@ -83,6 +92,11 @@ public class RedirectHandler
       return;
     }
     try {
+      if (!statisticsWriter.detailRequested()) {
+        // degraded statistics: count only, skip building the event
+        statisticsWriter.recordCount(shortCode, Instant.now(), 1);
+        return;
+      }
       var event = requestDataExtractor.extractEvent(exchange, shortCode);
       statisticsWriter.recordEvent(event);
       logger().debug("Recorded redirect event for shortCode={}", shortCode);
@@ -91,10 +105,4 @@ public class RedirectHandler
       logger().warn("Failed to record redirect event for shortCode={}", shortCode, e);
     }
   }
-
-  private boolean isExpired(ShortUrlMapping mapping) {
-    return mapping.expiresAt()
-        .map(exp -> exp.isBefore(Instant.now()))
-        .orElse(false);
-  }
-}
\ No newline at end of file
+}
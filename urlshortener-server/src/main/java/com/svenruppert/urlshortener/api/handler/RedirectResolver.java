@@ -0,0 +1,85 @@
+package com.svenruppert.urlshortener.api.handler;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.jfr.RedirectResolvedEvent;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingLookup;
+import com.svenruppert.urlshortener.api.store.urlmapping.guard.UnknownCodeGuard;
+
+import java.time.Clock;
+import java.util.Objects;
+
+/**
+ * Redirect decision for a short code, independent of the HTTP transport:
+ * 302 with the target URL, 404 for unknown or inactive codes, 410 for expired ones.
+ * Unknown codes are filtered by an {@link UnknownCodeGuard} (if enabled) before the store is
+ * asked. Per-request logging is at debug level, so 404 floods do not reach the log.
+ * Every resolution is also a {@link RedirectResolvedEvent} for Flight Recorder.
+ */
+public final class RedirectResolver
+    implements HasLogger {
+
+  private final UrlMappingLookup store;
+  private final Clock clock;
+  private final UnknownCodeGuard guard;
+
+  public RedirectResolver(UrlMappingLookup store) {
+    this(store, Clock.systemUTC());
+  }
+
+  public RedirectResolver(UrlMappingLookup store, Clock clock) {
+    this(store, clock, UnknownCodeGuard.fromConfig(store).orElse(null));
+  }
+
+  /**
+   * @param guard may be null to always ask the store
+   */
+  public RedirectResolver(UrlMappingLookup store, Clock clock, UnknownCodeGuard guard) {
+    this.store = Objects.requireNonNull(store, "store");
+    this.clock = Objects.requireNonNull(clock, "clock");
+    this.guard = guard;
+  }
+
+  public Result resolve(String code) {
+    var event = new RedirectResolvedEvent();
+    event.begin();
+    var mappingOpt = guard != null ? guard.find(code) : store.findByShortCode(code);
+
+    if (mappingOpt.isEmpty()) {
+      logger().debug("No mapping found for short code {}", code);
+      event.complete(code, "not_found", 404);
+      return Result.NOT_FOUND;
+    }
+
+    var mapping = mappingOpt.get();
+    var expiresAt = mapping.expiresAt().orElse(null);
+    if (expiresAt != null && expiresAt.isBefore(clock.instant())) {
+      logger().debug("Short code {} is expired at {}", code, expiresAt);
+      event.complete(code, "gone", 410);
+      return Result.GONE;
+    }
+
+    if (!mapping.active()) {
+      logger().debug("Short code {} is inactive", code);
+      event.complete(code, "inactive", 404);
+      return Result.NOT_FOUND;
+    }
+    event.complete(code, "found", 302);
+    return Result.found(mapping.originalUrl());
+  }
+
+  /**
+   * {@code location} is only set for 302.
+   */
+  public record Result(int status, String location) {
+    public static final Result NOT_FOUND = new Result(404, null);
+    public static final Result GONE = new Result(410, null);
+
+    static Result found(String location) {
+      return new Result(302, location);
+    }
+
+    public boolean isRedirect() {
+      return status == 302;
+    }
+  }
+}
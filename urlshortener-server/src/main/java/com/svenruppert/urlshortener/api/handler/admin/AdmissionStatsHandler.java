@@ -0,0 +1,30 @@
+package com.svenruppert.urlshortener.api.handler.admin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.svenruppert.urlshortener.api.filter.AdaptiveConcurrencyLimiter;
+import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
+import com.svenruppert.urlshortener.api.utils.SuccessResponses;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * GET: current limit, in-flight requests and accept/reject counts of every admission limiter.
+ */
+public final class AdmissionStatsHandler
+    implements HttpHandler {
+
+  private final List<AdaptiveConcurrencyLimiter> limiters;
+
+  public AdmissionStatsHandler(List<AdaptiveConcurrencyLimiter> limiters) {
+    this.limiters = List.copyOf(limiters);
+  }
+
+  @Override
+  public void handle(HttpExchange ex)
+      throws IOException {
+    if (!RequestMethodUtils.requireGet(ex)) return;
+    SuccessResponses.ok(ex, limiters.stream().map(AdaptiveConcurrencyLimiter::stats).toList());
+  }
+}
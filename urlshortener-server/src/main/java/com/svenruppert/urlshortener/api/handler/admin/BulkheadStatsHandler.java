@@ -0,0 +1,30 @@
+package com.svenruppert.urlshortener.api.handler.admin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.svenruppert.urlshortener.api.filter.Bulkheads;
+import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
+import com.svenruppert.urlshortener.api.utils.SuccessResponses;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * GET: limits, occupancy, rejections and queue wait times of the admin bulkheads.
+ */
+public final class BulkheadStatsHandler
+    implements HttpHandler {
+
+  private final Bulkheads bulkheads;
+
+  public BulkheadStatsHandler(Bulkheads bulkheads) {
+    this.bulkheads = Objects.requireNonNull(bulkheads, "bulkheads");
+  }
+
+  @Override
+  public void handle(HttpExchange ex)
+      throws IOException {
+    if (!RequestMethodUtils.requireGet(ex)) return;
+    SuccessResponses.ok(ex, bulkheads.stats());
+  }
+}
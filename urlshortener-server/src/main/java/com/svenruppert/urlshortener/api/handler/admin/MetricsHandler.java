@@ -0,0 +1,40 @@
+package com.svenruppert.urlshortener.api.handler.admin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.svenruppert.urlshortener.api.metrics.MetricsRegistry;
+import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static com.svenruppert.urlshortener.core.DefaultValues.CONTENT_TYPE;
+
+/**
+ * GET: all metrics of the registry in the Prometheus text format.
+ */
+public final class MetricsHandler
+    implements HttpHandler {
+
+  static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final MetricsRegistry registry;
+
+  public MetricsHandler(MetricsRegistry registry) {
+    this.registry = Objects.requireNonNull(registry, "registry");
+  }
+
+  @Override
+  public void handle(HttpExchange ex)
+      throws IOException {
+    if (!RequestMethodUtils.requireGet(ex)) return;
+    byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+    ex.getResponseHeaders().set(CONTENT_TYPE, PROMETHEUS_TEXT);
+    ex.sendResponseHeaders(200, body.length);
+    try (OutputStream os = ex.getResponseBody()) {
+      os.write(body);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.svenruppert.urlshortener.api.handler.admin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingLookup;
+import com.svenruppert.urlshortener.api.store.urlmapping.snapshot.RedirectSnapshotWriter;
+import com.svenruppert.urlshortener.api.utils.ErrorResponses;
+import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
+import com.svenruppert.urlshortener.api.utils.SuccessResponses;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * POST: writes a redirect snapshot of the current store to the configured path, from which
+ * new redirect nodes can start. The target path is server configuration and never taken from
+ * the request.
+ */
+public final class RedirectSnapshotHandler
+    implements HttpHandler, HasLogger {
+
+  private final UrlMappingLookup store;
+  private final Path target;
+
+  public RedirectSnapshotHandler(UrlMappingLookup store, Path target) {
+    this.store = Objects.requireNonNull(store, "store");
+    this.target = Objects.requireNonNull(target, "target");
+  }
+
+  @Override
+  public void handle(HttpExchange ex)
+      throws IOException {
+    if (!RequestMethodUtils.requirePost(ex)) return;
+    try {
+      var summary = RedirectSnapshotWriter.write(store, target);
+      SuccessResponses.ok(ex, Map.of(
+          "path", summary.path().toString(),
+          "mappings", summary.mappings(),
+          "bytes", summary.bytes(),
+          "millis", summary.millis()));
+    } catch (IOException e) {
+      logger().warn("redirect snapshot failed - {}", e.getMessage());
+      ErrorResponses.internalServerError(ex, "Writing the redirect snapshot failed: " + e.getMessage());
+    }
+  }
+}
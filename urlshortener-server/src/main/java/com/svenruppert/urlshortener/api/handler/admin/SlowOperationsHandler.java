@@ -0,0 +1,30 @@
+package com.svenruppert.urlshortener.api.handler.admin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.svenruppert.urlshortener.api.slowlog.SlowOperationLog;
+import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
+import com.svenruppert.urlshortener.api.utils.SuccessResponses;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * GET: threshold, capacity and the retained slow admin requests, newest first.
+ */
+public final class SlowOperationsHandler
+    implements HttpHandler {
+
+  private final SlowOperationLog log;
+
+  public SlowOperationsHandler(SlowOperationLog log) {
+    this.log = Objects.requireNonNull(log, "log");
+  }
+
+  @Override
+  public void handle(HttpExchange ex)
+      throws IOException {
+    if (!RequestMethodUtils.requireGet(ex)) return;
+    SuccessResponses.ok(ex, log.snapshot());
+  }
+}
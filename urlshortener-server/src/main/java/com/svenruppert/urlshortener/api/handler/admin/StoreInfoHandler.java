@@ -4,6 +4,7 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.urlshortener.api.store.provider.eclipsestore.patitions.EclipseUrlMappingStore;
+import com.svenruppert.urlshortener.api.store.urlmapping.CachingUrlMappingLookup;
 import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingStore;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
 import com.svenruppert.urlshortener.core.StoreInfo;
@@ -19,10 +20,16 @@ public final class StoreInfoHandler
 
   private final UrlMappingStore store;
   private final long startedAtMs;
+  private final CachingUrlMappingLookup queryCache;
 
   public StoreInfoHandler(UrlMappingStore store, long startedAtMs) {
+    this(store, startedAtMs, null);
+  }
+
+  public StoreInfoHandler(UrlMappingStore store, long startedAtMs, CachingUrlMappingLookup queryCache) {
     this.startedAtMs = startedAtMs;
     this.store = store;
+    this.queryCache = queryCache;
   }
 
   @Override
@@ -35,7 +42,13 @@ public final class StoreInfoHandler
     int mappings = store.countAll();
     logger().info("amount of mappings in db {}", mappings);
 
-    var info = new StoreInfo(mode, mappings, startedAtMs);
+    StoreInfo info;
+    if (queryCache != null) {
+      var stats = queryCache.stats();
+      info = new StoreInfo(mode, mappings, startedAtMs, stats.hits(), stats.misses(), stats.hitRate());
+    } else {
+      info = new StoreInfo(mode, mappings, startedAtMs);
+    }
     logger().info("responseJson {}", info);
 
     writeJson(ex, OK, info);
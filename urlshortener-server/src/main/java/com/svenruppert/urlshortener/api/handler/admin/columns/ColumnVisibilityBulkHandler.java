@@ -4,6 +4,8 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.urlshortener.api.store.preferences.PreferencesStore;
+import com.svenruppert.urlshortener.api.utils.BodyLimit;
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream.LimitExceededException;
 import com.svenruppert.urlshortener.api.utils.ErrorResponses;
 import com.svenruppert.urlshortener.api.utils.SuccessResponses;
 import com.svenruppert.urlshortener.core.prefs.ColumnEditRequest;
@@ -13,10 +15,9 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static com.svenruppert.urlshortener.api.utils.RequestBodyUtils.readBody;
+import static com.svenruppert.urlshortener.api.utils.RequestBodyBinder.bind;
 import static com.svenruppert.urlshortener.api.utils.RequestMethodUtils.allow;
 import static com.svenruppert.urlshortener.api.utils.RequestMethodUtils.methodNotAllowed;
-import static com.svenruppert.urlshortener.core.JsonUtils.fromJson;
 import static com.svenruppert.urlshortener.core.StringUtils.isBlank;
 
 public class ColumnVisibilityBulkHandler
@@ -37,6 +38,9 @@ public class ColumnVisibilityBulkHandler
         case "OPTIONS" -> allow(ex, "PUT, OPTIONS");
         default -> methodNotAllowed(ex, "PUT, OPTIONS");
       }
+    } catch (LimitExceededException e) {
+      logger().warn("request body too large - {}", e.getMessage());
+      ErrorResponses.payloadTooLarge(ex, e.getMessage());
     } catch (Exception e) {
       logger().error("Unhandled error in {}: {}", getClass().getSimpleName(), e.toString(), e);
       ErrorResponses.internalServerError(ex, "Internal server error");
@@ -45,9 +49,7 @@ public class ColumnVisibilityBulkHandler
 
   private void handleBulkEdit(HttpExchange ex)
       throws IOException {
-    var bodyAsString = readBody(ex.getRequestBody());
-    logger().info("handleBulkEdit - bodyAsString: {}", bodyAsString);
-    var req = fromJson(bodyAsString, ColumnEditRequest.class);
+    var req = bind(ex, ColumnEditRequest.class, BodyLimit.PREFERENCES);
     logger().info("handleBulkEdit - ColumnEditRequest - {}", req);
     var blankUserID = isBlank(req.userId());
     var blankViewId = isBlank(req.viewId());
@@ -4,6 +4,9 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.urlshortener.api.store.preferences.PreferencesStore;
+import com.svenruppert.urlshortener.api.utils.BodyLimit;
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream.LimitExceededException;
+import com.svenruppert.urlshortener.api.utils.ErrorResponses;
 import com.svenruppert.urlshortener.core.prefs.ColumnInfoRequest;
 
 import java.io.IOException;
@@ -11,10 +14,9 @@ import java.util.Map;
 
 import static com.svenruppert.dependencies.core.net.HttpStatus.*;
 import static com.svenruppert.urlshortener.api.utils.JsonWriter.writeJson;
-import static com.svenruppert.urlshortener.api.utils.RequestBodyUtils.readBody;
+import static com.svenruppert.urlshortener.api.utils.RequestBodyBinder.bind;
 import static com.svenruppert.urlshortener.api.utils.RequestMethodUtils.allow;
 import static com.svenruppert.urlshortener.api.utils.RequestMethodUtils.methodNotAllowed;
-import static com.svenruppert.urlshortener.core.JsonUtils.fromJson;
 import static com.svenruppert.urlshortener.core.StringUtils.isBlank;
 
 public class ColumnVisibilityHandler
@@ -36,6 +38,9 @@ public class ColumnVisibilityHandler
         case "OPTIONS" -> allow(ex, "POST, DELETE, OPTIONS");
         default -> methodNotAllowed(ex, "POST, DELETE, OPTIONS");
       }
+    } catch (LimitExceededException e) {
+      logger().warn("request body too large - {}", e.getMessage());
+      ErrorResponses.payloadTooLarge(ex, e.getMessage());
     } catch (Exception e) {
       logger().error("Unhandled error in {}: {}", getClass().getSimpleName(), e.toString(), e);
       writeJson(ex, INTERNAL_SERVER_ERROR, Map.of("error", "Internal server error"));
@@ -45,7 +50,7 @@ public class ColumnVisibilityHandler
   private void handleLoad(HttpExchange ex)
       throws IOException {
     logger().info("handleLoad..");
-    var req = fromJson(readBody(ex.getRequestBody()), ColumnInfoRequest.class);
+    var req = bind(ex, ColumnInfoRequest.class, BodyLimit.PREFERENCES);
     if (isBlank(req.userId()) || isBlank(req.viewId())) {
       writeJson(ex, BAD_REQUEST, Map.of("error", "userId and viewId required"));
       return;
@@ -58,7 +63,7 @@ public class ColumnVisibilityHandler
   private void handleDeleteAll(HttpExchange ex)
       throws IOException {
     logger().info("handleDeleteAll..");
-    var req = fromJson(readBody(ex.getRequestBody()), ColumnInfoRequest.class);
+    var req = bind(ex, ColumnInfoRequest.class, BodyLimit.PREFERENCES);
     store.delete(req.userId(), req.viewId());
     ex.sendResponseHeaders(NO_CONTENT.code(), -1);
   }
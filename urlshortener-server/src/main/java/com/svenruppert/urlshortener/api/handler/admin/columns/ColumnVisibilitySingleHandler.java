@@ -4,6 +4,9 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.urlshortener.api.store.preferences.PreferencesStore;
+import com.svenruppert.urlshortener.api.utils.BodyLimit;
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream.LimitExceededException;
+import com.svenruppert.urlshortener.api.utils.ErrorResponses;
 import com.svenruppert.urlshortener.core.prefs.ColumnDeleteRequest;
 import com.svenruppert.urlshortener.core.prefs.ColumnSingleEditRequest;
 
@@ -12,10 +15,9 @@ import java.util.Map;
 
 import static com.svenruppert.dependencies.core.net.HttpStatus.*;
 import static com.svenruppert.urlshortener.api.utils.JsonWriter.writeJson;
-import static com.svenruppert.urlshortener.api.utils.RequestBodyUtils.readBody;
+import static com.svenruppert.urlshortener.api.utils.RequestBodyBinder.bind;
 import static com.svenruppert.urlshortener.api.utils.RequestMethodUtils.allow;
 import static com.svenruppert.urlshortener.api.utils.RequestMethodUtils.methodNotAllowed;
-import static com.svenruppert.urlshortener.core.JsonUtils.fromJson;
 import static com.svenruppert.urlshortener.core.StringUtils.isBlank;
 
 public class ColumnVisibilitySingleHandler
@@ -31,21 +33,25 @@ public class ColumnVisibilitySingleHandler
   @Override
   public void handle(HttpExchange ex)
       throws IOException {
-    switch (ex.getRequestMethod()) {
-      case "PUT" -> handleSingleEdit(ex);
-      case "DELETE" -> handleSingleDelete(ex);
-      case "OPTIONS" -> allow(ex, "PUT, OPTIONS");
-      default -> methodNotAllowed(ex, "PUT, OPTIONS");
+    try {
+      switch (ex.getRequestMethod()) {
+        case "PUT" -> handleSingleEdit(ex);
+        case "DELETE" -> handleSingleDelete(ex);
+        case "OPTIONS" -> allow(ex, "PUT, OPTIONS");
+        default -> methodNotAllowed(ex, "PUT, OPTIONS");
+      }
+    } catch (LimitExceededException e) {
+      logger().warn("request body too large - {}", e.getMessage());
+      ErrorResponses.payloadTooLarge(ex, e.getMessage());
     }
   }
 
   private void handleSingleDelete(HttpExchange ex)
       throws IOException {
-    final var body = readBody(ex.getRequestBody());
     final ColumnDeleteRequest req;
     try {
-      req = fromJson(body, ColumnDeleteRequest.class);
-    } catch (Exception e) {
+      req = bind(ex, ColumnDeleteRequest.class, BodyLimit.PREFERENCES);
+    } catch (IllegalArgumentException e) {
       writeJson(ex, BAD_REQUEST, Map.of("error", "Invalid JSON: " + e.getMessage()));
       return;
     }
@@ -61,7 +67,7 @@ public class ColumnVisibilitySingleHandler
   private void handleSingleEdit(HttpExchange ex)
       throws IOException {
     logger().info("handleSingleEdit..");
-    var req = fromJson(readBody(ex.getRequestBody()), ColumnSingleEditRequest.class);
+    var req = bind(ex, ColumnSingleEditRequest.class, BodyLimit.PREFERENCES);
     if (isBlank(req.userId()) || isBlank(req.viewId()) || isBlank(req.columnKey())) {
       writeJson(ex, BAD_REQUEST, Map.of("error", "userId, viewId and columnKey required"));
       return;
@@ -4,31 +4,34 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.urlshortener.api.store.statistics.StatisticsStore;
+import com.svenruppert.urlshortener.api.utils.BodyLimit;
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream.LimitExceededException;
+import com.svenruppert.urlshortener.api.utils.ErrorResponses;
+import com.svenruppert.urlshortener.api.utils.JsonBody;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
-import com.svenruppert.urlshortener.core.JsonUtils;
 import com.svenruppert.urlshortener.core.statistics.StatisticsConfig;
 import com.svenruppert.urlshortener.core.statistics.StatisticsConfigResponse;
 
 import java.io.IOException;
-import java.io.InputStream;
 
 import static com.svenruppert.dependencies.core.net.HttpStatus.fromCode;
 import static com.svenruppert.urlshortener.api.utils.JsonWriter.writeJson;
-import static java.nio.charset.StandardCharsets.UTF_8;
+import static com.svenruppert.urlshortener.api.utils.RequestBodyBinder.bind;
 
 /**
  * Handler for statistics configuration queries and updates.
  * Endpoints:
- * - GET /api/statistics/config - get current configuration
+ * - GET /api/statistics/config - get current configuration, including the current
+ *   statistics level and its recent transitions
  * - PUT /api/statistics/config - update configuration
  */
 public class StatisticsConfigHandler
     implements HttpHandler, HasLogger {
 
-  private static final String ERROR_INVALID_JSON =
-      "{\"error\":\"bad_request\",\"message\":\"Invalid JSON body\"}";
-  private static final String ERROR_INVALID_CONFIG =
-      "{\"error\":\"bad_request\",\"message\":\"Invalid configuration values\"}";
+  private static final JsonBody ERROR_INVALID_JSON =
+      JsonBody.encoded("{\"error\":\"bad_request\",\"message\":\"Invalid JSON body\"}");
+  private static final JsonBody ERROR_INVALID_CONFIG =
+      JsonBody.encoded("{\"error\":\"bad_request\",\"message\":\"Invalid configuration values\"}");
 
   private final StatisticsStore statisticsStore;
 
@@ -53,22 +56,14 @@ public class StatisticsConfigHandler
 
   private void handleGet(HttpExchange exchange)
       throws IOException {
-    StatisticsConfig config = statisticsStore.getConfig();
-    StatisticsConfigResponse response = StatisticsConfigResponse.from(config);
-    writeJson(exchange, fromCode(200), response);
+    writeJson(exchange, fromCode(200), currentResponse());
   }
 
   private void handlePut(HttpExchange exchange)
       throws IOException {
-    String body;
-    try (InputStream is = exchange.getRequestBody()) {
-      body = new String(is.readAllBytes(), UTF_8);
-    }
-
-    logger().info("StatisticsConfigHandler PUT body: {}", body);
-
     try {
-      ConfigUpdateRequest request = JsonUtils.fromJson(body, ConfigUpdateRequest.class);
+      ConfigUpdateRequest request = bind(exchange, ConfigUpdateRequest.class, BodyLimit.ADMIN);
+      logger().info("StatisticsConfigHandler PUT request: {}", request);
 
       if (request.hotWindowDays() < 1 ||
           request.writerBatchSize() < 1 ||
@@ -85,15 +80,23 @@ public class StatisticsConfigHandler
 
       statisticsStore.updateConfig(newConfig);
 
-      StatisticsConfigResponse response = StatisticsConfigResponse.from(statisticsStore.getConfig());
-      writeJson(exchange, fromCode(200), response);
+      writeJson(exchange, fromCode(200), currentResponse());
 
+    } catch (LimitExceededException e) {
+      logger().warn("config update request too large - {}", e.getMessage());
+      ErrorResponses.payloadTooLarge(exchange, e.getMessage());
     } catch (Exception e) {
       logger().warn("Failed to parse config update request: {}", e.getMessage());
       writeJson(exchange, fromCode(400), ERROR_INVALID_JSON);
     }
   }
 
+  private StatisticsConfigResponse currentResponse() {
+    return StatisticsConfigResponse.from(statisticsStore.getConfig(),
+                                         statisticsStore.statisticsLevel(),
+                                         statisticsStore.levelTransitions());
+  }
+
   /**
    * Request body for configuration updates.
    */
@@ -4,6 +4,7 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.urlshortener.api.store.statistics.StatisticsReader;
+import com.svenruppert.urlshortener.api.utils.JsonBody;
 import com.svenruppert.urlshortener.api.utils.QueryUtils;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
 import com.svenruppert.urlshortener.core.statistics.StatisticsCountResponse;
@@ -27,8 +28,8 @@ import static com.svenruppert.urlshortener.core.DefaultValues.PATH_ADMIN_STATIST
 public class StatisticsCountHandler
     implements HttpHandler, HasLogger {
 
-  private static final String ERROR_MISSING_SHORT_CODE = "{\"error\":\"bad_request\",\"message\":\"shortCode is required\"}";
-  private static final String ERROR_INVALID_DATE = "{\"error\":\"bad_request\",\"message\":\"Invalid date format. Use ISO format: yyyy-MM-dd\"}";
+  private static final JsonBody ERROR_MISSING_SHORT_CODE = JsonBody.encoded("{\"error\":\"bad_request\",\"message\":\"shortCode is required\"}");
+  private static final JsonBody ERROR_INVALID_DATE = JsonBody.encoded("{\"error\":\"bad_request\",\"message\":\"Invalid date format. Use ISO format: yyyy-MM-dd\"}");
 
   private final StatisticsReader statisticsReader;
 
@@ -4,6 +4,7 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.urlshortener.api.store.statistics.StatisticsReader;
+import com.svenruppert.urlshortener.api.utils.JsonBody;
 import com.svenruppert.urlshortener.api.utils.QueryUtils;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
 import com.svenruppert.urlshortener.core.statistics.HourlyAggregate;
@@ -27,14 +28,14 @@ import static com.svenruppert.urlshortener.core.DefaultValues.PATH_ADMIN_STATIST
 public class StatisticsHourlyHandler
     implements HttpHandler, HasLogger {
 
-  private static final String ERROR_MISSING_SHORT_CODE =
-      "{\"error\":\"bad_request\",\"message\":\"shortCode is required\"}";
-  private static final String ERROR_MISSING_DATE =
-      "{\"error\":\"bad_request\",\"message\":\"date parameter is required\"}";
-  private static final String ERROR_INVALID_DATE =
-      "{\"error\":\"bad_request\",\"message\":\"Invalid date format. Use ISO format: yyyy-MM-dd\"}";
-  private static final String ERROR_NOT_IN_HOT_WINDOW =
-      "{\"error\":\"not_found\",\"message\":\"Hourly data not available. Date is outside hot window.\"}";
+  private static final JsonBody ERROR_MISSING_SHORT_CODE =
+      JsonBody.encoded("{\"error\":\"bad_request\",\"message\":\"shortCode is required\"}");
+  private static final JsonBody ERROR_MISSING_DATE =
+      JsonBody.encoded("{\"error\":\"bad_request\",\"message\":\"date parameter is required\"}");
+  private static final JsonBody ERROR_INVALID_DATE =
+      JsonBody.encoded("{\"error\":\"bad_request\",\"message\":\"Invalid date format. Use ISO format: yyyy-MM-dd\"}");
+  private static final JsonBody ERROR_NOT_IN_HOT_WINDOW =
+      JsonBody.encoded("{\"error\":\"not_found\",\"message\":\"Hourly data not available. Date is outside hot window.\"}");
 
   private final StatisticsReader statisticsReader;
 
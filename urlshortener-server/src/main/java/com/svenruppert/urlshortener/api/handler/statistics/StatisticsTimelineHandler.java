@@ -4,6 +4,7 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.urlshortener.api.store.statistics.StatisticsReader;
+import com.svenruppert.urlshortener.api.utils.JsonBody;
 import com.svenruppert.urlshortener.api.utils.QueryUtils;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
 import com.svenruppert.urlshortener.core.statistics.DailyAggregate;
@@ -30,14 +31,14 @@ import static com.svenruppert.urlshortener.core.DefaultValues.PATH_ADMIN_STATIST
 public class StatisticsTimelineHandler
     implements HttpHandler, HasLogger {
 
-  private static final String ERROR_MISSING_SHORT_CODE =
-      "{\"error\":\"bad_request\",\"message\":\"shortCode is required\"}";
-  private static final String ERROR_MISSING_DATES =
-      "{\"error\":\"bad_request\",\"message\":\"from and to parameters are required\"}";
-  private static final String ERROR_INVALID_DATE =
-      "{\"error\":\"bad_request\",\"message\":\"Invalid date format. Use ISO format: yyyy-MM-dd\"}";
-  private static final String ERROR_INVALID_RANGE =
-      "{\"error\":\"bad_request\",\"message\":\"from date must be before or equal to to date\"}";
+  private static final JsonBody ERROR_MISSING_SHORT_CODE =
+      JsonBody.encoded("{\"error\":\"bad_request\",\"message\":\"shortCode is required\"}");
+  private static final JsonBody ERROR_MISSING_DATES =
+      JsonBody.encoded("{\"error\":\"bad_request\",\"message\":\"from and to parameters are required\"}");
+  private static final JsonBody ERROR_INVALID_DATE =
+      JsonBody.encoded("{\"error\":\"bad_request\",\"message\":\"Invalid date format. Use ISO format: yyyy-MM-dd\"}");
+  private static final JsonBody ERROR_INVALID_RANGE =
+      JsonBody.encoded("{\"error\":\"bad_request\",\"message\":\"from date must be before or equal to to date\"}");
 
   private final StatisticsReader statisticsReader;
 
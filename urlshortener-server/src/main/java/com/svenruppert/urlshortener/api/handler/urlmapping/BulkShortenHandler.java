@@ -4,6 +4,8 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingStore;
+import com.svenruppert.urlshortener.api.utils.BodyLimit;
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream.LimitExceededException;
 import com.svenruppert.urlshortener.api.utils.ErrorResponses;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
 import com.svenruppert.urlshortener.api.utils.SuccessResponses;
@@ -20,8 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
-import static com.svenruppert.urlshortener.api.utils.RequestBodyUtils.readBody;
-import static com.svenruppert.urlshortener.core.JsonUtils.fromJson;
+import static com.svenruppert.urlshortener.api.utils.RequestBodyBinder.bind;
 
 /**
  * POST /api/shorten/bulk
@@ -65,8 +66,7 @@ public class BulkShortenHandler implements HttpHandler, HasLogger {
     if (!RequestMethodUtils.requirePost(ex)) return;
 
     try {
-      final String body = readBody(ex.getRequestBody());
-      final BulkShortenRequest req = fromJson(body, BulkShortenRequest.class);
+      final BulkShortenRequest req = bind(ex, BulkShortenRequest.class, BodyLimit.BULK);
 
       if (req.getUrls() == null || req.getUrls().isEmpty()) {
         ErrorResponses.badRequest(ex, "Missing or empty 'urls' list");
@@ -134,6 +134,9 @@ public class BulkShortenHandler implements HttpHandler, HasLogger {
 
       SuccessResponses.ok(ex, new BulkShortenResponse(results));
 
+    } catch (LimitExceededException e) {
+      logger().warn("request body too large - {}", e.getMessage());
+      ErrorResponses.payloadTooLarge(ex, e.getMessage());
     } catch (IllegalArgumentException e) {
       logger().warn("bad request – {}", e.getMessage());
       ErrorResponses.badRequest(ex, e.getMessage());
@@ -4,6 +4,8 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingStore;
+import com.svenruppert.urlshortener.api.utils.BodyLimit;
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream.LimitExceededException;
 import com.svenruppert.urlshortener.api.utils.ErrorResponses;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
 import com.svenruppert.urlshortener.api.utils.SuccessResponses;
@@ -23,8 +25,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import static com.svenruppert.urlshortener.api.utils.RequestBodyUtils.readBody;
-import static com.svenruppert.urlshortener.core.JsonUtils.fromJson;
+import static com.svenruppert.urlshortener.api.utils.RequestBodyBinder.bind;
 
 /**
  * POST /api/validate/bulk
@@ -66,8 +67,7 @@ public class BulkValidateHandler implements HttpHandler, HasLogger {
     }
 
     try {
-      final String body = readBody(ex.getRequestBody());
-      final BulkValidateRequest req = fromJson(body, BulkValidateRequest.class);
+      final BulkValidateRequest req = bind(ex, BulkValidateRequest.class, BodyLimit.BULK);
 
       if (req.getUrls() == null || req.getUrls().isEmpty()) {
         ErrorResponses.badRequest(ex, "Missing or empty 'urls' list");
@@ -161,6 +161,9 @@ public class BulkValidateHandler implements HttpHandler, HasLogger {
 
       SuccessResponses.ok(ex, new BulkValidateResponse(results));
 
+    } catch (LimitExceededException e) {
+      logger().warn("request body too large - {}", e.getMessage());
+      ErrorResponses.payloadTooLarge(ex, e.getMessage());
     } catch (IllegalArgumentException e) {
       logger().warn("bad request – {}", e.getMessage());
       ErrorResponses.badRequest(ex, e.getMessage());
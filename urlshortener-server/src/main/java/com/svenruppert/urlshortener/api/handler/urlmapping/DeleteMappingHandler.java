@@ -4,6 +4,7 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingUpdater;
+import com.svenruppert.urlshortener.api.utils.JsonBody;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
 import com.svenruppert.urlshortener.core.AliasPolicy;
 
@@ -17,10 +18,10 @@ import static com.svenruppert.urlshortener.core.DefaultValues.PATH_ADMIN_DELETE;
 public final class DeleteMappingHandler
     implements HttpHandler, HasLogger {
 
-  private static final String BAD_REQUEST_ERROR_RESPONSE = "{\"error\":\"bad_request\",\"message\":\"expected DELETE /delete/{shortCode}\"}";
-  private static final String INVALID_SHORT_CODE_ERROR_JSON = "{\"error\":\"bad_request\",\"message\":\"expected valid shortCode\"}";
-  private static final String SHORT_CODE_NOT_FOUND = "{\"error\":\"not_found\",\"message\":\"shortCode not found\"}";
-  private static final String INTERNAL_ERROR = "{\"error\":\"internal_error\"}";
+  private static final JsonBody BAD_REQUEST_ERROR_RESPONSE = JsonBody.encoded("{\"error\":\"bad_request\",\"message\":\"expected DELETE /delete/{shortCode}\"}");
+  private static final JsonBody INVALID_SHORT_CODE_ERROR_JSON = JsonBody.encoded("{\"error\":\"bad_request\",\"message\":\"expected valid shortCode\"}");
+  private static final JsonBody SHORT_CODE_NOT_FOUND = JsonBody.encoded("{\"error\":\"not_found\",\"message\":\"shortCode not found\"}");
+  private static final JsonBody INTERNAL_ERROR = JsonBody.encoded("{\"error\":\"internal_error\"}");
   private final UrlMappingUpdater updater;
 
   public DeleteMappingHandler(UrlMappingUpdater updater) {
@@ -5,6 +5,8 @@ import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.functional.model.Result;
 import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingStore;
+import com.svenruppert.urlshortener.api.utils.BodyLimit;
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream.LimitExceededException;
 import com.svenruppert.urlshortener.api.utils.ErrorResponses;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
 import com.svenruppert.urlshortener.api.utils.SuccessResponses;
@@ -13,12 +15,10 @@ import com.svenruppert.urlshortener.core.urlmapping.ShortenRequest;
 import com.svenruppert.urlshortener.core.validation.UrlValidator;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Optional;
 
-import static com.svenruppert.urlshortener.core.JsonUtils.fromJson;
+import static com.svenruppert.urlshortener.api.utils.RequestBodyBinder.bind;
 
 
 public class EditMappingHandler
@@ -30,13 +30,6 @@ public class EditMappingHandler
     this.urlMappingStore = urlMappingStore;
   }
 
-  private static String readBody(InputStream in)
-      throws IOException {
-    if (in == null) return "";
-    byte[] buf = in.readAllBytes();
-    return new String(buf, StandardCharsets.UTF_8);
-  }
-
   @Override
   public void handle(HttpExchange ex)
       throws IOException {
@@ -45,8 +38,7 @@ public class EditMappingHandler
 
 
     try {
-      final String body = readBody(ex.getRequestBody());
-      ShortenRequest req = fromJson(body, ShortenRequest.class);
+      ShortenRequest req = bind(ex, ShortenRequest.class, BodyLimit.SHORTEN);
       String shortCode = req.getShortURL();
       if (shortCode == null || shortCode.isBlank()) {
         ErrorResponses.badRequest(ex, "Missing shortCode in path");
@@ -83,6 +75,9 @@ public class EditMappingHandler
         return;
       }
       SuccessResponses.noContent(ex);
+    } catch (LimitExceededException e) {
+      logger().warn("request body too large - {}", e.getMessage());
+      ErrorResponses.payloadTooLarge(ex, e.getMessage());
     } catch (Exception e) {
       logger().error("EditMapping failed", e);
       ErrorResponses.internalServerError(ex, "internal error");
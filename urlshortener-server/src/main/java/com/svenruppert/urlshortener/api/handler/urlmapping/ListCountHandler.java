@@ -3,6 +3,7 @@ package com.svenruppert.urlshortener.api.handler.urlmapping;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.store.urlmapping.MappingStatus;
 import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilter;
 import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingLookup;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
@@ -38,6 +39,13 @@ public final class ListCountHandler
     var queryString = Optional.ofNullable(rawQuery).orElse("");
     Map<String, List<String>> q = parseQueryParams(queryString);
 
+    // status=active|inactive|expired is answered from the status index
+    var status = MappingStatus.fromParam(first(q, "status"));
+    if (status.isPresent()) {
+      SuccessResponses.okJson(ex, "{\"total\":" + store.countByStatus(status.get()) + "}");
+      return;
+    }
+
     // sort/page/size not relevant
     UrlMappingFilter filter = UrlMappingFilter.builder()
         .codePart(first(q, "code"))
@@ -3,27 +3,36 @@ package com.svenruppert.urlshortener.api.handler.urlmapping;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.handler.urlmapping.exports.SegmentedZipWriter;
 import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilter;
 import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingLookup;
+import com.svenruppert.urlshortener.api.utils.ErrorResponses;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
-import com.svenruppert.urlshortener.api.utils.SuccessResponses;
 import com.svenruppert.urlshortener.core.JsonUtils;
 import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+import com.svenruppert.urlshortener.core.urlmapping.exports.ExportFormat;
+import com.svenruppert.urlshortener.core.urlmapping.exports.MappingBinaryCodec;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Predicate;
+import java.util.concurrent.ExecutorService;
 
 import static com.svenruppert.dependencies.core.net.HttpStatus.OK;
+import static com.svenruppert.urlshortener.api.handler.urlmapping.exports.ExportStreamWriter.writeExportStream;
+import static com.svenruppert.urlshortener.api.handler.urlmapping.exports.SegmentedZipWriter.writeSegmentedZipStream;
 import static com.svenruppert.urlshortener.api.handler.urlmapping.exports.ZipWriter.writeZipStream;
+import static com.svenruppert.urlshortener.api.store.urlmapping.MappingStatus.*;
+import static com.svenruppert.urlshortener.api.utils.JsonStreamWriter.writeListing;
+import static com.svenruppert.urlshortener.api.utils.JsonStreamWriter.writeListingPaged;
 import static com.svenruppert.urlshortener.api.utils.QueryUtils.*;
 import static com.svenruppert.urlshortener.core.DefaultValues.*;
-import static com.svenruppert.urlshortener.core.JsonUtils.toJsonListingPaged;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class ListHandler
@@ -34,9 +43,14 @@ public class ListHandler
           .withZone(ZoneOffset.UTC);
 
   private final UrlMappingLookup store;
+  private final ExecutorService exportWorkers;
 
-  public ListHandler(UrlMappingLookup store) {
+  /**
+   * @param exportWorkers shared deflate pool for segmented exports, see {@link SegmentedZipWriter#newWorkerPool()}
+   */
+  public ListHandler(UrlMappingLookup store, ExecutorService exportWorkers) {
     this.store = store;
+    this.exportWorkers = exportWorkers;
   }
 
   private static void writeUtf8(OutputStream out, String s)
@@ -52,51 +66,71 @@ public class ListHandler
     final String path = ex.getRequestURI().getPath();
     logger().info("List request: {}", path);
     if (path.endsWith(PATH_ADMIN_EXPORT)) {
+      final ExportFormat format;
+      try {
+        format = resolveExportFormat(ex);
+      } catch (IllegalArgumentException e) {
+        ErrorResponses.badRequest(ex, e.getMessage());
+        return;
+      }
       // HEAD: same headers as GET, but no body
       if ("HEAD".equalsIgnoreCase(ex.getRequestMethod())) {
-        logger().info("HEAD Request for export");
+        logger().info("HEAD Request for export ({})", format.key());
         final Instant exportedAt = Instant.now();
         final String timestamp = EXPORT_TS.format(exportedAt);
-        final String filename = EXPORT_FILE_NAME + "-" + timestamp + ".zip";
-        // Align headers with ZipWriter
+        final String filename = EXPORT_FILE_NAME + "-" + timestamp + format.fileExtension();
+        // Align headers with ZipWriter / ExportStreamWriter
         var responseHeaders = ex.getResponseHeaders();
-        responseHeaders.add(CONTENT_TYPE, APPLICATION_ZIP);
+        responseHeaders.add(CONTENT_TYPE, format.contentType());
         responseHeaders.add(CONTENT_DISPOSITION,
                             "attachment; filename=\"" + filename + "\"");
         responseHeaders.add(EXPORT_TIMESTAMP_HEADER, exportedAt.toString());
         ex.sendResponseHeaders(OK.code(), -1);
         ex.close();
       } else {
-        logger().info("GET Request for export");
+        logger().info("GET Request for export ({})", format.key());
         final Instant exportedAt = resolveExportInstant(ex);
         final String timestamp = EXPORT_TS.format(exportedAt);
-        final String filename = EXPORT_FILE_NAME + "-" + timestamp + ".zip";
-        writeZipStream(ex,
-                       OK,
-                       EXPORT_FILE_NAME + ".json",
-                       filename,
-                       (zipEntryOut) -> writeFilteredExportJsonTo(zipEntryOut, ex, exportedAt)
-        );
+        final String filename = EXPORT_FILE_NAME + "-" + timestamp + format.fileExtension();
+        ex.getResponseHeaders().add(EXPORT_TIMESTAMP_HEADER, exportedAt.toString());
+        switch (format) {
+          case JSON -> {
+            if (parseBoolean(first(exportQuery(ex), EXPORT_SEGMENTED_PARAM)).orElse(false)) {
+              writeSegmentedZipStream(ex,
+                                      OK,
+                                      filename,
+                                      exportWorkers,
+                                      (sink) -> produceExportSegments(sink, ex, exportedAt));
+            } else {
+              writeZipStream(ex,
+                             OK,
+                             EXPORT_FILE_NAME + ".json",
+                             filename,
+                             (zipEntryOut) -> writeFilteredExportJsonTo(zipEntryOut, ex, exportedAt));
+            }
+          }
+          case NDJSON -> writeExportStream(ex, OK, format.contentType(), filename,
+                                           (out) -> writeFilteredExportNdjsonTo(out, ex));
+          case BINARY -> writeExportStream(ex, OK, format.contentType(), filename,
+                                           (out) -> writeFilteredExportBinaryTo(out, ex));
+        }
       }
     } else {
       if (!RequestMethodUtils.requireGet(ex)) return;
-      String responseJson;
       if (path.endsWith(PATH_ADMIN_LIST_ALL)) {
-        responseJson = listAll();
+        writeListing(ex, OK, "all", store.findAll());
       } else if (path.endsWith(PATH_ADMIN_LIST_EXPIRED)) {
-        responseJson = listExpired();
+        writeListing(ex, OK, "expired", store.findByStatus(EXPIRED));
       } else if (path.endsWith(PATH_ADMIN_LIST_ACTIVE)) {
-        responseJson = listActive();
+        writeListing(ex, OK, "active", store.findByStatus(ACTIVE));
       } else if (path.endsWith(PATH_ADMIN_LIST_INACTIVE)) {
-        responseJson = listInActive();
+        writeListing(ex, OK, "inactive", store.findByStatus(INACTIVE));
       } else if (path.endsWith(PATH_ADMIN_LIST)) {
-        responseJson = listFiltered(ex);
+        listFiltered(ex);
       } else {
         logger().info("undefined path {}", path);
         ex.sendResponseHeaders(404, -1);
-        return;
       }
-      SuccessResponses.okJson(ex, responseJson);
     }
   }
 
@@ -115,93 +149,152 @@ public class ListHandler
   }
 
 
-  private void writeFilteredExportJsonTo(OutputStream out, HttpExchange ex, Instant exportedAt)
-      throws IOException {
-    var rawQuery = Optional.ofNullable(ex.getRequestURI().getRawQuery()).orElse("");
-    var query = parseQueryParams(rawQuery);
+  /**
+   * {@code format} query parameter first, then the {@code Accept} header; defaults to the ZIP/JSON export.
+   */
+  private ExportFormat resolveExportFormat(HttpExchange ex) {
+    var query = Optional.ofNullable(ex.getRequestURI().getRawQuery()).orElse("");
+    var requested = first(parseQueryParams(query), EXPORT_FORMAT_PARAM);
+    if (requested != null && !requested.isBlank()) {
+      return ExportFormat.fromKey(requested)
+          .orElseThrow(() -> new IllegalArgumentException("Unsupported export format: " + requested));
+    }
+    return ExportFormat.fromAccept(ex.getRequestHeaders().getFirst(ACCEPT));
+  }
 
-    // Batch size: reuse 'size' parameter, clamp to server constraints
-    final int batchSize = clamp(parseIntOrDefault(first(query, "size"), 500), 1, 500);
-    var sortBy = parseSort(first(query, "sort"));
-    var dir = parseDir(first(query, "dir"));
-    var baseBuilder = UrlMappingFilter.builder()
+  private UrlMappingFilter.Builder exportFilter(Map<String, List<String>> query) {
+    return UrlMappingFilter.builder()
         .codePart(first(query, "code"))
         .urlPart(first(query, "url"))
         .createdFrom(parseInstant(first(query, "from"), true).orElse(null))
         .createdTo(parseInstant(first(query, "to"), false).orElse(null))
         .active(parseBoolean(first(query, "active")).orElse(null))
-        .sortBy(sortBy.orElse(null))
-        .direction(dir.orElse(null));
-
-    // total for metadata (optional but helpful)
-    final int total = store.count(baseBuilder.offset(0).limit(1).build());
-
-    // --- JSON header (streaming) ---
-    writeUtf8(out, "{");
-    writeUtf8(out, "\"formatVersion\":\"" + EXPORT_FORMAT_VERSION + "\",");
-    writeUtf8(out, "\"mode\":\"filtered\",");
-    writeUtf8(out, "\"exportedAt\":\"" + exportedAt + "\",");
-    writeUtf8(out, "\"total\":" + total + ",");
-    writeUtf8(out, "\"items\":[");
+        .sortBy(parseSort(first(query, "sort")).orElse(null))
+        .direction(parseDir(first(query, "dir")).orElse(null));
+  }
 
-    boolean firstItem = true;
+  /**
+   * Pages through the filtered mappings in batches ('size' parameter, clamped to server constraints).
+   */
+  private void forEachExported(Map<String, List<String>> query, MappingSink sink)
+      throws IOException {
+    final int batchSize = clamp(parseIntOrDefault(first(query, "size"), 500), 1, 500);
+    var baseBuilder = exportFilter(query);
     int offset = 0;
-
-    // --- Page loop ---
     while (true) {
       var filter = baseBuilder.offset(offset).limit(batchSize).build();
       var page = store.find(filter);
       if (page == null || page.isEmpty()) break;
 
       for (var mapping : page) {
-        final String jsonObj = JsonUtils.toJson(mapping);
-        if (!firstItem) writeUtf8(out, ",");
-        writeUtf8(out, jsonObj);
-        firstItem = false;
+        sink.accept(mapping);
       }
       offset += page.size();
       if (page.size() < batchSize) break;
     }
+  }
+
+  private Map<String, List<String>> exportQuery(HttpExchange ex) {
+    return parseQueryParams(Optional.ofNullable(ex.getRequestURI().getRawQuery()).orElse(""));
+  }
+
+  private void writeFilteredExportJsonTo(OutputStream out, HttpExchange ex, Instant exportedAt)
+      throws IOException {
+    var query = exportQuery(ex);
+
+    // total for metadata (optional but helpful)
+    final int total = store.count(exportFilter(query).offset(0).limit(1).build());
+
+    // --- JSON header (streaming) ---
+    writeUtf8(out, "{");
+    writeUtf8(out, "\"formatVersion\":\"" + EXPORT_FORMAT_VERSION + "\",");
+    writeUtf8(out, "\"mode\":\"filtered\",");
+    writeUtf8(out, "\"exportedAt\":\"" + exportedAt + "\",");
+    writeUtf8(out, "\"total\":" + total + ",");
+    writeUtf8(out, "\"items\":[");
+
+    boolean[] firstItem = {true};
+    forEachExported(query, mapping -> {
+      if (!firstItem[0]) writeUtf8(out, ",");
+      writeUtf8(out, JsonUtils.toJson(mapping));
+      firstItem[0] = false;
+    });
     // --- JSON footer ---
     writeUtf8(out, "]}");
   }
 
-  private String listAll() {
-    return filterAndBuild("all", _ -> true);
+  /**
+   * Cuts the filtered mappings into segments of {@link SegmentedZipWriter#SEGMENT_SIZE}; each segment
+   * becomes its own entry with the same document shape as the single-entry export.
+   */
+  private void produceExportSegments(SegmentedZipWriter.SegmentSink sink, HttpExchange ex, Instant exportedAt)
+      throws IOException {
+    var query = exportQuery(ex);
+    final int total = store.count(exportFilter(query).offset(0).limit(1).build());
+    final int segmentSize = SegmentedZipWriter.SEGMENT_SIZE;
+
+    var segments = new MappingSink() {
+      int index;
+      List<ShortUrlMapping> items = new ArrayList<>();
+
+      @Override
+      public void accept(ShortUrlMapping mapping)
+          throws IOException {
+        items.add(mapping);
+        if (items.size() == segmentSize) flush();
+      }
+
+      void flush()
+          throws IOException {
+        submitSegment(sink, index++, items, exportedAt, total);
+        items = new ArrayList<>();
+      }
+    };
+    forEachExported(query, segments);
+    // an empty export still yields one (empty) entry
+    if (!segments.items.isEmpty() || segments.index == 0) segments.flush();
   }
 
-  private String listExpired() {
-    final Instant now = Instant.now();
-    return filterAndBuild("expired",
-                          m -> m.expiresAt()
-                              .isPresent() && m.expiresAt()
-                              .get()
-                              .isBefore(now));
+  private static void submitSegment(SegmentedZipWriter.SegmentSink sink, int index,
+                                    List<ShortUrlMapping> items, Instant exportedAt, int total)
+      throws IOException {
+    String entryName = EXPORT_FILE_NAME + "-" + String.format("%05d", index + 1) + ".json";
+    sink.submit(entryName, out -> {
+      writeUtf8(out, "{");
+      writeUtf8(out, "\"formatVersion\":\"" + EXPORT_FORMAT_VERSION + "\",");
+      writeUtf8(out, "\"mode\":\"filtered\",");
+      writeUtf8(out, "\"exportedAt\":\"" + exportedAt + "\",");
+      writeUtf8(out, "\"total\":" + total + ",");
+      writeUtf8(out, "\"segment\":" + (index + 1) + ",");
+      writeUtf8(out, "\"items\":[");
+      boolean firstItem = true;
+      for (var mapping : items) {
+        if (!firstItem) writeUtf8(out, ",");
+        writeUtf8(out, JsonUtils.toJson(mapping));
+        firstItem = false;
+      }
+      writeUtf8(out, "]}");
+    });
   }
 
-  private String listActive() {
-    final Instant now = Instant.now();
-    return filterAndBuild("active",
-                          m -> {
-                            if (!m.active()) return false;
-                            return m.expiresAt()
-                                .map(exp -> !exp.isBefore(now))
-                                .orElse(true);
-                          });
+  private void writeFilteredExportNdjsonTo(OutputStream out, HttpExchange ex)
+      throws IOException {
+    forEachExported(exportQuery(ex), mapping -> {
+      writeUtf8(out, JsonUtils.toJson(mapping));
+      out.write('\n');
+    });
   }
 
-  private String listInActive() {
-    final Instant now = Instant.now();
-    return filterAndBuild("inactive",
-                          m -> {
-                            if (!m.active()) return true;
-                            return m.expiresAt()
-                                .map(exp -> exp.isBefore(now))
-                                .orElse(false);
-                          });
+  private void writeFilteredExportBinaryTo(OutputStream out, HttpExchange ex)
+      throws IOException {
+    var writer = new MappingBinaryCodec.Writer(out);
+    forEachExported(exportQuery(ex), writer::write);
+    writer.finish();
+    logger().info("binary export finished, {} records", writer.count());
   }
 
-  private String listFiltered(HttpExchange exchange) {
+  private void listFiltered(HttpExchange exchange)
+      throws IOException {
     var query = parseQueryParams(Optional.ofNullable(exchange.getRequestURI().getRawQuery()).orElse(""));
 
     int page = parseIntOrDefault(first(query, "page"), 1);
@@ -226,27 +319,12 @@ public class ListHandler
 
     int total = store.count(filter);          // Gesamtanzahl der Treffer
     var results = store.find(filter);         // Paged + Sorted
-    var items = results.stream().map(this::toDto).toList();
-    return toJsonListingPaged("filtered", items.size(), items, page, size, total, sortBy.orElse(null), dir.orElse(null));
-  }
-
-  private String filterAndBuild(String mode, Predicate<ShortUrlMapping> predicate) {
-    final var data = store
-        .findAll()
-        .stream()
-        .filter(predicate)
-        .map(this::toDto)
-        .toList();
-    return JsonUtils.toJsonListing(mode, data.size(), data);
+    writeListingPaged(exchange, OK, "filtered", results, page, size, total, sortBy.orElse(null), dir.orElse(null));
   }
 
-  private Map<String, String> toDto(ShortUrlMapping m) {
-    return Map.of(
-        "shortCode", m.shortCode(),
-        "originalUrl", m.originalUrl(),
-        "createdAt", m.createdAt().toString(),
-        "expiresAt", m.expiresAt().map(Instant::toString).orElse(""),
-        "active", m.active() + ""
-    );
+  @FunctionalInterface
+  private interface MappingSink {
+    void accept(ShortUrlMapping mapping)
+        throws IOException;
   }
-}
\ No newline at end of file
+}
@@ -6,6 +6,8 @@ import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.functional.model.Result;
 import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingStore;
+import com.svenruppert.urlshortener.api.utils.BodyLimit;
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream.LimitExceededException;
 import com.svenruppert.urlshortener.api.utils.ErrorResponses;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
 import com.svenruppert.urlshortener.api.utils.SuccessResponses;
@@ -16,8 +18,7 @@ import com.svenruppert.urlshortener.core.validation.UrlValidator;
 
 import java.io.IOException;
 
-import static com.svenruppert.urlshortener.api.utils.RequestBodyUtils.readBody;
-import static com.svenruppert.urlshortener.core.JsonUtils.fromJson;
+import static com.svenruppert.urlshortener.api.utils.RequestBodyBinder.bind;
 import static com.svenruppert.urlshortener.core.StringUtils.isNullOrBlank;
 
 /**
@@ -46,8 +47,7 @@ public class ShortenHandler
     logger().info("handle ... {} ", ex.getRequestMethod());
     if (!RequestMethodUtils.requirePost(ex)) return;
     try {
-      final String body = readBody(ex.getRequestBody());
-      ShortenRequest req = fromJson(body, ShortenRequest.class);
+      ShortenRequest req = bind(ex, ShortenRequest.class, BodyLimit.SHORTEN);
       if (isNullOrBlank(req.getUrl())) {
         ErrorResponses.badRequest(ex, "Missing 'url'");
         return;
@@ -98,6 +98,9 @@ public class ShortenHandler
             }
           });
       logger().info("hortenHandler .. try block .. done");
+    } catch (LimitExceededException e) {
+      logger().warn("request body too large - {}", e.getMessage());
+      ErrorResponses.payloadTooLarge(ex, e.getMessage());
     } catch (IllegalArgumentException e) {
       // z.B. "Invalid JSON: ..." oder fachliche Validierung
       logger().warn("bad request - {}", e.getMessage());
@@ -5,6 +5,8 @@ import com.sun.net.httpserver.HttpHandler;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.functional.model.Result;
 import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingStore;
+import com.svenruppert.urlshortener.api.utils.BodyLimit;
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream.LimitExceededException;
 import com.svenruppert.urlshortener.api.utils.ErrorResponses;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
 import com.svenruppert.urlshortener.api.utils.SuccessResponses;
@@ -13,8 +15,7 @@ import com.svenruppert.urlshortener.core.urlmapping.ToggleActive.ToggleActiveRes
 
 import java.io.IOException;
 
-import static com.svenruppert.urlshortener.api.utils.RequestBodyUtils.readBody;
-import static com.svenruppert.urlshortener.core.JsonUtils.fromJson;
+import static com.svenruppert.urlshortener.api.utils.RequestBodyBinder.bind;
 import static com.svenruppert.urlshortener.core.StringUtils.isNullOrBlank;
 
 /**
@@ -47,8 +48,7 @@ public class ToggleActiveHandler
     if (!RequestMethodUtils.requirePut(ex)) return;
 
     try {
-      final String body = readBody(ex.getRequestBody());
-      ToggleActiveRequest req = fromJson(body, ToggleActiveRequest.class);
+      ToggleActiveRequest req = bind(ex, ToggleActiveRequest.class, BodyLimit.SHORTEN);
       var shortCode = req.shortCode();
       if (isNullOrBlank(shortCode)) {
         ErrorResponses.badRequest(ex, "Missing 'shortCode'");
@@ -66,6 +66,9 @@ public class ToggleActiveHandler
             ifFailed(failed -> logger().info("Toggling active status failed: {}", failed));
         ErrorResponses.invalidParameter(ex, "Toggling active status failed");
       }
+    } catch (LimitExceededException e) {
+      logger().warn("request body too large - {}", e.getMessage());
+      ErrorResponses.payloadTooLarge(ex, e.getMessage());
     } catch (RuntimeException e) {
       logger().warn("catch - {}", e.toString());
       ErrorResponses.internalServerError(ex, e);
@@ -0,0 +1,62 @@
+package com.svenruppert.urlshortener.api.handler.urlmapping.exports;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.dependencies.core.net.HttpStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+import static com.svenruppert.urlshortener.core.DefaultValues.CONTENT_DISPOSITION;
+import static com.svenruppert.urlshortener.core.DefaultValues.CONTENT_TYPE;
+
+/**
+ * Streams an uncompressed export body (NDJSON, binary) as a download.
+ * Counterpart of {@link ZipWriter} for the formats that do not need an archive.
+ */
+public final class ExportStreamWriter {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private ExportStreamWriter() {
+  }
+
+  public static void writeExportStream(HttpExchange ex,
+                                       HttpStatus httpStatus,
+                                       String contentType,
+                                       String downloadFileName,
+                                       ZipWriter.ZipEntryWriter writer)
+      throws IOException {
+
+    Objects.requireNonNull(ex, "ex");
+    Objects.requireNonNull(httpStatus, "httpStatus");
+    Objects.requireNonNull(contentType, "contentType");
+    Objects.requireNonNull(downloadFileName, "downloadFileName");
+    Objects.requireNonNull(writer, "writer");
+
+    HasLogger.staticLogger().info("writeExportStream {}, type={}", httpStatus, contentType);
+
+    Headers h = ex.getResponseHeaders();
+    h.add(CONTENT_TYPE, contentType);
+    h.add(CONTENT_DISPOSITION, "attachment; filename=\"" + downloadFileName + "\"");
+    h.add("X-Content-Type-Options", "nosniff");
+
+    ex.sendResponseHeaders(httpStatus.code(), 0);
+
+    try (OutputStream os = new BufferedOutputStream(ex.getResponseBody(), BUFFER_SIZE)) {
+      writer.writeTo(os);
+    } catch (Exception e) {
+      // headers are out already; the client sees a truncated body (and, for binary, a missing trailer)
+      HasLogger.staticLogger().warn("writeExportStream aborted: {}", e.getMessage());
+    } finally {
+      try {
+        ex.close();
+      } catch (Exception ignored) {
+        HasLogger.staticLogger().info("writeExportStream (finally - ignored) {} ", ignored.getMessage());
+      }
+    }
+  }
+}
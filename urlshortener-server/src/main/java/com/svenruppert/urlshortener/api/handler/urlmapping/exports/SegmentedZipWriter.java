@@ -0,0 +1,335 @@
+package com.svenruppert.urlshortener.api.handler.urlmapping.exports;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.dependencies.core.net.HttpStatus;
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import static com.svenruppert.urlshortener.core.DefaultValues.*;
+
+/**
+ * Multi-entry ZIP export whose entries are serialized and deflated in parallel.
+ * <p>
+ * The producer (running on the request thread) hands over one {@link ZipWriter.ZipEntryWriter}
+ * per segment. Each segment is rendered and deflated into memory on a worker; the request thread
+ * writes finished entries to the response strictly in submission order. At most
+ * {@code 2 * parallelism} segments are in flight, which bounds memory to a few segments.
+ * <p>
+ * Workers come from one pool shared by all exports ({@link #newWorkerPool()}, owned and closed by
+ * the server), so concurrent exports compete for {@code parallelism} threads instead of each
+ * starting its own.
+ * <p>
+ * {@link java.util.zip.ZipOutputStream} cannot take pre-deflated data, so the archive is framed
+ * here: local headers carry CRC and sizes up front (no data descriptors), followed by the central
+ * directory. Archives are limited to the classic ZIP format (4 GiB, 65535 entries); larger
+ * exports should use the NDJSON or binary format.
+ * <p>
+ * Configuration ({@code -Durlshortener.<key>}): {@code export.parallelism}
+ * (default: available processors), {@code export.segmentSize} and {@code export.zipLevel}.
+ */
+public final class SegmentedZipWriter
+    implements HasLogger {
+
+  public static final int PARALLELISM = Math.max(1, ConfigProperties.integer(
+      "export.parallelism", Runtime.getRuntime().availableProcessors()));
+  public static final int SEGMENT_SIZE = Math.max(1, ConfigProperties.integer(
+      "export.segmentSize", EXPORT_SEGMENT_SIZE));
+
+  private static final long ZIP32_LIMIT = 0xFFFF_FFFFL;
+  private static final int MAX_ENTRIES = 0xFFFF;
+  private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+
+  private SegmentedZipWriter() {
+  }
+
+  /**
+   * Deflate workers for {@link #writeSegmentedZipStream}; the caller shuts the pool down.
+   */
+  public static ExecutorService newWorkerPool() {
+    return Executors.newFixedThreadPool(PARALLELISM, r -> {
+      var t = new Thread(r, "export-deflate-" + THREAD_IDS.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  public static void writeSegmentedZipStream(HttpExchange ex,
+                                             HttpStatus httpStatus,
+                                             String downloadFileName,
+                                             ExecutorService workers,
+                                             SegmentProducer producer)
+      throws IOException {
+
+    Objects.requireNonNull(ex, "ex");
+    Objects.requireNonNull(httpStatus, "httpStatus");
+    Objects.requireNonNull(downloadFileName, "downloadFileName");
+    Objects.requireNonNull(workers, "workers");
+    Objects.requireNonNull(producer, "producer");
+
+    HasLogger.staticLogger().info("writeSegmentedZipStream {}, parallelism={}", httpStatus, PARALLELISM);
+
+    Headers h = ex.getResponseHeaders();
+    h.add(CONTENT_TYPE, APPLICATION_ZIP);
+    h.add(CONTENT_DISPOSITION, "attachment; filename=\"" + downloadFileName + "\"");
+    h.add("X-Content-Type-Options", "nosniff");
+
+    ex.sendResponseHeaders(httpStatus.code(), 0);
+
+    Pipeline pipeline = null;
+    try (OutputStream os = new BufferedOutputStream(ex.getResponseBody(), 64 * 1024)) {
+      var archive = new Archive(os);
+      pipeline = new Pipeline(workers, archive, ZipWriter.ZIP_LEVEL);
+      producer.produce(pipeline::submit);
+      pipeline.drain();
+      archive.finish();
+      HasLogger.staticLogger().info("writeSegmentedZipStream finished, {} entries", archive.entries.size());
+    } catch (Exception e) {
+      // headers are out already; the client sees a truncated archive
+      HasLogger.staticLogger().warn("writeSegmentedZipStream aborted: {}", e.getMessage());
+    } finally {
+      // the pool is shared: only this export's unfinished segments are cancelled
+      if (pipeline != null) pipeline.cancel();
+      try {
+        ex.close();
+      } catch (Exception ignored) {
+        HasLogger.staticLogger().info("writeSegmentedZipStream (finally - ignored) {} ", ignored.getMessage());
+      }
+    }
+  }
+
+  @FunctionalInterface
+  public interface SegmentProducer {
+    /**
+     * Calls {@code sink} once per segment, in the order the entries should appear in the archive.
+     */
+    void produce(SegmentSink sink)
+        throws IOException;
+  }
+
+  @FunctionalInterface
+  public interface SegmentSink {
+    /**
+     * The writer runs on a worker thread and must only touch data owned by the segment.
+     */
+    void submit(String entryName, ZipWriter.ZipEntryWriter writer)
+        throws IOException;
+  }
+
+  private record DeflatedEntry(String name, long crc, long uncompressedSize, ByteArrayOutputStream data) {
+  }
+
+  /**
+   * Bounded, order-preserving hand-off between workers and the response stream.
+   */
+  private static final class Pipeline {
+    private final ExecutorService workers;
+    private final Archive archive;
+    private final int level;
+    private final Deque<Future<DeflatedEntry>> inFlight = new ArrayDeque<>();
+    private final int window = 2 * PARALLELISM;
+
+    private Pipeline(ExecutorService workers, Archive archive, int level) {
+      this.workers = workers;
+      this.archive = archive;
+      this.level = level;
+    }
+
+    void submit(String entryName, ZipWriter.ZipEntryWriter writer)
+        throws IOException {
+      Objects.requireNonNull(entryName, "entryName");
+      Objects.requireNonNull(writer, "writer");
+      while (inFlight.size() >= window) writeNext();
+      inFlight.addLast(workers.submit(() -> deflate(entryName, writer)));
+    }
+
+    void drain()
+        throws IOException {
+      while (!inFlight.isEmpty()) writeNext();
+    }
+
+    private void writeNext()
+        throws IOException {
+      Future<DeflatedEntry> next = inFlight.removeFirst();
+      try {
+        archive.write(next.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("export interrupted");
+      } catch (ExecutionException e) {
+        cancel();
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException io) throw io;
+        throw new IOException("export segment failed: " + cause, cause);
+      }
+    }
+
+    void cancel() {
+      inFlight.forEach(f -> f.cancel(true));
+      inFlight.clear();
+    }
+
+    private DeflatedEntry deflate(String entryName, ZipWriter.ZipEntryWriter writer)
+        throws IOException {
+      var compressed = new ByteArrayOutputStream(64 * 1024);
+      var crc = new CRC32();
+      var deflater = new Deflater(level, true);
+      long[] size = {0};
+      try {
+        var counting = new FilterOutputStream(new CheckedOutputStream(
+            new DeflaterOutputStream(compressed, deflater, 16 * 1024), crc)) {
+          @Override
+          public void write(byte[] b, int off, int len)
+              throws IOException {
+            out.write(b, off, len);
+            size[0] += len;
+          }
+
+          @Override
+          public void write(int b)
+              throws IOException {
+            out.write(b);
+            size[0]++;
+          }
+        };
+        try (counting) {
+          var buffered = new BufferedOutputStream(counting, 16 * 1024) {
+            @Override
+            public void close()
+                throws IOException {
+              flush(); // the entry is closed by us, not by the segment writer
+            }
+          };
+          writer.writeTo(buffered);
+          buffered.flush();
+        }
+      } finally {
+        deflater.end();
+      }
+      return new DeflatedEntry(entryName, crc.getValue(), size[0], compressed);
+    }
+  }
+
+  /**
+   * Minimal ZIP framing for deflated entries of known size.
+   */
+  private static final class Archive {
+    private final OutputStream out;
+    private final List<CentralEntry> entries = new ArrayList<>();
+    private final int dosTime;
+    private final int dosDate;
+    private long offset;
+
+    private Archive(OutputStream out) {
+      this.out = out;
+      LocalDateTime now = LocalDateTime.now();
+      this.dosTime = (now.getHour() << 11) | (now.getMinute() << 5) | (now.getSecond() / 2);
+      this.dosDate = (Math.max(0, now.getYear() - 1980) << 9) | (now.getMonthValue() << 5) | now.getDayOfMonth();
+    }
+
+    void write(DeflatedEntry e)
+        throws IOException {
+      byte[] name = e.name().getBytes(StandardCharsets.UTF_8);
+      long compressedSize = e.data().size();
+      if (entries.size() >= MAX_ENTRIES || e.uncompressedSize() > ZIP32_LIMIT
+          || offset + 30 + name.length + compressedSize > ZIP32_LIMIT) {
+        throw new IOException("Segmented export exceeds ZIP limits - use format=ndjson or format=binary");
+      }
+      entries.add(new CentralEntry(name, e.crc(), compressedSize, e.uncompressedSize(), offset));
+
+      int32(0x04034b50);
+      int16(20);            // version needed
+      int16(0x0800);        // UTF-8 names
+      int16(8);             // deflated
+      int16(dosTime);
+      int16(dosDate);
+      int32(e.crc());
+      int32(compressedSize);
+      int32(e.uncompressedSize());
+      int16(name.length);
+      int16(0);
+      bytes(name);
+      e.data().writeTo(out);
+      offset += compressedSize;
+    }
+
+    void finish()
+        throws IOException {
+      long start = offset;
+      for (CentralEntry c : entries) {
+        int32(0x02014b50);
+        int16(20);          // version made by
+        int16(20);          // version needed
+        int16(0x0800);
+        int16(8);
+        int16(dosTime);
+        int16(dosDate);
+        int32(c.crc());
+        int32(c.compressedSize());
+        int32(c.uncompressedSize());
+        int16(c.name().length);
+        int16(0);           // extra
+        int16(0);           // comment
+        int16(0);           // disk
+        int16(0);           // internal attributes
+        int32(0);           // external attributes
+        int32(c.localHeaderOffset());
+        bytes(c.name());
+      }
+      long size = offset - start;
+      if (offset > ZIP32_LIMIT) {
+        throw new IOException("Segmented export exceeds ZIP limits - use format=ndjson or format=binary");
+      }
+      int32(0x06054b50);
+      int16(0);
+      int16(0);
+      int16(entries.size());
+      int16(entries.size());
+      int32(size);
+      int32(start);
+      int16(0);
+      out.flush();
+    }
+
+    private void int16(int v)
+        throws IOException {
+      out.write(v & 0xFF);
+      out.write((v >>> 8) & 0xFF);
+      offset += 2;
+    }
+
+    private void int32(long v)
+        throws IOException {
+      out.write((int) (v & 0xFF));
+      out.write((int) ((v >>> 8) & 0xFF));
+      out.write((int) ((v >>> 16) & 0xFF));
+      out.write((int) ((v >>> 24) & 0xFF));
+      offset += 4;
+    }
+
+    private void bytes(byte[] b)
+        throws IOException {
+      out.write(b);
+      offset += b.length;
+    }
+
+    private record CentralEntry(byte[] name, long crc, long compressedSize, long uncompressedSize,
+                                long localHeaderOffset) {
+    }
+  }
+}
@@ -4,11 +4,13 @@ import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.dependencies.core.net.HttpStatus;
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -18,6 +20,12 @@ import static com.svenruppert.urlshortener.core.DefaultValues.*;
 public class ZipWriter
     implements HasLogger {
 
+  /**
+   * Deflate level of the export entry, {@code -Durlshortener.export.zipLevel=0..9}
+   * (-1 = zlib default). Lower levels trade archive size for CPU on large exports.
+   */
+  static final int ZIP_LEVEL = zipLevel();
+
   private ZipWriter() {
   }
 
@@ -54,6 +62,7 @@ public class ZipWriter
 
     try (OutputStream os = ex.getResponseBody();
          ZipOutputStream zip = new ZipOutputStream(os, StandardCharsets.UTF_8)) {
+      zip.setLevel(ZIP_LEVEL);
 
       ZipEntry entry = new ZipEntry(zipEntryName);
       entry.setTime(System.currentTimeMillis());
@@ -87,6 +96,15 @@ public class ZipWriter
     }
   }
 
+  private static int zipLevel() {
+    int level = ConfigProperties.integer("export.zipLevel", Deflater.DEFAULT_COMPRESSION);
+    if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+      HasLogger.staticLogger().warn("invalid export.zipLevel {} - using default", level);
+      return Deflater.DEFAULT_COMPRESSION;
+    }
+    return level;
+  }
+
   /**
    * Minimal JSON string escaping to avoid breaking the fallback error payload.
    */
@@ -97,7 +97,7 @@ public final class ImportConflictsListHandler
           null
       );
 
-      SuccessResponses.ok(ex, json);
+      SuccessResponses.okJson(ex, json);
 
 
     } catch (Exception e) {
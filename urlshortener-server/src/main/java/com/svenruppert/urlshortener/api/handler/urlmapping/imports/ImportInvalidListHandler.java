@@ -71,7 +71,7 @@ public final class ImportInvalidListHandler
           null
       );
 
-      SuccessResponses.ok(ex, json);
+      SuccessResponses.okJson(ex, json);
 
     } catch (Exception e) {
       logger().warn("Import invalid list failed", e);
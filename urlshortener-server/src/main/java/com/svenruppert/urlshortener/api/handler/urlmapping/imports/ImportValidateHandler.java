@@ -6,11 +6,15 @@ import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.urlshortener.api.store.imports.ImportStaging;
 import com.svenruppert.urlshortener.api.store.imports.ImportStagingStore;
 import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingStore;
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream;
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream.LimitExceededException;
 import com.svenruppert.urlshortener.api.utils.ErrorResponses;
 import com.svenruppert.urlshortener.api.utils.RequestMethodUtils;
 import com.svenruppert.urlshortener.api.utils.SuccessResponses;
 import com.svenruppert.urlshortener.core.JsonUtils;
 import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+import com.svenruppert.urlshortener.core.urlmapping.exports.ExportFormat;
+import com.svenruppert.urlshortener.core.urlmapping.exports.MappingBinaryCodec;
 import com.svenruppert.urlshortener.core.validation.UrlValidator;
 
 import java.io.*;
@@ -21,7 +25,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
-import static com.svenruppert.urlshortener.api.handler.urlmapping.imports.ZipImportReader.extractExportJson;
+import static com.svenruppert.urlshortener.api.handler.urlmapping.imports.ZipImportReader.forEachExportJson;
 import static com.svenruppert.urlshortener.api.utils.RequestBodyUtils.readBodyBytes;
 import static com.svenruppert.urlshortener.core.DefaultValues.*;
 
@@ -29,6 +33,8 @@ import static com.svenruppert.urlshortener.core.DefaultValues.*;
 public final class ImportValidateHandler
     implements HttpHandler, HasLogger {
 
+  private static final int BUFFER_SIZE = 64 * 1024;
+
   private final UrlMappingStore store;
   private final ImportStagingStore stagingStore;
 
@@ -138,82 +144,137 @@ public final class ImportValidateHandler
     if (!RequestMethodUtils.requirePost(ex)) return;
 
     try {
-      byte[] zipBytes = readBodyBytes(ex.getRequestBody(), IMPORT_MAX_ZIP_BYTES);
-
-      InputStream jsonStream = extractExportJson(
-          zipBytes,
-          EXPORT_FILE_NAME + ".json",
-          IMPORT_MAX_JSON_BYTES
-      );
+      var in = new BufferedInputStream(ex.getRequestBody(), BUFFER_SIZE);
+      in.mark(ExportFormat.DETECT_BYTES);
+      byte[] head = in.readNBytes(ExportFormat.DETECT_BYTES);
+      in.reset();
 
-      ImportStaging staging = validate(jsonStream);
+      ExportFormat format = ExportFormat.detect(head, ex.getRequestHeaders().getFirst(CONTENT_TYPE));
+      logger().info("Import validate, format {}", format.key());
+      ImportStaging staging = switch (format) {
+        case JSON -> validateZip(readBodyBytes(in, IMPORT_MAX_ZIP_BYTES));
+        case NDJSON -> validateNdjson(new BoundedInputStream(in, IMPORT_MAX_JSON_BYTES, "NDJSON import"));
+        case BINARY -> validateBinary(new BoundedInputStream(in, IMPORT_MAX_JSON_BYTES, "Binary import"));
+      };
       String stagingId = stagingStore.put(staging);
 
       String body = buildPreviewFullJson(stagingId, staging);
       SuccessResponses.okJson(ex, body);
 
+    } catch (LimitExceededException e) {
+      logger().warn("Import validate rejected: {}", e.getMessage());
+      ErrorResponses.payloadTooLarge(ex, e.getMessage());
     } catch (Exception e) {
       logger().warn("Import validate failed", e);
       ErrorResponses.badRequest(ex, String.valueOf(e.getMessage()));
     }
   }
 
-  private ImportStaging validate(InputStream exportJson)
+  /**
+   * Single-entry and segmented (multi-entry) ZIP exports; entries are validated in archive order.
+   */
+  private ImportStaging validateZip(byte[] zipBytes)
       throws IOException {
-    logger().info("start validating..");
-    List<ShortUrlMapping> newItems = new ArrayList<>();
-    List<ImportStaging.Conflict> conflicts = new ArrayList<>();
-    List<ImportStaging.InvalidItem> invalid = new ArrayList<>();
-
-    try (Reader r = new BufferedReader(new InputStreamReader(exportJson, StandardCharsets.UTF_8))) {
+    var validation = new Validation();
+    int entries = forEachExportJson(zipBytes, EXPORT_FILE_NAME, IMPORT_MAX_JSON_BYTES, (name, json) -> {
+      Reader r = new BufferedReader(new InputStreamReader(json, StandardCharsets.UTF_8));
       for (String obj : new ItemsJsonIterator(r)) {
-        ShortUrlMapping incoming;
-        try {
-          incoming = JsonUtils.fromJson(obj, ShortUrlMapping.class);
-          logger().info("validate - {}", incoming);
-        } catch (Exception ex) {
-          invalid.add(new ImportStaging.InvalidItem(null, "JSON parse failed"));
-          logger().warn("validate - error - {}", ex.getMessage());
-          continue;
-        }
-        String code = safeTrim(incoming.shortCode());
-        logger().info("validate - code - {}", code);
-        if (code == null || code.isBlank()) {
-          invalid.add(new ImportStaging.InvalidItem(null, "shortCode missing"));
-          logger().warn("validate - code is blank or null");
-          continue;
-        }
+        validation.acceptJson(obj);
+      }
+    });
+    logger().info("validated {} export entries", entries);
+    return validation.finish();
+  }
 
-        String url = safeTrim(incoming.originalUrl());
-        logger().info("validate - url - {}", url);
-        var vr = UrlValidator.validate(url);
-        if (!vr.valid()) {
-          invalid.add(new ImportStaging.InvalidItem(code, "invalid url: " + vr.message()));
-          logger().warn("validate - url is not valid");
-          continue;
-        }
+  /**
+   * One mapping per line; blank lines are ignored.
+   */
+  private ImportStaging validateNdjson(InputStream ndjson)
+      throws IOException {
+    var validation = new Validation();
+    try (BufferedReader r = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+      for (String line; (line = r.readLine()) != null; ) {
+        if (!line.isBlank()) validation.acceptJson(line);
+      }
+    }
+    return validation.finish();
+  }
 
-        Optional<ShortUrlMapping> existing = store.findByShortCode(code);
-        logger().warn("validate - existing UrlShortCodeMapping {}", existing);
-        if (existing.isEmpty()) {
-          newItems.add(incoming);
-          logger().info("validate - no existing mapping found, added new item from export {}", incoming);
+  /**
+   * A corrupt binary stream cannot be resynchronised, so decoding errors fail the whole import.
+   */
+  private ImportStaging validateBinary(InputStream binary)
+      throws IOException {
+    var validation = new Validation();
+    try (var reader = new MappingBinaryCodec.Reader(binary)) {
+      for (ShortUrlMapping m; (m = reader.read()) != null; ) {
+        validation.accept(m);
+      }
+    }
+    return validation.finish();
+  }
+
+  /**
+   * Collects the staging lists while the items of any import format stream by.
+   */
+  private final class Validation {
+    private final List<ShortUrlMapping> newItems = new ArrayList<>();
+    private final List<ImportStaging.Conflict> conflicts = new ArrayList<>();
+    private final List<ImportStaging.InvalidItem> invalid = new ArrayList<>();
+
+    private Validation() {
+      logger().info("start validating..");
+    }
+
+    void acceptJson(String obj) {
+      ShortUrlMapping incoming;
+      try {
+        incoming = JsonUtils.fromJson(obj, ShortUrlMapping.class);
+      } catch (Exception ex) {
+        invalid.add(new ImportStaging.InvalidItem(null, "JSON parse failed"));
+        logger().warn("validate - error - {}", ex.getMessage());
+        return;
+      }
+      accept(incoming);
+    }
+
+    void accept(ShortUrlMapping incoming) {
+      logger().debug("validate - {}", incoming);
+      String code = safeTrim(incoming.shortCode());
+      if (code == null || code.isBlank()) {
+        invalid.add(new ImportStaging.InvalidItem(null, "shortCode missing"));
+        logger().warn("validate - code is blank or null");
+        return;
+      }
+
+      String url = safeTrim(incoming.originalUrl());
+      var vr = UrlValidator.validate(url);
+      if (!vr.valid()) {
+        invalid.add(new ImportStaging.InvalidItem(code, "invalid url: " + vr.message()));
+        logger().warn("validate - url is not valid - {}", code);
+        return;
+      }
+
+      Optional<ShortUrlMapping> existing = store.findByShortCode(code);
+      if (existing.isEmpty()) {
+        newItems.add(incoming);
+        logger().debug("validate - no existing mapping found, added new item from export {}", incoming);
+      } else {
+        ShortUrlMapping exMap = existing.get();
+        if (!same(exMap, incoming)) {
+          logger().debug("validate - we found a conflict {} / {}", exMap, incoming);
+          conflicts.add(new ImportStaging.Conflict(code, exMap, incoming));
         } else {
-          ShortUrlMapping exMap = existing.get();
-          if (!same(exMap, incoming)) {
-            logger().info("validate - we found a conflict {} / {}", exMap, incoming);
-            conflicts.add(new ImportStaging.Conflict(code, exMap, incoming));
-          } else {
-            logger().info("validate - both are the same..skipping..");
-          }
+          logger().debug("validate - both are the same..skipping..");
         }
       }
     }
-    logger().info("stop validating..");
-    logger().info("validate - newItems {}", newItems);
-    logger().info("validate - conflicts {}", conflicts);
-    logger().info("validate - invalid {}", invalid);
-    return new ImportStaging(Instant.now(), newItems, conflicts, invalid);
+
+    ImportStaging finish() {
+      logger().info("stop validating.. newItems={}, conflicts={}, invalid={}",
+                    newItems.size(), conflicts.size(), invalid.size());
+      return new ImportStaging(Instant.now(), newItems, conflicts, invalid);
+    }
   }
 
 }
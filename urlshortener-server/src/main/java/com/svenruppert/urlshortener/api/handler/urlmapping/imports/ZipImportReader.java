@@ -1,6 +1,9 @@
 package com.svenruppert.urlshortener.api.handler.urlmapping.imports;
 
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream;
+
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.zip.ZipEntry;
@@ -27,7 +30,8 @@ public final class ZipImportReader {
       }
 
       if (expectedEntryName.equals(name)) {
-        return new BoundedInputStream(zis, maxUncompressedBytes);
+        // prevents zip bombs by limiting uncompressed bytes
+        return new BoundedInputStream(zis, maxUncompressedBytes, "Uncompressed content");
       }
     }
 
@@ -35,43 +39,52 @@ public final class ZipImportReader {
   }
 
   /**
-   * Prevents zip bombs by limiting uncompressed bytes.
+   * Calls {@code consumer} for every export JSON entry in archive order: the single
+   * {@code <baseName>.json} entry of a classic export as well as the
+   * {@code <baseName>-NNNNN.json} segments of a segmented export.
+   * The uncompressed limit applies to all entries together. The stream handed to the
+   * consumer must not be closed by it; closing is ignored.
    */
-  private static final class BoundedInputStream
-      extends InputStream {
-    private final InputStream delegate;
-    private final long maxBytes;
-    private long count = 0;
-
-    private BoundedInputStream(InputStream delegate, long maxBytes) {
-      this.delegate = delegate;
-      this.maxBytes = maxBytes;
-    }
+  public static int forEachExportJson(byte[] zipBytes,
+                                      String baseName,
+                                      long maxUncompressedBytes,
+                                      EntryConsumer consumer)
+      throws IOException {
 
-    @Override
-    public int read()
-        throws IOException {
-      int r = delegate.read();
-      if (r != -1) {
-        count++;
-        if (count > maxBytes) {
-          throw new IOException("Uncompressed content exceeds limit=" + maxBytes);
-        }
+    ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zipBytes));
+    InputStream bounded = new BoundedInputStream(zis, maxUncompressedBytes, "Uncompressed content");
+    InputStream shielded = new FilterInputStream(bounded) {
+      @Override
+      public void close() {
+        // entries are closed by getNextEntry()
       }
-      return r;
-    }
+    };
+    int matched = 0;
+    ZipEntry entry;
+    while ((entry = zis.getNextEntry()) != null) {
+      String name = entry.getName();
 
-    @Override
-    public int read(byte[] b, int off, int len)
-        throws IOException {
-      int r = delegate.read(b, off, len);
-      if (r > 0) {
-        count += r;
-        if (count > maxBytes) {
-          throw new IOException("Uncompressed content exceeds limit=" + maxBytes);
-        }
+      // Zip Slip Guard
+      if (name.contains("..") || name.contains("\\") || name.startsWith("/")) {
+        throw new IOException("Invalid zip entry name: " + name);
       }
-      return r;
+      if (entry.isDirectory() || !isExportEntry(name, baseName)) continue;
+
+      consumer.accept(name, shielded);
+      matched++;
     }
+    if (matched == 0) throw new IOException("Expected entry not found: " + baseName + ".json");
+    return matched;
+  }
+
+  private static boolean isExportEntry(String name, String baseName) {
+    if (name.equals(baseName + ".json")) return true;
+    return name.startsWith(baseName + "-") && name.endsWith(".json");
+  }
+
+  @FunctionalInterface
+  public interface EntryConsumer {
+    void accept(String entryName, InputStream content)
+        throws IOException;
   }
 }
@@ -0,0 +1,134 @@
+package com.svenruppert.urlshortener.api.jetty;
+
+import com.sun.net.httpserver.Authenticator;
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.thread.Invocable;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Jetty handler that dispatches to {@link HttpHandler}s by path prefix, longest prefix first,
+ * like {@code HttpServer.createContext}. Context filters run before the handler.
+ * Handlers block, so Jetty invokes this on its (virtual) worker threads.
+ */
+final class JettyContexts
+    extends Handler.Abstract
+    implements HasLogger {
+
+  private final List<Context> contexts = new CopyOnWriteArrayList<>();
+
+  JettyContexts() {
+    super(Invocable.InvocationType.BLOCKING);
+  }
+
+  HttpContext add(String path, HttpHandler handler) {
+    Objects.requireNonNull(path, "path");
+    if (!path.startsWith("/")) throw new IllegalArgumentException("path must start with /: " + path);
+    for (Context c : contexts) {
+      if (c.path.equals(path)) throw new IllegalArgumentException("context already exists: " + path);
+    }
+    var context = new Context(path, handler);
+    contexts.add(context);
+    contexts.sort(Comparator.comparingInt((Context c) -> c.path.length()).reversed());
+    return context;
+  }
+
+  @Override
+  public boolean handle(Request request, Response response, Callback callback) {
+    String path = request.getHttpURI().getPath();
+    Context context = find(path == null ? "/" : path);
+    if (context == null || context.handler == null) return false;
+    var exchange = new JettyExchange(request, response, context);
+    try {
+      new Filter.Chain(context.filters, context.handler).doFilter(exchange);
+      exchange.close();
+      callback.succeeded();
+    } catch (Throwable t) {
+      logger().warn("handler for {} failed - {}", context.path, t.toString());
+      if (!exchange.headersSent()) {
+        Response.writeError(request, response, callback, 500);
+      } else {
+        callback.failed(t);
+      }
+    }
+    return true;
+  }
+
+  private Context find(String path) {
+    for (Context c : contexts) {
+      if (path.startsWith(c.path)) return c;
+    }
+    return null;
+  }
+
+  private static final class Context
+      extends HttpContext {
+    private final String path;
+    private final List<Filter> filters = new CopyOnWriteArrayList<>();
+    private final Map<String, Object> attributes = new HashMap<>();
+    private volatile HttpHandler handler;
+    private Authenticator authenticator;
+
+    private Context(String path, HttpHandler handler) {
+      this.path = path;
+      this.handler = handler;
+    }
+
+    @Override
+    public HttpHandler getHandler() {
+      return handler;
+    }
+
+    @Override
+    public void setHandler(HttpHandler handler) {
+      this.handler = handler;
+    }
+
+    @Override
+    public String getPath() {
+      return path;
+    }
+
+    /**
+     * Not backed by a JDK server.
+     */
+    @Override
+    public HttpServer getServer() {
+      return null;
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+      return attributes;
+    }
+
+    @Override
+    public List<Filter> getFilters() {
+      return filters;
+    }
+
+    /**
+     * Authenticators are not evaluated on Jetty; none of the handlers uses one.
+     */
+    @Override
+    public Authenticator setAuthenticator(Authenticator auth) {
+      var previous = authenticator;
+      authenticator = auth;
+      return previous;
+    }
+
+    @Override
+    public Authenticator getAuthenticator() {
+      return authenticator;
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package com.svenruppert.urlshortener.api.jetty;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpPrincipal;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.io.Content;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link HttpExchange} view of a Jetty request/response pair, with the JDK server's semantics:
+ * headers are committed by {@link #sendResponseHeaders(int, long)} (length -1: no body, 0: body
+ * of unknown length, otherwise {@code Content-Length}), the body is written through blocking
+ * streams on the calling thread.
+ */
+final class JettyExchange
+    extends HttpExchange {
+
+  private final Request request;
+  private final Response response;
+  private final HttpContext context;
+  private final Headers requestHeaders = new Headers();
+  private final Headers responseHeaders = new Headers();
+  private final Map<String, Object> attributes = new HashMap<>();
+  private InputStream requestBody;
+  private OutputStream responseBody;
+  private int responseCode = -1;
+  private boolean closed;
+
+  JettyExchange(Request request, Response response, HttpContext context) {
+    this.request = request;
+    this.response = response;
+    this.context = context;
+    for (HttpField field : request.getHeaders()) {
+      requestHeaders.add(field.getName(), field.getValue());
+    }
+  }
+
+  boolean headersSent() {
+    return responseCode != -1;
+  }
+
+  @Override
+  public Headers getRequestHeaders() {
+    return requestHeaders;
+  }
+
+  @Override
+  public Headers getResponseHeaders() {
+    return responseHeaders;
+  }
+
+  @Override
+  public URI getRequestURI() {
+    return request.getHttpURI().toURI();
+  }
+
+  @Override
+  public String getRequestMethod() {
+    return request.getMethod();
+  }
+
+  @Override
+  public HttpContext getHttpContext() {
+    return context;
+  }
+
+  @Override
+  public void close() {
+    if (closed) return;
+    closed = true;
+    try {
+      if (!headersSent()) sendResponseHeaders(500, -1);
+      getResponseBody().close();
+    } catch (IOException e) {
+      throw new IllegalStateException("closing the response failed", e);
+    }
+  }
+
+  @Override
+  public InputStream getRequestBody() {
+    if (requestBody == null) requestBody = Content.Source.asInputStream(request);
+    return requestBody;
+  }
+
+  @Override
+  public OutputStream getResponseBody() {
+    if (responseBody == null) responseBody = Content.Sink.asOutputStream(response);
+    return responseBody;
+  }
+
+  @Override
+  public void sendResponseHeaders(int rCode, long responseLength)
+      throws IOException {
+    if (headersSent()) throw new IOException("headers already sent");
+    responseCode = rCode;
+    response.setStatus(rCode);
+    var headers = response.getHeaders();
+    for (Map.Entry<String, List<String>> e : responseHeaders.entrySet()) {
+      for (String value : e.getValue()) headers.add(e.getKey(), value);
+    }
+    boolean noBodyStatus = rCode == 204 || rCode == 304 || (rCode >= 100 && rCode < 200);
+    if (responseLength > 0) {
+      headers.put("Content-Length", Long.toString(responseLength));
+    } else if (responseLength == -1 && !noBodyStatus) {
+      headers.put("Content-Length", "0");
+    }
+  }
+
+  @Override
+  public InetSocketAddress getRemoteAddress() {
+    return inet(request.getConnectionMetaData().getRemoteSocketAddress());
+  }
+
+  @Override
+  public int getResponseCode() {
+    return responseCode;
+  }
+
+  @Override
+  public InetSocketAddress getLocalAddress() {
+    return inet(request.getConnectionMetaData().getLocalSocketAddress());
+  }
+
+  private static InetSocketAddress inet(SocketAddress address) {
+    return address instanceof InetSocketAddress isa ? isa : null;
+  }
+
+  @Override
+  public String getProtocol() {
+    return request.getConnectionMetaData().getProtocol();
+  }
+
+  @Override
+  public Object getAttribute(String name) {
+    return attributes.get(name);
+  }
+
+  @Override
+  public void setAttribute(String name, Object value) {
+    if (value == null) attributes.remove(name);
+    else attributes.put(name, value);
+  }
+
+  @Override
+  public void setStreams(InputStream i, OutputStream o) {
+    if (i != null) requestBody = i;
+    if (o != null) responseBody = o;
+  }
+
+  @Override
+  public HttpPrincipal getPrincipal() {
+    return null;
+  }
+}
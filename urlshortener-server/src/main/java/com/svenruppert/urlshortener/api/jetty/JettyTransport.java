@@ -0,0 +1,112 @@
+package com.svenruppert.urlshortener.api.jetty;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpHandler;
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.RedirectTransport;
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+
+/**
+ * Hosts the existing {@link HttpHandler}s on Jetty instead of the JDK {@code HttpServer}.
+ * <p>
+ * Handlers and filters run unchanged: each request is presented to them as an
+ * {@link com.sun.net.httpserver.HttpExchange} ({@link JettyExchange}). Jetty's own
+ * {@code jetty-http-spi} is not used because it registers itself as the JVM-wide
+ * {@code HttpServerProvider} and would silently move every {@code HttpServer.create} onto Jetty.
+ * The connector speaks HTTP/1.1 and, unless disabled, HTTP/2 cleartext (h2c, prior knowledge or
+ * upgrade), so proxies can multiplex requests over a few connections.
+ * <p>
+ * Configuration ({@code -Durlshortener.jetty.<key>}): {@code acceptors}, {@code selectors}
+ * (default -1, Jetty picks by core count), {@code minThreads}, {@code maxThreads},
+ * {@code virtualThreads} (default true: handlers run on virtual threads), {@code h2c}
+ * (default true) and {@code idleTimeout} (default 30s).
+ */
+public final class JettyTransport
+    implements RedirectTransport, HasLogger {
+
+  private final String name;
+  private final Server server;
+  private final ServerConnector connector;
+  private final JettyContexts contexts = new JettyContexts();
+
+  public JettyTransport(String name, String host, int port, int backlog) {
+    this.name = Objects.requireNonNull(name, "name");
+
+    var threadPool = new QueuedThreadPool(
+        ConfigProperties.integer("jetty.maxThreads", 200),
+        ConfigProperties.integer("jetty.minThreads", 8));
+    threadPool.setName("jetty-" + name);
+    if (ConfigProperties.bool("jetty.virtualThreads", true)) {
+      threadPool.setVirtualThreadsExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+    this.server = new Server(threadPool);
+
+    var httpConfig = new HttpConfiguration();
+    httpConfig.setSendServerVersion(false);
+    httpConfig.setSendXPoweredBy(false);
+
+    int acceptors = ConfigProperties.integer("jetty.acceptors", -1);
+    int selectors = ConfigProperties.integer("jetty.selectors", -1);
+    this.connector = ConfigProperties.bool("jetty.h2c", true)
+        ? new ServerConnector(server, acceptors, selectors,
+                              new HttpConnectionFactory(httpConfig), new HTTP2CServerConnectionFactory(httpConfig))
+        : new ServerConnector(server, acceptors, selectors, new HttpConnectionFactory(httpConfig));
+    connector.setName(name);
+    connector.setHost(host);
+    connector.setPort(port);
+    connector.setAcceptQueueSize(Math.max(0, backlog));
+    connector.setIdleTimeout(ConfigProperties.duration("jetty.idleTimeout", Duration.ofSeconds(30)).toMillis());
+    server.addConnector(connector);
+    server.setHandler(contexts);
+  }
+
+  /**
+   * Registers {@code handler} under {@code path}, behind {@code filters} in the given order.
+   */
+  public HttpContext createContext(String path, HttpHandler handler, List<Filter> filters) {
+    Objects.requireNonNull(handler, "handler");
+    var context = contexts.add(path, handler);
+    if (filters != null) context.getFilters().addAll(filters);
+    return context;
+  }
+
+  @Override
+  public void start() {
+    try {
+      server.start();
+    } catch (Exception e) {
+      throw new IllegalStateException("Jetty " + name + " server failed to start", e);
+    }
+    logger().info("Jetty {} server running at {}:{} (protocols {})",
+                  name, getAddress().getHostName(), getAddress().getPort(), connector.getProtocols());
+  }
+
+  @Override
+  public void stop(int delaySeconds) {
+    try {
+      server.setStopTimeout(Math.max(0, delaySeconds) * 1000L);
+      server.stop();
+    } catch (Exception e) {
+      logger().warn("Jetty {} server stop failed - {}", name, e.getMessage());
+    }
+  }
+
+  @Override
+  public InetSocketAddress getAddress() {
+    int port = connector.getLocalPort() > 0 ? connector.getLocalPort() : connector.getPort();
+    return new InetSocketAddress(connector.getHost(), port);
+  }
+}
@@ -0,0 +1,47 @@
+package com.svenruppert.urlshortener.api.jfr;
+
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A mapping change applied (and, for EclipseStore, persisted) by a store provider. The duration
+ * covers the in-memory update and the storage commit, not the change listeners.
+ */
+@Name("com.svenruppert.urlshortener.MappingCommitted")
+@Label("Mapping Committed")
+@Category({"URL Shortener", "Store"})
+@Description("Create, edit, delete or activation change of a URL mapping")
+@StackTrace(false)
+public final class MappingCommittedEvent
+    extends jdk.jfr.Event {
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Short Code")
+  public String code;
+
+  @Label("Payload")
+  @Description("Short code and target URL length; the store does not report bytes written per call")
+  @DataAmount
+  public long bytes;
+
+  /**
+   * Sets the fields and commits if the event is enabled and over its threshold.
+   */
+  public void complete(String operation, ShortUrlMapping mapping) {
+    end();
+    if (!shouldCommit()) return;
+    this.operation = operation;
+    if (mapping != null) {
+      this.code = mapping.shortCode();
+      this.bytes = mapping.shortCode().length() + (long) mapping.originalUrl().length();
+    }
+    commit();
+  }
+}
@@ -0,0 +1,48 @@
+package com.svenruppert.urlshortener.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A filtered list or count query answered by a store provider.
+ */
+@Name("com.svenruppert.urlshortener.QueryExecuted")
+@Label("Query Executed")
+@Category({"URL Shortener", "Store"})
+@Description("Filtered mapping query with the number of rows scanned and returned")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class QueryExecutedEvent
+    extends jdk.jfr.Event {
+
+  @Label("Query")
+  @Description("find or count")
+  public String query;
+
+  @Label("Filter")
+  public String filter;
+
+  @Label("Rows Scanned")
+  public long rowsScanned;
+
+  @Label("Rows Returned")
+  public long rowsReturned;
+
+  /**
+   * Sets the fields and commits if the event is enabled and over its threshold; the filter is
+   * only rendered in that case.
+   */
+  public void complete(String query, Object filter, long rowsScanned, long rowsReturned) {
+    end();
+    if (!shouldCommit()) return;
+    this.query = query;
+    this.filter = String.valueOf(filter);
+    this.rowsScanned = rowsScanned;
+    this.rowsReturned = rowsReturned;
+    commit();
+  }
+}
@@ -0,0 +1,45 @@
+package com.svenruppert.urlshortener.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One short code resolved by {@link com.svenruppert.urlshortener.api.handler.RedirectResolver},
+ * for every redirect transport. Only resolutions slower than the threshold are recorded by
+ * default; set {@code com.svenruppert.urlshortener.RedirectResolved#threshold=0 ms} to see all.
+ */
+@Name("com.svenruppert.urlshortener.RedirectResolved")
+@Label("Redirect Resolved")
+@Category({"URL Shortener", "Redirect"})
+@Description("Lookup of a short code and the resulting redirect decision")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class RedirectResolvedEvent
+    extends jdk.jfr.Event {
+
+  @Label("Short Code")
+  public String code;
+
+  @Label("Outcome")
+  @Description("found, not_found, inactive or gone")
+  public String outcome;
+
+  @Label("Status")
+  public int status;
+
+  /**
+   * Sets the fields and commits if the event is enabled and over its threshold.
+   */
+  public void complete(String code, String outcome, int status) {
+    end();
+    if (!shouldCommit()) return;
+    this.code = code;
+    this.outcome = outcome;
+    this.status = status;
+    commit();
+  }
+}
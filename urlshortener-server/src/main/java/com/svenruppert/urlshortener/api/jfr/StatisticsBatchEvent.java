@@ -0,0 +1,35 @@
+package com.svenruppert.urlshortener.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One batch of redirect events aggregated and persisted by the statistics writer thread.
+ */
+@Name("com.svenruppert.urlshortener.StatisticsBatch")
+@Label("Statistics Batch Processed")
+@Category({"URL Shortener", "Statistics"})
+@Description("Grouping and persisting a batch of redirect events")
+@StackTrace(false)
+public final class StatisticsBatchEvent
+    extends jdk.jfr.Event {
+
+  @Label("Batch Size")
+  public int size;
+
+  @Label("Groups")
+  @Description("Distinct short code and day combinations in the batch")
+  public int groups;
+
+  @Label("Grouping Time")
+  @Timespan(Timespan.NANOSECONDS)
+  public long groupingTime;
+
+  @Label("Commit Time")
+  @Timespan(Timespan.NANOSECONDS)
+  public long commitTime;
+}
@@ -0,0 +1,23 @@
+package com.svenruppert.urlshortener.api.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter, striped for concurrent increments.
+ */
+public final class Counter {
+
+  private final LongAdder value = new LongAdder();
+
+  public void increment() {
+    value.increment();
+  }
+
+  public void add(long delta) {
+    value.add(delta);
+  }
+
+  public long value() {
+    return value.sum();
+  }
+}
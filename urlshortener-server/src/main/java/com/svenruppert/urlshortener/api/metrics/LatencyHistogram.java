@@ -0,0 +1,93 @@
+package com.svenruppert.urlshortener.api.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear latency histogram in the style of HdrHistogram, with microsecond resolution.
+ * <p>
+ * Values below 16µs get a bucket each; above that every power of two is split into 16 linear
+ * sub-buckets, so any recorded value is known to within 6.25%. The range reaches about 38 hours,
+ * larger values land in the last bucket. {@link #record(long)} is a few shifts and one atomic
+ * increment per value: lock-free and allocation-free.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_MAGNITUDE = 36;
+  static final int BUCKETS = SUB_BUCKETS + (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sumNanos = new LongAdder();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  public void record(long nanos) {
+    if (nanos < 0) nanos = 0;
+    counts.incrementAndGet(index(nanos / 1_000));
+    count.increment();
+    sumNanos.add(nanos);
+    long max = maxNanos.get();
+    while (nanos > max && !maxNanos.compareAndSet(max, nanos)) max = maxNanos.get();
+  }
+
+  static int index(long micros) {
+    if (micros < SUB_BUCKETS) return (int) micros;
+    int magnitude = 63 - Long.numberOfLeadingZeros(micros);
+    if (magnitude > MAX_MAGNITUDE) return BUCKETS - 1;
+    int sub = (int) (micros >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return SUB_BUCKETS + (magnitude - SUB_BUCKET_BITS) * SUB_BUCKETS + sub;
+  }
+
+  /**
+   * Midpoint of the bucket, in microseconds.
+   */
+  static double value(int index) {
+    if (index < SUB_BUCKETS) return index + 0.5;
+    int magnitude = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+    int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+    long width = 1L << (magnitude - SUB_BUCKET_BITS);
+    return (SUB_BUCKETS + sub) * (double) width + width / 2.0;
+  }
+
+  public long count() {
+    return count.sum();
+  }
+
+  public long sumNanos() {
+    return sumNanos.sum();
+  }
+
+  public long maxNanos() {
+    return maxNanos.get();
+  }
+
+  /**
+   * Values at the given quantiles (0..1), in nanoseconds. Reads the buckets once; concurrent
+   * recording may make the result lag a few values behind.
+   */
+  public double[] quantileNanos(double... quantiles) {
+    long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    double[] result = new double[quantiles.length];
+    if (total == 0) return result;
+    for (int q = 0; q < quantiles.length; q++) {
+      long rank = Math.max(1, (long) Math.ceil(Math.clamp(quantiles[q], 0.0, 1.0) * total));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += snapshot[i];
+        if (seen >= rank) {
+          result[q] = Math.min(value(i) * 1_000, maxNanos.get());
+          break;
+        }
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,177 @@
+package com.svenruppert.urlshortener.api.metrics;
+
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process metrics: latency histograms, counters and gauges, rendered in the Prometheus text
+ * exposition format.
+ * <p>
+ * Recorders are created once, when the instrumented component is built, and kept in a field;
+ * asking for the same name and labels again returns the same recorder. Recording itself never
+ * touches the registry. Histograms are exposed as summaries (p50, p90, p99, p99.9, plus
+ * {@code _sum} and {@code _count} in seconds), gauges and counter functions are read when the
+ * metrics are scraped.
+ * <p>
+ * {@link #defaultRegistry()} is the registry the server exposes. {@code metrics.enabled}
+ * ({@code -Durlshortener.metrics.enabled}, default true) tells components whether to instrument.
+ */
+public final class MetricsRegistry {
+
+  private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+  private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+  public static MetricsRegistry defaultRegistry() {
+    return DEFAULT;
+  }
+
+  public static boolean enabled() {
+    return ConfigProperties.bool("metrics.enabled", true);
+  }
+
+  /**
+   * @param labels alternating label names and values
+   */
+  public LatencyHistogram histogram(String name, String help, String... labels) {
+    // the family's type guarantees the cast
+    return (LatencyHistogram) family(name, help, Type.SUMMARY)
+        .metrics.computeIfAbsent(labelString(labels), k -> new LatencyHistogram());
+  }
+
+  public Counter counter(String name, String help, String... labels) {
+    return (Counter) family(name, help, Type.COUNTER)
+        .metrics.computeIfAbsent(labelString(labels), k -> new Counter());
+  }
+
+  /**
+   * Registers (or replaces) a counter whose value is read on every scrape, for monotonic totals a
+   * component already keeps. Name it with a {@code _total} suffix like any other counter.
+   */
+  public void counter(String name, String help, LongSupplier value, String... labels) {
+    Objects.requireNonNull(value, "value");
+    family(name, help, Type.COUNTER).metrics.put(labelString(labels), value);
+  }
+
+  /**
+   * Registers (or replaces) a gauge that is read on every scrape.
+   */
+  public void gauge(String name, String help, DoubleSupplier value, String... labels) {
+    Objects.requireNonNull(value, "value");
+    family(name, help, Type.GAUGE).metrics.put(labelString(labels), value);
+  }
+
+  private Family family(String name, String help, Type type) {
+    var family = families.computeIfAbsent(name, n -> new Family(help, type));
+    if (family.type != type) {
+      throw new IllegalArgumentException("metric " + name + " is already registered as " + family.type);
+    }
+    return family;
+  }
+
+  static String labelString(String... labels) {
+    if (labels.length % 2 != 0) throw new IllegalArgumentException("labels must be name/value pairs");
+    if (labels.length == 0) return "";
+    var sb = new StringBuilder();
+    for (int i = 0; i < labels.length; i += 2) {
+      sb.append(sb.isEmpty() ? "" : ",").append(labels[i]).append("=\"");
+      escape(labels[i + 1], sb);
+      sb.append('"');
+    }
+    return sb.toString();
+  }
+
+  private static void escape(String value, StringBuilder sb) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\' -> sb.append("\\\\");
+        case '"' -> sb.append("\\\"");
+        case '\n' -> sb.append("\\n");
+        default -> sb.append(c);
+      }
+    }
+  }
+
+  /**
+   * All metrics in the Prometheus text format, version 0.0.4.
+   */
+  public String scrape() {
+    var sb = new StringBuilder(8 * 1024);
+    for (var entry : families.entrySet()) {
+      String name = entry.getKey();
+      Family family = entry.getValue();
+      sb.append("# HELP ").append(name).append(' ').append(family.help).append('\n');
+      sb.append("# TYPE ").append(name).append(' ').append(family.type.name().toLowerCase(Locale.ROOT)).append('\n');
+      for (var metric : new ConcurrentSkipListMap<>(family.metrics).entrySet()) {
+        String labels = metric.getKey();
+        switch (metric.getValue()) {
+          case LatencyHistogram h -> {
+            double[] values = h.quantileNanos(QUANTILES);
+            for (int i = 0; i < QUANTILES.length; i++) {
+              sample(sb, name, labels, "quantile=\"" + QUANTILES[i] + "\"", values[i] / 1e9);
+            }
+            sample(sb, name + "_sum", labels, null, h.sumNanos() / 1e9);
+            sample(sb, name + "_count", labels, null, h.count());
+          }
+          case Counter c -> sample(sb, name, labels, null, c.value());
+          case LongSupplier c -> sample(sb, name, labels, null, read(c));
+          case DoubleSupplier g -> sample(sb, name, labels, null, read(g));
+          default -> throw new IllegalStateException("unexpected metric " + metric.getValue());
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  private static double read(DoubleSupplier gauge) {
+    try {
+      return gauge.getAsDouble();
+    } catch (RuntimeException e) {
+      return Double.NaN;
+    }
+  }
+
+  private static double read(LongSupplier counter) {
+    try {
+      return counter.getAsLong();
+    } catch (RuntimeException e) {
+      return Double.NaN;
+    }
+  }
+
+  private static void sample(StringBuilder sb, String name, String labels, String extra, double value) {
+    sb.append(name);
+    if (!labels.isEmpty() || extra != null) {
+      sb.append('{').append(labels);
+      if (extra != null) sb.append(labels.isEmpty() ? "" : ",").append(extra);
+      sb.append('}');
+    }
+    sb.append(' ');
+    if (Double.isNaN(value)) sb.append("NaN");
+    else if (value == Math.rint(value) && Math.abs(value) < 1e15) sb.append((long) value);
+    else sb.append(value);
+    sb.append('\n');
+  }
+
+  private enum Type { COUNTER, GAUGE, SUMMARY }
+
+  private static final class Family {
+    private final String help;
+    private final Type type;
+    private final Map<String, Object> metrics = new ConcurrentHashMap<>();
+
+    private Family(String help, Type type) {
+      this.help = help;
+      this.type = type;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.svenruppert.urlshortener.api.slowlog;
+
+/**
+ * Per-request collector for what the stores did on behalf of one admin request: the query
+ * parameters and how many rows were scanned and returned.
+ * <p>
+ * {@link com.svenruppert.urlshortener.api.filter.SlowOperationFilter} opens a trace on the request
+ * thread; store methods report through {@link #query(Object, long, long)}. Without an open trace
+ * (the redirect path, background threads) reporting is a thread-local lookup and nothing else.
+ * Parameters are kept as objects and only rendered if the request turns out to be slow.
+ */
+public final class QueryTrace {
+
+  private static final ThreadLocal<QueryTrace> CURRENT = new ThreadLocal<>();
+
+  private Object parameters;
+  private int queries;
+  private long rowsScanned;
+  private long rowsReturned;
+
+  private QueryTrace() {
+  }
+
+  /**
+   * Opens a trace for the current thread; {@link #close()} must follow.
+   */
+  public static QueryTrace open() {
+    var trace = new QueryTrace();
+    CURRENT.set(trace);
+    return trace;
+  }
+
+  public void close() {
+    CURRENT.remove();
+  }
+
+  /**
+   * Adds one store query to the current trace, if there is one. The parameters of the last query
+   * win - handlers usually count first and then fetch the page they return.
+   *
+   * @param parameters query parameters; rendered with {@code toString()} when the request is slow
+   */
+  public static void query(Object parameters, long rowsScanned, long rowsReturned) {
+    var trace = CURRENT.get();
+    if (trace == null) return;
+    trace.queries++;
+    trace.rowsScanned += rowsScanned;
+    trace.rowsReturned += rowsReturned;
+    if (parameters != null) trace.parameters = parameters;
+  }
+
+  public String parameters() {
+    return parameters == null ? null : parameters.toString();
+  }
+
+  public int queries() {
+    return queries;
+  }
+
+  public long rowsScanned() {
+    return rowsScanned;
+  }
+
+  public long rowsReturned() {
+    return rowsReturned;
+  }
+}
@@ -0,0 +1,15 @@
+package com.svenruppert.urlshortener.api.slowlog;
+
+import java.time.Instant;
+
+/**
+ * One admin request that took longer than the slow-operation threshold.
+ *
+ * @param query      raw query string of the request, null if there was none
+ * @param parameters normalized parameters of the last store query (filter or statistics range)
+ * @param queries    number of store queries the request issued
+ */
+public record SlowOperation(Instant at, String method, String endpoint, String query, int status,
+                            double elapsedMillis, String parameters, int queries,
+                            long rowsScanned, long rowsReturned) {
+}
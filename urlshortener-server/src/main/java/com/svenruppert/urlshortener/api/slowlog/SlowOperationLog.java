@@ -0,0 +1,69 @@
+package com.svenruppert.urlshortener.api.slowlog;
+
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bounded ring of the most recent slow operations.
+ * <p>
+ * Only requests over the threshold reach {@link #record(SlowOperation)}, so a lock is fine here.
+ * When the ring is full the oldest entry is overwritten.
+ * <p>
+ * Configuration ({@code -Durlshortener.<key>}): {@code slowlog.enabled} (default true),
+ * {@code slowlog.threshold} (default 250ms) and {@code slowlog.capacity} (default 256).
+ */
+public final class SlowOperationLog {
+
+  private final long thresholdNanos;
+  private final SlowOperation[] ring;
+  private long recorded;
+
+  public SlowOperationLog(Duration threshold, int capacity) {
+    this.thresholdNanos = Math.max(0, threshold.toNanos());
+    this.ring = new SlowOperation[Math.max(1, capacity)];
+  }
+
+  /**
+   * Log from configuration, empty if {@code slowlog.enabled} is false.
+   */
+  public static Optional<SlowOperationLog> fromConfig() {
+    if (!ConfigProperties.bool("slowlog.enabled", true)) return Optional.empty();
+    return Optional.of(new SlowOperationLog(ConfigProperties.duration("slowlog.threshold", Duration.ofMillis(250)),
+                                            ConfigProperties.integer("slowlog.capacity", 256)));
+  }
+
+  public boolean isSlow(long elapsedNanos) {
+    return elapsedNanos >= thresholdNanos;
+  }
+
+  public synchronized void record(SlowOperation operation) {
+    ring[(int) (recorded % ring.length)] = operation;
+    recorded++;
+  }
+
+  /**
+   * Retained entries, newest first.
+   */
+  public synchronized List<SlowOperation> recent() {
+    int size = (int) Math.min(recorded, ring.length);
+    var result = new ArrayList<SlowOperation>(size);
+    for (long i = recorded - 1; i >= recorded - size; i--) {
+      result.add(ring[(int) (i % ring.length)]);
+    }
+    return result;
+  }
+
+  public synchronized Snapshot snapshot() {
+    return new Snapshot(thresholdNanos / 1_000_000.0, ring.length, recorded, recent());
+  }
+
+  /**
+   * @param recorded slow operations seen since start, including those no longer retained
+   */
+  public record Snapshot(double thresholdMillis, int capacity, long recorded, List<SlowOperation> entries) {
+  }
+}
@@ -0,0 +1,14 @@
+package com.svenruppert.urlshortener.api.slowlog;
+
+import java.time.LocalDate;
+
+/**
+ * Parameters of a statistics range query, as reported to a {@link QueryTrace}.
+ */
+public record StatisticsQuery(String operation, String shortCode, LocalDate from, LocalDate to) {
+
+  @Override
+  public String toString() {
+    return operation + "{shortCode='" + shortCode + "', from=" + from + ", to=" + to + "}";
+  }
+}
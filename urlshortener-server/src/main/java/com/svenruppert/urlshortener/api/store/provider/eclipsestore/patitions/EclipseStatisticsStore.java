@@ -1,6 +1,9 @@
 package com.svenruppert.urlshortener.api.store.provider.eclipsestore.patitions;
 
 import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.jfr.StatisticsBatchEvent;
+import com.svenruppert.urlshortener.api.slowlog.QueryTrace;
+import com.svenruppert.urlshortener.api.slowlog.StatisticsQuery;
 import com.svenruppert.urlshortener.api.store.provider.eclipsestore.DataRoot;
 import com.svenruppert.urlshortener.api.store.statistics.StatisticsStore;
 import com.svenruppert.urlshortener.core.statistics.DailyAggregate;
@@ -10,6 +13,7 @@ import com.svenruppert.urlshortener.core.statistics.StatisticsConfig;
 import org.eclipse.store.storage.types.StorageManager;
 
 import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.*;
@@ -61,10 +65,41 @@ public class EclipseStatisticsStore
     if (!eventQueue.offer(event)) {
       logger().warn("Event queue is full, dropping event for shortCode={}", event.shortCode());
     } else {
-      logger().info("Queued redirect event for shortCode={}, queue size={}", event.shortCode(), eventQueue.size());
+      logger().debug("Queued redirect event for shortCode={}", event.shortCode());
     }
   }
 
+  /**
+   * Adds to the aggregates directly, without queueing raw events. Runs under the same lock as
+   * the writer's batches, which mutate the same aggregate objects.
+   */
+  @Override
+  public synchronized void recordCount(String shortCode, Instant timestamp, long count) {
+    if (count <= 0 || !getConfig().isStatisticsEnabled()) {
+      return;
+    }
+    LocalDate date = timestamp.atZone(ZoneOffset.UTC).toLocalDate();
+    int hour = timestamp.atZone(ZoneOffset.UTC).getHour();
+
+    HourlyAggregate hourly = dataRoot().getOrCreateHourlyAggregate(shortCode, date);
+    hourly.add(hour, count);
+    storage.store(hourly);
+    storage.store(dataRoot().hourlyAggregates().get(shortCode));
+
+    DailyAggregate daily = dataRoot().getOrCreateDailyAggregate(shortCode, date);
+    daily.add(count);
+    storage.store(daily);
+    storage.store(dataRoot().dailyAggregates().get(shortCode));
+
+    storage.store(dataRoot().hourlyAggregates());
+    storage.store(dataRoot().dailyAggregates());
+  }
+
+  @Override
+  public int pendingEvents() {
+    return eventQueue.size();
+  }
+
   @Override
   public void flush() {
     logger().info("Flushing event queue, size={}", eventQueue.size());
@@ -115,11 +150,14 @@ public class EclipseStatisticsStore
   public long getCountForDateRange(String shortCode, LocalDate from, LocalDate to) {
     logger().info("getCountForDateRange shortCode {}", shortCode);
     long total = 0;
+    int days = 0;
     LocalDate current = from;
     while (!current.isAfter(to)) {
       total += getCountForDate(shortCode, current);
       current = current.plusDays(1);
+      days++;
     }
+    QueryTrace.query(new StatisticsQuery("countForDateRange", shortCode, from, to), days, 1);
     return total;
   }
 
@@ -177,6 +215,7 @@ public class EclipseStatisticsStore
       return result;
     }
 
+    int days = 0;
     LocalDate current = from;
     while (!current.isAfter(to)) {
       var aggregate = dailyMap.get(current.toString());
@@ -187,7 +226,9 @@ public class EclipseStatisticsStore
         logger().info("getDailyAggregates - aggregate is null for date {}", current);
       }
       current = current.plusDays(1);
+      days++;
     }
+    QueryTrace.query(new StatisticsQuery("dailyAggregates", shortCode, from, to), days, result.size());
     return result;
   }
 
@@ -202,6 +243,7 @@ public class EclipseStatisticsStore
     LocalDate hotWindowStart = getHotWindowStart();
     LocalDate effectiveFrom = from.isBefore(hotWindowStart) ? hotWindowStart : from;
 
+    int days = 0;
     LocalDate current = effectiveFrom;
     while (!current.isAfter(to)) {
       var aggregate = hourlyMap.get(current.toString());
@@ -209,7 +251,9 @@ public class EclipseStatisticsStore
         result.add(aggregate);
       }
       current = current.plusDays(1);
+      days++;
     }
+    QueryTrace.query(new StatisticsQuery("hourlyAggregates", shortCode, from, to), days, result.size());
     return result;
   }
 
@@ -232,12 +276,16 @@ public class EclipseStatisticsStore
   @Override
   public List<RedirectEvent> getEventsForDateRange(String shortCode, LocalDate from, LocalDate to) {
     List<RedirectEvent> result = new ArrayList<>();
+    int days = 0;
     LocalDate current = from;
     while (!current.isAfter(to)) {
       result.addAll(getEventsForDate(shortCode, current));
       current = current.plusDays(1);
+      days++;
     }
     result.sort(Comparator.comparing(RedirectEvent::timestamp));
+    // every event of every day in the range is read and returned
+    QueryTrace.query(new StatisticsQuery("eventsForDateRange", shortCode, from, to), days + result.size(), result.size());
     return result;
   }
 
@@ -382,24 +430,30 @@ public class EclipseStatisticsStore
     logger().info("Writer thread stopped");
   }
 
-  private void processBatch(List<RedirectEvent> batch) {
+  private synchronized void processBatch(List<RedirectEvent> batch) {
     if (batch.isEmpty()) {
       return;
     }
 
-    logger().info("Processing batch of {} events", batch.size());
+    logger().debug("Processing batch of {} events", batch.size());
+    var batchEvent = new StatisticsBatchEvent();
+    batchEvent.begin();
+    long groupingStarted = System.nanoTime();
 
     // Group events by shortCode and date
     Map<String, Map<LocalDate, List<RedirectEvent>>> grouped = new HashMap<>();
     for (RedirectEvent event : batch) {
       LocalDate date = event.timestamp().atZone(ZoneOffset.UTC).toLocalDate();
-      logger().info("processBatch - event.shortCode() = {}, event.timestamp() = {}", event.shortCode(), event.timestamp());
+      logger().debug("processBatch - event.shortCode() = {}, event.timestamp() = {}", event.shortCode(), event.timestamp());
       grouped
           .computeIfAbsent(event.shortCode(), k -> new HashMap<>())
           .computeIfAbsent(date, k -> new ArrayList<>())
           .add(event);
     }
 
+    long commitStarted = System.nanoTime();
+    int groups = 0;
+
     // Collect all modified objects and maps
     //Set<Object> objectsToStore = new HashSet<>();
 
@@ -409,9 +463,10 @@ public class EclipseStatisticsStore
       for (var dateEntry : shortCodeEntry.getValue().entrySet()) {
         LocalDate date = dateEntry.getKey();
         List<RedirectEvent> events = dateEntry.getValue();
+        groups++;
 
         Objects.requireNonNull(date);
-        logger().info("processBatch - date .. {} - events... {}", date, events);
+        logger().debug("processBatch - date .. {} - events... {}", date, events);
 
         // --- Redirect Events ---
         List<RedirectEvent> eventList = dataRoot().getOrCreateEventList(shortCode, date);
@@ -437,7 +492,7 @@ public class EclipseStatisticsStore
         // --- Daily Aggregate ---
         DailyAggregate daily = dataRoot().getOrCreateDailyAggregate(shortCode, date);
         daily.add(events.size());
-        logger().info("processBatch - daily.add(events.size()) = {}", daily.totalCount());
+        logger().debug("processBatch - daily.add(events.size()) = {}", daily.totalCount());
         //        objectsToStore.add(daily);
         //        objectsToStore.add(dataRoot().dailyAggregates().get(shortCode));
         storage.store(daily);
@@ -457,8 +512,17 @@ public class EclipseStatisticsStore
     storage.store(dataRoot().hourlyAggregates());
     storage.store(dataRoot().dailyAggregates());
 
+    batchEvent.end();
+    if (batchEvent.shouldCommit()) {
+      batchEvent.size = batch.size();
+      batchEvent.groups = groups;
+      batchEvent.groupingTime = commitStarted - groupingStarted;
+      batchEvent.commitTime = System.nanoTime() - commitStarted;
+      batchEvent.commit();
+    }
+
     //    logger().info("Batch processing complete, stored {} objects + 3 outer maps", objectsToStore.size());
-    logger().info("Batch processing complete, stored {} objects + outer maps", batch.size());
+    logger().debug("Batch processing complete, stored {} objects + outer maps", batch.size());
   }
 
   private void aggregatorLoop() {
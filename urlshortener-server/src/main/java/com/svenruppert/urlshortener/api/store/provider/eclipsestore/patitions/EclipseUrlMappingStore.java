@@ -3,9 +3,11 @@ package com.svenruppert.urlshortener.api.store.provider.eclipsestore.patitions;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.functional.model.Result;
 import com.svenruppert.urlshortener.api.ShortCodeGenerator;
-import com.svenruppert.urlshortener.api.store.urlmapping.MappingCreator;
-import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilter;
-import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingStore;
+import com.svenruppert.urlshortener.api.jfr.MappingCommittedEvent;
+import com.svenruppert.urlshortener.api.jfr.QueryExecutedEvent;
+import com.svenruppert.urlshortener.api.slowlog.QueryTrace;
+import com.svenruppert.urlshortener.api.store.urlmapping.*;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingChangeListener.Operation;
 import com.svenruppert.urlshortener.api.store.provider.eclipsestore.DataRoot;
 import com.svenruppert.urlshortener.core.JsonUtils;
 import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
@@ -26,6 +28,8 @@ public class EclipseUrlMappingStore
 
   private final StorageManager storage;
   private final MappingCreator creator;
+  private final MappingChangeSupport changes = new MappingChangeSupport();
+  private final MappingStatusIndex statusIndex;
 
   public EclipseUrlMappingStore(StorageManager storage, Clock clock, ShortCodeGenerator generator) {
     this.storage = storage;
@@ -39,25 +43,28 @@ public class EclipseUrlMappingStore
         clockToUse,
         errorMapper
     );
+    this.statusIndex = new MappingStatusIndex(clockToUse);
+    statusIndex.rebuild(dataRoot().shortUrlMappings().values());
+    changes.addListener(statusIndex);
 
   }
 
   @Override
-  public Result<ShortUrlMapping> createMapping(Instant createdAt, String shortCode, String originalUrl, Instant expiredAt, Boolean active) {
+  public synchronized Result<ShortUrlMapping> createMapping(Instant createdAt, String shortCode, String originalUrl, Instant expiredAt, Boolean active) {
     logger().info("createMapping - createdAt: {} - shortCode: {} - originalUrl: {} - expiredAt: {} - active: {}", createdAt, shortCode, originalUrl, expiredAt, active);
     var originalOrDefaultActive = active != null ? active : true;
     return creator.create(createdAt, shortCode, originalUrl, expiredAt, originalOrDefaultActive);
   }
 
   @Override
-  public Result<ShortUrlMapping> createMapping(String shortCode, String originalUrl, Instant expiredAt, Boolean active) {
+  public synchronized Result<ShortUrlMapping> createMapping(String shortCode, String originalUrl, Instant expiredAt, Boolean active) {
     logger().info("createMapping - shortCode: {} - originalUrl: {} - expiredAt: {} - active: {}", shortCode, originalUrl, expiredAt, active);
     var originalOrDefaultActive = active != null ? active : true;
     return creator.create(shortCode, originalUrl, expiredAt, originalOrDefaultActive);
   }
 
   @Override
-  public Result<ShortUrlMapping> editMapping(String shortCode, String url, Instant expiredAt, Boolean active) {
+  public synchronized Result<ShortUrlMapping> editMapping(String shortCode, String url, Instant expiredAt, Boolean active) {
     logger().info("editMapping - shortCode: {} - originalUrl: {} - expiredAt: {} - active: {}", shortCode, url, expiredAt, active);
     var existsByCode = existsByCode(shortCode);
     if (existsByCode) {
@@ -66,8 +73,12 @@ public class EclipseUrlMappingStore
       var originalOrNewUrl = url != null ? url : shortUrlMappingOLD.originalUrl();
       var originalOrNewActive = active != null ? active : shortUrlMappingOLD.active();
       var shortUrlMapping = new ShortUrlMapping(shortCode, originalOrNewUrl, shortUrlMappingOLD.createdAt(), expiredAt, originalOrNewActive);
+      var event = new MappingCommittedEvent();
+      event.begin();
       urlMappings.put(shortUrlMapping.shortCode(), shortUrlMapping);
       storage.store(dataRoot().shortUrlMappings());
+      event.complete("edit", shortUrlMapping);
+      changes.fire(Operation.EDIT, shortUrlMappingOLD, shortUrlMapping);
       return Result.success(shortUrlMapping);
     } else {
       logger().info("editMapping - shortCode {} does not exist", shortCode);
@@ -76,14 +87,19 @@ public class EclipseUrlMappingStore
   }
 
   @Override
-  public boolean delete(String shortCode) {
+  public synchronized boolean delete(String shortCode) {
     logger().info("Deleting shortCode '{}'", shortCode);
     var normalized = normalize(shortCode);
     logger().info("Normalized shortCode for deletion: '{}'", normalized);
-    var removed = dataRoot().shortUrlMappings().remove(normalized) != null;
+    var event = new MappingCommittedEvent();
+    event.begin();
+    var removedMapping = dataRoot().shortUrlMappings().remove(normalized);
+    var removed = removedMapping != null;
     logger().info("Mapping removed from store: {}", removed);
     if (removed) {
       storage.store(dataRoot().shortUrlMappings());
+      event.complete("delete", removedMapping);
+      changes.fire(Operation.DELETE, removedMapping, null);
       logger().info("URL mapping changes persisted");
 
       // Cascade delete: remove all statistics for this shortCode
@@ -97,15 +113,19 @@ public class EclipseUrlMappingStore
   }
 
   @Override
-  public Result<ToggleActive.ToggleActiveResponse> toggleActive(String shortCode, boolean newActiveValue) {
+  public synchronized Result<ToggleActive.ToggleActiveResponse> toggleActive(String shortCode, boolean newActiveValue) {
     if (shortCode == null || shortCode.isBlank())
       return Result.failure("shortCode '" + shortCode + "' is  valid");
     var urlMappings = dataRoot().shortUrlMappings();
     if (urlMappings.containsKey(shortCode)) {
       var urlMapping = urlMappings.get(shortCode);
       var updatedUrlMapping = urlMapping.withActive(newActiveValue);
+      var event = new MappingCommittedEvent();
+      event.begin();
       urlMappings.put(shortCode, updatedUrlMapping);
       storage.store(dataRoot().shortUrlMappings());
+      event.complete("toggleActive", updatedUrlMapping);
+      changes.fire(Operation.TOGGLE_ACTIVE, urlMapping, updatedUrlMapping);
       logger().info("toggleActive - changes persisted in store");
       return Result.success(new ToggleActive.ToggleActiveResponse(shortCode, updatedUrlMapping.active()));
     } else {
@@ -119,44 +139,78 @@ public class EclipseUrlMappingStore
 
   @Override
   public boolean existsByCode(String shortCode) {
-    logger().info("existsByCode '{}'", shortCode);
+    logger().debug("existsByCode '{}'", shortCode);
     String normalized = normalize(shortCode);
-    logger().info("existsByCode - normalized for search '{}'", normalized);
+    logger().debug("existsByCode - normalized for search '{}'", normalized);
     var containsKey = dataRoot().shortUrlMappings().containsKey(normalized);
-    logger().info("existsByCode - containsKey = {}", containsKey);
+    logger().debug("existsByCode - containsKey = {}", containsKey);
     return containsKey;
   }
 
   @Override
   public Optional<ShortUrlMapping> findByShortCode(String shortCode) {
-    logger().info("findByShortCode '{}'", shortCode);
+    logger().debug("findByShortCode '{}'", shortCode);
     String normalized = normalize(shortCode);
-    logger().info("findByShortCode normalized for search '{}'", normalized);
+    logger().debug("findByShortCode normalized for search '{}'", normalized);
     return Optional.ofNullable(dataRoot().shortUrlMappings().get(normalized));
   }
 
   @Override
   public List<ShortUrlMapping> findAll() {
-    logger().info("findAll");
-    return new ArrayList<>(dataRoot().shortUrlMappings().values());
+    logger().debug("findAll");
+    var all = new ArrayList<>(dataRoot().shortUrlMappings().values());
+    QueryTrace.query("findAll", all.size(), all.size());
+    return all;
   }
 
   @Override
   public List<ShortUrlMapping> find(UrlMappingFilter filter) {
     Objects.requireNonNull(filter, "filter");
-    var valueStream = dataRoot().shortUrlMappings().values().stream();
-    return filterSortAndPage(filter, valueStream);
+    var event = new QueryExecutedEvent();
+    event.begin();
+    var mappings = dataRoot().shortUrlMappings().values();
+    var result = filterSortAndPage(filter, mappings);
+    event.complete("find", filter, mappings.size(), result.size());
+    QueryTrace.query(filter, mappings.size(), result.size());
+    return result;
   }
 
   @Override
   public int count(UrlMappingFilter filter) {
+    var event = new QueryExecutedEvent();
+    event.begin();
+    var mappings = dataRoot().shortUrlMappings().values();
     int c = 0;
-    for (ShortUrlMapping m : dataRoot().shortUrlMappings().values()) {
+    for (ShortUrlMapping m : mappings) {
       if (matches(filter, m)) c++;
     }
+    event.complete("count", filter, mappings.size(), c);
+    QueryTrace.query(filter, mappings.size(), c);
     return c;
   }
 
+  @Override
+  public List<ShortUrlMapping> findByStatus(MappingStatus status) {
+    var result = statusIndex.find(status);
+    QueryTrace.query(status, result.size(), result.size());
+    return result;
+  }
+
+  @Override
+  public int countByStatus(MappingStatus status) {
+    return statusIndex.count(status);
+  }
+
+  @Override
+  public long mutationVersion() {
+    return changes.version();
+  }
+
+  @Override
+  public void addChangeListener(UrlMappingChangeListener listener) {
+    changes.addListener(listener);
+  }
+
   @Override
   public int countAll() {
     return dataRoot().shortUrlMappings().size();
@@ -166,10 +220,14 @@ public class EclipseUrlMappingStore
   private void storeMappingAndPersist(ShortUrlMapping m) {
     var dataRoot = dataRoot();
     var mappings = dataRoot.shortUrlMappings();
-    logger().info("storeMappingAndPersist - mappings size {}", mappings.size());
-    mappings.put(m.shortCode(), m);
-    logger().info("storeMappingAndPersist {}", m);
+    logger().debug("storeMappingAndPersist - mappings size {}", mappings.size());
+    var event = new MappingCommittedEvent();
+    event.begin();
+    var previous = mappings.put(m.shortCode(), m);
+    logger().debug("storeMappingAndPersist {}", m);
     var stored = storage.store(mappings);
-    logger().info("storeMappingAndPersist stored - {}", stored);
+    event.complete("create", m);
+    changes.fire(Operation.CREATE, previous, m);
+    logger().debug("storeMappingAndPersist stored - {}", stored);
   }
 }
@@ -1,6 +1,8 @@
 package com.svenruppert.urlshortener.api.store.provider.inmemory;
 
 import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.slowlog.QueryTrace;
+import com.svenruppert.urlshortener.api.slowlog.StatisticsQuery;
 import com.svenruppert.urlshortener.api.store.statistics.StatisticsStore;
 import com.svenruppert.urlshortener.core.statistics.DailyAggregate;
 import com.svenruppert.urlshortener.core.statistics.HourlyAggregate;
@@ -8,6 +10,7 @@ import com.svenruppert.urlshortener.core.statistics.RedirectEvent;
 import com.svenruppert.urlshortener.core.statistics.StatisticsConfig;
 
 import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.*;
@@ -78,6 +81,22 @@ public class InMemoryStatisticsStore
     logger().debug("Recorded event for shortCode={} date={} hour={}", shortCode, date, hour);
   }
 
+  @Override
+  public void recordCount(String shortCode, Instant timestamp, long count) {
+    if (shortCode == null || count <= 0 || !config.isStatisticsEnabled()) {
+      return;
+    }
+    LocalDate date = timestamp.atZone(ZoneOffset.UTC).toLocalDate();
+    int hour = timestamp.atZone(ZoneOffset.UTC).getHour();
+
+    hourlyAggregates.computeIfAbsent(shortCode, k -> new ConcurrentHashMap<>())
+        .computeIfAbsent(date, k -> new HourlyAggregate(date))
+        .add(hour, count);
+    dailyAggregates.computeIfAbsent(shortCode, k -> new ConcurrentHashMap<>())
+        .computeIfAbsent(date, k -> new DailyAggregate(date))
+        .add(count);
+  }
+
   @Override
   public void flush() {
     // No-op for in-memory implementation (events are processed synchronously)
@@ -114,11 +133,14 @@ public class InMemoryStatisticsStore
   @Override
   public long getCountForDateRange(String shortCode, LocalDate from, LocalDate to) {
     long total = 0;
+    int days = 0;
     LocalDate current = from;
     while (!current.isAfter(to)) {
       total += getCountForDate(shortCode, current);
       current = current.plusDays(1);
+      days++;
     }
+    QueryTrace.query(new StatisticsQuery("countForDateRange", shortCode, from, to), days, 1);
     return total;
   }
 
@@ -171,10 +193,12 @@ public class InMemoryStatisticsStore
       return Collections.emptyList();
     }
 
-    return dailyMap.values().stream()
+    List<DailyAggregate> result = dailyMap.values().stream()
         .filter(agg -> !agg.date().isBefore(from) && !agg.date().isAfter(to))
         .sorted(Comparator.comparing(DailyAggregate::date))
         .collect(Collectors.toList());
+    QueryTrace.query(new StatisticsQuery("dailyAggregates", shortCode, from, to), dailyMap.size(), result.size());
+    return result;
   }
 
   @Override
@@ -186,11 +210,13 @@ public class InMemoryStatisticsStore
 
     LocalDate hotWindowStart = getHotWindowStart();
 
-    return hourlyMap.values().stream()
+    List<HourlyAggregate> result = hourlyMap.values().stream()
         .filter(agg -> !agg.date().isBefore(from) && !agg.date().isAfter(to))
         .filter(agg -> !agg.date().isBefore(hotWindowStart))
         .sorted(Comparator.comparing(HourlyAggregate::date))
         .collect(Collectors.toList());
+    QueryTrace.query(new StatisticsQuery("hourlyAggregates", shortCode, from, to), hourlyMap.size(), result.size());
+    return result;
   }
 
   // ============================================================================
@@ -222,6 +248,7 @@ public class InMemoryStatisticsStore
     }
 
     List<RedirectEvent> result = new ArrayList<>();
+    int days = 0;
     LocalDate current = from;
     while (!current.isAfter(to)) {
       var eventList = eventMap.get(current);
@@ -229,9 +256,12 @@ public class InMemoryStatisticsStore
         result.addAll(eventList);
       }
       current = current.plusDays(1);
+      days++;
     }
 
     result.sort(Comparator.comparing(RedirectEvent::timestamp));
+    // every event of every day in the range is read and returned
+    QueryTrace.query(new StatisticsQuery("eventsForDateRange", shortCode, from, to), days + result.size(), result.size());
     return result;
   }
 
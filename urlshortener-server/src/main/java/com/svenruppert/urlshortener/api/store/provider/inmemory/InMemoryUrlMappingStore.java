@@ -3,12 +3,15 @@ package com.svenruppert.urlshortener.api.store.provider.inmemory;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.functional.model.Result;
 import com.svenruppert.urlshortener.api.ShortCodeGenerator;
-import com.svenruppert.urlshortener.api.store.urlmapping.MappingCreator;
-import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilter;
-import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingStore;
+import com.svenruppert.urlshortener.api.jfr.MappingCommittedEvent;
+import com.svenruppert.urlshortener.api.jfr.QueryExecutedEvent;
+import com.svenruppert.urlshortener.api.slowlog.QueryTrace;
+import com.svenruppert.urlshortener.api.store.urlmapping.*;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingChangeListener.Operation;
 import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
 import com.svenruppert.urlshortener.core.urlmapping.ToggleActive.ToggleActiveResponse;
 
+import java.time.Clock;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -24,67 +27,118 @@ public class InMemoryUrlMappingStore
   private final Map<String, ShortUrlMapping> store = new ConcurrentHashMap<>();
 
   private final MappingCreator creator;
+  private final MappingChangeSupport changes = new MappingChangeSupport();
+  private final MappingStatusIndex statusIndex;
 
   public InMemoryUrlMappingStore(ShortCodeGenerator generator) {
+    this(generator, Clock.systemUTC());
+  }
+
+  public InMemoryUrlMappingStore(ShortCodeGenerator generator, Clock clock) {
+    this.statusIndex = new MappingStatusIndex(clock);
+    changes.addListener(statusIndex);
     this.creator = new MappingCreator(
         generator,
         this::existsByCode,
         this::storeMapping,
-        java.time.Clock.systemUTC(),
+        clock,
         err -> toJson(err.httpStatus(), err.message(), err.reasonCode()) // dein bisheriges error JSON
     );
   }
 
   @Override
   public Optional<ShortUrlMapping> findByShortCode(String shortCode) {
-    logger().info("findByShortCode '{}'", shortCode);
+    logger().debug("findByShortCode '{}'", shortCode);
     String normalized = normalize(shortCode);
-    logger().info("findByShortCode normalized for search '{}'", normalized);
+    logger().debug("findByShortCode normalized for search '{}'", normalized);
     return Optional.ofNullable(store.get(normalized));
   }
 
   @Override
   public List<ShortUrlMapping> findAll() {
-    return new ArrayList<>(store.values());
+    var all = new ArrayList<>(store.values());
+    QueryTrace.query("findAll", all.size(), all.size());
+    return all;
   }
 
   @Override
   public List<ShortUrlMapping> find(UrlMappingFilter filter) {
     Objects.requireNonNull(filter, "filter");
-    var valueStream = store.values().stream();
-    return filterSortAndPage(filter, valueStream);
+    var event = new QueryExecutedEvent();
+    event.begin();
+    var result = filterSortAndPage(filter, store.values());
+    event.complete("find", filter, store.size(), result.size());
+    QueryTrace.query(filter, store.size(), result.size());
+    return result;
   }
 
   @Override
   public int count(UrlMappingFilter filter) {
+    var event = new QueryExecutedEvent();
+    event.begin();
     int c = 0;
     for (ShortUrlMapping m : store.values()) {
       if (matches(filter, m)) c++;
     }
+    event.complete("count", filter, store.size(), c);
+    QueryTrace.query(filter, store.size(), c);
     return c;
   }
 
+  @Override
+  public List<ShortUrlMapping> findByStatus(MappingStatus status) {
+    var result = statusIndex.find(status);
+    QueryTrace.query(status, result.size(), result.size());
+    return result;
+  }
+
+  @Override
+  public int countByStatus(MappingStatus status) {
+    return statusIndex.count(status);
+  }
+
+  @Override
+  public long mutationVersion() {
+    return changes.version();
+  }
+
+  @Override
+  public void addChangeListener(UrlMappingChangeListener listener) {
+    changes.addListener(listener);
+  }
+
   @Override
   public int countAll() {
     return store.size();
   }
 
   @Override
-  public boolean delete(String shortCode) {
+  public synchronized boolean delete(String shortCode) {
     logger().info("delete '{}'", shortCode);
     String normalized = normalize(shortCode);
     logger().info("delete - normalized for deletion '{}'", normalized);
-    return store.remove(normalized) != null;
+    var event = new MappingCommittedEvent();
+    event.begin();
+    var removed = store.remove(normalized);
+    if (removed != null) {
+      event.complete("delete", removed);
+      changes.fire(Operation.DELETE, removed, null);
+    }
+    return removed != null;
   }
 
   @Override
-  public Result<ToggleActiveResponse> toggleActive(String shortCode, boolean newActiveValue) {
+  public synchronized Result<ToggleActiveResponse> toggleActive(String shortCode, boolean newActiveValue) {
     if (shortCode == null || shortCode.isBlank())
       return Result.failure("shortCode '" + shortCode + "' is  valid");
     if (store.containsKey(shortCode)) {
       var urlMapping = store.get(shortCode);
       var updatedUrlMapping = urlMapping.withActive(newActiveValue);
+      var event = new MappingCommittedEvent();
+      event.begin();
       store.put(shortCode, updatedUrlMapping);
+      event.complete("toggleActive", updatedUrlMapping);
+      changes.fire(Operation.TOGGLE_ACTIVE, urlMapping, updatedUrlMapping);
       return Result.success(new ToggleActiveResponse(shortCode, updatedUrlMapping.active()));
     } else {
       return Result.failure("shortCode " + shortCode + " not found");
@@ -92,21 +146,21 @@ public class InMemoryUrlMappingStore
   }
 
   @Override
-  public Result<ShortUrlMapping> createMapping(Instant createdAt, String shortCode, String originalUrl, Instant expiredAt, Boolean active) {
+  public synchronized Result<ShortUrlMapping> createMapping(Instant createdAt, String shortCode, String originalUrl, Instant expiredAt, Boolean active) {
     logger().info("createMapping - createdAt: {} - shortCode: {} - originalUrl: {} - expiredAt: {} - active: {}", createdAt, shortCode, originalUrl, expiredAt, active);
     var originalOrDefaultActive = active != null ? active : true;
     return creator.create(createdAt, shortCode, originalUrl, expiredAt, originalOrDefaultActive);
   }
 
   @Override
-  public Result<ShortUrlMapping> createMapping(String shortCode, String originalUrl, Instant expiredAt, Boolean active) {
+  public synchronized Result<ShortUrlMapping> createMapping(String shortCode, String originalUrl, Instant expiredAt, Boolean active) {
     logger().info("createMapping - shortCode: {} - originalUrl: {} - expiredAt: {} - active: {}", shortCode, originalUrl, expiredAt, active);
     var originalOrDefaultActive = active != null ? active : true;
     return creator.create(shortCode, originalUrl, expiredAt, originalOrDefaultActive);
   }
 
   @Override
-  public Result<ShortUrlMapping> editMapping(String shortCode, String url, Instant expiredAt, Boolean active) {
+  public synchronized Result<ShortUrlMapping> editMapping(String shortCode, String url, Instant expiredAt, Boolean active) {
     logger().info("editMapping - shortCode: {} - originalUrl: {} - expiredAt: {} - active: {}", shortCode, url, expiredAt, active);
     var existsByCode = existsByCode(shortCode);
     if (existsByCode) {
@@ -119,7 +173,11 @@ public class InMemoryUrlMappingStore
           shortUrlMappingOLD.createdAt(),
           expiredAt,
           originalOrNewActive);
+      var event = new MappingCommittedEvent();
+      event.begin();
       store.put(shortUrlMapping.shortCode(), shortUrlMapping);
+      event.complete("edit", shortUrlMapping);
+      changes.fire(Operation.EDIT, shortUrlMappingOLD, shortUrlMapping);
       return Result.success(shortUrlMapping);
     } else {
       logger().info("editMapping - shortCode {} does not exists", shortCode);
@@ -128,14 +186,18 @@ public class InMemoryUrlMappingStore
   }
 
   private void storeMapping(ShortUrlMapping shortMapping) {
-    store.put(shortMapping.shortCode(), shortMapping);
+    var event = new MappingCommittedEvent();
+    event.begin();
+    var previous = store.put(shortMapping.shortCode(), shortMapping);
+    event.complete("create", shortMapping);
+    changes.fire(Operation.CREATE, previous, shortMapping);
   }
 
   @Override
   public boolean existsByCode(String shortCode) {
-    logger().info("existsByCode '{}'", shortCode);
+    logger().debug("existsByCode '{}'", shortCode);
     String normalized = normalize(shortCode);
-    logger().info("existsByCode - normalized for search '{}'", normalized);
+    logger().debug("existsByCode - normalized for search '{}'", normalized);
     return store.containsKey(normalized);
   }
 }
\ No newline at end of file
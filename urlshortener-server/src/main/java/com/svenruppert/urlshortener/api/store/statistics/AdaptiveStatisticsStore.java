@@ -0,0 +1,346 @@
+package com.svenruppert.urlshortener.api.store.statistics;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+import com.svenruppert.urlshortener.core.statistics.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics store decorator that gives up click detail before it costs redirect latency.
+ * <p>
+ * Once per {@code interval} a controller looks at the average redirect latency reported through
+ * {@link #redirectCompleted(long)} and at the wrapped store's {@link #pendingEvents()}. Under
+ * pressure it steps one {@link StatisticsLevel} down per interval:
+ * {@code FULL -> SAMPLED -> AGGREGATE_ONLY -> DISABLED}. After {@code recoveryIntervals} calm
+ * intervals in a row (latency below half, queue below a quarter of the thresholds) it steps
+ * one level back up. Every transition is kept (the most recent {@value #MAX_TRANSITIONS}) and
+ * shown in the statistics config and debug endpoints.
+ * <p>
+ * While sampling, {@link #detailRequested()} asks for full detail on every
+ * {@code sampleRate}-th redirect. The other redirects, and all of them at
+ * {@code AGGREGATE_ONLY}, are only counted: counts are summed per short code and hour in memory
+ * and written to the wrapped store once per interval. This keeps the daily and hourly totals
+ * exact until the level reaches {@code DISABLED}.
+ * <p>
+ * Configuration ({@code -Durlshortener.<key>}): {@code statistics.adaptive.enabled} (default
+ * true), {@code statistics.adaptive.interval}, {@code statistics.adaptive.latencyHigh},
+ * {@code statistics.adaptive.queueHigh}, {@code statistics.adaptive.sampleRate} and
+ * {@code statistics.adaptive.recoveryIntervals}.
+ */
+public class AdaptiveStatisticsStore
+    implements StatisticsStore, HasLogger {
+
+  static final int MAX_TRANSITIONS = 64;
+
+  private final StatisticsStore delegate;
+  private final Settings settings;
+  private final Clock clock;
+
+  private final LongAdder latencySum = new LongAdder();
+  private final LongAdder latencyCount = new LongAdder();
+  private final AtomicLong sampleCounter = new AtomicLong();
+  private final LongAdder dropped = new LongAdder();
+  private final Map<CountKey, Long> pendingCounts = new ConcurrentHashMap<>();
+  private final Deque<StatisticsLevelTransition> transitions = new ArrayDeque<>();
+
+  private volatile StatisticsLevel level = StatisticsLevel.FULL;
+  private int calmIntervals; // controller thread only
+  private ScheduledExecutorService controller;
+
+  public AdaptiveStatisticsStore(StatisticsStore delegate, Settings settings, Clock clock) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate");
+    this.settings = Objects.requireNonNull(settings, "settings");
+    this.clock = Objects.requireNonNull(clock, "clock");
+  }
+
+  public record Settings(Duration interval,
+                         Duration latencyHigh,
+                         int queueHigh,
+                         int sampleRate,
+                         int recoveryIntervals) {
+
+    public Settings {
+      interval = (interval == null || interval.isZero() || interval.isNegative()) ? Duration.ofSeconds(1) : interval;
+      latencyHigh = (latencyHigh == null || latencyHigh.isNegative()) ? Duration.ofMillis(50) : latencyHigh;
+      queueHigh = Math.max(1, queueHigh);
+      sampleRate = Math.max(1, sampleRate);
+      recoveryIntervals = Math.max(1, recoveryIntervals);
+    }
+
+    public static Settings fromConfig() {
+      return new Settings(
+          ConfigProperties.duration("statistics.adaptive.interval", Duration.ofSeconds(1)),
+          ConfigProperties.duration("statistics.adaptive.latencyHigh", Duration.ofMillis(50)),
+          ConfigProperties.integer("statistics.adaptive.queueHigh", 10_000),
+          ConfigProperties.integer("statistics.adaptive.sampleRate", 10),
+          ConfigProperties.integer("statistics.adaptive.recoveryIntervals", 5));
+    }
+  }
+
+  /**
+   * Wraps {@code delegate} unless {@code statistics.adaptive.enabled} is false.
+   */
+  public static StatisticsStore wrapFromConfig(StatisticsStore delegate) {
+    if (!ConfigProperties.bool("statistics.adaptive.enabled", true)) return delegate;
+    var adaptive = new AdaptiveStatisticsStore(delegate, Settings.fromConfig(), Clock.systemUTC());
+    adaptive.startController();
+    return adaptive;
+  }
+
+  // ==================== StatisticsWriter ====================
+
+  /**
+   * Passes the event on while at {@code FULL} or {@code SAMPLED} - at {@code SAMPLED} the
+   * caller is expected to have asked {@link #detailRequested()} - and only counts it below.
+   */
+  @Override
+  public void recordEvent(RedirectEvent event) {
+    if (event == null) return;
+    switch (level) {
+      case FULL, SAMPLED -> delegate.recordEvent(event);
+      case AGGREGATE_ONLY -> recordCount(event.shortCode(), event.timestamp(), 1);
+      case DISABLED -> dropped.increment();
+    }
+  }
+
+  @Override
+  public void recordCount(String shortCode, Instant timestamp, long count) {
+    if (shortCode == null || count <= 0) return;
+    if (level == StatisticsLevel.DISABLED) {
+      dropped.add(count);
+      return;
+    }
+    pendingCounts.merge(new CountKey(shortCode, timestamp.getEpochSecond() / 3600), count, Long::sum);
+  }
+
+  @Override
+  public boolean detailRequested() {
+    return switch (level) {
+      case FULL -> true;
+      case SAMPLED -> sampleCounter.incrementAndGet() % settings.sampleRate() == 0;
+      case AGGREGATE_ONLY, DISABLED -> false;
+    };
+  }
+
+  @Override
+  public void redirectCompleted(long latencyNanos) {
+    latencySum.add(latencyNanos);
+    latencyCount.increment();
+  }
+
+  @Override
+  public int pendingEvents() {
+    return delegate.pendingEvents();
+  }
+
+  @Override
+  public void flush() {
+    flushCounts();
+    delegate.flush();
+  }
+
+  // ==================== Controller ====================
+
+  public synchronized void startController() {
+    if (controller != null) return;
+    controller = Executors.newSingleThreadScheduledExecutor(r -> {
+      var t = new Thread(r, "statistics-adaptive");
+      t.setDaemon(true);
+      return t;
+    });
+    long periodMillis = settings.interval().toMillis();
+    controller.scheduleWithFixedDelay(this::tick, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    logger().info("adaptive statistics running - latencyHigh={}, queueHigh={}, sampleRate=1/{}",
+                  settings.latencyHigh(), settings.queueHigh(), settings.sampleRate());
+  }
+
+  public synchronized void stopController() {
+    if (controller == null) return;
+    controller.shutdownNow();
+    controller = null;
+    flushCounts();
+  }
+
+  private void tick() {
+    try {
+      long count = latencyCount.sumThenReset();
+      long sum = latencySum.sumThenReset();
+      evaluate(count == 0 ? 0 : sum / count, delegate.pendingEvents());
+      flushCounts();
+    } catch (Exception e) {
+      logger().warn("adaptive statistics tick failed - {}", e.getMessage());
+    }
+  }
+
+  /**
+   * One controller step with the measurements of the last interval.
+   */
+  public void evaluate(long averageLatencyNanos, int queueDepth) {
+    long high = settings.latencyHigh().toNanos();
+    boolean pressure = averageLatencyNanos > high || queueDepth > settings.queueHigh();
+    boolean calm = averageLatencyNanos <= high / 2 && queueDepth <= settings.queueHigh() / 4;
+    StatisticsLevel current = level;
+    if (pressure) {
+      calmIntervals = 0;
+      if (current != StatisticsLevel.DISABLED) {
+        transition(current, current.lower(), averageLatencyNanos, queueDepth);
+      }
+    } else if (calm && current != StatisticsLevel.FULL) {
+      if (++calmIntervals >= settings.recoveryIntervals()) {
+        calmIntervals = 0;
+        transition(current, current.higher(), averageLatencyNanos, queueDepth);
+      }
+    } else {
+      calmIntervals = 0;
+    }
+  }
+
+  private void transition(StatisticsLevel from, StatisticsLevel to, long latencyNanos, int queueDepth) {
+    String reason = String.format(Locale.ROOT, "latency %.1fms (high %dms), queue %d (high %d)",
+                                  latencyNanos / 1_000_000.0, settings.latencyHigh().toMillis(),
+                                  queueDepth, settings.queueHigh());
+    var transition = new StatisticsLevelTransition(clock.instant(), from, to, reason);
+    synchronized (transitions) {
+      transitions.addLast(transition);
+      while (transitions.size() > MAX_TRANSITIONS) transitions.removeFirst();
+    }
+    level = to;
+    logger().warn("statistics level {} -> {} - {}", from, to, reason);
+  }
+
+  private void flushCounts() {
+    for (CountKey key : pendingCounts.keySet()) {
+      Long count = pendingCounts.remove(key);
+      if (count == null) continue;
+      try {
+        delegate.recordCount(key.shortCode(), Instant.ofEpochSecond(key.hour() * 3600), count);
+      } catch (Exception e) {
+        logger().warn("writing {} aggregated redirects for {} failed - {}", count, key.shortCode(), e.getMessage());
+      }
+    }
+  }
+
+  private record CountKey(String shortCode, long hour) {
+  }
+
+  // ==================== StatisticsStore ====================
+
+  @Override
+  public StatisticsLevel statisticsLevel() {
+    return level;
+  }
+
+  @Override
+  public List<StatisticsLevelTransition> levelTransitions() {
+    synchronized (transitions) {
+      return List.copyOf(transitions);
+    }
+  }
+
+  @Override
+  public Map<String, Object> getDebugInfo() {
+    var info = new LinkedHashMap<>(delegate.getDebugInfo());
+    var adaptive = new LinkedHashMap<String, Object>();
+    adaptive.put("level", level);
+    adaptive.put("pendingAggregatedCounts", pendingCounts.size());
+    adaptive.put("droppedWhileDisabled", dropped.sum());
+    adaptive.put("transitions", levelTransitions());
+    info.put("adaptiveStatistics", adaptive);
+    return info;
+  }
+
+  @Override
+  public StatisticsConfig getConfig() {
+    return delegate.getConfig();
+  }
+
+  @Override
+  public void updateConfig(StatisticsConfig config) {
+    delegate.updateConfig(config);
+  }
+
+  @Override
+  public void removeAllForShortCode(String shortCode) {
+    pendingCounts.keySet().removeIf(k -> k.shortCode().equals(shortCode));
+    delegate.removeAllForShortCode(shortCode);
+  }
+
+  @Override
+  public void start() {
+    delegate.start();
+  }
+
+  @Override
+  public void stop() {
+    stopController();
+    delegate.stop();
+  }
+
+  // ==================== StatisticsReader ====================
+
+  @Override
+  public long getCountForDate(String shortCode, LocalDate date) {
+    return delegate.getCountForDate(shortCode, date);
+  }
+
+  @Override
+  public long getCountForDateRange(String shortCode, LocalDate from, LocalDate to) {
+    return delegate.getCountForDateRange(shortCode, from, to);
+  }
+
+  @Override
+  public long getTotalCount(String shortCode) {
+    return delegate.getTotalCount(shortCode);
+  }
+
+  @Override
+  public Optional<HourlyAggregate> getHourlyAggregate(String shortCode, LocalDate date) {
+    return delegate.getHourlyAggregate(shortCode, date);
+  }
+
+  @Override
+  public Optional<DailyAggregate> getDailyAggregate(String shortCode, LocalDate date) {
+    return delegate.getDailyAggregate(shortCode, date);
+  }
+
+  @Override
+  public List<DailyAggregate> getDailyAggregates(String shortCode, LocalDate from, LocalDate to) {
+    return delegate.getDailyAggregates(shortCode, from, to);
+  }
+
+  @Override
+  public List<HourlyAggregate> getHourlyAggregates(String shortCode, LocalDate from, LocalDate to) {
+    return delegate.getHourlyAggregates(shortCode, from, to);
+  }
+
+  @Override
+  public List<RedirectEvent> getEventsForDate(String shortCode, LocalDate date) {
+    return delegate.getEventsForDate(shortCode, date);
+  }
+
+  @Override
+  public List<RedirectEvent> getEventsForDateRange(String shortCode, LocalDate from, LocalDate to) {
+    return delegate.getEventsForDateRange(shortCode, from, to);
+  }
+
+  @Override
+  public List<LocalDate> getAvailableDates(String shortCode) {
+    return delegate.getAvailableDates(shortCode);
+  }
+
+  @Override
+  public boolean isInHotWindow(LocalDate date) {
+    return delegate.isInHotWindow(date);
+  }
+}
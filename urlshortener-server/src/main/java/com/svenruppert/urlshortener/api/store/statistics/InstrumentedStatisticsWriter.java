@@ -0,0 +1,75 @@
+package com.svenruppert.urlshortener.api.store.statistics;
+
+import com.svenruppert.urlshortener.api.metrics.Counter;
+import com.svenruppert.urlshortener.api.metrics.LatencyHistogram;
+import com.svenruppert.urlshortener.api.metrics.MetricsRegistry;
+import com.svenruppert.urlshortener.core.statistics.RedirectEvent;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Counts redirect events handed to a {@link StatisticsWriter} and records how long the hand-over
+ * takes on the request thread ({@code urlshortener_statistics_write_duration_seconds}).
+ * Everything else is passed through unchanged.
+ */
+public final class InstrumentedStatisticsWriter
+    implements StatisticsWriter {
+
+  private final StatisticsWriter delegate;
+  private final LatencyHistogram writeDuration;
+  private final Counter detailedEvents;
+  private final Counter countedEvents;
+
+  public InstrumentedStatisticsWriter(StatisticsWriter delegate, MetricsRegistry registry) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate");
+    this.writeDuration = registry.histogram("urlshortener_statistics_write_duration_seconds",
+                                            "Time spent handing a redirect event to the statistics store");
+    this.detailedEvents = registry.counter("urlshortener_statistics_events_total",
+                                           "Redirect events recorded", "kind", "detailed");
+    this.countedEvents = registry.counter("urlshortener_statistics_events_total",
+                                          "Redirect events recorded", "kind", "counted");
+  }
+
+  @Override
+  public void recordEvent(RedirectEvent event) {
+    long start = System.nanoTime();
+    try {
+      delegate.recordEvent(event);
+    } finally {
+      writeDuration.record(System.nanoTime() - start);
+      detailedEvents.increment();
+    }
+  }
+
+  @Override
+  public void recordCount(String shortCode, Instant timestamp, long count) {
+    long start = System.nanoTime();
+    try {
+      delegate.recordCount(shortCode, timestamp, count);
+    } finally {
+      writeDuration.record(System.nanoTime() - start);
+      countedEvents.add(count);
+    }
+  }
+
+  @Override
+  public boolean detailRequested() {
+    return delegate.detailRequested();
+  }
+
+  @Override
+  public void redirectCompleted(long latencyNanos) {
+    delegate.redirectCompleted(latencyNanos);
+  }
+
+  @Override
+  public int pendingEvents() {
+    return delegate.pendingEvents();
+  }
+
+  @Override
+  public void flush() {
+    delegate.flush();
+  }
+}
@@ -4,6 +4,7 @@ import com.sun.net.httpserver.HttpExchange;
 import com.svenruppert.urlshortener.core.statistics.RedirectEvent;
 import com.svenruppert.urlshortener.core.statistics.RedirectEventBuilder;
 
+import java.net.InetSocketAddress;
 import java.time.Clock;
 import java.util.List;
 
@@ -38,22 +39,37 @@ public final class RequestDataExtractor {
   public RedirectEvent extractEvent(HttpExchange exchange, String shortCode) {
     var headers = exchange.getRequestHeaders();
 
+    return extractEvent(shortCode,
+                        getFirstHeader(headers, HEADER_USER_AGENT),
+                        getFirstHeader(headers, HEADER_REFERER),
+                        getFirstHeader(headers, HEADER_ACCEPT_LANGUAGE),
+                        getFirstHeader(headers, HEADER_X_FORWARDED_FOR),
+                        exchange.getRemoteAddress());
+  }
+
+  /**
+   * Creates a RedirectEvent from already parsed request data, for transports that do not
+   * use {@link HttpExchange}.
+   */
+  public RedirectEvent extractEvent(String shortCode,
+                                    String userAgent,
+                                    String referer,
+                                    String acceptLanguage,
+                                    String forwardedFor,
+                                    InetSocketAddress remoteAddress) {
     return RedirectEventBuilder.forShortCode(shortCode, clock)
-        .userAgent(getFirstHeader(headers, HEADER_USER_AGENT))
-        .referer(getFirstHeader(headers, HEADER_REFERER))
-        .acceptLanguage(getFirstHeader(headers, HEADER_ACCEPT_LANGUAGE))
-        .ipAddress(extractClientIp(exchange))
+        .userAgent(userAgent)
+        .referer(referer)
+        .acceptLanguage(acceptLanguage)
+        .ipAddress(extractClientIp(forwardedFor, remoteAddress))
         .build();
   }
 
   /**
    * Extracts the client IP address, considering proxy headers.
    */
-  private String extractClientIp(HttpExchange exchange) {
-    var headers = exchange.getRequestHeaders();
-
+  private String extractClientIp(String forwardedFor, InetSocketAddress remoteAddress) {
     // Check X-Forwarded-For first (common proxy header)
-    String forwardedFor = getFirstHeader(headers, HEADER_X_FORWARDED_FOR);
     if (forwardedFor != null && !forwardedFor.isBlank()) {
       // X-Forwarded-For can contain multiple IPs, take the first one
       int commaIndex = forwardedFor.indexOf(',');
@@ -64,7 +80,6 @@ public final class RequestDataExtractor {
     }
 
     // Fall back to remote address
-    var remoteAddress = exchange.getRemoteAddress();
     if (remoteAddress != null && remoteAddress.getAddress() != null) {
       return remoteAddress.getAddress().getHostAddress();
     }
@@ -1,7 +1,10 @@
 package com.svenruppert.urlshortener.api.store.statistics;
 
 import com.svenruppert.urlshortener.core.statistics.StatisticsConfig;
+import com.svenruppert.urlshortener.core.statistics.StatisticsLevel;
+import com.svenruppert.urlshortener.core.statistics.StatisticsLevelTransition;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -43,6 +46,20 @@ public interface StatisticsStore extends StatisticsReader, StatisticsWriter {
    */
   void stop();
 
+  /**
+   * The detail level redirects are currently recorded with.
+   */
+  default StatisticsLevel statisticsLevel() {
+    return StatisticsLevel.FULL;
+  }
+
+  /**
+   * Recent changes of {@link #statisticsLevel()}, oldest first.
+   */
+  default List<StatisticsLevelTransition> levelTransitions() {
+    return List.of();
+  }
+
   /**
    * Returns debug information about the internal state of the statistics store.
    * Used for debugging persistence issues.
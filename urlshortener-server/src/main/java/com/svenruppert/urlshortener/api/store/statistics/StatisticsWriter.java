@@ -2,6 +2,8 @@ package com.svenruppert.urlshortener.api.store.statistics;
 
 import com.svenruppert.urlshortener.core.statistics.RedirectEvent;
 
+import java.time.Instant;
+
 /**
  * Interface for recording redirect events.
  * Implementations should be optimized for high-throughput writes.
@@ -16,6 +18,39 @@ public interface StatisticsWriter {
    */
   void recordEvent(RedirectEvent event);
 
+  /**
+   * Adds {@code count} redirects of {@code shortCode} at {@code timestamp} to the aggregates
+   * without storing raw events. The default records minimal events.
+   */
+  default void recordCount(String shortCode, Instant timestamp, long count) {
+    for (long i = 0; i < count; i++) {
+      recordEvent(RedirectEvent.minimal(shortCode, timestamp));
+    }
+  }
+
+  /**
+   * Whether the next redirect should be recorded with full detail through
+   * {@link #recordEvent(RedirectEvent)}. If not, callers skip building the event and use
+   * {@link #recordCount(String, Instant, long)} instead.
+   */
+  default boolean detailRequested() {
+    return true;
+  }
+
+  /**
+   * Reports the latency of a finished redirect. Writers that adapt to load use it as a
+   * pressure signal; the default ignores it.
+   */
+  default void redirectCompleted(long latencyNanos) {
+  }
+
+  /**
+   * Events accepted but not yet written, 0 for synchronous writers.
+   */
+  default int pendingEvents() {
+    return 0;
+  }
+
   /**
    * Flushes any buffered events to persistent storage.
    * Called during shutdown or when immediate persistence is required.
@@ -0,0 +1,143 @@
+package com.svenruppert.urlshortener.api.store.urlmapping;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the filtered list and count queries of the admin API.
+ * <p>
+ * Every entry remembers the {@link UrlMappingLookup#mutationVersion()} it was computed for.
+ * A mutation in the underlying store bumps the version, which turns all existing
+ * entries into misses without touching the cache itself. Stale entries are
+ * overwritten on the next access or fall out of the LRU over time.
+ * <p>
+ * Only {@link #find(UrlMappingFilter)} and {@link #count(UrlMappingFilter)} are cached,
+ * everything else goes straight to the delegate.
+ */
+public class CachingUrlMappingLookup
+    implements UrlMappingLookup, HasLogger {
+
+  private final UrlMappingLookup delegate;
+  private final int maxEntries;
+  private final Map<Key, Entry> entries;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  public CachingUrlMappingLookup(UrlMappingLookup delegate, int maxEntries) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate");
+    if (maxEntries < 1) throw new IllegalArgumentException("maxEntries must be > 0");
+    this.maxEntries = maxEntries;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+        return size() > CachingUrlMappingLookup.this.maxEntries;
+      }
+    };
+  }
+
+  @Override
+  public List<ShortUrlMapping> find(UrlMappingFilter filter) {
+    Objects.requireNonNull(filter, "filter");
+    return lookup(new Key(Kind.FIND, filter), () -> List.copyOf(delegate.find(filter)));
+  }
+
+  @Override
+  public int count(UrlMappingFilter filter) {
+    Objects.requireNonNull(filter, "filter");
+    // paging and sorting do not change the number of matches
+    var criteria = filter.criteriaOnly();
+    return lookup(new Key(Kind.COUNT, criteria), () -> delegate.count(criteria));
+  }
+
+  @Override
+  public boolean existsByCode(String shortCode) {
+    return delegate.existsByCode(shortCode);
+  }
+
+  @Override
+  public Optional<ShortUrlMapping> findByShortCode(String shortCode) {
+    return delegate.findByShortCode(shortCode);
+  }
+
+  @Override
+  public List<ShortUrlMapping> findAll() {
+    return delegate.findAll();
+  }
+
+  @Override
+  public int countAll() {
+    return delegate.countAll();
+  }
+
+  @Override
+  public List<ShortUrlMapping> findByStatus(MappingStatus status) {
+    return delegate.findByStatus(status);
+  }
+
+  @Override
+  public int countByStatus(MappingStatus status) {
+    return delegate.countByStatus(status);
+  }
+
+  @Override
+  public long mutationVersion() {
+    return delegate.mutationVersion();
+  }
+
+  public CacheStats stats() {
+    int size;
+    synchronized (entries) {
+      size = entries.size();
+    }
+    return new CacheStats(hits.sum(), misses.sum(), size, maxEntries);
+  }
+
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T lookup(Key key, Supplier<T> loader) {
+    // read the version before loading: if a mutation races with the load,
+    // the entry is stored with the older version and will simply miss next time
+    final long version = delegate.mutationVersion();
+    synchronized (entries) {
+      var entry = entries.get(key);
+      if (entry != null && entry.version() == version) {
+        hits.increment();
+        return (T) entry.value();
+      }
+    }
+    misses.increment();
+    T value = loader.get();
+    synchronized (entries) {
+      entries.put(key, new Entry(version, value));
+    }
+    logger().debug("query cache miss - key {} - version {}", key, version);
+    return value;
+  }
+
+  private enum Kind { FIND, COUNT }
+
+  private record Key(Kind kind, UrlMappingFilter filter) { }
+
+  private record Entry(long version, Object value) { }
+
+  public record CacheStats(long hits, long misses, int size, int capacity) {
+    public double hitRate() {
+      long total = hits + misses;
+      return total == 0 ? 0.0 : (double) hits / total;
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package com.svenruppert.urlshortener.api.store.urlmapping;
+
+import com.svenruppert.functional.model.Result;
+import com.svenruppert.urlshortener.api.metrics.LatencyHistogram;
+import com.svenruppert.urlshortener.api.metrics.MetricsRegistry;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+import com.svenruppert.urlshortener.core.urlmapping.ToggleActive.ToggleActiveResponse;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Records the duration of every store operation in
+ * {@code urlshortener_store_operation_duration_seconds{op="..."}}.
+ * <p>
+ * Each operation times itself inline rather than through a shared lambda helper, so wrapping
+ * the store adds two {@code nanoTime} calls and no allocation.
+ */
+public final class InstrumentedUrlMappingStore
+    implements UrlMappingStore {
+
+  static final String DURATION = "urlshortener_store_operation_duration_seconds";
+
+  private final UrlMappingStore delegate;
+  private final LatencyHistogram create;
+  private final LatencyHistogram edit;
+  private final LatencyHistogram delete;
+  private final LatencyHistogram toggleActive;
+  private final LatencyHistogram existsByCode;
+  private final LatencyHistogram findByShortCode;
+  private final LatencyHistogram findAll;
+  private final LatencyHistogram find;
+  private final LatencyHistogram count;
+  private final LatencyHistogram findByStatus;
+
+  public InstrumentedUrlMappingStore(UrlMappingStore delegate, MetricsRegistry registry) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate");
+    this.create = op(registry, "createMapping");
+    this.edit = op(registry, "editMapping");
+    this.delete = op(registry, "delete");
+    this.toggleActive = op(registry, "toggleActive");
+    this.existsByCode = op(registry, "existsByCode");
+    this.findByShortCode = op(registry, "findByShortCode");
+    this.findAll = op(registry, "findAll");
+    this.find = op(registry, "find");
+    this.count = op(registry, "count");
+    this.findByStatus = op(registry, "findByStatus");
+  }
+
+  private static LatencyHistogram op(MetricsRegistry registry, String op) {
+    return registry.histogram(DURATION, "URL mapping store operation duration", "op", op);
+  }
+
+  public UrlMappingStore delegate() {
+    return delegate;
+  }
+
+  @Override
+  public Result<ShortUrlMapping> createMapping(Instant createdAt, String shortCode, String originalUrl,
+                                               Instant expiredAt, Boolean active) {
+    long start = System.nanoTime();
+    try {
+      return delegate.createMapping(createdAt, shortCode, originalUrl, expiredAt, active);
+    } finally {
+      create.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public Result<ShortUrlMapping> createMapping(String shortCode, String originalUrl, Instant expiredAt,
+                                               Boolean active) {
+    long start = System.nanoTime();
+    try {
+      return delegate.createMapping(shortCode, originalUrl, expiredAt, active);
+    } finally {
+      create.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public Result<ShortUrlMapping> editMapping(String alias, String url, Instant expiredAt, Boolean active) {
+    long start = System.nanoTime();
+    try {
+      return delegate.editMapping(alias, url, expiredAt, active);
+    } finally {
+      edit.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public boolean delete(String shortCode) {
+    long start = System.nanoTime();
+    try {
+      return delegate.delete(shortCode);
+    } finally {
+      delete.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public Result<ToggleActiveResponse> toggleActive(String shortCode, boolean newActiveValue) {
+    long start = System.nanoTime();
+    try {
+      return delegate.toggleActive(shortCode, newActiveValue);
+    } finally {
+      toggleActive.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public void addChangeListener(UrlMappingChangeListener listener) {
+    delegate.addChangeListener(listener);
+  }
+
+  @Override
+  public boolean existsByCode(String shortCode) {
+    long start = System.nanoTime();
+    try {
+      return delegate.existsByCode(shortCode);
+    } finally {
+      existsByCode.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public Optional<ShortUrlMapping> findByShortCode(String shortCode) {
+    long start = System.nanoTime();
+    try {
+      return delegate.findByShortCode(shortCode);
+    } finally {
+      findByShortCode.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public List<ShortUrlMapping> findAll() {
+    long start = System.nanoTime();
+    try {
+      return delegate.findAll();
+    } finally {
+      findAll.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public List<ShortUrlMapping> find(UrlMappingFilter filter) {
+    long start = System.nanoTime();
+    try {
+      return delegate.find(filter);
+    } finally {
+      find.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public int count(UrlMappingFilter filter) {
+    long start = System.nanoTime();
+    try {
+      return delegate.count(filter);
+    } finally {
+      count.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public int countAll() {
+    long start = System.nanoTime();
+    try {
+      return delegate.countAll();
+    } finally {
+      count.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public List<ShortUrlMapping> findByStatus(MappingStatus status) {
+    long start = System.nanoTime();
+    try {
+      return delegate.findByStatus(status);
+    } finally {
+      findByStatus.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public int countByStatus(MappingStatus status) {
+    long start = System.nanoTime();
+    try {
+      return delegate.countByStatus(status);
+    } finally {
+      count.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public long mutationVersion() {
+    return delegate.mutationVersion();
+  }
+}
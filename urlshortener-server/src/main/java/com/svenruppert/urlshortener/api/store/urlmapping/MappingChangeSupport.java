@@ -0,0 +1,48 @@
+package com.svenruppert.urlshortener.api.store.urlmapping;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingChangeListener.Operation;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared bookkeeping for store mutations: the mutation version and the registered listeners.
+ * A failing listener is logged and does not affect the mutation or the other listeners.
+ * <p>
+ * Stores call {@link #fire} inside the same lock that applies the mutation, so listeners that
+ * keep derived state (status index, change log, unknown-code guard) see the mutations of one
+ * short code in the order the store applied them.
+ */
+public final class MappingChangeSupport
+    implements HasLogger {
+
+  private final AtomicLong version = new AtomicLong();
+  private final List<UrlMappingChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+  public void addListener(UrlMappingChangeListener listener) {
+    listeners.add(Objects.requireNonNull(listener, "listener"));
+  }
+
+  public void removeListener(UrlMappingChangeListener listener) {
+    listeners.remove(listener);
+  }
+
+  public long version() {
+    return version.get();
+  }
+
+  public void fire(Operation operation, ShortUrlMapping before, ShortUrlMapping after) {
+    version.incrementAndGet();
+    for (UrlMappingChangeListener listener : listeners) {
+      try {
+        listener.onChange(operation, before, after);
+      } catch (RuntimeException e) {
+        logger().warn("change listener {} failed for {} - {}", listener, operation, e.getMessage());
+      }
+    }
+  }
+}
@@ -39,7 +39,7 @@ public final class MappingCreator
   }
 
   public Result<ShortUrlMapping> create(Instant createdAt, String alias, String url, Instant expiredAt, Boolean active) {
-    logger().info("create - createdAt='{}' alias='{}' / url='{}' / expiredAt='{}'", createdAt, alias, url, expiredAt);
+    logger().debug("create - createdAt='{}' alias='{}' / url='{}' / expiredAt='{}'", createdAt, alias, url, expiredAt);
     final String shortCode;
     if (!isNullOrBlank(alias)) {
       var aliasCheck = AliasPolicy.validate(alias);
@@ -64,20 +64,20 @@ public final class MappingCreator
       }
       shortCode = normalized;
     } else {
-      logger().info("alias is null or blank");
+      logger().debug("alias is null or blank");
       String gen = normalize(generator.nextCode());
-      logger().info("next normalized alias .. {} ", gen);
+      logger().debug("next normalized alias .. {} ", gen);
       while (exists.test(gen)) {
         gen = normalize(generator.nextCode());
-        logger().info("next normalized alias .. {} ", gen);
+        logger().debug("next normalized alias .. {} ", gen);
       }
       shortCode = gen;
     }
 
     var mapping = new ShortUrlMapping(shortCode, url, createdAt, expiredAt, active);
-    logger().info("mapping to store .. {}", mapping);
+    logger().debug("mapping to store .. {}", mapping);
     store.accept(mapping);
-    logger().info("mapping stored .. {}", mapping);
+    logger().debug("mapping stored .. {}", mapping);
     return Result.success(mapping);
   }
 
@@ -85,7 +85,7 @@ public final class MappingCreator
    * Main method: creates mapping with optional alias.
    */
   public Result<ShortUrlMapping> create(String alias, String url, Instant expiredAt, Boolean active) {
-    logger().info("createMapping - alias='{}' / url='{}' / expiredAt='{}'", alias, url, expiredAt);
+    logger().debug("createMapping - alias='{}' / url='{}' / expiredAt='{}'", alias, url, expiredAt);
     var createdAt = Instant.now(clock);
     return create(createdAt, alias, url, expiredAt, active);
   }
@@ -0,0 +1,31 @@
+package com.svenruppert.urlshortener.api.store.urlmapping;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Derived status of a mapping as shown in the admin UI.
+ * <ul>
+ *   <li>EXPIRED: expiresAt lies in the past</li>
+ *   <li>ACTIVE: active flag set and not expired</li>
+ *   <li>INACTIVE: active flag not set or expired</li>
+ * </ul>
+ * EXPIRED is a subset of INACTIVE.
+ */
+public enum MappingStatus {
+  ACTIVE, INACTIVE, EXPIRED;
+
+  public static boolean isExpired(Instant expiresAt, Instant now) {
+    return expiresAt != null && expiresAt.isBefore(now);
+  }
+
+  public static Optional<MappingStatus> fromParam(String value) {
+    if (value == null || value.isBlank()) return Optional.empty();
+    try {
+      return Optional.of(valueOf(value.trim().toUpperCase(Locale.ROOT)));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.svenruppert.urlshortener.api.store.urlmapping;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.*;
+
+import static com.svenruppert.urlshortener.api.store.urlmapping.MappingStatus.isExpired;
+
+/**
+ * Membership sets for {@link MappingStatus}, maintained incrementally.
+ * <p>
+ * Mutations arrive as {@link UrlMappingChangeListener} events. Mappings that will expire
+ * in the future are kept in an expiry index ordered by {@code expiresAt}; before every
+ * query the index is advanced to "now" and only the mappings whose deadline has passed
+ * are moved. Queries are therefore O(result) instead of a scan over the whole store.
+ * <p>
+ * Expiry is treated as one-way: if the clock goes backwards, mappings that were already
+ * moved to EXPIRED stay there until they are edited.
+ */
+public final class MappingStatusIndex
+    implements UrlMappingChangeListener, HasLogger {
+
+  private final Clock clock;
+
+  private final Map<String, ShortUrlMapping> active = new HashMap<>();
+  private final Map<String, ShortUrlMapping> inactive = new HashMap<>();
+  private final Map<String, ShortUrlMapping> expired = new HashMap<>();
+  private final NavigableSet<ExpiryKey> pendingExpiry = new TreeSet<>();
+
+  public MappingStatusIndex(Clock clock) {
+    this.clock = Objects.requireNonNull(clock, "clock");
+  }
+
+  public synchronized void rebuild(Collection<ShortUrlMapping> mappings) {
+    active.clear();
+    inactive.clear();
+    expired.clear();
+    pendingExpiry.clear();
+    var now = clock.instant();
+    for (ShortUrlMapping m : mappings) add(m, now);
+    logger().info("status index rebuilt - active {} - inactive {} - expired {}",
+                  active.size(), inactive.size(), expired.size());
+  }
+
+  @Override
+  public synchronized void onChange(Operation operation, ShortUrlMapping before, ShortUrlMapping after) {
+    if (before != null) remove(before);
+    if (after != null) add(after, clock.instant());
+  }
+
+  public synchronized List<ShortUrlMapping> find(MappingStatus status) {
+    advance(clock.instant());
+    return new ArrayList<>(members(status).values());
+  }
+
+  public synchronized int count(MappingStatus status) {
+    advance(clock.instant());
+    return members(status).size();
+  }
+
+  private Map<String, ShortUrlMapping> members(MappingStatus status) {
+    return switch (status) {
+      case ACTIVE -> active;
+      case INACTIVE -> inactive;
+      case EXPIRED -> expired;
+    };
+  }
+
+  private void add(ShortUrlMapping m, Instant now) {
+    var code = m.shortCode();
+    var expiresAt = m.expiresAt().orElse(null);
+    if (isExpired(expiresAt, now)) {
+      expired.put(code, m);
+      inactive.put(code, m);
+      return;
+    }
+    if (m.active()) active.put(code, m);
+    else inactive.put(code, m);
+    if (expiresAt != null) pendingExpiry.add(new ExpiryKey(expiresAt, code));
+  }
+
+  private void remove(ShortUrlMapping m) {
+    var code = m.shortCode();
+    active.remove(code);
+    inactive.remove(code);
+    expired.remove(code);
+    m.expiresAt().ifPresent(exp -> pendingExpiry.remove(new ExpiryKey(exp, code)));
+  }
+
+  private void advance(Instant now) {
+    while (!pendingExpiry.isEmpty() && pendingExpiry.first().expiresAt().isBefore(now)) {
+      var code = pendingExpiry.pollFirst().shortCode();
+      var m = active.remove(code);
+      if (m == null) m = inactive.get(code);
+      if (m == null) continue;
+      inactive.put(code, m);
+      expired.put(code, m);
+    }
+  }
+
+  private record ExpiryKey(Instant expiresAt, String shortCode)
+      implements Comparable<ExpiryKey> {
+    @Override
+    public int compareTo(ExpiryKey o) {
+      int c = expiresAt.compareTo(o.expiresAt);
+      return c != 0 ? c : shortCode.compareTo(o.shortCode);
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.svenruppert.urlshortener.api.store.urlmapping;
+
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+
+/**
+ * Callback for successful mutations of a {@link UrlMappingStore}.
+ * <p>
+ * Listeners are invoked synchronously on the mutating thread, after the change
+ * has been applied (and persisted), while the store still holds its mutation lock.
+ * Changes of one store therefore reach every listener in the order they were applied.
+ * {@code before} is null for CREATE, {@code after} is null for DELETE.
+ */
+@FunctionalInterface
+public interface UrlMappingChangeListener {
+
+  void onChange(Operation operation, ShortUrlMapping before, ShortUrlMapping after);
+
+  enum Operation { CREATE, EDIT, DELETE, TOGGLE_ACTIVE }
+}
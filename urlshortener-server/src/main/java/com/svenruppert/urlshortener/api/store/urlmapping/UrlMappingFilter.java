@@ -96,6 +96,17 @@ public final class UrlMappingFilter {
     return Optional.ofNullable(active);
   }
 
+  /**
+   * Same selection criteria without paging and sorting.
+   * Two filters that only differ in page/sort select the same set of mappings,
+   * so this is the natural key for counting.
+   */
+  public UrlMappingFilter criteriaOnly() {
+    if (offset == null && limit == null && sortBy == null && direction == null) return this;
+    return new UrlMappingFilter(codePart, urlPart, createdFrom, createdTo,
+                                null, null, null, null, active);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
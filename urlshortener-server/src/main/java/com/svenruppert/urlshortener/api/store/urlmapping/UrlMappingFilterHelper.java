@@ -3,9 +3,9 @@ package com.svenruppert.urlshortener.api.store.urlmapping;
 import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Comparator;
-import java.util.List;
-import java.util.Locale;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -18,6 +18,15 @@ import static java.util.Comparator.*;
 public class UrlMappingFilterHelper {
   public static final Comparator<ShortUrlMapping> NO_OP_COMPARATOR = (a, b) -> 0;
 
+  /** Largest offset + limit that is answered with a bounded heap instead of a full sort. */
+  static final int TOP_K_MAX = 10_000;
+  /** Minimum number of values before filtering is split across the ForkJoin pool. */
+  static final int PARALLEL_THRESHOLD = 50_000;
+  /** Partition size for the parallel path. */
+  static final int PARTITION_SIZE = 8_192;
+
+  private static final int UNBOUNDED = -1;
+
   private UrlMappingFilterHelper() {
   }
 
@@ -38,19 +47,99 @@ public class UrlMappingFilterHelper {
 
   @NotNull
   public static List<ShortUrlMapping> filterSortAndPage(UrlMappingFilter filter, Stream<ShortUrlMapping> valueStream) {
-    List<ShortUrlMapping> valuesFilteredAndSorted = valueStream
-        .filter(mapping -> matches(filter, mapping))
-        .sorted(buildComparator(filter))
-        .collect(Collectors.toList());
+    return filterSortAndPage(filter, valueStream.collect(Collectors.toList()));
+  }
+
+  /**
+   * Filters, sorts and pages the given values.
+   * <p>
+   * If only the first {@code offset + limit} rows are needed (and that number is small),
+   * a bounded heap keeps just the best k matches instead of sorting all of them.
+   * Large inputs are filtered in parallel partitions on the common ForkJoin pool;
+   * each partition produces its own (top-k) result and the partial results are merged.
+   * The comparator is a total order (shortCode tiebreaker), so the result is identical
+   * to a full sort of all matches.
+   */
+  @NotNull
+  public static List<ShortUrlMapping> filterSortAndPage(UrlMappingFilter filter, Collection<ShortUrlMapping> values) {
+    final Comparator<ShortUrlMapping> comparator = buildComparator(filter);
+    final int from = Math.max(0, filter.offset().orElse(0));
+    final int lim = Math.max(0, filter.limit().orElse(MAX_VALUE));
+    final long needed = (long) from + lim;
+    final int k = needed <= TOP_K_MAX ? (int) needed : UNBOUNDED;
+    if (k == 0) return List.of();
+
+    final ShortUrlMapping[] snapshot = values.toArray(new ShortUrlMapping[0]);
+    final List<ShortUrlMapping> candidates;
+    if (snapshot.length >= PARALLEL_THRESHOLD) {
+      candidates = ForkJoinPool.commonPool()
+          .invoke(new SelectTask(filter, comparator, k, snapshot, 0, snapshot.length));
+    } else {
+      candidates = select(filter, comparator, k, snapshot, 0, snapshot.length);
+    }
+    // top-k results are already sorted, the unbounded path still has to sort
+    if (k == UNBOUNDED) candidates.sort(comparator);
 
     // 3) Paging
-    int from = Math.max(0, filter.offset().orElse(0));
-    int lim = filter.limit().orElse(MAX_VALUE);
-    if (from >= valuesFilteredAndSorted.size()) return List.of();
-    int to = Math.min(valuesFilteredAndSorted.size(), from + Math.max(0, lim));
-    return valuesFilteredAndSorted.subList(from, to);
+    if (from >= candidates.size()) return List.of();
+    int to = (int) Math.min(candidates.size(), needed);
+    return candidates.subList(from, to);
   }
 
+  /**
+   * Filters {@code values[from, to)}. With a bound k the result holds the k smallest
+   * matches in sorted order, otherwise all matches in input order.
+   */
+  private static List<ShortUrlMapping> select(UrlMappingFilter filter,
+                                              Comparator<ShortUrlMapping> comparator,
+                                              int k,
+                                              ShortUrlMapping[] values,
+                                              int from,
+                                              int to) {
+    if (k == UNBOUNDED) {
+      var result = new ArrayList<ShortUrlMapping>();
+      for (int i = from; i < to; i++) {
+        if (matches(filter, values[i])) result.add(values[i]);
+      }
+      return result;
+    }
+    // max-heap on the comparator: the head is the worst of the current best k
+    var heap = new PriorityQueue<ShortUrlMapping>(Math.min(k, Math.max(1, to - from)) + 1, comparator.reversed());
+    for (int i = from; i < to; i++) {
+      var m = values[i];
+      if (!matches(filter, m)) continue;
+      if (heap.size() < k) {
+        heap.add(m);
+      } else if (comparator.compare(m, heap.peek()) < 0) {
+        heap.poll();
+        heap.add(m);
+      }
+    }
+    var result = new ArrayList<>(heap);
+    result.sort(comparator);
+    return result;
+  }
+
+  private static List<ShortUrlMapping> merge(List<ShortUrlMapping> left,
+                                             List<ShortUrlMapping> right,
+                                             Comparator<ShortUrlMapping> comparator,
+                                             int k) {
+    if (k == UNBOUNDED) {
+      left.addAll(right);
+      return left;
+    }
+    int size = Math.min(k, left.size() + right.size());
+    var result = new ArrayList<ShortUrlMapping>(size);
+    int i = 0, j = 0;
+    while (result.size() < size) {
+      if (j >= right.size() || (i < left.size() && comparator.compare(left.get(i), right.get(j)) <= 0)) {
+        result.add(left.get(i++));
+      } else {
+        result.add(right.get(j++));
+      }
+    }
+    return result;
+  }
 
   private static boolean matchCode(UrlMappingFilter f, ShortUrlMapping m) {
     return f.codePart()
@@ -100,4 +189,43 @@ public class UrlMappingFilterHelper {
 
     return filter.direction().orElse(ASC) == DESC ? cmp.reversed() : cmp;
   }
+
+  private static final class SelectTask
+      extends RecursiveTask<List<ShortUrlMapping>> {
+
+    private final UrlMappingFilter filter;
+    private final Comparator<ShortUrlMapping> comparator;
+    private final int k;
+    private final ShortUrlMapping[] values;
+    private final int from;
+    private final int to;
+
+    private SelectTask(UrlMappingFilter filter,
+                       Comparator<ShortUrlMapping> comparator,
+                       int k,
+                       ShortUrlMapping[] values,
+                       int from,
+                       int to) {
+      this.filter = filter;
+      this.comparator = comparator;
+      this.k = k;
+      this.values = values;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected List<ShortUrlMapping> compute() {
+      if (to - from <= PARTITION_SIZE) {
+        return select(filter, comparator, k, values, from, to);
+      }
+      int mid = (from + to) >>> 1;
+      var left = new SelectTask(filter, comparator, k, values, from, mid);
+      var right = new SelectTask(filter, comparator, k, values, mid, to);
+      left.fork();
+      var rightResult = right.compute();
+      // keep partition order so the unbounded path stays deterministic before sorting
+      return merge(left.join(), rightResult, comparator, k);
+    }
+  }
 }
\ No newline at end of file
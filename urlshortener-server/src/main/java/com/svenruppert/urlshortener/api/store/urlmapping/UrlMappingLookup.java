@@ -15,4 +15,13 @@ public interface UrlMappingLookup {
 
   int count(UrlMappingFilter filter);
   int countAll();
+
+  List<ShortUrlMapping> findByStatus(MappingStatus status);
+  int countByStatus(MappingStatus status);
+
+  /**
+   * Monotonically increasing counter that changes with every successful mutation
+   * (create, edit, delete, toggle). Used to invalidate derived query results cheaply.
+   */
+  long mutationVersion();
 }
\ No newline at end of file
@@ -18,4 +18,6 @@ public interface UrlMappingUpdater {
   boolean delete(String shortCode);
 
   Result<ToggleActiveResponse> toggleActive(String shortCode, boolean newActiveValue);
+
+  void addChangeListener(UrlMappingChangeListener listener);
 }
\ No newline at end of file
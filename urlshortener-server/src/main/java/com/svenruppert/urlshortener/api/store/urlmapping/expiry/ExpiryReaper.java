@@ -0,0 +1,201 @@
+package com.svenruppert.urlshortener.api.store.urlmapping.expiry;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.store.statistics.StatisticsStore;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingChangeListener;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingStore;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies the {@link ExpiryRetentionPolicy} to expired mappings in the background.
+ * <p>
+ * Deadlines ({@code expiresAt + gracePeriod}) are kept in a {@link HierarchicalTimingWheel}
+ * fed by the store's change events, so the reaper never scans the store after startup.
+ * When a deadline fires, the current state of the mapping is re-read: mappings that were
+ * deleted or got a new expiry in the meantime are skipped (or rescheduled).
+ * <p>
+ * Change events caused by the reaper itself are not scheduled again - otherwise the policy (and
+ * a statistics purge) would be applied to the same mapping twice. Mappings the policy would leave
+ * unchanged (DEACTIVATE without statistics purge on an inactive mapping) are not scheduled at all.
+ */
+public final class ExpiryReaper
+    implements UrlMappingChangeListener, HasLogger, AutoCloseable {
+
+  private static final int WHEEL_BITS = 6;
+  private static final int WHEEL_LEVELS = 4;
+
+  private final UrlMappingStore store;
+  private final StatisticsStore statistics;
+  private final ExpiryRetentionPolicy policy;
+  private final Clock clock;
+  private final HierarchicalTimingWheel<String> wheel;
+
+  private final AtomicLong deactivated = new AtomicLong();
+  private final AtomicLong purged = new AtomicLong();
+  // short code the reaper is changing on this thread, its own change event is ignored
+  private final ThreadLocal<String> applying = new ThreadLocal<>();
+
+  private ScheduledExecutorService scheduler;
+
+  public ExpiryReaper(UrlMappingStore store,
+                      StatisticsStore statistics,
+                      ExpiryRetentionPolicy policy,
+                      Clock clock) {
+    this.store = Objects.requireNonNull(store, "store");
+    this.statistics = statistics;
+    this.policy = Objects.requireNonNull(policy, "policy");
+    this.clock = Objects.requireNonNull(clock, "clock");
+    this.wheel = new HierarchicalTimingWheel<>(policy.tick().toMillis(), WHEEL_BITS, WHEEL_LEVELS, clock.millis());
+  }
+
+  /**
+   * Registers the reaper at the store and schedules all existing mappings once.
+   * Without {@link #start()} deadlines are only processed by explicit {@link #reapDue()} calls.
+   */
+  public void attach() {
+    store.addChangeListener(this);
+    int scheduled = 0;
+    for (ShortUrlMapping m : store.findAll()) {
+      if (schedule(m)) scheduled++;
+    }
+    logger().info("ExpiryReaper attached - policy {} - {} mappings scheduled", policy, scheduled);
+  }
+
+  /**
+   * {@link #attach()} plus a background tick that calls {@link #reapDue()}.
+   */
+  public void start() {
+    attach();
+    long tickMs = policy.tick().toMillis();
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      var t = new Thread(r, "expiry-reaper");
+      t.setDaemon(true);
+      return t;
+    });
+    scheduler.scheduleWithFixedDelay(this::runSafely, tickMs, tickMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void onChange(Operation operation, ShortUrlMapping before, ShortUrlMapping after) {
+    if (after == null || after.shortCode().equals(applying.get())) return;
+    schedule(after);
+  }
+
+  /**
+   * Processes all deadlines that have passed. Returns the number of mappings the policy was applied to.
+   */
+  public int reapDue() {
+    List<String> dueCodes = new ArrayList<>();
+    synchronized (wheel) {
+      wheel.advance(clock.millis(), dueCodes::add);
+    }
+    int applied = 0;
+    for (String code : dueCodes) {
+      if (apply(code)) applied++;
+    }
+    return applied;
+  }
+
+  public long deactivatedCount() {
+    return deactivated.get();
+  }
+
+  public long purgedCount() {
+    return purged.get();
+  }
+
+  public int pending() {
+    synchronized (wheel) {
+      return wheel.size();
+    }
+  }
+
+  @Override
+  public void close() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  private void runSafely() {
+    try {
+      int applied = reapDue();
+      if (applied > 0) logger().info("ExpiryReaper - {} expired mappings processed ({})", applied, policy.action());
+    } catch (RuntimeException e) {
+      logger().warn("ExpiryReaper tick failed", e);
+    }
+  }
+
+  private boolean schedule(ShortUrlMapping m) {
+    var expiresAt = m.expiresAt();
+    if (expiresAt.isEmpty() || nothingToDo(m)) return false;
+    long deadline = deadline(expiresAt.get()).toEpochMilli();
+    synchronized (wheel) {
+      wheel.schedule(m.shortCode(), deadline);
+    }
+    return true;
+  }
+
+  private boolean nothingToDo(ShortUrlMapping m) {
+    return policy.action() == ExpiryRetentionPolicy.Action.DEACTIVATE && !m.active() && !policy.purgeStatistics();
+  }
+
+  private Instant deadline(Instant expiresAt) {
+    return expiresAt.plus(policy.gracePeriod());
+  }
+
+  // expiresAt must be strictly in the past, same as RedirectHandler
+  private boolean isPastDeadline(Instant expiresAt) {
+    return deadline(expiresAt).isBefore(clock.instant());
+  }
+
+  private boolean apply(String code) {
+    var current = store.findByShortCode(code);
+    if (current.isEmpty() || current.get().expiresAt().isEmpty()) return false;
+    var m = current.get();
+    if (!isPastDeadline(m.expiresAt().get())) {
+      // expiry was extended (or we are exactly on the deadline) - look again later
+      schedule(m);
+      return false;
+    }
+
+    boolean changed;
+    applying.set(code);
+    try {
+      changed = switch (policy.action()) {
+        case KEEP -> false;
+        case DEACTIVATE -> {
+          if (!m.active()) yield false;
+          var result = store.toggleActive(code, false);
+          if (result.isPresent()) deactivated.incrementAndGet();
+          yield result.isPresent();
+        }
+        case PURGE -> {
+          var removed = store.delete(code);
+          if (removed) purged.incrementAndGet();
+          yield removed;
+        }
+      };
+    } finally {
+      applying.remove();
+    }
+
+    if (policy.purgeStatistics() && statistics != null) {
+      statistics.removeAllForShortCode(code);
+      changed = true;
+    }
+    if (changed) logger().debug("expired mapping {} processed - action {}", code, policy.action());
+    return changed;
+  }
+}
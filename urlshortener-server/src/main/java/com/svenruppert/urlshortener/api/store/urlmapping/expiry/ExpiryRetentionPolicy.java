@@ -0,0 +1,48 @@
+package com.svenruppert.urlshortener.api.store.urlmapping.expiry;
+
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * What happens to a mapping once it has been expired for {@code gracePeriod}.
+ * <ul>
+ *   <li>KEEP: nothing, expiry is only evaluated on access (default)</li>
+ *   <li>DEACTIVATE: the mapping is switched to inactive</li>
+ *   <li>PURGE: the mapping is deleted</li>
+ * </ul>
+ * With {@code purgeStatistics} the redirect statistics of the mapping are removed as well.
+ * <p>
+ * System properties: {@code urlshortener.expiry.action}, {@code urlshortener.expiry.grace},
+ * {@code urlshortener.expiry.purgeStatistics}, {@code urlshortener.expiry.tick}.
+ */
+public record ExpiryRetentionPolicy(Action action,
+                                    Duration gracePeriod,
+                                    boolean purgeStatistics,
+                                    Duration tick) {
+
+  public static final ExpiryRetentionPolicy KEEP =
+      new ExpiryRetentionPolicy(Action.KEEP, Duration.ZERO, false, Duration.ofSeconds(1));
+
+  public ExpiryRetentionPolicy {
+    Objects.requireNonNull(action, "action");
+    gracePeriod = (gracePeriod == null || gracePeriod.isNegative()) ? Duration.ZERO : gracePeriod;
+    tick = (tick == null || tick.isZero() || tick.isNegative()) ? Duration.ofSeconds(1) : tick;
+  }
+
+  public static ExpiryRetentionPolicy fromConfig() {
+    return new ExpiryRetentionPolicy(
+        ConfigProperties.enumValue("expiry.action", Action.class, Action.KEEP),
+        ConfigProperties.duration("expiry.grace", Duration.ZERO),
+        ConfigProperties.bool("expiry.purgeStatistics", false),
+        ConfigProperties.duration("expiry.tick", Duration.ofSeconds(1))
+    );
+  }
+
+  public boolean enabled() {
+    return action != Action.KEEP || purgeStatistics;
+  }
+
+  public enum Action { KEEP, DEACTIVATE, PURGE }
+}
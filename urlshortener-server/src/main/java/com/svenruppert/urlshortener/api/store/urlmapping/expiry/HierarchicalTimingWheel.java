@@ -0,0 +1,135 @@
+package com.svenruppert.urlshortener.api.store.urlmapping.expiry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for coarse deadlines.
+ * <p>
+ * Level 0 has one bucket per tick, every higher level covers {@code wheelSize} buckets
+ * of the level below. When the lower levels wrap around, the matching bucket of the
+ * next level is cascaded down. Scheduling and expiring are O(1) per entry (plus the
+ * cascades), independent of how many entries are pending. Deadlines beyond the range
+ * of the top level wait in a small overflow queue.
+ * <p>
+ * Entries cannot be cancelled; callers re-check the item when it fires.
+ * Not thread-safe, callers synchronize.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+  private final long tickMs;
+  private final int bits;
+  private final int mask;
+  private final int levels;
+  private final List<List<Entry<T>>[]> wheels = new ArrayList<>();
+  private final PriorityQueue<Entry<T>> overflow =
+      new PriorityQueue<>(Comparator.comparingLong(Entry::deadlineTick));
+  private final List<Entry<T>> due = new ArrayList<>();
+
+  private long currentTick;
+  private int size;
+
+  /**
+   * @param tickMs    resolution in milliseconds
+   * @param wheelBits log2 of the buckets per level
+   * @param levels    number of levels
+   * @param startMs   current time
+   */
+  @SuppressWarnings("unchecked")
+  public HierarchicalTimingWheel(long tickMs, int wheelBits, int levels, long startMs) {
+    if (tickMs < 1) throw new IllegalArgumentException("tickMs must be > 0");
+    if (wheelBits < 1 || levels < 1 || (long) wheelBits * levels > 62)
+      throw new IllegalArgumentException("invalid wheel geometry " + wheelBits + "x" + levels);
+    this.tickMs = tickMs;
+    this.bits = wheelBits;
+    this.mask = (1 << wheelBits) - 1;
+    this.levels = levels;
+    for (int l = 0; l < levels; l++) {
+      List<Entry<T>>[] buckets = new List[1 << wheelBits];
+      for (int i = 0; i < buckets.length; i++) buckets[i] = new ArrayList<>();
+      wheels.add(buckets);
+    }
+    this.currentTick = startMs / tickMs;
+  }
+
+  public void schedule(T item, long deadlineMs) {
+    // round up: an entry must never fire before its deadline
+    long deadlineTick = Math.floorDiv(deadlineMs + tickMs - 1, tickMs);
+    insert(new Entry<>(item, deadlineTick));
+    size++;
+  }
+
+  /**
+   * Moves the wheel forward to {@code nowMs} and hands every entry whose deadline
+   * has been reached to {@code expired}.
+   */
+  public void advance(long nowMs, Consumer<T> expired) {
+    drainDue(expired);
+    long targetTick = nowMs / tickMs;
+    while (currentTick < targetTick) {
+      currentTick++;
+      cascade();
+      var bucket = wheels.getFirst()[(int) (currentTick & mask)];
+      if (!bucket.isEmpty()) {
+        var fired = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Entry<T> e : fired) {
+          size--;
+          expired.accept(e.item());
+        }
+      }
+      drainDue(expired);
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private void insert(Entry<T> e) {
+    long delta = e.deadlineTick() - currentTick;
+    if (delta <= 0) {
+      due.add(e);
+      return;
+    }
+    for (int level = 0; level < levels; level++) {
+      if (delta < (1L << (bits * (level + 1)))) {
+        int index = (int) ((e.deadlineTick() >>> (bits * level)) & mask);
+        wheels.get(level)[index].add(e);
+        return;
+      }
+    }
+    overflow.add(e);
+  }
+
+  private void cascade() {
+    // from the top down, so entries can fall through more than one level in the same tick
+    for (int level = levels - 1; level >= 1; level--) {
+      if ((currentTick & ((1L << (bits * level)) - 1)) != 0) continue;
+      var bucket = wheels.get(level)[(int) ((currentTick >>> (bits * level)) & mask)];
+      if (bucket.isEmpty()) continue;
+      var moved = new ArrayList<>(bucket);
+      bucket.clear();
+      for (Entry<T> e : moved) insert(e);
+    }
+    long range = 1L << (bits * levels);
+    while (!overflow.isEmpty() && overflow.peek().deadlineTick() - currentTick < range) {
+      insert(overflow.poll());
+    }
+  }
+
+  private void drainDue(Consumer<T> expired) {
+    if (due.isEmpty()) return;
+    var fired = new ArrayList<>(due);
+    due.clear();
+    for (Entry<T> e : fired) {
+      size--;
+      expired.accept(e.item());
+    }
+  }
+
+  private record Entry<T>(T item, long deadlineTick) { }
+}
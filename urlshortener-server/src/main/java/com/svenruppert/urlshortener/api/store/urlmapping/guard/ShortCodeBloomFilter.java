@@ -0,0 +1,81 @@
+package com.svenruppert.urlshortener.api.store.urlmapping.guard;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over normalized short codes. Adding is thread-safe and lock-free,
+ * {@link #mightContain(String)} never returns false for an added code. There is no removal;
+ * {@link UnknownCodeGuard} rebuilds the filter instead.
+ */
+final class ShortCodeBloomFilter {
+
+  private final AtomicLongArray bits;
+  private final long bitCount;
+  private final int hashes;
+  private final int capacity;
+
+  /**
+   * @param capacity          expected number of codes
+   * @param falsePositiveRate target false positive rate at {@code capacity}
+   */
+  ShortCodeBloomFilter(int capacity, double falsePositiveRate) {
+    this.capacity = Math.max(1, capacity);
+    double p = Math.min(0.5, Math.max(1e-6, falsePositiveRate));
+    long m = (long) Math.ceil(-this.capacity * Math.log(p) / (Math.log(2) * Math.log(2)));
+    m = Math.max(64, (m + 63) & ~63L);
+    this.bitCount = m;
+    this.bits = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, m >>> 6));
+    this.hashes = Math.max(1, (int) Math.round((double) m / this.capacity * Math.log(2)));
+  }
+
+  int capacity() {
+    return capacity;
+  }
+
+  void add(String code) {
+    long h = hash64(code);
+    int h1 = (int) h;
+    int h2 = (int) (h >>> 32);
+    for (int i = 0; i < hashes; i++) {
+      long bit = index(h1 + i * h2);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current = bits.get(word);
+      while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+        current = bits.get(word);
+      }
+    }
+  }
+
+  boolean mightContain(String code) {
+    long h = hash64(code);
+    int h1 = (int) h;
+    int h2 = (int) (h >>> 32);
+    for (int i = 0; i < hashes; i++) {
+      long bit = index(h1 + i * h2);
+      if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+    }
+    return true;
+  }
+
+  private long index(int combined) {
+    return Math.floorMod((long) combined, bitCount);
+  }
+
+  /**
+   * FNV-1a over the chars, finished with the Murmur3 mixer so both halves are usable.
+   */
+  private static long hash64(String s) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < s.length(); i++) {
+      h ^= s.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= (h >>> 33);
+    h *= 0xff51afd7ed558ccdL;
+    h ^= (h >>> 33);
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= (h >>> 33);
+    return h;
+  }
+}
@@ -0,0 +1,153 @@
+package com.svenruppert.urlshortener.api.store.urlmapping.guard;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingChangeListener;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingLookup;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingUpdater;
+import com.svenruppert.urlshortener.core.AliasPolicy;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.svenruppert.urlshortener.core.AliasPolicy.normalize;
+
+/**
+ * Answers redirect lookups for codes that cannot exist without touching the store.
+ * <ol>
+ *   <li>shape check: length and charset from {@link AliasPolicy}</li>
+ *   <li>Bloom filter of all codes, kept current through the store's change events
+ *   (only if the lookup is a {@link UrlMappingUpdater})</li>
+ *   <li>negative cache of codes the store did not know, valid for a TTL and only while the
+ *   store's {@link UrlMappingLookup#mutationVersion()} is unchanged</li>
+ * </ol>
+ * Rejections are counted, not logged. Bloom filters cannot remove codes, so deletes leave
+ * stale bits (harmless false positives) until the filter is rebuilt from the store once
+ * deletes exceed a quarter of its content or creates exceed its capacity.
+ * <p>
+ * Configuration ({@code -Durlshortener.<key>}): {@code redirect.guard.enabled} (default true),
+ * {@code redirect.guard.falsePositiveRate} (0.01), {@code redirect.guard.negativeTtl} (30s),
+ * {@code redirect.guard.negativeMax} (10000).
+ */
+public final class UnknownCodeGuard
+    implements UrlMappingChangeListener, HasLogger {
+
+  private static final int MIN_CAPACITY = 1_024;
+
+  private final UrlMappingLookup store;
+  private final boolean bloomEnabled;
+  private final double falsePositiveRate;
+  private final long negativeTtlNanos;
+  private final int negativeMax;
+  private final Map<String, Miss> negative = new ConcurrentHashMap<>();
+
+  private final LongAdder rejectedMalformed = new LongAdder();
+  private final LongAdder rejectedBloom = new LongAdder();
+  private final LongAdder rejectedNegative = new LongAdder();
+
+  private volatile ShortCodeBloomFilter bloom;
+  private int added;
+  private int deleted;
+
+  public UnknownCodeGuard(UrlMappingLookup store, double falsePositiveRate, Duration negativeTtl, int negativeMax) {
+    this.store = Objects.requireNonNull(store, "store");
+    this.falsePositiveRate = falsePositiveRate;
+    this.negativeTtlNanos = negativeTtl.toNanos();
+    this.negativeMax = Math.max(0, negativeMax);
+    this.bloomEnabled = store instanceof UrlMappingUpdater;
+    if (bloomEnabled) {
+      synchronized (this) {
+        ((UrlMappingUpdater) store).addChangeListener(this);
+        rebuild();
+      }
+    }
+  }
+
+  /**
+   * Guard configured from system properties, or empty if disabled.
+   */
+  public static Optional<UnknownCodeGuard> fromConfig(UrlMappingLookup store) {
+    if (!ConfigProperties.bool("redirect.guard.enabled", true)) return Optional.empty();
+    return Optional.of(new UnknownCodeGuard(
+        store,
+        ConfigProperties.doubleValue("redirect.guard.falsePositiveRate", 0.01),
+        ConfigProperties.duration("redirect.guard.negativeTtl", Duration.ofSeconds(30)),
+        ConfigProperties.integer("redirect.guard.negativeMax", 10_000)));
+  }
+
+  /**
+   * Looks the code up, consulting the store only if none of the checks rules it out.
+   */
+  public Optional<ShortUrlMapping> find(String code) {
+    if (!AliasPolicy.isWellFormed(code)) {
+      rejectedMalformed.increment();
+      return Optional.empty();
+    }
+    String key = normalize(code);
+    var filter = bloom;
+    if (filter != null && !filter.mightContain(key)) {
+      rejectedBloom.increment();
+      return Optional.empty();
+    }
+    long version = store.mutationVersion();
+    var miss = negative.get(key);
+    if (miss != null) {
+      if (miss.version == version && System.nanoTime() - miss.atNanos < negativeTtlNanos) {
+        rejectedNegative.increment();
+        return Optional.empty();
+      }
+      negative.remove(key, miss);
+    }
+    var found = store.findByShortCode(key);
+    if (found.isEmpty() && negativeMax > 0) {
+      if (negative.size() >= negativeMax) negative.clear(); // a flood of distinct codes, start over
+      negative.put(key, new Miss(version, System.nanoTime()));
+    }
+    return found;
+  }
+
+  @Override
+  public synchronized void onChange(Operation operation, ShortUrlMapping before, ShortUrlMapping after) {
+    switch (operation) {
+      case CREATE -> {
+        bloom.add(normalize(after.shortCode()));
+        if (++added > bloom.capacity()) rebuild();
+      }
+      case DELETE -> {
+        if (++deleted > Math.max(MIN_CAPACITY, added) / 4) rebuild();
+      }
+      default -> {
+        // code unchanged
+      }
+    }
+  }
+
+  private void rebuild() {
+    var all = store.findAll();
+    var next = new ShortCodeBloomFilter(Math.max(MIN_CAPACITY, all.size() * 2), falsePositiveRate);
+    for (ShortUrlMapping m : all) next.add(normalize(m.shortCode()));
+    bloom = next;
+    added = all.size();
+    deleted = 0;
+    logger().info("short code bloom filter rebuilt for {} codes (capacity {})", all.size(), next.capacity());
+  }
+
+  public boolean bloomEnabled() {
+    return bloomEnabled;
+  }
+
+  public Stats stats() {
+    return new Stats(rejectedMalformed.sum(), rejectedBloom.sum(), rejectedNegative.sum(), negative.size());
+  }
+
+  public record Stats(long rejectedMalformed, long rejectedBloom, long rejectedNegative, int negativeEntries) {
+  }
+
+  private record Miss(long version, long atNanos) {
+  }
+}
@@ -0,0 +1,42 @@
+package com.svenruppert.urlshortener.api.store.urlmapping.replication;
+
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingChangeListener.Operation;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+
+import java.util.Objects;
+
+/**
+ * One record of the change log.
+ * <p>
+ * {@code mapping} is the state after the change, for {@link Type#DELETE} the removed mapping.
+ * {@link Type#SNAPSHOT} records seed a new log generation with the writer's current mappings.
+ */
+public record ChangeLogEntry(long sequence, Type type, ShortUrlMapping mapping) {
+
+  public ChangeLogEntry {
+    Objects.requireNonNull(type, "type");
+    Objects.requireNonNull(mapping, "mapping");
+  }
+
+  public enum Type {
+    SNAPSHOT, CREATE, EDIT, DELETE, TOGGLE_ACTIVE;
+
+    static Type of(Operation operation) {
+      return switch (operation) {
+        case CREATE -> CREATE;
+        case EDIT -> EDIT;
+        case DELETE -> DELETE;
+        case TOGGLE_ACTIVE -> TOGGLE_ACTIVE;
+      };
+    }
+
+    Operation operation() {
+      return switch (this) {
+        case SNAPSHOT, CREATE -> Operation.CREATE;
+        case EDIT -> Operation.EDIT;
+        case DELETE -> Operation.DELETE;
+        case TOGGLE_ACTIVE -> Operation.TOGGLE_ACTIVE;
+      };
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package com.svenruppert.urlshortener.api.store.urlmapping.replication;
+
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk layout of the change log.
+ * <pre>
+ * header := "USCL" i32:version i64:generation
+ * record := i32:bodyLength body i32:crc32(body)
+ * body   := i64:sequence u8:type u8:flags string:shortCode string:originalUrl
+ *           [i64:createdSecond i32:createdNano] [i64:expiresSecond i32:expiresNano]
+ * string := i32:byteLength utf8-bytes
+ * </pre>
+ * A record whose length or checksum is not complete yet is treated as "not written yet";
+ * readers retry it on their next poll. Every writer start and every compaction begins a new
+ * generation in a new file, so readers never see a rewritten prefix.
+ */
+final class ChangeLogFormat {
+
+  static final int MAGIC = 0x5553434C; // "USCL"
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 4 + 4 + 8;
+  static final int MAX_BODY_BYTES = 1024 * 1024;
+
+  private static final int FLAG_ACTIVE = 1;
+  private static final int FLAG_CREATED = 1 << 1;
+  private static final int FLAG_EXPIRES = 1 << 2;
+
+  private ChangeLogFormat() {
+  }
+
+  static ByteBuffer header(long generation) {
+    return ByteBuffer.allocate(HEADER_BYTES)
+        .putInt(MAGIC)
+        .putInt(VERSION)
+        .putLong(generation)
+        .flip();
+  }
+
+  /**
+   * Returns the generation stored in the header.
+   */
+  static long readHeader(ByteBuffer header)
+      throws IOException {
+    if (header.getInt() != MAGIC) throw new IOException("Not a change log");
+    int version = header.getInt();
+    if (version != VERSION) throw new IOException("Unsupported change log version: " + version);
+    return header.getLong();
+  }
+
+  static ByteBuffer encode(ChangeLogEntry entry) {
+    ShortUrlMapping m = entry.mapping();
+    byte[] code = bytes(m.shortCode());
+    byte[] url = bytes(m.originalUrl());
+    Instant created = m.createdAt();
+    Instant expires = m.expiresAt().orElse(null);
+    int flags = (m.active() ? FLAG_ACTIVE : 0)
+        | (created != null ? FLAG_CREATED : 0)
+        | (expires != null ? FLAG_EXPIRES : 0);
+
+    int bodyLength = 8 + 1 + 1 + 4 + code.length + 4 + url.length
+        + (created != null ? 12 : 0) + (expires != null ? 12 : 0);
+    ByteBuffer buf = ByteBuffer.allocate(4 + bodyLength + 4);
+    buf.putInt(bodyLength);
+    buf.putLong(entry.sequence());
+    buf.put((byte) entry.type().ordinal());
+    buf.put((byte) flags);
+    buf.putInt(code.length).put(code);
+    buf.putInt(url.length).put(url);
+    if (created != null) buf.putLong(created.getEpochSecond()).putInt(created.getNano());
+    if (expires != null) buf.putLong(expires.getEpochSecond()).putInt(expires.getNano());
+
+    var crc = new CRC32();
+    crc.update(buf.array(), 4, bodyLength);
+    buf.putInt((int) crc.getValue());
+    return buf.flip();
+  }
+
+  /**
+   * Decodes the next record from {@code buf} or returns {@code null} if it is not complete;
+   * the buffer position is only advanced for a complete record.
+   */
+  static ChangeLogEntry decode(ByteBuffer buf)
+      throws IOException {
+    if (buf.remaining() < 4) return null;
+    int start = buf.position();
+    int bodyLength = buf.getInt(start);
+    if (bodyLength <= 0 || bodyLength > MAX_BODY_BYTES) {
+      throw new IOException("Corrupt change log record length " + bodyLength + " at " + start);
+    }
+    if (buf.remaining() < 4 + bodyLength + 4) return null;
+
+    var crc = new CRC32();
+    crc.update(buf.slice(start + 4, bodyLength));
+    if ((int) crc.getValue() != buf.getInt(start + 4 + bodyLength)) {
+      throw new IOException("Change log checksum mismatch at " + start);
+    }
+
+    buf.position(start + 4);
+    long sequence = buf.getLong();
+    int typeOrdinal = buf.get();
+    var types = ChangeLogEntry.Type.values();
+    if (typeOrdinal < 0 || typeOrdinal >= types.length) {
+      throw new IOException("Unknown change log record type " + typeOrdinal);
+    }
+    int flags = buf.get();
+    String code = string(buf);
+    String url = string(buf);
+    Instant created = (flags & FLAG_CREATED) != 0 ? Instant.ofEpochSecond(buf.getLong(), buf.getInt()) : null;
+    Instant expires = (flags & FLAG_EXPIRES) != 0 ? Instant.ofEpochSecond(buf.getLong(), buf.getInt()) : null;
+    buf.position(start + 4 + bodyLength + 4);
+
+    var mapping = new ShortUrlMapping(code, url, created, expires, (flags & FLAG_ACTIVE) != 0);
+    return new ChangeLogEntry(sequence, types[typeOrdinal], mapping);
+  }
+
+  private static byte[] bytes(String s) {
+    return (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String string(ByteBuffer buf) {
+    int len = buf.getInt();
+    String s = new String(buf.array(), buf.arrayOffset() + buf.position(), len, StandardCharsets.UTF_8);
+    buf.position(buf.position() + len);
+    return s;
+  }
+}
@@ -0,0 +1,148 @@
+package com.svenruppert.urlshortener.api.store.urlmapping.replication;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Follows a change log written by {@link ChangeLogWriter} on a shared file and applies it to a
+ * {@link ReplicaUrlMappingLookup}.
+ * <p>
+ * Every poll reopens the path, so a new generation (writer restart, compaction) is picked up
+ * as soon as it has been moved in place. A new generation is first read completely into a
+ * fresh map and then installed with one {@link ReplicaUrlMappingLookup#reset} call; later polls
+ * apply the appended records incrementally. All applying happens on the polling thread.
+ */
+public final class ChangeLogTailer
+    implements AutoCloseable, HasLogger {
+
+  private static final int READ_BUFFER_BYTES = 2 * (ChangeLogFormat.MAX_BODY_BYTES + 8);
+
+  private final Path path;
+  private final ReplicaUrlMappingLookup replica;
+  private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+
+  private long generation = -1;
+  private long position;
+  private long lastSequence;
+  private ScheduledExecutorService scheduler;
+
+  public ChangeLogTailer(Path path, ReplicaUrlMappingLookup replica) {
+    this.path = Objects.requireNonNull(path, "path");
+    this.replica = Objects.requireNonNull(replica, "replica");
+  }
+
+  /**
+   * Applies everything that was appended since the last poll. Returns the number of records applied.
+   */
+  public synchronized int poll()
+      throws IOException {
+    try (FileChannel ch = FileChannel.open(path, READ)) {
+      if (ch.size() < ChangeLogFormat.HEADER_BYTES) return 0;
+      ByteBuffer header = ByteBuffer.allocate(ChangeLogFormat.HEADER_BYTES);
+      while (header.hasRemaining()) {
+        if (ch.read(header, header.position()) < 0) return 0;
+      }
+      long fileGeneration = ChangeLogFormat.readHeader(header.flip());
+
+      if (fileGeneration != generation) {
+        Map<String, ShortUrlMapping> staging = new HashMap<>();
+        long[] end = {ChangeLogFormat.HEADER_BYTES};
+        int applied = readFrom(ch, end, entry -> {
+          if (entry.type() == ChangeLogEntry.Type.DELETE) staging.remove(entry.mapping().shortCode());
+          else staging.put(entry.mapping().shortCode(), entry.mapping());
+        });
+        replica.reset(staging.values());
+        logger().info("change log generation {} loaded - {} records, {} mappings",
+                      fileGeneration, applied, staging.size());
+        generation = fileGeneration;
+        position = end[0];
+        return applied;
+      }
+
+      if (ch.size() < position) {
+        throw new IOException("Change log " + path + " shrank within generation " + generation);
+      }
+      long[] end = {position};
+      int applied = readFrom(ch, end, replica::apply);
+      position = end[0];
+      if (applied > 0) logger().debug("change log - applied {} records up to sequence {}", applied, lastSequence);
+      return applied;
+    } catch (NoSuchFileException e) {
+      return 0;
+    }
+  }
+
+  private int readFrom(FileChannel ch, long[] pos, EntrySink sink)
+      throws IOException {
+    int applied = 0;
+    while (true) {
+      buffer.clear();
+      int n = ch.read(buffer, pos[0]);
+      if (n <= 0) return applied;
+      buffer.flip();
+      ChangeLogEntry entry;
+      while ((entry = ChangeLogFormat.decode(buffer)) != null) {
+        sink.accept(entry);
+        lastSequence = entry.sequence();
+        applied++;
+      }
+      if (buffer.position() == 0) return applied; // incomplete record, retry on next poll
+      pos[0] += buffer.position();
+    }
+  }
+
+  public synchronized long lastSequence() {
+    return lastSequence;
+  }
+
+  public synchronized long generation() {
+    return generation;
+  }
+
+  public void start(Duration interval) {
+    long millis = Math.max(1, interval.toMillis());
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      var t = new Thread(r, "changelog-tailer");
+      t.setDaemon(true);
+      return t;
+    });
+    scheduler.scheduleWithFixedDelay(this::pollSafely, 0, millis, TimeUnit.MILLISECONDS);
+    logger().info("Tailing change log {} every {} ms", path, millis);
+  }
+
+  private void pollSafely() {
+    try {
+      poll();
+    } catch (Exception e) {
+      logger().warn("change log poll failed - {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public void close() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  @FunctionalInterface
+  private interface EntrySink {
+    void accept(ChangeLogEntry entry);
+  }
+}
@@ -0,0 +1,141 @@
+package com.svenruppert.urlshortener.api.store.urlmapping.replication;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingChangeListener;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingLookup;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Append-only, sequence-numbered log of all mapping mutations of the writer node.
+ * <p>
+ * Registered as {@link UrlMappingChangeListener} on the writable store. On start - and whenever
+ * the file grows beyond {@code maxBytes} - a new generation is written to a temporary file,
+ * seeded with a SNAPSHOT record per current mapping and atomically moved over the log path.
+ * Replaying a log is idempotent, so a mutation that is both in a snapshot and appended
+ * afterwards does no harm. Followers read the log with a {@link ChangeLogTailer}.
+ * <p>
+ * Sequence numbers are assigned in {@link #onChange}, which the store calls while it still holds
+ * its mutation lock. The log order is therefore the order in which the store applied the
+ * mutations, and a follower replaying it ends up with the same mapping per short code.
+ * <p>
+ * Configuration ({@code -Durlshortener.<key>}): {@code replication.log} (path, enables the log),
+ * {@code replication.log.maxBytes} and {@code replication.log.fsync}.
+ */
+public final class ChangeLogWriter
+    implements UrlMappingChangeListener, AutoCloseable, HasLogger {
+
+  public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+  private final Path path;
+  private final UrlMappingLookup source;
+  private final long maxBytes;
+  private final boolean fsync;
+
+  private FileChannel channel;
+  private long generation;
+  private long sequence;
+
+  public ChangeLogWriter(Path path, UrlMappingLookup source)
+      throws IOException {
+    this(path, source,
+         ConfigProperties.longValue("replication.log.maxBytes", DEFAULT_MAX_BYTES),
+         ConfigProperties.bool("replication.log.fsync", false));
+  }
+
+  public ChangeLogWriter(Path path, UrlMappingLookup source, long maxBytes, boolean fsync)
+      throws IOException {
+    this.path = Objects.requireNonNull(path, "path");
+    this.source = Objects.requireNonNull(source, "source");
+    this.maxBytes = maxBytes;
+    this.fsync = fsync;
+    startGeneration();
+  }
+
+  @Override
+  public synchronized void onChange(Operation operation, ShortUrlMapping before, ShortUrlMapping after) {
+    ShortUrlMapping mapping = after != null ? after : before;
+    if (mapping == null || channel == null) return;
+    try {
+      // runs under the store's mutation lock, so sequence order is apply order
+      append(channel, new ChangeLogEntry(++sequence, ChangeLogEntry.Type.of(operation), mapping));
+      if (fsync) channel.force(false);
+      if (channel.size() > maxBytes) startGeneration();
+    } catch (IOException e) {
+      logger().warn("change log append failed for {} {} - {}", operation, mapping.shortCode(), e.getMessage());
+    }
+  }
+
+  public synchronized long generation() {
+    return generation;
+  }
+
+  public synchronized long lastSequence() {
+    return sequence;
+  }
+
+  /**
+   * Writes the current store content as a new generation and swaps it in atomically.
+   */
+  private void startGeneration()
+      throws IOException {
+    Path parent = path.toAbsolutePath().getParent();
+    if (parent != null) Files.createDirectories(parent);
+    Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+    long nextGeneration = Math.max(System.currentTimeMillis(), generation + 1);
+
+    FileChannel next = FileChannel.open(tmp, CREATE, TRUNCATE_EXISTING, WRITE);
+    int snapshot = 0;
+    try {
+      writeFully(next, ChangeLogFormat.header(nextGeneration));
+      for (ShortUrlMapping m : source.findAll()) {
+        append(next, new ChangeLogEntry(++sequence, ChangeLogEntry.Type.SNAPSHOT, m));
+        snapshot++;
+      }
+      next.force(false);
+      Files.move(tmp, path, ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (IOException | RuntimeException e) {
+      next.close();
+      throw e;
+    }
+
+    FileChannel previous = channel;
+    channel = next;
+    generation = nextGeneration;
+    if (previous != null) previous.close();
+    logger().info("change log generation {} started at {} - {} snapshot records", generation, path, snapshot);
+  }
+
+  private static void append(FileChannel ch, ChangeLogEntry entry)
+      throws IOException {
+    writeFully(ch, ChangeLogFormat.encode(entry));
+  }
+
+  private static void writeFully(FileChannel ch, ByteBuffer buf)
+      throws IOException {
+    while (buf.hasRemaining()) ch.write(buf);
+  }
+
+  @Override
+  public synchronized void close() {
+    if (channel == null) return;
+    try {
+      channel.force(false);
+      channel.close();
+    } catch (IOException e) {
+      logger().warn("closing change log failed - {}", e.getMessage());
+    }
+    channel = null;
+  }
+}
@@ -0,0 +1,134 @@
+package com.svenruppert.urlshortener.api.store.urlmapping.replication;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.store.urlmapping.MappingStatus;
+import com.svenruppert.urlshortener.api.store.urlmapping.MappingStatusIndex;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilter;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingLookup;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilterHelper.filterSortAndPage;
+import static com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilterHelper.matches;
+import static com.svenruppert.urlshortener.core.AliasPolicy.normalize;
+
+/**
+ * Read-only, in-memory mapping index of a follower node, fed from the writer's change log.
+ * <p>
+ * A new log generation is installed with {@link #reset(Collection)} in one step, so lookups
+ * never observe a half-loaded index. Until the first reset, lookups can be answered by a
+ * bootstrap source such as a {@code MappedRedirectSnapshot}, so a fresh node serves redirects
+ * before the change log has been read.
+ */
+public final class ReplicaUrlMappingLookup
+    implements UrlMappingLookup, HasLogger {
+
+  private final MappingStatusIndex statusIndex;
+  private final AtomicLong version = new AtomicLong();
+  private volatile Map<String, ShortUrlMapping> mappings = new ConcurrentHashMap<>();
+  private volatile UrlMappingLookup bootstrap;
+
+  public ReplicaUrlMappingLookup(Clock clock) {
+    this(clock, null);
+  }
+
+  public ReplicaUrlMappingLookup(Clock clock, UrlMappingLookup bootstrap) {
+    this.statusIndex = new MappingStatusIndex(clock);
+    this.bootstrap = bootstrap;
+  }
+
+  public void apply(ChangeLogEntry entry) {
+    ShortUrlMapping m = entry.mapping();
+    if (entry.type() == ChangeLogEntry.Type.DELETE) {
+      var removed = mappings.remove(m.shortCode());
+      if (removed != null) statusIndex.onChange(entry.type().operation(), removed, null);
+    } else {
+      var previous = mappings.put(m.shortCode(), m);
+      statusIndex.onChange(entry.type().operation(), previous, m);
+    }
+    version.incrementAndGet();
+  }
+
+  public void reset(Collection<ShortUrlMapping> snapshot) {
+    var next = new ConcurrentHashMap<String, ShortUrlMapping>(Math.max(16, snapshot.size() * 2));
+    for (ShortUrlMapping m : snapshot) next.put(m.shortCode(), m);
+    statusIndex.rebuild(next.values());
+    mappings = next;
+    bootstrap = null;
+    version.incrementAndGet();
+  }
+
+  public boolean isBootstrapping() {
+    return bootstrap != null;
+  }
+
+  @Override
+  public boolean existsByCode(String shortCode) {
+    var b = bootstrap;
+    if (b != null) return b.existsByCode(shortCode);
+    return mappings.containsKey(normalize(shortCode));
+  }
+
+  @Override
+  public Optional<ShortUrlMapping> findByShortCode(String shortCode) {
+    var b = bootstrap;
+    if (b != null) return b.findByShortCode(shortCode);
+    return Optional.ofNullable(mappings.get(normalize(shortCode)));
+  }
+
+  @Override
+  public List<ShortUrlMapping> findAll() {
+    var b = bootstrap;
+    if (b != null) return b.findAll();
+    return new ArrayList<>(mappings.values());
+  }
+
+  @Override
+  public List<ShortUrlMapping> find(UrlMappingFilter filter) {
+    Objects.requireNonNull(filter, "filter");
+    var b = bootstrap;
+    if (b != null) return b.find(filter);
+    return filterSortAndPage(filter, mappings.values());
+  }
+
+  @Override
+  public int count(UrlMappingFilter filter) {
+    var b = bootstrap;
+    if (b != null) return b.count(filter);
+    int c = 0;
+    for (ShortUrlMapping m : mappings.values()) {
+      if (matches(filter, m)) c++;
+    }
+    return c;
+  }
+
+  @Override
+  public int countAll() {
+    var b = bootstrap;
+    if (b != null) return b.countAll();
+    return mappings.size();
+  }
+
+  @Override
+  public List<ShortUrlMapping> findByStatus(MappingStatus status) {
+    var b = bootstrap;
+    if (b != null) return b.findByStatus(status);
+    return statusIndex.find(status);
+  }
+
+  @Override
+  public int countByStatus(MappingStatus status) {
+    var b = bootstrap;
+    if (b != null) return b.countByStatus(status);
+    return statusIndex.count(status);
+  }
+
+  @Override
+  public long mutationVersion() {
+    return version.get();
+  }
+}
@@ -0,0 +1,261 @@
+package com.svenruppert.urlshortener.api.store.urlmapping.snapshot;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.store.urlmapping.MappingStatus;
+import com.svenruppert.urlshortener.api.store.urlmapping.MappingStatusIndex;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilter;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingLookup;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+import static com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilterHelper.filterSortAndPage;
+import static com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilterHelper.matches;
+import static com.svenruppert.urlshortener.api.store.urlmapping.snapshot.RedirectSnapshotFormat.*;
+import static com.svenruppert.urlshortener.core.AliasPolicy.normalize;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Read-only lookup served straight from a memory-mapped redirect snapshot
+ * (see {@link RedirectSnapshotFormat}).
+ * <p>
+ * Opening costs one header check (plus one CRC pass over the file when verification is on);
+ * nothing is deserialized up front, pages are faulted in by the lookups that need them.
+ * Snapshots carry no creation time, so mappings come back with {@code createdAt == null}.
+ * The list/count methods walk all records and are meant for diagnostics, not for the hot path.
+ */
+public final class MappedRedirectSnapshot
+    implements UrlMappingLookup, AutoCloseable, HasLogger {
+
+  private final Path path;
+  private final ByteBuffer buffer;
+  private final int count;
+  private final int slots;
+  private final int tableOffset;
+  private final int dataOffset;
+  private final long createdAt;
+  private volatile MappingStatusIndex statusIndex;
+
+  private MappedRedirectSnapshot(Path path, ByteBuffer buffer) {
+    this.path = path;
+    this.buffer = buffer;
+    this.createdAt = buffer.getLong(8);
+    this.count = buffer.getInt(16);
+    this.slots = buffer.getInt(20);
+    this.tableOffset = HEADER_BYTES;
+    this.dataOffset = (int) buffer.getLong(24);
+  }
+
+  /**
+   * Maps the snapshot file. With {@code verify} the CRC of the table and all records is
+   * checked as well; the header is always checked.
+   */
+  public static MappedRedirectSnapshot open(Path path, boolean verify)
+      throws IOException {
+    Objects.requireNonNull(path, "path");
+    long started = System.nanoTime();
+    MappedByteBuffer mapped;
+    try (FileChannel ch = FileChannel.open(path, READ)) {
+      long size = ch.size();
+      if (size < HEADER_BYTES) throw new IOException("Redirect snapshot too small: " + path);
+      if (size > MAX_FILE_BYTES) throw new IOException("Redirect snapshot exceeds 2 GiB: " + path);
+      mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+    validateHeader(mapped, path);
+    long dataOffset = mapped.getLong(24);
+    long dataBytes = mapped.getLong(32);
+    if (dataOffset + dataBytes != mapped.capacity()) {
+      throw new IOException("Redirect snapshot is truncated: " + path);
+    }
+    if (verify) {
+      var crc = new CRC32();
+      crc.update(mapped.slice(HEADER_BYTES, mapped.capacity() - HEADER_BYTES));
+      if (crc.getValue() != mapped.getLong(40)) {
+        throw new IOException("Redirect snapshot checksum mismatch: " + path);
+      }
+    }
+    var snapshot = new MappedRedirectSnapshot(path, mapped);
+    snapshot.logger().info("redirect snapshot {} opened: {} mappings in {} ms (verified={})",
+                           path, snapshot.count, (System.nanoTime() - started) / 1_000_000, verify);
+    return snapshot;
+  }
+
+  private static void validateHeader(ByteBuffer b, Path path)
+      throws IOException {
+    if (b.getInt(0) != MAGIC) throw new IOException("Not a redirect snapshot: " + path);
+    int version = b.getInt(4);
+    if (version != VERSION) throw new IOException("Unsupported redirect snapshot version " + version + ": " + path);
+    var crc = new CRC32();
+    crc.update(b.slice(0, HEADER_CRC_OFFSET));
+    if ((int) crc.getValue() != b.getInt(HEADER_CRC_OFFSET)) {
+      throw new IOException("Redirect snapshot header checksum mismatch: " + path);
+    }
+    int slots = b.getInt(20);
+    if (slots <= 0 || Integer.bitCount(slots) != 1
+        || b.getLong(24) != HEADER_BYTES + (long) slots * SLOT_BYTES) {
+      throw new IOException("Redirect snapshot header is inconsistent: " + path);
+    }
+  }
+
+  public Path path() {
+    return path;
+  }
+
+  public Instant createdAt() {
+    return Instant.ofEpochMilli(createdAt);
+  }
+
+  @Override
+  public Optional<ShortUrlMapping> findByShortCode(String shortCode) {
+    int record = locate(shortCode);
+    return record < 0 ? Optional.empty() : Optional.of(decode(record));
+  }
+
+  @Override
+  public boolean existsByCode(String shortCode) {
+    return locate(shortCode) >= 0;
+  }
+
+  /**
+   * Absolute position of the record for {@code shortCode}, or -1.
+   */
+  private int locate(String shortCode) {
+    if (shortCode == null || count == 0) return -1;
+    byte[] key = utf8(normalize(shortCode));
+    int h = hash(key);
+    int mask = slots - 1;
+    for (int slot = h & mask, probes = 0; probes < slots; slot = (slot + 1) & mask, probes++) {
+      int pos = tableOffset + slot * SLOT_BYTES;
+      int ref = buffer.getInt(pos + 4);
+      if (ref == 0) return -1;
+      if (buffer.getInt(pos) == h) {
+        int record = dataOffset + ref - 1;
+        if (codeEquals(record, key)) return record;
+      }
+    }
+    return -1;
+  }
+
+  private boolean codeEquals(int record, byte[] normalizedKey) {
+    int len = buffer.getShort(record + 1) & 0xFFFF;
+    int at = record + 3;
+    if (len == normalizedKey.length) {
+      boolean same = true;
+      for (int i = 0; i < len && same; i++) same = buffer.get(at + i) == normalizedKey[i];
+      if (same) return true;
+    }
+    // codes stored with upper-case letters only match after normalizing the stored value
+    return normalize(string(at, len)).equals(new String(normalizedKey, StandardCharsets.UTF_8));
+  }
+
+  private ShortUrlMapping decode(int record) {
+    int flags = buffer.get(record) & 0xFF;
+    int codeLen = buffer.getShort(record + 1) & 0xFFFF;
+    String code = string(record + 3, codeLen);
+    int urlAt = record + 3 + codeLen;
+    int urlLen = buffer.getInt(urlAt);
+    String url = string(urlAt + 4, urlLen);
+    Instant expires = null;
+    if ((flags & FLAG_EXPIRES) != 0) {
+      int at = urlAt + 4 + urlLen;
+      expires = Instant.ofEpochSecond(buffer.getLong(at), buffer.getInt(at + 8));
+    }
+    return new ShortUrlMapping(code, url, null, expires, (flags & FLAG_ACTIVE) != 0);
+  }
+
+  private int recordLength(int record) {
+    int codeLen = buffer.getShort(record + 1) & 0xFFFF;
+    int urlLen = buffer.getInt(record + 3 + codeLen);
+    int expires = (buffer.get(record) & FLAG_EXPIRES) != 0 ? 12 : 0;
+    return 3 + codeLen + 4 + urlLen + expires;
+  }
+
+  private String string(int at, int len) {
+    byte[] bytes = new byte[len];
+    buffer.get(at, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public List<ShortUrlMapping> findAll() {
+    var all = new ArrayList<ShortUrlMapping>(count);
+    for (int i = 0, record = dataOffset; i < count; i++) {
+      all.add(decode(record));
+      record += recordLength(record);
+    }
+    return all;
+  }
+
+  @Override
+  public List<ShortUrlMapping> find(UrlMappingFilter filter) {
+    Objects.requireNonNull(filter, "filter");
+    return filterSortAndPage(filter, findAll());
+  }
+
+  @Override
+  public int count(UrlMappingFilter filter) {
+    int c = 0;
+    for (ShortUrlMapping m : findAll()) {
+      if (matches(filter, m)) c++;
+    }
+    return c;
+  }
+
+  @Override
+  public int countAll() {
+    return count;
+  }
+
+  @Override
+  public List<ShortUrlMapping> findByStatus(MappingStatus status) {
+    return statusIndex().find(status);
+  }
+
+  @Override
+  public int countByStatus(MappingStatus status) {
+    return statusIndex().count(status);
+  }
+
+  private MappingStatusIndex statusIndex() {
+    var index = statusIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = statusIndex;
+        if (index == null) {
+          index = new MappingStatusIndex(Clock.systemUTC());
+          index.rebuild(findAll());
+          statusIndex = index;
+        }
+      }
+    }
+    return index;
+  }
+
+  /**
+   * A snapshot never changes.
+   */
+  @Override
+  public long mutationVersion() {
+    return 0;
+  }
+
+  /**
+   * The mapping is released by the garbage collector; closing only drops derived state.
+   */
+  @Override
+  public void close() {
+    statusIndex = null;
+  }
+}
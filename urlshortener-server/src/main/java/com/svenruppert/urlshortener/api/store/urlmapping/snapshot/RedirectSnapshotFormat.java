@@ -0,0 +1,56 @@
+package com.svenruppert.urlshortener.api.store.urlmapping.snapshot;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout of the redirect snapshot. All numbers big-endian.
+ * <pre>
+ * header (64 bytes)
+ *    0 i32 magic "USRS"      4 i32 version        8 i64 createdAt (epoch millis)
+ *   16 i32 count            20 i32 tableSlots    24 i64 dataOffset
+ *   32 i64 dataBytes        40 i64 crc32(table + data)
+ *   48 i32 crc32(header bytes 0..47)             52 reserved
+ * table := tableSlots * (i32 keyHash, i32 recordOffset + 1)     open addressing, 0 = empty slot
+ * record := u8 flags, u16 codeLength, code, i32 urlLength, url, [i64 expiresSecond, i32 expiresNano]
+ * </pre>
+ * Keys are the normalized short codes ({@code AliasPolicy.normalize}); the table is at most half
+ * full, so lookups usually touch one slot and one record. The file is read through a single
+ * {@code MappedByteBuffer} and therefore limited to 2 GiB.
+ */
+final class RedirectSnapshotFormat {
+
+  static final int MAGIC = 0x55535253; // "USRS"
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 64;
+  static final int HEADER_CRC_OFFSET = 48;
+  static final int SLOT_BYTES = 8;
+  static final long MAX_FILE_BYTES = Integer.MAX_VALUE;
+
+  static final int FLAG_ACTIVE = 1;
+  static final int FLAG_EXPIRES = 1 << 1;
+
+  private RedirectSnapshotFormat() {
+  }
+
+  static int tableSlots(int count) {
+    int slots = 16;
+    while (slots < count * 2L) slots <<= 1;
+    return slots;
+  }
+
+  /**
+   * FNV-1a over the UTF-8 bytes of the normalized code.
+   */
+  static int hash(byte[] key) {
+    int h = 0x811C9DC5;
+    for (byte b : key) {
+      h ^= (b & 0xFF);
+      h *= 0x01000193;
+    }
+    return h;
+  }
+
+  static byte[] utf8(String s) {
+    return (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+  }
+}
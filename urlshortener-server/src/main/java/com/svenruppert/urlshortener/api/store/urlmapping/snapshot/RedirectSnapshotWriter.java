@@ -0,0 +1,130 @@
+package com.svenruppert.urlshortener.api.store.urlmapping.snapshot;
+
+import com.svenruppert.dependencies.core.logger.HasLogger;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingLookup;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import static com.svenruppert.urlshortener.api.store.urlmapping.snapshot.RedirectSnapshotFormat.*;
+import static com.svenruppert.urlshortener.core.AliasPolicy.normalize;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Dumps what redirects need (code, target, expiry, active) into a snapshot file that
+ * {@link MappedRedirectSnapshot} can serve from directly. Statistics and creation times are
+ * not included. The file is written to a fresh temporary file next to the target and moved in
+ * place atomically, so concurrent writes each publish a complete snapshot.
+ */
+public final class RedirectSnapshotWriter
+    implements HasLogger {
+
+  private RedirectSnapshotWriter() {
+  }
+
+  public record Summary(Path path, int mappings, long bytes, long millis) {
+  }
+
+  public static Summary write(UrlMappingLookup source, Path target)
+      throws IOException {
+    long started = System.nanoTime();
+    List<ShortUrlMapping> mappings = source.findAll();
+    int count = mappings.size();
+    int slots = tableSlots(count);
+
+    // pass 1: record offsets and the hash table
+    int[] table = new int[slots * 2];
+    long offset = 0;
+    for (ShortUrlMapping m : mappings) {
+      byte[] key = utf8(normalize(m.shortCode()));
+      int h = hash(key);
+      int slot = h & (slots - 1);
+      while (table[slot * 2 + 1] != 0) slot = (slot + 1) & (slots - 1);
+      if (offset + 1 > Integer.MAX_VALUE) throw new IOException("Snapshot data exceeds 2 GiB");
+      table[slot * 2] = h;
+      table[slot * 2 + 1] = (int) offset + 1;
+      offset += recordBytes(m);
+    }
+    long dataOffset = HEADER_BYTES + (long) slots * SLOT_BYTES;
+    long dataBytes = offset;
+    if (dataOffset + dataBytes > MAX_FILE_BYTES) throw new IOException("Snapshot exceeds 2 GiB");
+
+    Path parent = target.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    // one temp file per call, so concurrent writers never share a file before the move
+    Path tmp = Files.createTempFile(parent, target.getFileName() + ".", ".tmp");
+
+    try {
+      try (FileChannel ch = FileChannel.open(tmp, TRUNCATE_EXISTING, WRITE)) {
+        // pass 2: table and records, checksummed on the way
+        ch.position(HEADER_BYTES);
+        var crc = new CRC32();
+        // the stream chain is only flushed, never closed: the channel still takes the header
+        var out = new DataOutputStream(new BufferedOutputStream(
+            new CheckedOutputStream(Channels.newOutputStream(ch), crc), 64 * 1024));
+        for (int v : table) out.writeInt(v);
+        for (ShortUrlMapping m : mappings) writeRecord(out, m);
+        out.flush();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+            .putInt(MAGIC)
+            .putInt(VERSION)
+            .putLong(System.currentTimeMillis())
+            .putInt(count)
+            .putInt(slots)
+            .putLong(dataOffset)
+            .putLong(dataBytes)
+            .putLong(crc.getValue());
+        var headerCrc = new CRC32();
+        headerCrc.update(header.array(), 0, HEADER_CRC_OFFSET);
+        header.putInt((int) headerCrc.getValue());
+        header.clear();
+        ch.position(0);
+        while (header.hasRemaining()) ch.write(header);
+        ch.force(true);
+      }
+      Files.move(tmp, target, ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(tmp);
+      throw e;
+    }
+
+    var summary = new Summary(target, count, Files.size(target), (System.nanoTime() - started) / 1_000_000);
+    HasLogger.staticLogger().info("redirect snapshot written {}", summary);
+    return summary;
+  }
+
+  private static long recordBytes(ShortUrlMapping m) {
+    return 1 + 2 + utf8(m.shortCode()).length + 4 + utf8(m.originalUrl()).length
+        + (m.expiresAt().isPresent() ? 12 : 0);
+  }
+
+  private static void writeRecord(DataOutputStream out, ShortUrlMapping m)
+      throws IOException {
+    byte[] code = utf8(m.shortCode());
+    byte[] url = utf8(m.originalUrl());
+    Instant expires = m.expiresAt().orElse(null);
+    out.writeByte((m.active() ? FLAG_ACTIVE : 0) | (expires != null ? FLAG_EXPIRES : 0));
+    out.writeShort(code.length);
+    out.write(code);
+    out.writeInt(url.length);
+    out.write(url);
+    if (expires != null) {
+      out.writeLong(expires.getEpochSecond());
+      out.writeInt(expires.getNano());
+    }
+  }
+}
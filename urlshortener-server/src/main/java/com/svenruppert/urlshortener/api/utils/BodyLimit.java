@@ -0,0 +1,37 @@
+package com.svenruppert.urlshortener.api.utils;
+
+import com.svenruppert.urlshortener.api.config.ConfigProperties;
+import com.svenruppert.urlshortener.core.DefaultValues;
+
+/**
+ * Per-endpoint request body limits in bytes.
+ * <p>
+ * Each limit can be overridden with {@code -Durlshortener.body.limit.<key>=<bytes>}.
+ */
+public enum BodyLimit {
+
+  /** Single mapping create/edit/toggle. */
+  SHORTEN("shorten", DefaultValues.BODY_LIMIT_SHORTEN_BYTES),
+  /** Bulk shorten / bulk validate (up to 500 URLs of 2000 chars). */
+  BULK("bulk", DefaultValues.BODY_LIMIT_BULK_BYTES),
+  /** Column visibility preferences. */
+  PREFERENCES("preferences", DefaultValues.BODY_LIMIT_PREFERENCES_BYTES),
+  /** Small admin/config updates. */
+  ADMIN("admin", DefaultValues.BODY_LIMIT_ADMIN_BYTES);
+
+  private final String key;
+  private final int maxBytes;
+
+  BodyLimit(String key, int defaultBytes) {
+    this.key = key;
+    this.maxBytes = Math.max(1, ConfigProperties.integer("body.limit." + key, defaultBytes));
+  }
+
+  public String key() {
+    return key;
+  }
+
+  public int maxBytes() {
+    return maxBytes;
+  }
+}
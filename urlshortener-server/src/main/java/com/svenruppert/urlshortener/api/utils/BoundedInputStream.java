@@ -0,0 +1,81 @@
+package com.svenruppert.urlshortener.api.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that fails with a {@link LimitExceededException} as soon as more than
+ * {@code maxBytes} have been read from the delegate.
+ * <p>
+ * Used for request bodies and for uncompressed ZIP content (zip bomb guard).
+ */
+public final class BoundedInputStream
+    extends FilterInputStream {
+
+  private final long maxBytes;
+  private final String label;
+  private long count;
+
+  public BoundedInputStream(InputStream delegate, long maxBytes, String label) {
+    super(delegate);
+    this.maxBytes = maxBytes;
+    this.label = label;
+  }
+
+  @Override
+  public int read()
+      throws IOException {
+    int r = super.read();
+    if (r != -1) count(1);
+    return r;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len)
+      throws IOException {
+    int r = super.read(b, off, len);
+    if (r > 0) count(r);
+    return r;
+  }
+
+  @Override
+  public long skip(long n)
+      throws IOException {
+    long r = super.skip(n);
+    if (r > 0) count(r);
+    return r;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  public long bytesRead() {
+    return count;
+  }
+
+  private void count(long n)
+      throws LimitExceededException {
+    count += n;
+    if (count > maxBytes) {
+      throw new LimitExceededException(label + " exceeds limit=" + maxBytes, maxBytes);
+    }
+  }
+
+  public static final class LimitExceededException
+      extends IOException {
+
+    private final long limit;
+
+    public LimitExceededException(String message, long limit) {
+      super(message);
+      this.limit = limit;
+    }
+
+    public long limit() {
+      return limit;
+    }
+  }
+}
@@ -7,7 +7,7 @@ import com.svenruppert.urlshortener.core.JsonUtils;
 import java.io.IOException;
 
 import static com.svenruppert.dependencies.core.net.HttpStatus.*;
-import static com.svenruppert.urlshortener.api.utils.JsonWriter.writeJson;
+import static com.svenruppert.urlshortener.api.utils.JsonWriter.writeJsonRaw;
 
 /**
  * Centralised factory for consistent JSON error responses.
@@ -43,7 +43,7 @@ public final class ErrorResponses {
 
   private static void write(HttpExchange ex, HttpStatus status, String json)
       throws IOException {
-    writeJson(ex, status, json);
+    writeJsonRaw(ex, status, json);
   }
 
   // ---------------------------------------------------------------------------
@@ -117,6 +117,15 @@ public final class ErrorResponses {
     write(ex, CONFLICT, errorJson(code, message));
   }
 
+  // ---------------------------------------------------------------------------
+  // 413 – Payload Too Large
+  // ---------------------------------------------------------------------------
+
+  public static void payloadTooLarge(HttpExchange ex, String message)
+      throws IOException {
+    write(ex, HttpStatus.fromCode(413), errorJson("payload_too_large", message));
+  }
+
   // ---------------------------------------------------------------------------
   // 500 – Internal Server Error
   // ---------------------------------------------------------------------------
@@ -135,14 +144,12 @@ public final class ErrorResponses {
 
   public static void withStatus(HttpExchange ex, int status, String message)
       throws IOException {
-    writeJson(ex, HttpStatus.fromCode(status),
-              "{\"error\":\"" + JsonUtils.escape(message) + "\"}");
+    write(ex, HttpStatus.fromCode(status), errorJson(message));
   }
 
   public static void withStatus(HttpExchange ex, HttpStatus status, String message)
       throws IOException {
-    writeJson(ex, status,
-              "{\"error\":\"" + JsonUtils.escape(message) + "\"}");
+    write(ex, status, errorJson(message));
   }
 
 }
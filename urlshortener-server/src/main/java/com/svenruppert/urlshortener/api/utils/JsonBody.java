@@ -0,0 +1,61 @@
+package com.svenruppert.urlshortener.api.utils;
+
+import tools.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Response body for {@link JsonWriter}, typed by how it gets encoded.
+ * <ul>
+ *   <li>{@link Encoded}: JSON that is already UTF-8 encoded, written as is</li>
+ *   <li>{@link Dto}: a value that Jackson serializes exactly once</li>
+ *   <li>{@link Streamed}: written token by token into the response body (chunked)</li>
+ * </ul>
+ * Constant payloads (error bodies etc.) should be kept as {@code Encoded} instances,
+ * then they are encoded only once per JVM.
+ */
+public sealed interface JsonBody
+    permits JsonBody.Encoded, JsonBody.Dto, JsonBody.Streamed {
+
+  static JsonBody encoded(String json) {
+    return new Encoded((json == null ? "null" : json).getBytes(UTF_8));
+  }
+
+  static JsonBody encoded(byte[] utf8) {
+    return new Encoded(utf8);
+  }
+
+  static JsonBody dto(Object value) {
+    return new Dto(value);
+  }
+
+  static JsonBody streamed(StreamingWriter writer) {
+    return new Streamed(writer);
+  }
+
+  record Encoded(byte[] utf8)
+      implements JsonBody {
+    public Encoded {
+      Objects.requireNonNull(utf8, "utf8");
+    }
+  }
+
+  record Dto(Object value)
+      implements JsonBody { }
+
+  record Streamed(StreamingWriter writer)
+      implements JsonBody {
+    public Streamed {
+      Objects.requireNonNull(writer, "writer");
+    }
+  }
+
+  @FunctionalInterface
+  interface StreamingWriter {
+    void write(JsonGenerator g)
+        throws IOException;
+  }
+}
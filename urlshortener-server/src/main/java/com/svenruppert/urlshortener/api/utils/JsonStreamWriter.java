@@ -0,0 +1,84 @@
+package com.svenruppert.urlshortener.api.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.svenruppert.dependencies.core.net.HttpStatus;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+import tools.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Writes mapping listings with a {@link JsonGenerator} directly into the response body.
+ * <p>
+ * The response uses chunked transfer encoding (see {@link JsonBody.Streamed}), so no
+ * intermediate DTO maps, JSON string or byte[] copy of the payload is created. The JSON shape
+ * is the same as {@code JsonUtils.toJsonListing} / {@code toJsonListingPaged}; all item
+ * values are strings.
+ */
+public final class JsonStreamWriter {
+
+  private JsonStreamWriter() {
+  }
+
+  public static void writeListing(HttpExchange ex,
+                                  HttpStatus status,
+                                  String mode,
+                                  Collection<ShortUrlMapping> items)
+      throws IOException {
+    stream(ex, status, g -> {
+      g.writeStartObject();
+      g.writeStringProperty("mode", mode);
+      g.writeNumberProperty("count", items.size());
+      writeItems(g, items);
+      g.writeEndObject();
+    });
+  }
+
+  public static void writeListingPaged(HttpExchange ex,
+                                       HttpStatus status,
+                                       String mode,
+                                       Collection<ShortUrlMapping> items,
+                                       int page, int size, int total,
+                                       Object sort, Object dir)
+      throws IOException {
+    stream(ex, status, g -> {
+      g.writeStartObject();
+      g.writeStringProperty("mode", mode);
+      g.writeNumberProperty("page", page);
+      g.writeNumberProperty("size", size);
+      g.writeNumberProperty("total", total);
+      if (sort != null) g.writeStringProperty("sort", String.valueOf(sort));
+      if (dir != null) g.writeStringProperty("dir", String.valueOf(dir));
+      g.writeNumberProperty("count", items.size());
+      writeItems(g, items);
+      g.writeEndObject();
+    });
+  }
+
+  /**
+   * Mapping as listed by the admin API: all values as strings, missing expiry as "".
+   */
+  public static void writeMappingDto(JsonGenerator g, ShortUrlMapping m) {
+    g.writeStartObject();
+    g.writeStringProperty("shortCode", m.shortCode());
+    g.writeStringProperty("originalUrl", m.originalUrl());
+    g.writeStringProperty("createdAt", m.createdAt().toString());
+    g.writeStringProperty("expiresAt", m.expiresAt().map(Instant::toString).orElse(""));
+    g.writeStringProperty("active", String.valueOf(m.active()));
+    g.writeEndObject();
+  }
+
+  private static void writeItems(JsonGenerator g, Collection<ShortUrlMapping> items) {
+    g.writeName("items");
+    g.writeStartArray();
+    for (ShortUrlMapping m : items) writeMappingDto(g, m);
+    g.writeEndArray();
+  }
+
+  private static void stream(HttpExchange ex, HttpStatus status, JsonBody.StreamingWriter body)
+      throws IOException {
+    JsonWriter.write(ex, status, JsonBody.streamed(body));
+  }
+}
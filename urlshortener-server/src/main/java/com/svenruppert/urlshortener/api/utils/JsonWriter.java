@@ -4,50 +4,43 @@ import com.sun.net.httpserver.HttpExchange;
 import com.svenruppert.dependencies.core.logger.HasLogger;
 import com.svenruppert.dependencies.core.net.HttpStatus;
 import com.svenruppert.urlshortener.core.JacksonJson;
+import tools.jackson.core.JsonGenerator;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 
+import static com.svenruppert.urlshortener.core.DefaultValues.CONTENT_TYPE;
+import static com.svenruppert.urlshortener.core.DefaultValues.JSON_CONTENT_TYPE;
+
+/**
+ * Single place where JSON responses are encoded and sent.
+ * Every body is encoded exactly once; nothing is parsed again before it is sent.
+ */
 public final class JsonWriter
     implements HasLogger {
 
   private JsonWriter() {
   }
 
+  /**
+   * Untyped entry point. {@link JsonBody} is written as is, everything else is serialized -
+   * a {@code String} always becomes a JSON string. Pre-encoded JSON goes through
+   * {@link #writeJsonRaw} or {@link JsonBody#encoded}.
+   */
   public static void writeJson(HttpExchange ex, HttpStatus status, Object body)
       throws IOException {
-    if (body instanceof String stringBody && isJsonObjectOrArray(stringBody)) {
-      writeJsonRaw(ex, status, stringBody);
-      return;
+    if (body instanceof JsonBody jsonBody) {
+      write(ex, status, jsonBody);
+    } else {
+      write(ex, status, JsonBody.dto(body));
     }
-
-    String json = JacksonJson.mapper().writeValueAsString(body);
-    writeJsonRaw(ex, status, json);
   }
 
-
   public static void writeJson(HttpExchange ex, int statusCode, Object body)
       throws IOException {
     writeJson(ex, HttpStatus.fromCode(statusCode), body);
   }
 
-  private static boolean isJsonObjectOrArray(String value) {
-    if (value == null) {
-      return false;
-    }
-    String trimmed = value.trim();
-    if (!(trimmed.startsWith("{") || trimmed.startsWith("["))) {
-      return false;
-    }
-    try {
-      JacksonJson.mapper().readTree(trimmed);
-      return true;
-    } catch (Exception ignored) {
-      return false;
-    }
-  }
-
   public static void writeJsonRaw(HttpExchange ex, int statusCode, String rawJson)
       throws IOException {
     writeJsonRaw(ex, HttpStatus.fromCode(statusCode), rawJson);
@@ -55,12 +48,39 @@ public final class JsonWriter
 
   public static void writeJsonRaw(HttpExchange ex, HttpStatus status, String rawJson)
       throws IOException {
-    if (rawJson == null) rawJson = "null";
-    byte[] bytes = rawJson.getBytes(StandardCharsets.UTF_8);
-    ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+    write(ex, status, JsonBody.encoded(rawJson));
+  }
+
+  public static void write(HttpExchange ex, HttpStatus status, JsonBody body)
+      throws IOException {
+    ex.getResponseHeaders().set(CONTENT_TYPE, JSON_CONTENT_TYPE);
+    switch (body) {
+      case JsonBody.Encoded encoded -> writeBytes(ex, status, encoded.utf8());
+      // serialized straight into a byte[]: no String, and small DTOs keep a Content-Length
+      case JsonBody.Dto dto -> writeBytes(ex, status, JacksonJson.mapper().writeValueAsBytes(dto.value()));
+      case JsonBody.Streamed streamed -> writeStreamed(ex, status, streamed.writer());
+    }
+  }
+
+  private static void writeBytes(HttpExchange ex, HttpStatus status, byte[] bytes)
+      throws IOException {
     ex.sendResponseHeaders(status.code(), bytes.length);
     try (OutputStream os = ex.getResponseBody()) {
       os.write(bytes);
     }
   }
+
+  private static void writeStreamed(HttpExchange ex, HttpStatus status, JsonBody.StreamingWriter writer)
+      throws IOException {
+    ex.sendResponseHeaders(status.code(), 0);
+    try (OutputStream os = ex.getResponseBody();
+         JsonGenerator g = JacksonJson.newGenerator(os)) {
+      writer.write(g);
+    } catch (RuntimeException e) {
+      // headers are out already, all we can do is cut the response short
+      HasLogger.staticLogger().warn("streaming JSON response failed for {} - {}",
+                                    ex.getRequestURI(), e.getMessage());
+      throw new IOException("streaming JSON response failed", e);
+    }
+  }
 }
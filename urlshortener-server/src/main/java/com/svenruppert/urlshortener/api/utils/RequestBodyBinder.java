@@ -0,0 +1,61 @@
+package com.svenruppert.urlshortener.api.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream.LimitExceededException;
+import com.svenruppert.urlshortener.core.JsonUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Binds JSON request bodies to DTOs straight from the request stream.
+ * <p>
+ * The body is never materialised as a String: Jackson reads from a
+ * {@link BoundedInputStream} that aborts once the endpoint's {@link BodyLimit} is exceeded.
+ * A declared {@code Content-Length} above the limit is rejected before reading anything.
+ * <p>
+ * Errors:
+ * <ul>
+ *   <li>blank or malformed JSON → {@link IllegalArgumentException} (same messages as {@link JsonUtils#fromJson(String, Class)})</li>
+ *   <li>body too large → {@link LimitExceededException}, answered with 413 by the handlers</li>
+ * </ul>
+ */
+public final class RequestBodyBinder {
+
+  private static final String LABEL = "Request body";
+
+  private RequestBodyBinder() {
+  }
+
+  public static <T> T bind(HttpExchange ex, Class<T> type, BodyLimit limit)
+      throws IOException {
+    return bind(ex, type, limit.maxBytes());
+  }
+
+  public static <T> T bind(HttpExchange ex, Class<T> type, int maxBytes)
+      throws IOException {
+    long declared = contentLength(ex);
+    if (declared > maxBytes) {
+      throw new LimitExceededException(LABEL + " exceeds limit=" + maxBytes, maxBytes);
+    }
+    return bind(ex.getRequestBody(), type, maxBytes);
+  }
+
+  public static <T> T bind(InputStream in, Class<T> type, int maxBytes)
+      throws IOException {
+    if (in == null) return JsonUtils.fromJson((InputStream) null, type);
+    try (var body = new BoundedInputStream(in, maxBytes, LABEL)) {
+      return JsonUtils.fromJson(body, type);
+    }
+  }
+
+  private static long contentLength(HttpExchange ex) {
+    String value = ex.getRequestHeaders().getFirst("Content-Length");
+    if (value == null) return -1;
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
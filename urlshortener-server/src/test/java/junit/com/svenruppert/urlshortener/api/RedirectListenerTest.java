@@ -0,0 +1,53 @@
+package junit.com.svenruppert.urlshortener.api;
+
+import com.svenruppert.urlshortener.api.RedirectListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RedirectListenerTest {
+
+  private RedirectListener listener;
+
+  @AfterEach
+  void tearDown() {
+    if (listener != null) listener.stop(0);
+  }
+
+  @Test
+  void everyListenerServesTheSameHandler()
+      throws IOException {
+    listener = new RedirectListener("localhost", 0, 3, 128);
+    listener.createContext("/", ex -> {
+      byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+      ex.sendResponseHeaders(200, body.length);
+      try (var os = ex.getResponseBody()) {
+        os.write(body);
+      }
+    });
+    listener.start();
+
+    var ports = new HashSet<Integer>();
+    for (InetSocketAddress address : listener.addresses()) {
+      ports.add(address.getPort());
+      var con = (HttpURLConnection) URI.create("http://localhost:" + address.getPort() + "/abc").toURL().openConnection();
+      try (InputStream in = con.getInputStream()) {
+        assertEquals(200, con.getResponseCode());
+        assertEquals("ok", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+      } finally {
+        con.disconnect();
+      }
+    }
+    assertEquals(3, ports.size());
+    assertEquals(listener.addresses().getFirst(), listener.getAddress());
+  }
+}
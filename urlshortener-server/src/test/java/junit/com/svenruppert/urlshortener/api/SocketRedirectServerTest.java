@@ -0,0 +1,100 @@
+package junit.com.svenruppert.urlshortener.api;
+
+import com.svenruppert.urlshortener.api.ShortCodeGenerator;
+import com.svenruppert.urlshortener.api.SocketRedirectServer;
+import com.svenruppert.urlshortener.api.handler.RedirectResolver;
+import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryUrlMappingStore;
+import com.svenruppert.urlshortener.api.store.statistics.StatisticsWriter;
+import com.svenruppert.urlshortener.core.statistics.RedirectEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocketRedirectServerTest {
+
+  private final List<RedirectEvent> events = new CopyOnWriteArrayList<>();
+  private SocketRedirectServer server;
+
+  @BeforeEach
+  void setUp()
+      throws IOException {
+    var store = new InMemoryUrlMappingStore(new ShortCodeGenerator(1));
+    store.createMapping("alpha", "https://example.org/a?x=1", null, true);
+    store.createMapping("old1", "https://example.org/old", Instant.parse("2030-01-01T00:00:00Z"), true);
+    store.createMapping("off1", "https://example.org/off", null, false);
+    var clock = Clock.fixed(Instant.parse("2031-01-01T00:00:00Z"), ZoneOffset.UTC);
+    StatisticsWriter writer = new StatisticsWriter() {
+      @Override
+      public void recordEvent(RedirectEvent event) {
+        events.add(event);
+      }
+
+      @Override
+      public void flush() {
+      }
+    };
+    server = new SocketRedirectServer("localhost", 0, 0, new RedirectResolver(store, clock), writer,
+                                      100, Duration.ofSeconds(5), null, null, null);
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  private String exchange(String request)
+      throws IOException {
+    try (var socket = new Socket("localhost", server.getAddress().getPort())) {
+      socket.setSoTimeout(5_000);
+      socket.getOutputStream().write(request.getBytes(StandardCharsets.ISO_8859_1));
+      socket.getOutputStream().flush();
+      var out = new ByteArrayOutputStream();
+      socket.getInputStream().transferTo(out);
+      return out.toString(StandardCharsets.ISO_8859_1);
+    }
+  }
+
+  @Test
+  void pipelinedRequestsOnOneConnection()
+      throws IOException {
+    String response = exchange("GET /alpha HTTP/1.1\r\nHost: x\r\nUser-Agent: test\r\n\r\n"
+                                   + "GET /ALPHA?utm=1 HTTP/1.1\r\nHost: x\r\n\r\n"
+                                   + "GET /missing HTTP/1.1\r\nHost: x\r\nConnection: close\r\n\r\n");
+    String[] parts = response.split("HTTP/1.1 ", -1);
+    assertEquals(4, parts.length, response);
+    assertTrue(parts[1].startsWith("302 Found"));
+    assertTrue(parts[1].contains("Location: https://example.org/a?x=1\r\n"));
+    assertTrue(parts[2].startsWith("302 Found"));
+    assertTrue(parts[3].startsWith("404 Not Found"));
+    assertTrue(parts[3].contains("Connection: close"));
+    assertEquals(2, events.size());
+    assertEquals("test", events.getFirst().userAgent());
+  }
+
+  @Test
+  void expiredInactiveAndInvalidRequests()
+      throws IOException {
+    assertTrue(exchange("GET /old1 HTTP/1.0\r\n\r\n").startsWith("HTTP/1.1 410 Gone"));
+    assertTrue(exchange("GET /off1 HTTP/1.0\r\n\r\n").startsWith("HTTP/1.1 404 Not Found"));
+    assertTrue(exchange("GET / HTTP/1.0\r\n\r\n").startsWith("HTTP/1.1 400 Bad Request"));
+    String post = exchange("POST /alpha HTTP/1.1\r\nContent-Length: 3\r\nConnection: close\r\n\r\nabc");
+    assertTrue(post.startsWith("HTTP/1.1 405 Method Not Allowed"));
+    assertTrue(post.contains("Allow: GET"));
+    assertTrue(exchange("garbage\r\n\r\n").startsWith("HTTP/1.1 400 Bad Request"));
+    assertTrue(events.isEmpty());
+  }
+}
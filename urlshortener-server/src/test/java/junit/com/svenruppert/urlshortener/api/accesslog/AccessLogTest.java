@@ -0,0 +1,94 @@
+package junit.com.svenruppert.urlshortener.api.accesslog;
+
+import com.svenruppert.urlshortener.api.accesslog.AccessLog;
+import com.svenruppert.urlshortener.api.accesslog.AccessLogEntry;
+import com.svenruppert.urlshortener.api.accesslog.AccessLogReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogTest {
+
+  private Path dir;
+
+  @BeforeEach
+  void setUp()
+      throws IOException {
+    dir = Files.createTempDirectory("accesslog");
+  }
+
+  @AfterEach
+  void tearDown()
+      throws IOException {
+    try (Stream<Path> files = Files.walk(dir)) {
+      for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+    }
+  }
+
+  @Test
+  void entriesAreWrittenInOrderAndReadBack()
+      throws IOException {
+    var log = new AccessLog(dir, 1024, 1 << 20, 4, Duration.ofMillis(1));
+    log.start();
+    assertTrue(log.record("alpha", 302, 12_345));
+    assertTrue(log.record("missing", 404, 2_000));
+    assertTrue(log.record(null, 400, 0));
+    log.close();
+
+    List<AccessLogEntry> entries = readAll();
+    assertEquals(3, entries.size());
+    assertEquals("alpha", entries.get(0).shortCode());
+    assertEquals(302, entries.get(0).status());
+    assertEquals(12, entries.get(0).durationMicros());
+    assertEquals(404, entries.get(1).status());
+    assertEquals("", entries.get(2).shortCode());
+    assertEquals(3, log.written());
+  }
+
+  @Test
+  void dropsEntriesWhenTheBufferIsFull() {
+    var log = new AccessLog(dir, 4, 1 << 20, 4, Duration.ofMillis(1));
+    for (int i = 0; i < 4; i++) assertTrue(log.record("c" + i, 302, 1_000));
+    assertFalse(log.record("c4", 302, 1_000), "writer not started, buffer holds four entries");
+    assertEquals(1, log.dropped());
+  }
+
+  @Test
+  void rollsOverAndKeepsOnlyTheNewestFiles()
+      throws IOException {
+    // room for a handful of records per file
+    var log = new AccessLog(dir, 1024, 400, 2, Duration.ofMillis(1));
+    log.start();
+    for (int i = 0; i < 200; i++) {
+      while (!log.record("code" + i, 302, 1_000)) Thread.onSpinWait();
+    }
+    log.close();
+
+    try (Stream<Path> files = Files.list(dir)) {
+      assertEquals(2, files.count());
+    }
+    List<AccessLogEntry> entries = readAll();
+    assertFalse(entries.isEmpty());
+    assertEquals("code199", entries.getLast().shortCode());
+  }
+
+  private List<AccessLogEntry> readAll()
+      throws IOException {
+    var entries = new ArrayList<AccessLogEntry>();
+    try (Stream<Path> files = Files.list(dir)) {
+      for (Path file : files.sorted().toList()) entries.addAll(AccessLogReader.readAll(file));
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,70 @@
+package junit.com.svenruppert.urlshortener.api.filter;
+
+import com.svenruppert.urlshortener.api.filter.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private static long ago(long millis) {
+    return System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+  @Test
+  void rejectsAboveLimit() {
+    var limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 2.0, 0.5, Duration.ofMillis(10));
+
+    long first = limiter.tryAcquire();
+    long second = limiter.tryAcquire();
+    assertTrue(first >= 0 && second >= 0);
+    assertEquals(-1, limiter.tryAcquire());
+
+    limiter.release(first);
+    assertTrue(limiter.tryAcquire() >= 0, "a released slot is usable again");
+
+    var stats = limiter.stats();
+    assertEquals("test", stats.name());
+    assertEquals(2, stats.inFlight());
+    assertEquals(3, stats.accepted());
+    assertEquals(1, stats.rejected());
+  }
+
+  @Test
+  void slowResponsesShrinkTheLimitOncePerSample() {
+    var limiter = new AdaptiveConcurrencyLimiter("test", 16, 2, 64, 2.0, 0.5, Duration.ofMillis(10));
+
+    limiter.tryAcquire();
+    limiter.release(ago(1));
+    assertEquals(16, limiter.limit());
+
+    limiter.tryAcquire();
+    limiter.release(ago(500));
+    assertEquals(8, limiter.limit(), "congestion halves the limit");
+
+    limiter.tryAcquire();
+    limiter.release(ago(500));
+    assertEquals(8, limiter.limit(), "no second decrease within the same sample window");
+  }
+
+  @Test
+  void growsOnlyWhileBusyAndNeverBelowFloor() {
+    var limiter = new AdaptiveConcurrencyLimiter("test", 4, 2, 5, 2.0, 0.5, Duration.ofMillis(50));
+
+    long idle = limiter.tryAcquire();
+    limiter.release(idle);
+    assertEquals(4, limiter.limit(), "one request in flight is no reason to grow");
+
+    long[] starts = new long[4];
+    for (int i = 0; i < starts.length; i++) starts[i] = limiter.tryAcquire();
+    for (long s : starts) limiter.release(s);
+    assertEquals(5, limiter.limit(), "capped at maxLimit");
+
+    limiter.tryAcquire();
+    limiter.release(ago(20));
+    assertEquals(5, limiter.limit(), "slow but below the latency floor");
+  }
+}
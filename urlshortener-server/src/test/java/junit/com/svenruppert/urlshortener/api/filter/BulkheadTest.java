@@ -0,0 +1,71 @@
+package junit.com.svenruppert.urlshortener.api.filter;
+
+import com.svenruppert.urlshortener.api.filter.Bulkhead;
+import com.svenruppert.urlshortener.api.filter.Bulkheads;
+import com.svenruppert.urlshortener.api.filter.Bulkheads.EndpointClass;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+  @Test
+  void classifiesByLongestPrefix() {
+    assertEquals(EndpointClass.HEAVY_IO, Bulkheads.classify("/api/list/export"));
+    assertEquals(EndpointClass.HEAVY_IO, Bulkheads.classify("/api/list/import/apply"));
+    assertEquals(EndpointClass.BULK_WRITE, Bulkheads.classify("/api/shorten/bulk"));
+    assertEquals(EndpointClass.READ, Bulkheads.classify("/api/list/all"));
+    assertEquals(EndpointClass.READ, Bulkheads.classify("/api/list/import/staging/conflicts"));
+    assertEquals(EndpointClass.METADATA, Bulkheads.classify("/api/list/count"));
+    assertEquals(EndpointClass.METADATA, Bulkheads.classify("/api/store/info"));
+    assertEquals(EndpointClass.METADATA, Bulkheads.classify("/api/shorten"));
+    assertEquals(EndpointClass.METADATA, Bulkheads.classify("/api/listing"), "prefix must end at a segment");
+  }
+
+  @Test
+  void rejectsWhenQueueIsFullAndRecordsWaits()
+      throws Exception {
+    var bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(5));
+    assertTrue(bulkhead.acquire());
+
+    var started = new CountDownLatch(1);
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var waiter = executor.submit(() -> {
+        started.countDown();
+        boolean ok = bulkhead.acquire();
+        if (ok) bulkhead.release();
+        return ok;
+      });
+      started.await();
+      while (bulkhead.stats().queued() == 0) Thread.onSpinWait();
+
+      assertFalse(bulkhead.acquire(), "queue holds one waiter only");
+      TimeUnit.MILLISECONDS.sleep(20);
+      bulkhead.release();
+      assertTrue(waiter.get(5, TimeUnit.SECONDS));
+    }
+
+    var stats = bulkhead.stats();
+    assertEquals(2, stats.accepted());
+    assertEquals(1, stats.rejectedQueueFull());
+    assertEquals(1, stats.waited());
+    assertTrue(stats.longestWaitMillis() >= 20, "wait was " + stats.longestWaitMillis());
+    assertEquals(1, stats.waitHistogram().under100ms() + stats.waitHistogram().under1s());
+    assertEquals(0, stats.active());
+  }
+
+  @Test
+  void timesOutWaiting()
+      throws Exception {
+    var bulkhead = new Bulkhead("test", 1, 4, Duration.ofMillis(30));
+    assertTrue(bulkhead.acquire());
+    assertFalse(bulkhead.acquire());
+    assertEquals(1, bulkhead.stats().rejectedTimeout());
+    assertEquals(0, bulkhead.stats().queued());
+  }
+}
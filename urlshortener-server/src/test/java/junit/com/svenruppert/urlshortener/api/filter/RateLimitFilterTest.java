@@ -0,0 +1,130 @@
+package junit.com.svenruppert.urlshortener.api.filter;
+
+import com.sun.net.httpserver.HttpServer;
+import com.svenruppert.urlshortener.api.filter.RateLimitFilter;
+import com.svenruppert.urlshortener.api.filter.TokenBucketLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+  private static final InetSocketAddress CLIENT_A = new InetSocketAddress(InetAddress.getLoopbackAddress(), 40000);
+  private static final InetSocketAddress CLIENT_B = address(10, 0, 0, 7);
+
+  private HttpServer server;
+
+  @AfterEach
+  void tearDown() {
+    if (server != null) server.stop(0);
+  }
+
+  @Test
+  void burstThenRefillAtConfiguredRate() {
+    var clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    var limiter = new TokenBucketLimiter(10, 3, 1024, true, clock);
+
+    assertTrue(limiter.tryAcquire(null, CLIENT_A));
+    assertTrue(limiter.tryAcquire(null, CLIENT_A));
+    assertTrue(limiter.tryAcquire(null, CLIENT_A));
+    assertFalse(limiter.tryAcquire(null, CLIENT_A));
+    assertTrue(limiter.tryAcquire(null, CLIENT_B), "other clients keep their own budget");
+
+    clock.advance(Duration.ofMillis(50));
+    assertFalse(limiter.tryAcquire(null, CLIENT_A), "half a token after 50ms at 10/s");
+    clock.advance(Duration.ofMillis(60));
+    assertTrue(limiter.tryAcquire(null, CLIENT_A));
+    assertFalse(limiter.tryAcquire(null, CLIENT_A));
+
+    clock.advance(Duration.ofDays(400));
+    for (int i = 0; i < 3; i++) assertTrue(limiter.tryAcquire(null, CLIENT_A));
+    assertFalse(limiter.tryAcquire(null, CLIENT_A), "refill stops at the burst size");
+    assertEquals(4, limiter.rejected());
+  }
+
+  @Test
+  void keysByFirstForwardedForEntry() {
+    var clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    var limiter = new TokenBucketLimiter(1, 1, 1 << 16, true, clock);
+
+    assertTrue(limiter.tryAcquire("203.0.113.9, 10.0.0.1", CLIENT_A));
+    assertFalse(limiter.tryAcquire(" 203.0.113.9 ,10.0.0.2", CLIENT_B), "same client behind another proxy");
+    assertTrue(limiter.tryAcquire("198.51.100.4", CLIENT_A));
+    assertTrue(limiter.tryAcquire(null, CLIENT_A));
+
+    var untrusting = new TokenBucketLimiter(1, 1, 1 << 16, false, clock);
+    assertTrue(untrusting.tryAcquire("203.0.113.9", CLIENT_A));
+    assertFalse(untrusting.tryAcquire("198.51.100.4", CLIENT_A), "header ignored, keyed by address");
+  }
+
+  @Test
+  void filterAnswers429WithRetryAfter()
+      throws Exception {
+    var limiter = new TokenBucketLimiter(1, 2, 1024, true, Clock.systemUTC());
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/", ex -> {
+      ex.sendResponseHeaders(204, -1);
+      ex.close();
+    }).getFilters().add(new RateLimitFilter(limiter));
+    server.start();
+
+    var client = HttpClient.newHttpClient();
+    var request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getAddress().getPort() + "/abc"))
+        .header("X-Forwarded-For", "192.0.2.33")
+        .build();
+    assertEquals(204, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+    assertEquals(204, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+    var throttled = client.send(request, HttpResponse.BodyHandlers.discarding());
+    assertEquals(429, throttled.statusCode());
+    assertEquals("1", throttled.headers().firstValue("Retry-After").orElse(null));
+  }
+
+  private static InetSocketAddress address(int a, int b, int c, int d) {
+    try {
+      return new InetSocketAddress(InetAddress.getByAddress(new byte[]{(byte) a, (byte) b, (byte) c, (byte) d}), 40000);
+    } catch (java.net.UnknownHostException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static final class MutableClock
+      extends Clock {
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration d) {
+      now = now.plus(d);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
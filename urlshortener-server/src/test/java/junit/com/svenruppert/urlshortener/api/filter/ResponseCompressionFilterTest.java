@@ -0,0 +1,137 @@
+package junit.com.svenruppert.urlshortener.api.filter;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.svenruppert.urlshortener.api.filter.ResponseCompressionFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCompressionFilterTest {
+
+  private static final String LARGE = "[" + "{\"shortCode\":\"abc\",\"originalUrl\":\"https://example.org\"},".repeat(100) + "{}]";
+
+  private HttpServer server;
+
+  @BeforeEach
+  void setUp()
+      throws Exception {
+    server = HttpServer.create(new InetSocketAddress(0), 0);
+    var filter = new ResponseCompressionFilter(true, 256, 6);
+    server.createContext("/large", ex -> send(ex, LARGE, false)).getFilters().add(filter);
+    server.createContext("/chunked", ex -> send(ex, LARGE, true)).getFilters().add(filter);
+    server.createContext("/empty", ex -> {
+      ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+      ex.sendResponseHeaders(200, 0);
+      ex.close();
+    }).getFilters().add(filter);
+    server.createContext("/small", ex -> send(ex, "{\"ok\":true}", false)).getFilters().add(filter);
+    server.createContext("/zip", ex -> {
+      byte[] body = LARGE.getBytes(StandardCharsets.UTF_8);
+      ex.getResponseHeaders().set("Content-Type", "application/zip");
+      ex.sendResponseHeaders(200, body.length);
+      try (OutputStream os = ex.getResponseBody()) {
+        os.write(body);
+      }
+    }).getFilters().add(filter);
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  private static void send(HttpExchange ex, String json, boolean chunked)
+      throws IOException {
+    byte[] body = json.getBytes(StandardCharsets.UTF_8);
+    ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+    ex.sendResponseHeaders(200, chunked ? 0 : body.length);
+    try (OutputStream os = ex.getResponseBody()) {
+      os.write(body);
+    }
+  }
+
+  private HttpResponse<byte[]> get(String path, String acceptEncoding)
+      throws Exception {
+    var builder = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getAddress().getPort() + path)).GET();
+    if (acceptEncoding != null) builder.header("Accept-Encoding", acceptEncoding);
+    return HttpClient.newHttpClient().send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+  }
+
+  private static String decode(InputStream in)
+      throws Exception {
+    try (in) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  @Test
+  void gzip_isApplied_forLargeJson() throws Exception {
+    var response = get("/large", "gzip, deflate");
+    assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+    assertTrue(response.body().length < LARGE.length());
+    assertEquals(LARGE, decode(new GZIPInputStream(new ByteArrayInputStream(response.body()))));
+  }
+
+  @Test
+  void chunkedResponses_areCompressedToo() throws Exception {
+    var response = get("/chunked", "gzip");
+    assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+    assertEquals(LARGE, decode(new GZIPInputStream(new ByteArrayInputStream(response.body()))));
+  }
+
+  @Test
+  void deflate_isUsed_whenGzipIsRefused() throws Exception {
+    var response = get("/large", "gzip;q=0, deflate");
+    assertEquals("deflate", response.headers().firstValue("Content-Encoding").orElse(null));
+    assertEquals(LARGE, decode(new InflaterInputStream(new ByteArrayInputStream(response.body()))));
+  }
+
+  @Test
+  void explicitRefusal_winsOverWildcard() throws Exception {
+    var response = get("/large", "gzip;q=0, *");
+    assertEquals("deflate", response.headers().firstValue("Content-Encoding").orElse(null));
+    assertEquals(LARGE, decode(new InflaterInputStream(new ByteArrayInputStream(response.body()))));
+
+    var none = get("/large", "gzip;q=0, deflate;q=0, *");
+    assertTrue(none.headers().firstValue("Content-Encoding").isEmpty());
+    assertEquals(LARGE, new String(none.body(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void emptyChunkedBody_isAValidGzipStream() throws Exception {
+    var response = get("/empty", "gzip");
+    assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+    assertEquals("", decode(new GZIPInputStream(new ByteArrayInputStream(response.body()))));
+  }
+
+  @Test
+  void smallBodies_zipAndMissingAcceptEncoding_areSentAsIs() throws Exception {
+    var small = get("/small", "gzip");
+    assertTrue(small.headers().firstValue("Content-Encoding").isEmpty());
+    assertEquals("{\"ok\":true}", new String(small.body(), StandardCharsets.UTF_8));
+
+    var zip = get("/zip", "gzip");
+    assertTrue(zip.headers().firstValue("Content-Encoding").isEmpty());
+
+    var plain = get("/large", null);
+    assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+    assertEquals(LARGE, new String(plain.body(), StandardCharsets.UTF_8));
+  }
+}
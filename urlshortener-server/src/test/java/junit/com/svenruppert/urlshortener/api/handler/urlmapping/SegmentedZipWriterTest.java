@@ -0,0 +1,108 @@
+package junit.com.svenruppert.urlshortener.api.handler.urlmapping;
+
+import com.sun.net.httpserver.HttpServer;
+import com.svenruppert.urlshortener.api.handler.urlmapping.exports.SegmentedZipWriter;
+import com.svenruppert.urlshortener.api.handler.urlmapping.imports.ZipImportReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.ZipFile;
+
+import static com.svenruppert.dependencies.core.net.HttpStatus.OK;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentedZipWriterTest {
+
+  private static final int SEGMENTS = 12;
+
+  private static String segmentContent(int i) {
+    return "{\"segment\":" + i + ",\"items\":[" + ("{\"shortCode\":\"s" + i + "\"},").repeat(2_000) + "{}]}";
+  }
+
+  private static byte[] export()
+      throws Exception {
+    HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+    ExecutorService workers = SegmentedZipWriter.newWorkerPool();
+    server.createContext("/export", ex -> SegmentedZipWriter.writeSegmentedZipStream(ex, OK, "export.zip", workers, sink -> {
+      for (int i = 0; i < SEGMENTS; i++) {
+        final int segment = i;
+        sink.submit(String.format("urlshortener-export-%05d.json", i + 1), out -> {
+          // later segments finish first, order must still be kept
+          try {
+            Thread.sleep(SEGMENTS - segment);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          out.write(segmentContent(segment).getBytes(StandardCharsets.UTF_8));
+        });
+      }
+    }));
+    server.start();
+    try {
+      HttpRequest request = HttpRequest.newBuilder()
+          .uri(URI.create("http://localhost:" + server.getAddress().getPort() + "/export"))
+          .GET()
+          .build();
+      HttpResponse<byte[]> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+      assertEquals(200, response.statusCode());
+      assertEquals("application/zip", response.headers().firstValue("Content-Type").orElse(null));
+      return response.body();
+    } finally {
+      server.stop(0);
+      workers.shutdownNow();
+    }
+  }
+
+  @Test
+  void entries_areWrittenInOrder_andReadableByZipFile()
+      throws Exception {
+    byte[] zip = export();
+
+    Path tmp = Files.createTempFile("segmented", ".zip");
+    try {
+      Files.write(tmp, zip);
+      try (var file = new ZipFile(tmp.toFile())) {
+        var names = Collections.list(file.entries()).stream().map(e -> e.getName()).toList();
+        assertEquals(SEGMENTS, names.size());
+        for (int i = 0; i < SEGMENTS; i++) {
+          var entry = file.getEntry(names.get(i));
+          assertEquals(String.format("urlshortener-export-%05d.json", i + 1), entry.getName());
+          try (var in = file.getInputStream(entry)) {
+            assertEquals(segmentContent(i), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+          }
+        }
+      }
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  @Test
+  void importReader_visitsAllSegments()
+      throws Exception {
+    byte[] zip = export();
+    List<String> seen = new ArrayList<>();
+    int matched = ZipImportReader.forEachExportJson(zip, "urlshortener-export", Long.MAX_VALUE, (name, in) -> {
+      String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      assertTrue(content.startsWith("{\"segment\":" + seen.size() + ","));
+      seen.add(name);
+    });
+    assertEquals(SEGMENTS, matched);
+    assertEquals(SEGMENTS, seen.size());
+
+    assertThrows(IOException.class,
+                 () -> ZipImportReader.forEachExportJson(zip, "urlshortener-export", 1_000, (name, in) -> in.readAllBytes()));
+  }
+}
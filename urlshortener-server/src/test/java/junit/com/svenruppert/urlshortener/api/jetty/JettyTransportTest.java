@@ -0,0 +1,92 @@
+package junit.com.svenruppert.urlshortener.api.jetty;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+import com.svenruppert.urlshortener.api.jetty.JettyTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JettyTransportTest {
+
+  private JettyTransport transport;
+
+  @BeforeEach
+  void setUp() {
+    transport = new JettyTransport("test", "localhost", 0, 0);
+    transport.createContext("/", ex -> {
+      ex.getResponseHeaders().add("Location", "https://example.org" + ex.getRequestURI().getPath());
+      ex.sendResponseHeaders(302, -1);
+      ex.close();
+    }, List.of());
+    Filter tagging = new Filter() {
+      @Override
+      public void doFilter(HttpExchange exchange, Chain chain)
+          throws IOException {
+        exchange.getResponseHeaders().add("X-Filtered", "yes");
+        chain.doFilter(exchange);
+      }
+
+      @Override
+      public String description() {
+        return "tagging";
+      }
+    };
+    transport.createContext("/api/echo", ex -> {
+      byte[] body = ex.getRequestBody().readAllBytes();
+      ex.sendResponseHeaders(200, body.length);
+      try (var os = ex.getResponseBody()) {
+        os.write(body);
+      }
+    }, List.of(tagging));
+    transport.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    transport.stop(0);
+  }
+
+  private String base() {
+    return "http://localhost:" + transport.getAddress().getPort();
+  }
+
+  @Test
+  void longestPrefixWinsAndFiltersRun()
+      throws Exception {
+    try (var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+      var redirect = client.send(HttpRequest.newBuilder(URI.create(base() + "/abc")).build(),
+                                 HttpResponse.BodyHandlers.discarding());
+      assertEquals(302, redirect.statusCode());
+      assertEquals("https://example.org/abc", redirect.headers().firstValue("Location").orElseThrow());
+
+      var echo = client.send(HttpRequest.newBuilder(URI.create(base() + "/api/echo"))
+                                 .POST(HttpRequest.BodyPublishers.ofString("hello")).build(),
+                             HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+      assertEquals(200, echo.statusCode());
+      assertEquals("hello", echo.body());
+      assertEquals("yes", echo.headers().firstValue("X-Filtered").orElseThrow());
+    }
+  }
+
+  @Test
+  void cleartextHttp2()
+      throws Exception {
+    try (var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build()) {
+      var response = client.send(HttpRequest.newBuilder(URI.create(base() + "/xyz")).build(),
+                                 HttpResponse.BodyHandlers.discarding());
+      assertEquals(302, response.statusCode());
+      assertEquals(HttpClient.Version.HTTP_2, response.version());
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package junit.com.svenruppert.urlshortener.api.jfr;
+
+import com.svenruppert.urlshortener.api.ShortCodeGenerator;
+import com.svenruppert.urlshortener.api.handler.RedirectResolver;
+import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryUrlMappingStore;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilter;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+
+  @Test
+  void redirectsMutationsAndQueriesAreRecorded()
+      throws Exception {
+    var store = new InMemoryUrlMappingStore(new ShortCodeGenerator(1));
+    var resolver = new RedirectResolver(store, Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC), null);
+
+    List<RecordedEvent> events;
+    try (var recording = new Recording()) {
+      for (String name : List.of("RedirectResolved", "MappingCommitted", "QueryExecuted")) {
+        recording.enable("com.svenruppert.urlshortener." + name).withThreshold(Duration.ZERO);
+      }
+      recording.start();
+      store.createMapping("alpha", "https://example.org/a", null, true);
+      store.toggleActive("alpha", false);
+      resolver.resolve("alpha");
+      resolver.resolve("missing");
+      store.find(UrlMappingFilter.builder().limit(10).build());
+      recording.stop();
+
+      var file = Files.createTempFile("urlshortener-events", ".jfr");
+      try {
+        recording.dump(file);
+        events = RecordingFile.readAllEvents(file);
+      } finally {
+        Files.deleteIfExists(file);
+      }
+    }
+
+    assertEquals(List.of("create", "toggleActive"), values(events, "MappingCommitted", "operation"));
+    assertEquals(List.of("inactive", "not_found"), values(events, "RedirectResolved", "outcome"));
+    var query = events.stream().filter(e -> e.getEventType().getName().endsWith("QueryExecuted")).findFirst().orElseThrow();
+    assertEquals("find", query.getString("query"));
+    assertEquals(1, query.getLong("rowsScanned"));
+    assertEquals(1, query.getLong("rowsReturned"));
+  }
+
+  private static List<String> values(List<RecordedEvent> events, String type, String field) {
+    return events.stream()
+        .filter(e -> e.getEventType().getName().endsWith(type))
+        .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+        .map(e -> e.getString(field))
+        .toList();
+  }
+}
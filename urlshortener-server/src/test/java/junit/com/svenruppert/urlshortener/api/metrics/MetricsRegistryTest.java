@@ -0,0 +1,53 @@
+package junit.com.svenruppert.urlshortener.api.metrics;
+
+import com.svenruppert.urlshortener.api.metrics.LatencyHistogram;
+import com.svenruppert.urlshortener.api.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+  @Test
+  void histogramQuantilesStayWithinBucketPrecision() {
+    var histogram = new LatencyHistogram();
+    for (int micros = 1; micros <= 10_000; micros++) {
+      histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+    }
+    double[] q = histogram.quantileNanos(0.5, 0.99);
+    assertEquals(5_000_000, q[0], 5_000_000 * 0.07);
+    assertEquals(9_900_000, q[1], 9_900_000 * 0.07);
+    assertEquals(10_000, histogram.count());
+    assertEquals(TimeUnit.MICROSECONDS.toNanos(10_000), histogram.maxNanos());
+  }
+
+  @Test
+  void sameNameAndLabelsReturnTheSameRecorder() {
+    var registry = new MetricsRegistry();
+    var a = registry.counter("requests_total", "Requests", "path", "/a");
+    assertSame(a, registry.counter("requests_total", "Requests", "path", "/a"));
+    assertNotSame(a, registry.counter("requests_total", "Requests", "path", "/b"));
+    assertThrows(IllegalArgumentException.class, () -> registry.histogram("requests_total", "Requests"));
+  }
+
+  @Test
+  void scrapeRendersPrometheusText() {
+    var registry = new MetricsRegistry();
+    registry.counter("requests_total", "Requests", "path", "/a\"b").add(3);
+    registry.gauge("queue_depth", "Queued", () -> 7);
+    registry.counter("rejected_total", "Rejected", () -> 42L, "scope", "admin");
+    registry.histogram("duration_seconds", "Duration", "op", "find").record(TimeUnit.MILLISECONDS.toNanos(2));
+
+    String text = registry.scrape();
+    assertTrue(text.contains("# TYPE requests_total counter\n"), text);
+    assertTrue(text.contains("requests_total{path=\"/a\\\"b\"} 3\n"), text);
+    assertTrue(text.contains("# TYPE queue_depth gauge\nqueue_depth 7\n"), text);
+    assertTrue(text.contains("# TYPE rejected_total counter\nrejected_total{scope=\"admin\"} 42\n"), text);
+    assertTrue(text.contains("# TYPE duration_seconds summary\n"), text);
+    assertTrue(text.contains("duration_seconds{op=\"find\",quantile=\"0.99\"} "), text);
+    assertTrue(text.contains("duration_seconds_count{op=\"find\"} 1\n"), text);
+    assertTrue(text.contains("duration_seconds_sum{op=\"find\"} 0.002\n"), text);
+  }
+}
@@ -0,0 +1,61 @@
+package junit.com.svenruppert.urlshortener.api.slowlog;
+
+import com.svenruppert.urlshortener.api.ShortCodeGenerator;
+import com.svenruppert.urlshortener.api.slowlog.QueryTrace;
+import com.svenruppert.urlshortener.api.slowlog.SlowOperation;
+import com.svenruppert.urlshortener.api.slowlog.SlowOperationLog;
+import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryUrlMappingStore;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowOperationLogTest {
+
+  @Test
+  void keepsTheNewestEntriesUpToCapacity() {
+    var log = new SlowOperationLog(Duration.ofMillis(100), 3);
+    assertFalse(log.isSlow(Duration.ofMillis(99).toNanos()));
+    assertTrue(log.isSlow(Duration.ofMillis(100).toNanos()));
+
+    for (int i = 0; i < 5; i++) log.record(operation("/api/list/" + i));
+
+    var snapshot = log.snapshot();
+    assertEquals(5, snapshot.recorded());
+    assertEquals(3, snapshot.entries().size());
+    assertEquals("/api/list/4", snapshot.entries().get(0).endpoint());
+    assertEquals("/api/list/2", snapshot.entries().get(2).endpoint());
+  }
+
+  @Test
+  void storeQueriesAreCollectedOnlyWhileATraceIsOpen() {
+    var store = new InMemoryUrlMappingStore(new ShortCodeGenerator(1));
+    store.createMapping("alpha", "https://example.org/a", null, true);
+    store.createMapping("beta", "https://example.org/b", null, true);
+    var filter = UrlMappingFilter.builder().limit(1).build();
+
+    store.find(filter); // no trace open, nothing to collect
+
+    var trace = QueryTrace.open();
+    try {
+      store.count(filter);
+      store.find(filter);
+    } finally {
+      trace.close();
+    }
+    assertEquals(2, trace.queries());
+    assertEquals(4, trace.rowsScanned());
+    assertEquals(3, trace.rowsReturned());
+    assertEquals(filter.toString(), trace.parameters());
+
+    QueryTrace.query("after close", 1, 1);
+    assertEquals(2, trace.queries());
+  }
+
+  private static SlowOperation operation(String endpoint) {
+    return new SlowOperation(Instant.now(), "GET", endpoint, null, 200, 150.0, null, 0, 0, 0);
+  }
+}
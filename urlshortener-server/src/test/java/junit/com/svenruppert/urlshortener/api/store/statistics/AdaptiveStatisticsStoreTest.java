@@ -0,0 +1,102 @@
+package junit.com.svenruppert.urlshortener.api.store.statistics;
+
+import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryStatisticsStore;
+import com.svenruppert.urlshortener.api.store.statistics.AdaptiveStatisticsStore;
+import com.svenruppert.urlshortener.core.statistics.RedirectEvent;
+import com.svenruppert.urlshortener.core.statistics.StatisticsLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveStatisticsStoreTest {
+
+  private static final Instant NOW = Instant.parse("2025-03-10T12:15:00Z");
+  private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+  private static final long SLOW = Duration.ofMillis(200).toNanos();
+  private static final long FAST = Duration.ofMillis(1).toNanos();
+
+  private InMemoryStatisticsStore delegate;
+  private AdaptiveStatisticsStore store;
+
+  @BeforeEach
+  void setUp() {
+    var clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    delegate = new InMemoryStatisticsStore(clock);
+    store = new AdaptiveStatisticsStore(
+        delegate,
+        new AdaptiveStatisticsStore.Settings(Duration.ofSeconds(1), Duration.ofMillis(50), 1_000, 4, 2),
+        clock);
+  }
+
+  @Test
+  void stepsDownUnderPressureAndBackUpWhenCalm() {
+    assertEquals(StatisticsLevel.FULL, store.statisticsLevel());
+
+    store.evaluate(SLOW, 0);
+    assertEquals(StatisticsLevel.SAMPLED, store.statisticsLevel());
+    store.evaluate(FAST, 5_000);
+    assertEquals(StatisticsLevel.AGGREGATE_ONLY, store.statisticsLevel(), "queue depth alone is pressure");
+    store.evaluate(SLOW, 0);
+    store.evaluate(SLOW, 0);
+    assertEquals(StatisticsLevel.DISABLED, store.statisticsLevel());
+
+    store.evaluate(FAST, 0);
+    assertEquals(StatisticsLevel.DISABLED, store.statisticsLevel(), "one calm interval is not enough");
+    store.evaluate(Duration.ofMillis(40).toNanos(), 0);
+    store.evaluate(FAST, 0);
+    assertEquals(StatisticsLevel.DISABLED, store.statisticsLevel(), "in-between intervals reset the recovery");
+    store.evaluate(FAST, 0);
+    assertEquals(StatisticsLevel.AGGREGATE_ONLY, store.statisticsLevel());
+
+    var transitions = store.levelTransitions();
+    assertEquals(4, transitions.size());
+    assertEquals(StatisticsLevel.FULL, transitions.getFirst().from());
+    assertEquals(StatisticsLevel.AGGREGATE_ONLY, transitions.getLast().to());
+    assertEquals(NOW, transitions.getLast().at());
+    assertTrue(transitions.getFirst().reason().contains("latency 200.0ms"));
+
+    @SuppressWarnings("unchecked")
+    var adaptive = (Map<String, Object>) store.getDebugInfo().get("adaptiveStatistics");
+    assertEquals(StatisticsLevel.AGGREGATE_ONLY, adaptive.get("level"));
+    assertTrue(store.getDebugInfo().containsKey("statisticsEnabled"), "delegate debug info is kept");
+  }
+
+  @Test
+  void sampledAndAggregateLevelsKeepExactCounts() {
+    store.evaluate(SLOW, 0);
+    assertEquals(StatisticsLevel.SAMPLED, store.statisticsLevel());
+
+    int detailed = 0;
+    for (int i = 0; i < 20; i++) {
+      if (store.detailRequested()) {
+        store.recordEvent(RedirectEvent.minimal("abc", NOW));
+        detailed++;
+      } else {
+        store.recordCount("abc", NOW, 1);
+      }
+    }
+    assertEquals(5, detailed, "one in four");
+
+    store.evaluate(SLOW, 0);
+    assertFalse(store.detailRequested());
+    store.recordEvent(RedirectEvent.minimal("abc", NOW));
+    store.flush();
+
+    assertEquals(5, delegate.getEventsForDate("abc", TODAY).size());
+    assertEquals(21, delegate.getCountForDate("abc", TODAY));
+    assertEquals(21, delegate.getHourlyAggregate("abc", TODAY).orElseThrow().getCount(12));
+
+    store.evaluate(SLOW, 0);
+    store.recordCount("abc", NOW, 3);
+    store.flush();
+    assertEquals(21, delegate.getCountForDate("abc", TODAY), "nothing is recorded while disabled");
+  }
+}
@@ -0,0 +1,97 @@
+package junit.com.svenruppert.urlshortener.api.store.urlmapping;
+
+import com.svenruppert.urlshortener.api.ShortCodeGenerator;
+import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryUrlMappingStore;
+import com.svenruppert.urlshortener.api.store.urlmapping.CachingUrlMappingLookup;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingUrlMappingLookupTest {
+
+  private InMemoryUrlMappingStore store;
+  private CachingUrlMappingLookup cache;
+
+  @BeforeEach
+  void setUp() {
+    store = new InMemoryUrlMappingStore(new ShortCodeGenerator(1));
+    store.createMapping("abc", "https://example.org/a", null, true);
+    store.createMapping("abd", "https://example.org/b", null, true);
+    store.createMapping("xyz", "https://example.org/c", null, false);
+    cache = new CachingUrlMappingLookup(store, 2);
+  }
+
+  @Test
+  void identicalQueries_areServedFromCache() {
+    var filter = UrlMappingFilter.builder().codePart("ab").offset(0).limit(10).build();
+
+    assertEquals(2, cache.find(filter).size());
+    assertEquals(2, cache.find(filter).size());
+    assertEquals(2, cache.count(filter));
+    assertEquals(2, cache.count(filter));
+
+    var stats = cache.stats();
+    assertEquals(2, stats.hits());
+    assertEquals(2, stats.misses());
+    assertEquals(0.5, stats.hitRate(), 0.0001);
+  }
+
+  @Test
+  void count_ignoresPagingAndSorting() {
+    var page1 = UrlMappingFilter.builder().active(true).offset(0).limit(1).build();
+    var page2 = UrlMappingFilter.builder().active(true).offset(1).limit(1)
+        .sortBy(UrlMappingFilter.SortBy.SHORT_CODE).build();
+
+    assertEquals(2, cache.count(page1));
+    assertEquals(2, cache.count(page2));
+    assertEquals(1, cache.stats().hits());
+  }
+
+  @Test
+  void mutation_invalidatesCachedResults() {
+    var filter = UrlMappingFilter.builder().active(true).build();
+    assertEquals(2, cache.count(filter));
+
+    long before = store.mutationVersion();
+    store.toggleActive("xyz", true);
+    assertTrue(store.mutationVersion() > before);
+
+    assertEquals(3, cache.count(filter));
+    assertEquals(0, cache.stats().hits());
+
+    store.delete("abc");
+    assertEquals(2, cache.count(filter));
+    assertEquals(2, cache.find(filter).size());
+  }
+
+  @Test
+  void failedMutation_keepsCacheValid() {
+    var filter = UrlMappingFilter.builder().build();
+    assertEquals(3, cache.count(filter));
+
+    assertFalse(store.delete("does-not-exist"));
+    assertEquals(3, cache.count(filter));
+    assertEquals(1, cache.stats().hits());
+  }
+
+  @Test
+  void leastRecentlyUsedEntry_isEvicted() {
+    var a = UrlMappingFilter.builder().codePart("abc").build();
+    var b = UrlMappingFilter.builder().codePart("abd").build();
+    var c = UrlMappingFilter.builder().codePart("xyz").build();
+
+    cache.count(a);
+    cache.count(b);
+    cache.count(a);      // a is now most recently used
+    cache.count(c);      // evicts b
+    assertEquals(2, cache.stats().size());
+
+    cache.count(a);
+    cache.count(b);
+    var stats = cache.stats();
+    assertEquals(2, stats.hits());
+    assertEquals(4, stats.misses());
+  }
+}
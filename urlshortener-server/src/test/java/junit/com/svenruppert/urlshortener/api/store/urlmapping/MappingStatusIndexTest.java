@@ -0,0 +1,110 @@
+package junit.com.svenruppert.urlshortener.api.store.urlmapping;
+
+import com.svenruppert.urlshortener.api.ShortCodeGenerator;
+import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryUrlMappingStore;
+import com.svenruppert.urlshortener.api.store.urlmapping.MappingStatus;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.svenruppert.urlshortener.api.store.urlmapping.MappingStatus.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MappingStatusIndexTest {
+
+  private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+  private MutableClock clock;
+  private InMemoryUrlMappingStore store;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(NOW);
+    store = new InMemoryUrlMappingStore(new ShortCodeGenerator(1), clock);
+  }
+
+  private Set<String> codes(MappingStatus status) {
+    return store.findByStatus(status).stream()
+        .map(ShortUrlMapping::shortCode)
+        .collect(Collectors.toSet());
+  }
+
+  @Test
+  void newMappings_areClassifiedOnCreate() {
+    store.createMapping("active1", "https://example.org/1", null, true);
+    store.createMapping("off1", "https://example.org/2", null, false);
+    store.createMapping("gone1", "https://example.org/3", NOW.minusSeconds(60), true);
+
+    assertEquals(Set.of("active1"), codes(ACTIVE));
+    assertEquals(Set.of("off1", "gone1"), codes(INACTIVE));
+    assertEquals(Set.of("gone1"), codes(EXPIRED));
+    assertEquals(1, store.countByStatus(ACTIVE));
+    assertEquals(2, store.countByStatus(INACTIVE));
+  }
+
+  @Test
+  void mappings_moveToExpired_whenTheirDeadlinePasses() {
+    store.createMapping("soon", "https://example.org/1", NOW.plusSeconds(30), true);
+    store.createMapping("later", "https://example.org/2", NOW.plusSeconds(3600), false);
+    assertEquals(0, store.countByStatus(EXPIRED));
+
+    clock.advance(Duration.ofSeconds(31));
+    assertEquals(Set.of("soon"), codes(EXPIRED));
+    assertEquals(Set.of("soon", "later"), codes(INACTIVE));
+    assertEquals(0, store.countByStatus(ACTIVE));
+
+    clock.advance(Duration.ofHours(1));
+    assertEquals(Set.of("soon", "later"), codes(EXPIRED));
+  }
+
+  @Test
+  void mutations_updateMembership() {
+    store.createMapping("abc", "https://example.org/1", NOW.plusSeconds(30), true);
+
+    store.toggleActive("abc", false);
+    assertEquals(Set.of("abc"), codes(INACTIVE));
+    assertEquals(0, store.countByStatus(ACTIVE));
+
+    // extending the deadline must drop the old expiry entry
+    store.editMapping("abc", null, NOW.plusSeconds(3600), true);
+    clock.advance(Duration.ofSeconds(60));
+    assertEquals(Set.of("abc"), codes(ACTIVE));
+    assertEquals(0, store.countByStatus(EXPIRED));
+
+    store.delete("abc");
+    assertEquals(0, store.countByStatus(ACTIVE));
+    assertEquals(0, store.countByStatus(INACTIVE));
+  }
+
+  private static final class MutableClock
+      extends Clock {
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration d) {
+      now = now.plus(d);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package junit.com.svenruppert.urlshortener.api.store.urlmapping;
+
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilter;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilter.Direction;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilter.SortBy;
+import com.svenruppert.urlshortener.api.store.urlmapping.UrlMappingFilterHelper;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Comparator.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UrlMappingFilterHelperTest {
+
+  private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+  private static List<ShortUrlMapping> mappings(int n) {
+    var rnd = new Random(42);
+    var list = new ArrayList<ShortUrlMapping>(n);
+    for (int i = 0; i < n; i++) {
+      // few distinct timestamps and urls -> lots of ties, the shortCode tiebreaker has to decide
+      var createdAt = BASE.plusSeconds(rnd.nextInt(20));
+      var expiresAt = rnd.nextInt(3) == 0 ? null : BASE.plusSeconds(rnd.nextInt(50));
+      list.add(new ShortUrlMapping("c" + Integer.toString(rnd.nextInt(), 36) + "-" + i,
+                                   "https://example.org/" + rnd.nextInt(10),
+                                   createdAt,
+                                   expiresAt,
+                                   rnd.nextBoolean()));
+    }
+    return list;
+  }
+
+  private static List<ShortUrlMapping> reference(UrlMappingFilter filter, List<ShortUrlMapping> values) {
+    Comparator<ShortUrlMapping> base = switch (filter.sortBy().orElse(null)) {
+      case null -> (a, b) -> 0;
+      case CREATED_AT -> comparing(ShortUrlMapping::createdAt);
+      case SHORT_CODE -> comparing(ShortUrlMapping::shortCode);
+      case ORIGINAL_URL -> comparing(ShortUrlMapping::originalUrl);
+      case EXPIRES_AT -> comparing((ShortUrlMapping m) -> m.expiresAt().orElse(null), nullsLast(naturalOrder()));
+    };
+    Comparator<ShortUrlMapping> cmp = base.thenComparing(ShortUrlMapping::shortCode);
+    if (filter.direction().orElse(Direction.ASC) == Direction.DESC) cmp = cmp.reversed();
+
+    var all = values.stream()
+        .filter(m -> UrlMappingFilterHelper.matches(filter, m))
+        .sorted(cmp)
+        .toList();
+    int from = filter.offset().orElse(0);
+    int to = (int) Math.min(all.size(), (long) from + filter.limit().orElse(Integer.MAX_VALUE));
+    return from >= all.size() ? List.of() : all.subList(from, to);
+  }
+
+  private static void assertSameAsFullSort(List<ShortUrlMapping> values, UrlMappingFilter filter) {
+    assertEquals(reference(filter, values),
+                 UrlMappingFilterHelper.filterSortAndPage(filter, values),
+                 filter.toString());
+  }
+
+  @Test
+  void topK_matchesFullSort_forAllSortOrders() {
+    var values = mappings(2_000);
+    for (var sortBy : SortBy.values()) {
+      for (var dir : Direction.values()) {
+        assertSameAsFullSort(values, UrlMappingFilter.builder()
+            .sortBy(sortBy).direction(dir).offset(0).limit(25).build());
+        assertSameAsFullSort(values, UrlMappingFilter.builder()
+            .sortBy(sortBy).direction(dir).active(true).offset(100).limit(50).build());
+      }
+    }
+    assertSameAsFullSort(values, UrlMappingFilter.builder().offset(10).limit(10).build());
+  }
+
+  @Test
+  void unboundedAndLargeOffsets_matchFullSort() {
+    var values = mappings(2_000);
+    assertSameAsFullSort(values, UrlMappingFilter.builder().sortBy(SortBy.CREATED_AT).build());
+    assertSameAsFullSort(values, UrlMappingFilter.builder().sortBy(SortBy.EXPIRES_AT)
+        .direction(Direction.DESC).offset(1_990).limit(50).build());
+    assertSameAsFullSort(values, UrlMappingFilter.builder().offset(5_000).limit(10).build());
+    assertSameAsFullSort(values, UrlMappingFilter.builder().offset(0).limit(0).build());
+  }
+
+  @Test
+  void parallelPartitions_matchFullSort() {
+    var values = mappings(120_000);
+    assertSameAsFullSort(values, UrlMappingFilter.builder()
+        .sortBy(SortBy.CREATED_AT).direction(Direction.DESC).offset(40).limit(20).build());
+    assertSameAsFullSort(values, UrlMappingFilter.builder()
+        .urlPart("example.org/3").sortBy(SortBy.ORIGINAL_URL).offset(0).limit(500).build());
+    assertSameAsFullSort(values, UrlMappingFilter.builder()
+        .active(false).sortBy(SortBy.EXPIRES_AT).offset(0).limit(20_000).build());
+  }
+}
@@ -0,0 +1,188 @@
+package junit.com.svenruppert.urlshortener.api.store.urlmapping.expiry;
+
+import com.svenruppert.urlshortener.api.ShortCodeGenerator;
+import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryStatisticsStore;
+import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryUrlMappingStore;
+import com.svenruppert.urlshortener.api.store.urlmapping.expiry.ExpiryReaper;
+import com.svenruppert.urlshortener.api.store.urlmapping.expiry.ExpiryRetentionPolicy;
+import com.svenruppert.urlshortener.api.store.urlmapping.expiry.ExpiryRetentionPolicy.Action;
+import com.svenruppert.urlshortener.api.store.urlmapping.expiry.HierarchicalTimingWheel;
+import com.svenruppert.urlshortener.core.statistics.RedirectEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiryReaperTest {
+
+  private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+  private MutableClock clock;
+  private InMemoryUrlMappingStore store;
+  private InMemoryStatisticsStore statistics;
+  private ExpiryReaper reaper;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(NOW);
+    store = new InMemoryUrlMappingStore(new ShortCodeGenerator(1), clock);
+    statistics = new InMemoryStatisticsStore(clock);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (reaper != null) reaper.close();
+  }
+
+  private void startReaper(Action action, Duration grace, boolean purgeStatistics) {
+    // no background tick: the test drives the reaper via reapDue()
+    var policy = new ExpiryRetentionPolicy(action, grace, purgeStatistics, Duration.ofSeconds(1));
+    reaper = new ExpiryReaper(store, statistics, policy, clock);
+    reaper.attach();
+  }
+
+  @Test
+  void timingWheel_firesEveryEntryNotBeforeItsDeadline() {
+    long start = 1_000_000L;
+    var wheel = new HierarchicalTimingWheel<Long>(10, 3, 3, start);
+    var rnd = new Random(7);
+    int n = 2_000;
+    for (int i = 0; i < n; i++) {
+      // up to well beyond the wheel range (8^3 ticks) to exercise the overflow queue
+      long deadline = start + rnd.nextInt(20_000);
+      wheel.schedule(deadline, deadline);
+    }
+    wheel.schedule(start - 50, start - 50);
+    n++;
+
+    List<Long> fired = new ArrayList<>();
+    long now = start;
+    while (now < start + 21_000) {
+      now += 1 + rnd.nextInt(40);
+      long current = now;
+      wheel.advance(now, (Long deadline) -> {
+        assertTrue(deadline <= current, "fired too early");
+        fired.add(deadline);
+      });
+    }
+    assertEquals(n, fired.size());
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void deactivate_switchesExpiredMappingsOff() {
+    store.createMapping("soon", "https://example.org/1", NOW.plusSeconds(30), true);
+    store.createMapping("never", "https://example.org/2", null, true);
+    startReaper(Action.DEACTIVATE, Duration.ZERO, false);
+
+    assertEquals(0, reaper.reapDue());
+    clock.advance(Duration.ofSeconds(31));
+    assertEquals(1, reaper.reapDue());
+
+    assertFalse(store.findByShortCode("soon").orElseThrow().active());
+    assertTrue(store.findByShortCode("never").orElseThrow().active());
+    assertEquals(1, reaper.deactivatedCount());
+  }
+
+  @Test
+  void deactivate_withStatisticsPurge_appliesOnlyOnce() {
+    store.createMapping("once", "https://example.org/1", NOW.plusSeconds(30), true);
+    statistics.recordEvent(RedirectEvent.minimal("once", NOW));
+    startReaper(Action.DEACTIVATE, Duration.ZERO, true);
+
+    clock.advance(Duration.ofSeconds(31));
+    assertEquals(1, reaper.reapDue());
+    // the reaper's own toggle does not put the mapping back on the wheel
+    assertEquals(0, reaper.pending());
+    clock.advance(Duration.ofSeconds(5));
+    assertEquals(0, reaper.reapDue());
+    assertEquals(1, reaper.deactivatedCount());
+  }
+
+  @Test
+  void purge_removesMappingCreatedInactiveAndAlreadyExpired() {
+    startReaper(Action.PURGE, Duration.ZERO, true);
+    store.createMapping("stale", "https://example.org/1", NOW.minusSeconds(60), false);
+    statistics.recordEvent(RedirectEvent.minimal("stale", NOW.minusSeconds(120)));
+
+    clock.advance(Duration.ofSeconds(1));
+    assertEquals(1, reaper.reapDue());
+    assertFalse(store.existsByCode("stale"));
+    assertEquals(0, statistics.getTotalCount("stale"));
+  }
+
+  @Test
+  void deactivate_withoutStatisticsPurge_skipsInactiveMappings() {
+    store.createMapping("off", "https://example.org/1", NOW.plusSeconds(30), false);
+    startReaper(Action.DEACTIVATE, Duration.ZERO, false);
+    store.createMapping("offToo", "https://example.org/2", NOW.minusSeconds(30), false);
+
+    assertEquals(0, reaper.pending());
+  }
+
+  @Test
+  void purge_respectsGracePeriod_andCascadesStatistics() {
+    store.createMapping("old", "https://example.org/1", NOW.plusSeconds(10), true);
+    statistics.recordEvent(RedirectEvent.minimal("old", NOW));
+    startReaper(Action.PURGE, Duration.ofMinutes(5), true);
+
+    clock.advance(Duration.ofMinutes(1));
+    assertEquals(0, reaper.reapDue());
+    assertTrue(store.existsByCode("old"));
+
+    clock.advance(Duration.ofMinutes(5));
+    assertEquals(1, reaper.reapDue());
+    assertFalse(store.existsByCode("old"));
+    assertEquals(0, statistics.getTotalCount("old"));
+    assertEquals(1, reaper.purgedCount());
+  }
+
+  @Test
+  void extendedExpiry_isRescheduled() {
+    startReaper(Action.PURGE, Duration.ZERO, false);
+    store.createMapping("abc", "https://example.org/1", NOW.plusSeconds(30), true);
+    store.editMapping("abc", null, NOW.plusSeconds(3600), true);
+
+    clock.advance(Duration.ofSeconds(60));
+    assertEquals(0, reaper.reapDue());
+    assertTrue(store.existsByCode("abc"));
+
+    clock.advance(Duration.ofHours(1));
+    assertEquals(1, reaper.reapDue());
+    assertFalse(store.existsByCode("abc"));
+  }
+
+  private static final class MutableClock
+      extends Clock {
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration d) {
+      now = now.plus(d);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package junit.com.svenruppert.urlshortener.api.store.urlmapping.guard;
+
+import com.svenruppert.urlshortener.api.ShortCodeGenerator;
+import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryUrlMappingStore;
+import com.svenruppert.urlshortener.api.store.urlmapping.guard.UnknownCodeGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnknownCodeGuardTest {
+
+  private InMemoryUrlMappingStore store;
+  private UnknownCodeGuard guard;
+
+  @BeforeEach
+  void setUp() {
+    store = new InMemoryUrlMappingStore(new ShortCodeGenerator(1));
+    store.createMapping("alpha", "https://example.org/a", null, true);
+    guard = new UnknownCodeGuard(store, 0.01, Duration.ofMinutes(5), 100);
+  }
+
+  @Test
+  void malformedCodesNeverReachTheStore() {
+    assertTrue(guard.find("ab").isEmpty());
+    assertTrue(guard.find("favicon.ico").isEmpty());
+    assertTrue(guard.find("x".repeat(40)).isEmpty());
+    assertEquals(3, guard.stats().rejectedMalformed());
+  }
+
+  @Test
+  void bloomFilterFollowsCreatesAndDeletes() {
+    assertTrue(guard.bloomEnabled());
+    assertTrue(guard.find("ALPHA").isPresent());
+
+    for (int i = 0; i < 200; i++) assertTrue(guard.find("unknown" + i).isEmpty());
+    var stats = guard.stats();
+    assertTrue(stats.rejectedBloom() > 150, "most unknown codes should stop at the bloom filter: " + stats);
+
+    store.createMapping("bravo", "https://example.org/b", null, true);
+    assertTrue(guard.find("bravo").isPresent());
+
+    store.delete("alpha");
+    assertTrue(guard.find("alpha").isEmpty());
+  }
+
+  @Test
+  void negativeEntriesExpireWithTheStoreVersion() {
+    // deleted codes stay in the bloom filter, so the store answers once and the miss is cached
+    store.createMapping("charlie", "https://example.org/c", null, true);
+    store.delete("charlie");
+    assertTrue(guard.find("charlie").isEmpty());
+    assertTrue(guard.find("charlie").isEmpty());
+    assertEquals(1, guard.stats().rejectedNegative());
+
+    store.createMapping("charlie", "https://example.org/c2", null, true);
+    assertEquals("https://example.org/c2", guard.find("charlie").orElseThrow().originalUrl());
+  }
+}
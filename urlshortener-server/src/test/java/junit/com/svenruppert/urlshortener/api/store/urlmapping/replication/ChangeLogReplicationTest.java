@@ -0,0 +1,155 @@
+package junit.com.svenruppert.urlshortener.api.store.urlmapping.replication;
+
+import com.svenruppert.urlshortener.api.ShortCodeGenerator;
+import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryUrlMappingStore;
+import com.svenruppert.urlshortener.api.store.urlmapping.replication.ChangeLogTailer;
+import com.svenruppert.urlshortener.api.store.urlmapping.replication.ChangeLogWriter;
+import com.svenruppert.urlshortener.api.store.urlmapping.replication.ReplicaUrlMappingLookup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeLogReplicationTest {
+
+  private Path dir;
+  private Path log;
+  private InMemoryUrlMappingStore store;
+  private ChangeLogWriter writer;
+  private ReplicaUrlMappingLookup replica;
+  private ChangeLogTailer tailer;
+
+  @BeforeEach
+  void setUp()
+      throws IOException {
+    dir = Files.createTempDirectory("changelog");
+    log = dir.resolve("changelog.bin");
+    store = new InMemoryUrlMappingStore(new ShortCodeGenerator(1));
+    replica = new ReplicaUrlMappingLookup(Clock.systemUTC());
+    tailer = new ChangeLogTailer(log, replica);
+  }
+
+  @AfterEach
+  void tearDown()
+      throws IOException {
+    tailer.close();
+    if (writer != null) writer.close();
+    try (var files = Files.list(dir)) {
+      for (Path p : files.toList()) Files.deleteIfExists(p);
+    }
+    Files.deleteIfExists(dir);
+  }
+
+  private void startWriter(long maxBytes)
+      throws IOException {
+    writer = new ChangeLogWriter(log, store, maxBytes, false);
+    store.addChangeListener(writer);
+  }
+
+  private void assertInSync() {
+    assertEquals(new HashSet<>(store.findAll()), new HashSet<>(replica.findAll()));
+  }
+
+  @Test
+  void follower_seesExistingMappings_andAllMutationKinds()
+      throws IOException {
+    store.createMapping("before", "https://example.org/before", null, true);
+    startWriter(Long.MAX_VALUE);
+
+    tailer.poll();
+    assertInSync();
+
+    store.createMapping("alpha", "https://example.org/a", null, true);
+    store.createMapping("bravo", "https://example.org/b", Instant.parse("2099-01-01T00:00:00Z"), true);
+    store.editMapping("alpha", "https://example.org/a2", null, true);
+    store.toggleActive("bravo", false);
+    store.delete("before");
+
+    assertEquals(5, tailer.poll());
+    assertInSync();
+    assertEquals("https://example.org/a2", replica.findByShortCode("alpha").orElseThrow().originalUrl());
+    assertFalse(replica.findByShortCode("bravo").orElseThrow().active());
+    assertTrue(replica.findByShortCode("before").isEmpty());
+    assertEquals(0, tailer.poll());
+  }
+
+  @Test
+  void concurrentMutationsOfOneCode_areLoggedInApplyOrder()
+      throws Exception {
+    startWriter(Long.MAX_VALUE);
+    store.createMapping("race", "https://example.org/0", null, true);
+
+    var start = new CountDownLatch(1);
+    try (var pool = Executors.newFixedThreadPool(4)) {
+      for (int t = 0; t < 4; t++) {
+        int thread = t;
+        pool.submit(() -> {
+          start.await();
+          for (int i = 0; i < 200; i++) {
+            if ((i + thread) % 2 == 0) store.toggleActive("race", i % 3 == 0);
+            else store.editMapping("race", "https://example.org/" + thread + "-" + i, null, i % 5 != 0);
+          }
+          return null;
+        });
+      }
+      start.countDown();
+    }
+
+    tailer.poll();
+    assertEquals(store.findByShortCode("race"), replica.findByShortCode("race"));
+    assertInSync();
+  }
+
+  @Test
+  void compaction_startsNewGeneration_thatFollowersPickUp()
+      throws IOException {
+    startWriter(512);
+    tailer.poll();
+    long firstGeneration = tailer.generation();
+
+    for (int i = 0; i < 50; i++) {
+      store.createMapping("code" + i, "https://example.org/" + i, null, true);
+      if (i % 7 == 0) tailer.poll();
+    }
+    tailer.poll();
+    assertNotEquals(firstGeneration, tailer.generation());
+    assertEquals(50, replica.countAll());
+    assertInSync();
+  }
+
+  @Test
+  void incompleteRecord_isRetriedOnNextPoll()
+      throws IOException {
+    startWriter(Long.MAX_VALUE);
+    store.createMapping("xray", "https://example.org/x", null, true);
+    tailer.poll();
+
+    byte[] full = Files.readAllBytes(log);
+    store.createMapping("yankee", "https://example.org/y", null, true);
+    byte[] grown = Files.readAllBytes(log);
+    // simulate a reader racing the writer: only half of the new record is visible
+    Path partial = dir.resolve("partial.bin");
+    int visible = full.length + (grown.length - full.length) / 2;
+    Files.write(partial, Arrays.copyOf(grown, visible));
+    var partialReplica = new ReplicaUrlMappingLookup(Clock.systemUTC());
+    var partialTailer = new ChangeLogTailer(partial, partialReplica);
+    partialTailer.poll();
+    assertTrue(partialReplica.findByShortCode("yankee").isEmpty());
+
+    Files.write(partial, Arrays.copyOfRange(grown, visible, grown.length), StandardOpenOption.APPEND);
+    assertEquals(1, partialTailer.poll());
+    assertTrue(partialReplica.findByShortCode("yankee").isPresent());
+  }
+}
@@ -0,0 +1,142 @@
+package junit.com.svenruppert.urlshortener.api.store.urlmapping.snapshot;
+
+import com.svenruppert.urlshortener.api.ShortCodeGenerator;
+import com.svenruppert.urlshortener.api.store.provider.inmemory.InMemoryUrlMappingStore;
+import com.svenruppert.urlshortener.api.store.urlmapping.replication.ReplicaUrlMappingLookup;
+import com.svenruppert.urlshortener.api.store.urlmapping.snapshot.MappedRedirectSnapshot;
+import com.svenruppert.urlshortener.api.store.urlmapping.snapshot.RedirectSnapshotWriter;
+import com.svenruppert.urlshortener.core.urlmapping.ShortUrlMapping;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedirectSnapshotTest {
+
+  private Path dir;
+  private Path file;
+  private InMemoryUrlMappingStore store;
+
+  @BeforeEach
+  void setUp()
+      throws IOException {
+    dir = Files.createTempDirectory("snapshot");
+    file = dir.resolve("redirect-snapshot.bin");
+    store = new InMemoryUrlMappingStore(new ShortCodeGenerator(1));
+  }
+
+  @AfterEach
+  void tearDown()
+      throws IOException {
+    try (var files = Files.list(dir)) {
+      for (Path p : files.toList()) Files.deleteIfExists(p);
+    }
+    Files.deleteIfExists(dir);
+  }
+
+  @Test
+  void roundTripServesEveryMapping()
+      throws IOException {
+    Instant expires = Instant.parse("2099-01-01T10:15:30.123456789Z");
+    store.createMapping("alpha", "https://example.org/a", null, true);
+    store.createMapping("bravo", "https://example.org/b?q=ä", expires, false);
+    for (int i = 0; i < 500; i++) {
+      store.createMapping("code" + i, "https://example.org/" + i, null, true);
+    }
+
+    var summary = RedirectSnapshotWriter.write(store, file);
+    assertEquals(502, summary.mappings());
+
+    try (var snapshot = MappedRedirectSnapshot.open(file, true)) {
+      assertEquals(502, snapshot.countAll());
+      for (ShortUrlMapping m : store.findAll()) {
+        var loaded = snapshot.findByShortCode(m.shortCode()).orElseThrow();
+        assertEquals(m.originalUrl(), loaded.originalUrl());
+        assertEquals(m.expiresAt(), loaded.expiresAt());
+        assertEquals(m.active(), loaded.active());
+      }
+      assertEquals(502, snapshot.findAll().size());
+      assertEquals("https://example.org/a", snapshot.findByShortCode("ALPHA").orElseThrow().originalUrl());
+      assertTrue(snapshot.findByShortCode("missing").isEmpty());
+      assertFalse(snapshot.existsByCode("nope"));
+    }
+  }
+
+  @Test
+  void concurrentWritesEachPublishACompleteSnapshot()
+      throws Exception {
+    for (int i = 0; i < 2_000; i++) {
+      store.createMapping("code" + i, "https://example.org/" + i, null, true);
+    }
+    var start = new CountDownLatch(1);
+    try (var pool = Executors.newFixedThreadPool(4)) {
+      for (int t = 0; t < 4; t++) {
+        pool.submit(() -> {
+          start.await();
+          return RedirectSnapshotWriter.write(store, file);
+        });
+      }
+      start.countDown();
+    }
+
+    try (var snapshot = MappedRedirectSnapshot.open(file, true)) {
+      assertEquals(2_000, snapshot.countAll());
+      assertEquals("https://example.org/1999", snapshot.findByShortCode("code1999").orElseThrow().originalUrl());
+    }
+    try (var files = Files.list(dir)) {
+      assertEquals(List.of(file), files.toList());
+    }
+  }
+
+  @Test
+  void emptyStoreGivesEmptySnapshot()
+      throws IOException {
+    RedirectSnapshotWriter.write(store, file);
+    try (var snapshot = MappedRedirectSnapshot.open(file, true)) {
+      assertEquals(0, snapshot.countAll());
+      assertTrue(snapshot.findByShortCode("alpha").isEmpty());
+      assertEquals(List.of(), snapshot.findAll());
+    }
+  }
+
+  @Test
+  void corruptedRecordIsDetected()
+      throws IOException {
+    store.createMapping("alpha", "https://example.org/a", null, true);
+    RedirectSnapshotWriter.write(store, file);
+
+    byte[] bytes = Files.readAllBytes(file);
+    bytes[bytes.length - 1] ^= 0x01;
+    Files.write(file, bytes);
+
+    assertThrows(IOException.class, () -> MappedRedirectSnapshot.open(file, true));
+  }
+
+  @Test
+  void replicaServesSnapshotUntilFirstReset()
+      throws IOException {
+    store.createMapping("alpha", "https://example.org/a", null, true);
+    RedirectSnapshotWriter.write(store, file);
+
+    try (var snapshot = MappedRedirectSnapshot.open(file, false)) {
+      var replica = new ReplicaUrlMappingLookup(Clock.systemUTC(), snapshot);
+      assertTrue(replica.isBootstrapping());
+      assertTrue(replica.findByShortCode("alpha").isPresent());
+
+      replica.reset(List.of(new ShortUrlMapping("bravo", "https://example.org/b", Instant.now(), null, true)));
+      assertFalse(replica.isBootstrapping());
+      assertTrue(replica.findByShortCode("alpha").isEmpty());
+      assertTrue(replica.findByShortCode("bravo").isPresent());
+    }
+  }
+}
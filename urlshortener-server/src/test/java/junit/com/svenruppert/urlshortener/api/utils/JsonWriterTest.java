@@ -1,6 +1,7 @@
 package junit.com.svenruppert.urlshortener.api.utils;
 
 import com.sun.net.httpserver.HttpServer;
+import com.svenruppert.urlshortener.api.utils.JsonBody;
 import com.svenruppert.urlshortener.api.utils.JsonWriter;
 import org.junit.jupiter.api.Test;
 
@@ -16,12 +17,20 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 class JsonWriterTest {
 
   @Test
-  void writeJson_shouldNotDoubleEncodeJsonObjectString()
+  void writeJson_shouldNotDoubleEncodeEncodedJson()
       throws Exception {
-    String body = callEndpoint("{\"count\":0}");
+    String body = callEndpoint(JsonBody.encoded("{\"count\":0}"));
     assertEquals("{\"count\":0}", body);
   }
 
+  @Test
+  void writeJson_shouldSerializeJsonLookingStringAsJsonString()
+      throws Exception {
+    String body = callEndpoint("{\"count\":0}");
+    assertEquals("\"{\\\"count\\\":0}\"", body);
+    assertEquals("\"{not: json}\"", callEndpoint("{not: json}"));
+  }
+
   @Test
   void writeJson_shouldSerializePlainStringAsJsonString()
       throws Exception {
@@ -36,6 +45,20 @@ class JsonWriterTest {
     assertEquals("{\"count\":0}", body);
   }
 
+  @Test
+  void writeJson_shouldSendEncodedBodyAsIs()
+      throws Exception {
+    String body = callEndpoint(JsonBody.encoded("[1,2,3]"));
+    assertEquals("[1,2,3]", body);
+  }
+
+  @Test
+  void writeJson_shouldSerializeUnbalancedStringAsJsonString()
+      throws Exception {
+    String body = callEndpoint("{not json");
+    assertEquals("\"{not json\"", body);
+  }
+
   private String callEndpoint(Object responseBody)
       throws Exception {
     HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
@@ -0,0 +1,90 @@
+package junit.com.svenruppert.urlshortener.api.utils;
+
+import com.sun.net.httpserver.HttpServer;
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream;
+import com.svenruppert.urlshortener.api.utils.BoundedInputStream.LimitExceededException;
+import com.svenruppert.urlshortener.api.utils.ErrorResponses;
+import com.svenruppert.urlshortener.api.utils.RequestBodyBinder;
+import com.svenruppert.urlshortener.api.utils.SuccessResponses;
+import com.svenruppert.urlshortener.core.urlmapping.ShortenRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestBodyBinderTest {
+
+  private static InputStream stream(String s) {
+    return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void boundedStream_failsOnceLimitIsExceeded()
+      throws Exception {
+    try (var in = new BoundedInputStream(stream("0123456789"), 10, "Body")) {
+      assertEquals(10, in.readAllBytes().length);
+    }
+    try (var in = new BoundedInputStream(stream("0123456789X"), 10, "Body")) {
+      var e = assertThrows(LimitExceededException.class, in::readAllBytes);
+      assertEquals(10, e.limit());
+      assertEquals("Body exceeds limit=10", e.getMessage());
+    }
+  }
+
+  @Test
+  void bind_blankBody_isBadRequest() {
+    var e = assertThrows(IllegalArgumentException.class,
+                         () -> RequestBodyBinder.bind(stream("  \n "), ShortenRequest.class, 64));
+    assertEquals("JSON input is null or blank", e.getMessage());
+  }
+
+  @Test
+  void bind_bodyAboveLimit_isRejected() {
+    String url = "https://example.org/" + "a".repeat(200);
+    assertThrows(LimitExceededException.class,
+                 () -> RequestBodyBinder.bind(stream("{\"url\":\"" + url + "\"}"), ShortenRequest.class, 64));
+  }
+
+  @Test
+  void bind_readsDtoFromStream()
+      throws Exception {
+    var req = RequestBodyBinder.bind(stream("{\"url\":\"https://example.org\"}"), ShortenRequest.class, 64);
+    assertEquals("https://example.org", req.getUrl());
+  }
+
+  @Test
+  void bind_declaredContentLengthAboveLimit_answers413()
+      throws Exception {
+    HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+    server.createContext("/test", exchange -> {
+      try {
+        var req = RequestBodyBinder.bind(exchange, ShortenRequest.class, 32);
+        SuccessResponses.ok(exchange, Map.of("url", req.getUrl()));
+      } catch (LimitExceededException e) {
+        ErrorResponses.payloadTooLarge(exchange, e.getMessage());
+      }
+    });
+    server.start();
+    try {
+      int port = server.getAddress().getPort();
+      HttpRequest request = HttpRequest.newBuilder()
+          .uri(URI.create("http://localhost:" + port + "/test"))
+          .POST(HttpRequest.BodyPublishers.ofString("{\"url\":\"https://example.org/" + "b".repeat(100) + "\"}"))
+          .build();
+      HttpResponse<String> response = HttpClient.newHttpClient()
+          .send(request, HttpResponse.BodyHandlers.ofString());
+      assertEquals(413, response.statusCode());
+    } finally {
+      server.stop(0);
+    }
+  }
+}